@@ -20,7 +20,7 @@ import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.cdt.codan.checkers.CodanCheckersActivator;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtils;
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstFunctionChecker;
 import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
 import org.eclipse.cdt.codan.core.model.IProblemWorkingCopy;
@@ -30,11 +30,13 @@ import org.eclipse.cdt.core.dom.ast.IASTCaseStatement;
 import org.eclipse.cdt.core.dom.ast.IASTComment;
 import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.IASTContinueStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTDefaultStatement;
 import org.eclipse.cdt.core.dom.ast.IASTDoStatement;
 import org.eclipse.cdt.core.dom.ast.IASTExpressionStatement;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTForStatement;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTGotoStatement;
 import org.eclipse.cdt.core.dom.ast.IASTIfStatement;
 import org.eclipse.cdt.core.dom.ast.IASTMacroExpansionLocation;
@@ -49,7 +51,7 @@ import org.eclipse.cdt.core.dom.ast.IASTWhileStatement;
 import org.eclipse.cdt.core.parser.StandardAttributes;
 import org.eclipse.cdt.core.parser.util.AttributeUtil;
 
-public class CaseBreakChecker extends AbstractIndexAstChecker {
+public class CaseBreakChecker extends AbstractAstFunctionChecker {
 	public static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.CaseBreakProblem"; //$NON-NLS-1$
 	public static final String PARAM_LAST_CASE = "last_case_param"; //$NON-NLS-1$
 	public static final String PARAM_EMPTY_CASE = "empty_case_param"; //$NON-NLS-1$
@@ -63,11 +65,22 @@ public class CaseBreakChecker extends AbstractIndexAstChecker {
 
 	/**
 	 * This visitor looks for "switch" statements and invokes "SwitchVisitor" on
-	 * them.
+	 * them. Function definitions other than the given one are skipped.
 	 */
 	class SwitchFindingVisitor extends ASTVisitor {
-		SwitchFindingVisitor() {
+		private final IASTFunctionDefinition fFunction;
+
+		SwitchFindingVisitor(IASTFunctionDefinition function) {
+			fFunction = function;
 			shouldVisitStatements = true;
+			shouldVisitDeclarations = true;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			if (declaration instanceof IASTFunctionDefinition && declaration != fFunction)
+				return PROCESS_SKIP;
+			return PROCESS_CONTINUE;
 		}
 
 		/**
@@ -313,7 +326,15 @@ public class CaseBreakChecker extends AbstractIndexAstChecker {
 			CodanCheckersActivator.log(e);
 			fNoBreakRegex = null;
 		}
-		SwitchFindingVisitor visitor = new SwitchFindingVisitor();
-		ast.accept(visitor);
+		// Function definitions are processed one by one, such that the results for the unchanged
+		// ones can be reused.
+		super.processAst(ast);
+		// Switch statements outside of function definitions, e.g. in lambdas in initializers.
+		ast.accept(new SwitchFindingVisitor(null));
+	}
+
+	@Override
+	protected void processFunction(IASTFunctionDefinition func) {
+		func.accept(new SwitchFindingVisitor(func));
 	}
 }
@@ -112,7 +112,7 @@ public class ControlFlowGraphBuilder {
 				}
 			}
 		}
-		CxxControlFlowGraph graph = new CxxControlFlowGraph(start, exits);
+		CxxControlFlowGraph graph = new CxxControlFlowGraph(def, start, exits);
 		graph.setUnconnectedNodes(dead);
 		return graph;
 	}
@@ -20,10 +20,13 @@ import org.eclipse.cdt.codan.core.model.cfg.IStartNode;
 import org.eclipse.cdt.codan.internal.core.cfg.ControlFlowGraph;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 
-/**
- * TODO: add description
- */
 public class CxxControlFlowGraph extends ControlFlowGraph {
+	private IASTFunctionDefinition function;
+	// Data-flow summaries, computed on demand.
+	private VariableAccesses accesses;
+	private ReachingDefinitions reachingDefinitions;
+	private LiveVariables liveVariables;
+
 	/**
 	 * @param start
 	 * @param exitNodes
@@ -32,10 +35,51 @@ public class CxxControlFlowGraph extends ControlFlowGraph {
 		super(start, exitNodes);
 	}
 
+	CxxControlFlowGraph(IASTFunctionDefinition function, IStartNode start, Collection<IExitNode> exitNodes) {
+		super(start, exitNodes);
+		this.function = function;
+	}
+
 	public static CxxControlFlowGraph build(IASTFunctionDefinition def) {
 		return new ControlFlowGraphBuilder().build(def);
 	}
 
+	/**
+	 * Returns the function definition the graph was built for, or {@code null} if not known.
+	 */
+	public IASTFunctionDefinition getFunctionDefinition() {
+		return function;
+	}
+
+	/**
+	 * Returns the definitions of local variables and parameters that reach the nodes of the graph.
+	 */
+	public synchronized ReachingDefinitions getReachingDefinitions() {
+		if (reachingDefinitions == null) {
+			reachingDefinitions = new ReachingDefinitions(getAccesses());
+		}
+		return reachingDefinitions;
+	}
+
+	/**
+	 * Returns the local variables and parameters that are live at the nodes of the graph.
+	 */
+	public synchronized LiveVariables getLiveVariables() {
+		if (liveVariables == null) {
+			liveVariables = new LiveVariables(getAccesses());
+		}
+		return liveVariables;
+	}
+
+	private VariableAccesses getAccesses() {
+		if (function == null)
+			throw new IllegalStateException("The function definition of the graph is not known"); //$NON-NLS-1$
+		if (accesses == null) {
+			accesses = new VariableAccesses(this, function);
+		}
+		return accesses;
+	}
+
 	@Override
 	public String toString() {
 		return super.toString();
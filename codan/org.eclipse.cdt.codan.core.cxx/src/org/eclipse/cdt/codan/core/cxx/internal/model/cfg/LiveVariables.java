@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+
+/**
+ * Liveness of the local variables and parameters of a function, i.e. for each node of the control
+ * flow graph the variables whose current value may be read later on.
+ * <p>
+ * Static variables, references, variables captured by lambdas and variables that may be accessed
+ * through pointers are considered live everywhere.
+ */
+public final class LiveVariables {
+	private final VariableAccesses accesses;
+	private final BitSet[] in;
+	private final BitSet[] out;
+
+	LiveVariables(VariableAccesses accesses) {
+		this.accesses = accesses;
+		int nodeCount = accesses.nodes.length;
+		in = new BitSet[nodeCount];
+		out = new BitSet[nodeCount];
+		ArrayDeque<Integer> worklist = new ArrayDeque<>();
+		boolean[] queued = new boolean[nodeCount];
+		// Visit the nodes in reverse order to converge faster.
+		for (int n = nodeCount; --n >= 0;) {
+			out[n] = new BitSet();
+			in[n] = transfer(n, out[n]);
+			worklist.add(n);
+			queued[n] = true;
+		}
+		while (!worklist.isEmpty()) {
+			int n = worklist.poll();
+			queued[n] = false;
+			BitSet newOut = new BitSet();
+			for (int s : accesses.successors[n]) {
+				newOut.or(in[s]);
+			}
+			out[n] = newOut;
+			BitSet newIn = transfer(n, newOut);
+			if (!newIn.equals(in[n])) {
+				in[n] = newIn;
+				for (int p : accesses.predecessors[n]) {
+					if (!queued[p]) {
+						queued[p] = true;
+						worklist.add(p);
+					}
+				}
+			}
+		}
+	}
+
+	private BitSet transfer(int node, BitSet output) {
+		BitSet result = (BitSet) output.clone();
+		result.andNot(accesses.kills[node]);
+		result.or(accesses.uses[node]);
+		result.or(accesses.escaping);
+		return result;
+	}
+
+	/**
+	 * Returns the variables that are live before the given node is executed.
+	 */
+	public Set<IVariable> getLiveBefore(IBasicBlock node) {
+		Integer n = accesses.nodeIndices.get(node);
+		return n != null ? toVariables(in[n]) : Collections.emptySet();
+	}
+
+	/**
+	 * Returns the variables that are live after the given node is executed.
+	 */
+	public Set<IVariable> getLiveAfter(IBasicBlock node) {
+		Integer n = accesses.nodeIndices.get(node);
+		return n != null ? toVariables(out[n]) : Collections.emptySet();
+	}
+
+	/**
+	 * Checks whether the value of the variable may be read after the given node is executed.
+	 * Returns {@code true} for variables that are not local to the function.
+	 */
+	public boolean isLiveAfter(IBasicBlock node, IVariable variable) {
+		Integer n = accesses.nodeIndices.get(node);
+		Integer v = accesses.variableIndices.get(variable);
+		if (n == null || v == null)
+			return true;
+		return out[n].get(v) || accesses.escaping.get(v);
+	}
+
+	private Set<IVariable> toVariables(BitSet variables) {
+		BitSet result = (BitSet) variables.clone();
+		result.or(accesses.escaping);
+		Set<IVariable> set = new LinkedHashSet<>();
+		for (int v = result.nextSetBit(0); v >= 0; v = result.nextSetBit(v + 1)) {
+			set.add(accesses.variables.get(v));
+		}
+		return set;
+	}
+}
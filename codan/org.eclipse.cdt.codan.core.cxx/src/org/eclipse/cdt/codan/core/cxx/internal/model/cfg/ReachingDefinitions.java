@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+
+/**
+ * Reaching definitions of the local variables and parameters of a function, i.e. for each node of
+ * the control flow graph the assignments and declarations whose value may still be held by
+ * a variable when the node is executed.
+ */
+public final class ReachingDefinitions {
+	/**
+	 * A declaration of, or an assignment to a variable.
+	 */
+	public static final class Definition {
+		private final IVariable variable;
+		private final IBasicBlock node;
+		private final IASTName name;
+		private final boolean killing;
+
+		Definition(IVariable variable, IBasicBlock node, IASTName name, boolean killing) {
+			this.variable = variable;
+			this.node = node;
+			this.name = name;
+			this.killing = killing;
+		}
+
+		public IVariable getVariable() {
+			return variable;
+		}
+
+		/**
+		 * Returns the node of the control flow graph containing the definition.
+		 */
+		public IBasicBlock getNode() {
+			return node;
+		}
+
+		/**
+		 * Returns the name of the variable in the declaration or assignment.
+		 */
+		public IASTName getName() {
+			return name;
+		}
+
+		/**
+		 * Returns whether the definition replaces the previous value of the variable. This is not
+		 * the case for a possible modification, e.g. when the address of the variable is taken.
+		 */
+		public boolean isKilling() {
+			return killing;
+		}
+
+		@Override
+		public String toString() {
+			return name.toString() + (killing ? "" : "?"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private final VariableAccesses accesses;
+	private final BitSet[] definitionsOfVariable;
+	private final BitSet[] in;
+	private final BitSet[] out;
+
+	ReachingDefinitions(VariableAccesses accesses) {
+		this.accesses = accesses;
+		int nodeCount = accesses.nodes.length;
+		definitionsOfVariable = new BitSet[accesses.variables.size()];
+		for (int v = 0; v < definitionsOfVariable.length; v++) {
+			definitionsOfVariable[v] = new BitSet();
+		}
+		for (int d = 0; d < accesses.definitions.size(); d++) {
+			Integer v = accesses.variableIndices.get(accesses.definitions.get(d).getVariable());
+			definitionsOfVariable[v].set(d);
+		}
+		in = new BitSet[nodeCount];
+		out = new BitSet[nodeCount];
+		ArrayDeque<Integer> worklist = new ArrayDeque<>();
+		boolean[] queued = new boolean[nodeCount];
+		for (int n = 0; n < nodeCount; n++) {
+			in[n] = new BitSet();
+			out[n] = transfer(n, in[n]);
+			worklist.add(n);
+			queued[n] = true;
+		}
+		while (!worklist.isEmpty()) {
+			int n = worklist.poll();
+			queued[n] = false;
+			BitSet newIn = new BitSet();
+			for (int p : accesses.predecessors[n]) {
+				newIn.or(out[p]);
+			}
+			in[n] = newIn;
+			BitSet newOut = transfer(n, newIn);
+			if (!newOut.equals(out[n])) {
+				out[n] = newOut;
+				for (int s : accesses.successors[n]) {
+					if (!queued[s]) {
+						queued[s] = true;
+						worklist.add(s);
+					}
+				}
+			}
+		}
+	}
+
+	private BitSet transfer(int node, BitSet input) {
+		BitSet result = (BitSet) input.clone();
+		for (int d : accesses.nodeDefinitions[node]) {
+			Definition def = accesses.definitions.get(d);
+			if (def.isKilling()) {
+				result.andNot(definitionsOfVariable[accesses.variableIndices.get(def.getVariable())]);
+			}
+			result.set(d);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all definitions of local variables and parameters of the function.
+	 */
+	public List<Definition> getDefinitions() {
+		return Collections.unmodifiableList(accesses.definitions);
+	}
+
+	/**
+	 * Returns the definitions that reach the given node, before it is executed.
+	 */
+	public List<Definition> getReachingDefinitions(IBasicBlock node) {
+		return getReachingDefinitions(node, null);
+	}
+
+	/**
+	 * Returns the definitions of the given variable that reach the given node, before it is
+	 * executed.
+	 */
+	public List<Definition> getReachingDefinitions(IBasicBlock node, IVariable variable) {
+		Integer n = accesses.nodeIndices.get(node);
+		if (n == null)
+			return Collections.emptyList();
+		BitSet definitions = in[n];
+		if (variable != null) {
+			Integer v = accesses.variableIndices.get(variable);
+			if (v == null)
+				return Collections.emptyList();
+			definitions = (BitSet) definitions.clone();
+			definitions.and(definitionsOfVariable[v]);
+		}
+		List<Definition> result = new ArrayList<>(definitions.cardinality());
+		for (int d = definitions.nextSetBit(0); d >= 0; d = definitions.nextSetBit(d + 1)) {
+			result.add(accesses.definitions.get(d));
+		}
+		return result;
+	}
+}
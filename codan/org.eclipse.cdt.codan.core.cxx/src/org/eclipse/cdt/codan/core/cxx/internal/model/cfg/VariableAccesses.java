@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ReachingDefinitions.Definition;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTUnaryExpression;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IField;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTLambdaExpression;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTName;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTryBlockStatement;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVariableReadWriteFlags;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
+
+/**
+ * The accesses to the local variables and parameters of a function by the nodes of its control
+ * flow graph. This is the common input of the data-flow analyses of the graph.
+ * <p>
+ * Within a node, variables are assumed to be read before they are written.
+ */
+final class VariableAccesses {
+	// Same values as the access flags of index names.
+	private static final int READ = 0x20;
+	private static final int WRITE = 0x40;
+
+	final IBasicBlock[] nodes;
+	final Map<IBasicBlock, Integer> nodeIndices = new IdentityHashMap<>();
+	final int[][] successors;
+	final int[][] predecessors;
+	final List<IVariable> variables = new ArrayList<>();
+	final Map<IBinding, Integer> variableIndices = new HashMap<>();
+	final List<Definition> definitions = new ArrayList<>();
+	/** Indices of the definitions made by each node, in the order of the code. */
+	final int[][] nodeDefinitions;
+	/** Variables read by each node. */
+	final BitSet[] uses;
+	/** Variables definitely written by each node. */
+	final BitSet[] kills;
+	/** Variables that may be accessed after the function returns, or through aliases. */
+	final BitSet escaping = new BitSet();
+
+	VariableAccesses(CxxControlFlowGraph graph, IASTFunctionDefinition function) {
+		Collection<IBasicBlock> allNodes = graph.getNodes();
+		nodes = allNodes.toArray(new IBasicBlock[allNodes.size()]);
+		for (int i = 0; i < nodes.length; i++) {
+			nodeIndices.put(nodes[i], i);
+		}
+		successors = new int[nodes.length][];
+		List<List<Integer>> preds = new ArrayList<>(nodes.length);
+		for (int i = 0; i < nodes.length; i++) {
+			preds.add(new ArrayList<>());
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			List<Integer> succ = new ArrayList<>();
+			for (IBasicBlock next : nodes[i].getOutgoingNodes()) {
+				Integer j = next != null ? nodeIndices.get(next) : null;
+				if (j != null) {
+					succ.add(j);
+					preds.get(j).add(i);
+				}
+			}
+			successors[i] = toArray(succ);
+		}
+		predecessors = new int[nodes.length][];
+		for (int i = 0; i < nodes.length; i++) {
+			predecessors[i] = toArray(preds.get(i));
+		}
+
+		collectVariables(function);
+		boolean cpp = function.getDeclarator().getName() instanceof ICPPASTName;
+		nodeDefinitions = new int[nodes.length][];
+		uses = new BitSet[nodes.length];
+		kills = new BitSet[nodes.length];
+		Integer start = nodeIndices.get(graph.getStartNode());
+		for (int i = 0; i < nodes.length; i++) {
+			uses[i] = new BitSet();
+			kills[i] = new BitSet();
+			List<Integer> defs = new ArrayList<>();
+			if (start != null && start == i) {
+				// The parameters are defined on entry of the function.
+				collectAccesses(i, function.getDeclarator(), cpp, defs);
+			}
+			IASTNode data = getData(nodes[i]);
+			if (data != null) {
+				collectAccesses(i, data, cpp, defs);
+			}
+			nodeDefinitions[i] = toArray(defs);
+		}
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] result = new int[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = list.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the part of the code that is executed by the node.
+	 */
+	private static IASTNode getData(IBasicBlock node) {
+		if (!(node instanceof ICfgData))
+			return null;
+		Object data = ((ICfgData) node).getData();
+		// The decision node of a try block represents the entire statement.
+		if (!(data instanceof IASTNode) || data instanceof ICPPASTTryBlockStatement)
+			return null;
+		return (IASTNode) data;
+	}
+
+	private void collectVariables(IASTFunctionDefinition function) {
+		function.accept(new LocalVisitor(function) {
+			@Override
+			public int visit(IASTName name) {
+				if (lambdaDepth == 0 && name.getParent() instanceof IASTDeclarator && name.isDeclaration()) {
+					IBinding binding = name.resolveBinding();
+					if (binding instanceof IVariable && !(binding instanceof IField)
+							&& !variableIndices.containsKey(binding)) {
+						IVariable variable = (IVariable) binding;
+						int index = variables.size();
+						variables.add(variable);
+						variableIndices.put(binding, index);
+						if (variable.isStatic() || variable.isExtern() || isReference(variable)) {
+							escaping.set(index);
+						}
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+	}
+
+	private static boolean isReference(IVariable variable) {
+		IType type = SemanticUtil.getNestedType(variable.getType(), SemanticUtil.TDEF);
+		return type instanceof ICPPReferenceType;
+	}
+
+	private void collectAccesses(final int node, IASTNode data, final boolean cpp, final List<Integer> defs) {
+		data.accept(new LocalVisitor(null) {
+			@Override
+			public int visit(IASTName name) {
+				if (variables.isEmpty())
+					return PROCESS_ABORT;
+				Integer index = variableIndices.get(name.resolveBinding());
+				if (index == null)
+					return PROCESS_CONTINUE;
+				if (lambdaDepth > 0) {
+					// Captured variable, the lambda may be invoked anywhere.
+					uses[node].set(index);
+					escaping.set(index);
+				} else if (name.getParent() instanceof IASTDeclarator && name.isDeclaration()) {
+					addDefinition(index, name, true);
+				} else {
+					Optional<Integer> flags = cpp ? CPPVariableReadWriteFlags.getReadWriteFlags(name) : getFlags(name);
+					if (flags.isPresent()) {
+						if ((flags.get() & READ) != 0)
+							uses[node].set(index);
+						if ((flags.get() & WRITE) != 0)
+							addDefinition(index, name, true);
+					} else {
+						// The variable may be accessed through a pointer or a reference later on.
+						uses[node].set(index);
+						escaping.set(index);
+						addDefinition(index, name, false);
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+
+			private void addDefinition(int variable, IASTName name, boolean killing) {
+				defs.add(definitions.size());
+				definitions.add(new Definition(variables.get(variable), nodes[node], name, killing));
+				if (killing) {
+					kills[node].set(variable);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Determines how a variable is accessed in C code.
+	 */
+	private static Optional<Integer> getFlags(IASTName name) {
+		IASTNode node = name.getParent();
+		if (!(node instanceof IASTIdExpression))
+			return Optional.of(READ);
+		IASTNode parent = node.getParent();
+		while (parent instanceof IASTUnaryExpression
+				&& ((IASTUnaryExpression) parent).getOperator() == IASTUnaryExpression.op_bracketedPrimary) {
+			node = parent;
+			parent = node.getParent();
+		}
+		if (parent instanceof IASTBinaryExpression && ((IASTBinaryExpression) parent).getOperand1() == node) {
+			int op = ((IASTBinaryExpression) parent).getOperator();
+			if (op == IASTBinaryExpression.op_assign)
+				return Optional.of(WRITE);
+			if (op >= IASTBinaryExpression.op_multiplyAssign && op <= IASTBinaryExpression.op_binaryOrAssign)
+				return Optional.of(READ | WRITE);
+		} else if (parent instanceof IASTUnaryExpression) {
+			switch (((IASTUnaryExpression) parent).getOperator()) {
+			case IASTUnaryExpression.op_prefixIncr:
+			case IASTUnaryExpression.op_prefixDecr:
+			case IASTUnaryExpression.op_postFixIncr:
+			case IASTUnaryExpression.op_postFixDecr:
+				return Optional.of(READ | WRITE);
+			case IASTUnaryExpression.op_amper:
+				return Optional.empty();
+			}
+		}
+		return Optional.of(READ);
+	}
+
+	/**
+	 * Visits the names of a function, skipping nested function definitions and keeping track of
+	 * lambda expressions.
+	 */
+	private static class LocalVisitor extends ASTVisitor {
+		private final IASTFunctionDefinition function;
+		int lambdaDepth;
+
+		LocalVisitor(IASTFunctionDefinition function) {
+			this.function = function;
+			shouldVisitNames = true;
+			shouldVisitDeclarations = true;
+			shouldVisitExpressions = true;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			if (declaration instanceof IASTFunctionDefinition && declaration != function)
+				return PROCESS_SKIP;
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTExpression expression) {
+			if (expression instanceof ICPPASTLambdaExpression)
+				lambdaDepth++;
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTExpression expression) {
+			if (expression instanceof ICPPASTLambdaExpression)
+				lambdaDepth--;
+			return PROCESS_CONTINUE;
+		}
+	}
+}
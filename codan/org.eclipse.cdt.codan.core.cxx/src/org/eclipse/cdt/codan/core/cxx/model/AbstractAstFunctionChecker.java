@@ -13,6 +13,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.model.FunctionResultCache.FunctionRecorder;
+import org.eclipse.cdt.codan.core.cxx.model.FunctionResultCache.ReportedProblem;
+import org.eclipse.cdt.codan.core.model.IProblem;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
@@ -20,10 +27,20 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 
 /**
  * Abstract class for checkers that do all the work on function definition level
+ * <p>
+ * The problems reported while processing a function definition are remembered. When the file is
+ * checked again, function definitions that did not change are not processed again, the problems
+ * reported for them are reported again instead. This requires that the problems reported for
+ * a function definition depend only on the function definition and on the code outside of function
+ * bodies, and that their locations are within the function definition.
  */
 public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker {
+	private FunctionRecorder recorder;
+
 	@Override
 	public void processAst(IASTTranslationUnit ast) {
+		final FunctionResultCache.Session session = FunctionResultCache.getInstance().startSession(this,
+				getFile(), ast);
 		// traverse the ast using the visitor pattern.
 		ast.accept(new ASTVisitor() {
 			{
@@ -33,13 +50,50 @@ public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker
 			@Override
 			public int visit(IASTDeclaration element) {
 				if (element instanceof IASTFunctionDefinition) {
-					processFunction((IASTFunctionDefinition) element);
+					checkFunction((IASTFunctionDefinition) element, session);
 				}
 				// visit all nodes to support inner functions within class definitions
 				// and gcc extensions
 				return PROCESS_CONTINUE;
 			}
 		});
+		if (session != null) {
+			session.commit();
+		}
+	}
+
+	private void checkFunction(IASTFunctionDefinition func, FunctionResultCache.Session session) {
+		FunctionRecorder functionRecorder = session != null ? session.startFunction(func) : null;
+		if (functionRecorder == null) {
+			processFunction(func);
+			return;
+		}
+		recorder = functionRecorder;
+		try {
+			List<ReportedProblem> problems = functionRecorder.getPreviousProblems();
+			if (problems != null) {
+				IProblemLocationFactory locFactory = getRuntime().getProblemLocationFactory();
+				for (ReportedProblem problem : problems) {
+					IProblem pr = getProblemById(problem.id, getFile());
+					if (pr != null) {
+						reportProblem(pr, functionRecorder.createLocation(problem, locFactory), problem.args);
+					}
+				}
+			} else {
+				processFunction(func);
+			}
+		} finally {
+			recorder = null;
+		}
+		session.endFunction(functionRecorder);
+	}
+
+	@Override
+	public void reportProblem(IProblem pr, IProblemLocation loc, Object... args) {
+		if (recorder != null) {
+			recorder.record(pr.getId(), loc, args);
+		}
+		super.reportProblem(pr, loc, args);
 	}
 
 	/**
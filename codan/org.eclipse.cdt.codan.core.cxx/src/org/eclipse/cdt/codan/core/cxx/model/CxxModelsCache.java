@@ -14,12 +14,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
-import java.util.WeakHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.cdt.codan.core.cxx.internal.model.CodanCommentMap;
 import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
 import org.eclipse.cdt.codan.core.model.ICodanDisposable;
 import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+import org.eclipse.cdt.codan.internal.core.CheckerBudget;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
@@ -39,19 +41,26 @@ public class CxxModelsCache implements ICodanDisposable {
 			| ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
+	private static final int MAX_CONTROL_FLOW_GRAPHS = 100;
 
 	private final IFile file;
 	private final ITranslationUnit tu;
 	private IASTTranslationUnit ast;
 	private IIndex index;
-	private final WeakHashMap<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
+	// Control flow graphs shared by the checkers, the least recently used ones are dropped.
+	private final Map<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
 	private ICodanCommentMap commentMap;
 	private boolean disposed;
 
 	CxxModelsCache(ITranslationUnit tu) {
 		this.tu = tu;
 		this.file = tu != null ? (IFile) tu.getResource() : null;
-		cfgmap = new WeakHashMap<>(0);
+		cfgmap = new LinkedHashMap<IASTFunctionDefinition, IControlFlowGraph>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IASTFunctionDefinition, IControlFlowGraph> eldest) {
+				return size() > MAX_CONTROL_FLOW_GRAPHS;
+			}
+		};
 	}
 
 	CxxModelsCache(IASTTranslationUnit ast) {
@@ -82,15 +91,17 @@ public class CxxModelsCache implements ICodanDisposable {
 		return file;
 	}
 
+	/**
+	 * Returns the control flow graph of the function definition. The graph is shared by all
+	 * checkers using this cache, summaries such as the dead nodes and the results of data-flow
+	 * analyses are computed on demand and kept with the graph.
+	 */
 	public synchronized IControlFlowGraph getControlFlowGraph(IASTFunctionDefinition func) {
+		CheckerBudget.checkCanceled();
 		IControlFlowGraph cfg = cfgmap.get(func);
 		if (cfg != null)
 			return cfg;
 		cfg = CxxControlFlowGraph.build(func);
-		// TODO(Alena Laskavaia): Change to LRU.
-		if (cfgmap.size() > 20) { // if too many function better drop the cache
-			cfgmap.clear();
-		}
 		cfgmap.put(func, cfg);
 		return cfg;
 	}
@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.core.PreferenceConstants;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
+import org.eclipse.cdt.codan.core.model.IProblemProfile;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompositeTypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTLinkageSpecification;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateDeclaration;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Results of the checkers working on function definitions, kept between runs on the same file.
+ * The problems reported for a function definition are reused when neither the function definition
+ * nor its context changed. The context of the function definitions of a file consists of the code
+ * of the file outside of function bodies, the state of the index and the problem profile.
+ * <p>
+ * Problem locations are stored relative to the function definition, such that the results remain
+ * valid when code before the function definition changes.
+ */
+final class FunctionResultCache {
+	private static final int MAX_FILES = 32;
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private static final FunctionResultCache instance = new FunctionResultCache();
+
+	/**
+	 * A problem reported for a function definition.
+	 */
+	static final class ReportedProblem {
+		final String id;
+		final int offset; // Relative to the function definition, -1 if not known.
+		final int length;
+		final int line; // Relative to the function definition, -1 if not known.
+		final Object[] args;
+
+		ReportedProblem(String id, int offset, int length, int line, Object[] args) {
+			this.id = id;
+			this.offset = offset;
+			this.length = length;
+			this.line = line;
+			this.args = args;
+		}
+	}
+
+	private static final class FileResults {
+		final long context;
+		final IProblemProfile profile;
+		final Map<Long, ReportedProblem[]> functions;
+
+		FileResults(long context, IProblemProfile profile, Map<Long, ReportedProblem[]> functions) {
+			this.context = context;
+			this.profile = profile;
+			this.functions = functions;
+		}
+	}
+
+	private final Map<String, FileResults> results = new LinkedHashMap<String, FileResults>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, FileResults> eldest) {
+			return size() > MAX_FILES;
+		}
+	};
+	private final Map<IASTTranslationUnit, Long> contexts = new WeakHashMap<>();
+
+	static FunctionResultCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Starts checking the function definitions of the AST, or returns {@code null} if the results
+	 * of the checker cannot be reused.
+	 */
+	Session startSession(IChecker checker, IFile file, IASTTranslationUnit ast) {
+		if (file == null || !isEnabled())
+			return null;
+		long context = getContextHash(ast);
+		if (context == 0)
+			return null;
+		IProblemProfile profile = CodanRuntime.getInstance().getCheckersRegistry().getResourceProfile(file);
+		String key = checker.getClass().getName() + '\n' + file.getFullPath();
+		FileResults previous;
+		synchronized (results) {
+			previous = results.get(key);
+		}
+		if (previous != null && (previous.context != context || previous.profile != profile))
+			previous = null;
+		return new Session(key, file, context, profile, previous);
+	}
+
+	private static boolean isEnabled() {
+		return Platform.getPreferencesService().getBoolean(CodanCorePlugin.PLUGIN_ID,
+				PreferenceConstants.P_INCREMENTAL_ANALYSIS, true, null);
+	}
+
+	private long getContextHash(IASTTranslationUnit ast) {
+		synchronized (contexts) {
+			Long context = contexts.get(ast);
+			if (context == null) {
+				context = computeContextHash(ast);
+				contexts.put(ast, context);
+			}
+			return context;
+		}
+	}
+
+	/**
+	 * Computes the hash of the code of the file outside of function bodies, combined with the time
+	 * of the last change of the index. Returns {@code 0} if the code of the file is not available.
+	 */
+	private static long computeContextHash(IASTTranslationUnit ast) {
+		ITranslationUnit tu = ast.getOriginatingTranslationUnit();
+		char[] code = tu != null ? tu.getContents() : null;
+		if (code == null || code.length == 0)
+			return 0;
+		final List<int[]> bodies = new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				if (declaration instanceof IASTFunctionDefinition && declaration.isPartOfTranslationUnitFile()) {
+					IASTFunctionDefinition func = (IASTFunctionDefinition) declaration;
+					if (!isBodyPartOfInterface(func)) {
+						IASTStatement body = func.getBody();
+						IASTFileLocation loc = body != null ? body.getFileLocation() : null;
+						if (loc != null) {
+							bodies.add(new int[] { loc.getNodeOffset(), loc.getNodeOffset() + loc.getNodeLength() });
+						}
+					}
+					return PROCESS_SKIP;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		bodies.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+		long hash = FNV_OFFSET_BASIS;
+		int pos = 0;
+		for (int[] body : bodies) {
+			int start = Math.min(Math.max(body[0], pos), code.length);
+			hash = hash(hash, code, pos, start);
+			hash = hash(hash, '{');
+			pos = Math.min(Math.max(body[1], start), code.length);
+		}
+		hash = hash(hash, code, pos, code.length);
+		IIndex index = ast.getIndex();
+		long lastWrite = index != null ? index.getLastWriteAccess() : 0;
+		for (int i = 0; i < 4; i++) {
+			hash = hash(hash, (char) (lastWrite >>> (16 * i)));
+		}
+		return hash == 0 ? 1 : hash;
+	}
+
+	/**
+	 * Checks whether the body of the function definition affects other code, which is the case for
+	 * constexpr functions and functions with a deduced return type.
+	 */
+	private static boolean isBodyPartOfInterface(IASTFunctionDefinition func) {
+		IASTDeclSpecifier declSpec = func.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier) {
+			ICPPASTDeclSpecifier cppDeclSpec = (ICPPASTDeclSpecifier) declSpec;
+			if (cppDeclSpec.isConstexpr())
+				return true;
+		}
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			int type = ((IASTSimpleDeclSpecifier) declSpec).getType();
+			if (type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the key of the function definition from its code and the names of the enclosing
+	 * namespaces, classes and functions.
+	 */
+	static long getFunctionKey(IASTFunctionDefinition func) {
+		long hash = FNV_OFFSET_BASIS;
+		for (IASTNode node = func.getParent(); node != null; node = node.getParent()) {
+			String scope = null;
+			if (node instanceof ICPPASTNamespaceDefinition) {
+				scope = ((ICPPASTNamespaceDefinition) node).getName().toString();
+			} else if (node instanceof IASTCompositeTypeSpecifier) {
+				scope = ((IASTCompositeTypeSpecifier) node).getName().toString();
+			} else if (node instanceof IASTFunctionDefinition) {
+				scope = ((IASTFunctionDefinition) node).getDeclarator().getName().toString();
+			} else if (node instanceof ICPPASTTemplateDeclaration || node instanceof ICPPASTLinkageSpecification) {
+				scope = "<>"; //$NON-NLS-1$
+			}
+			if (scope != null) {
+				hash = hash(hash, scope.toCharArray(), 0, scope.length());
+				hash = hash(hash, '\0');
+			}
+		}
+		char[] code = func.getRawSignature().toCharArray();
+		return hash(hash, code, 0, code.length);
+	}
+
+	private static long hash(long hash, char[] chars, int start, int end) {
+		for (int i = start; i < end; i++) {
+			hash = hash(hash, chars[i]);
+		}
+		return hash;
+	}
+
+	private static long hash(long hash, char c) {
+		return ((hash ^ (c & 0xff)) * FNV_PRIME ^ (c >>> 8)) * FNV_PRIME;
+	}
+
+	/**
+	 * Collects the results of a checker for the function definitions of a file.
+	 */
+	final class Session {
+		private final String key;
+		private final IFile file;
+		private final long context;
+		private final IProblemProfile profile;
+		private final FileResults previous;
+		private final Map<Long, ReportedProblem[]> functions = new HashMap<>();
+		private final Set<Long> ambiguous = new HashSet<>();
+
+		Session(String key, IFile file, long context, IProblemProfile profile, FileResults previous) {
+			this.key = key;
+			this.file = file;
+			this.context = context;
+			this.profile = profile;
+			this.previous = previous;
+		}
+
+		/**
+		 * Starts checking the function definition, or returns {@code null} if the results for
+		 * the function definition cannot be stored.
+		 */
+		FunctionRecorder startFunction(IASTFunctionDefinition func) {
+			IASTFileLocation loc = func.getFileLocation();
+			if (loc == null || !func.isPartOfTranslationUnitFile())
+				return null;
+			long functionKey = getFunctionKey(func);
+			ReportedProblem[] problems = previous != null ? previous.functions.get(functionKey) : null;
+			return new FunctionRecorder(file, functionKey, loc, problems);
+		}
+
+		/**
+		 * Stores the results recorded for a function definition.
+		 */
+		void endFunction(FunctionRecorder recorder) {
+			if (!recorder.cacheable || ambiguous.contains(recorder.key))
+				return;
+			if (functions.put(recorder.key, recorder.problems.toArray(new ReportedProblem[0])) != null) {
+				// Function definitions with the same key cannot be told apart.
+				functions.remove(recorder.key);
+				ambiguous.add(recorder.key);
+			}
+		}
+
+		/**
+		 * Replaces the results stored for the file by the results of this session.
+		 */
+		void commit() {
+			synchronized (results) {
+				results.put(key, new FileResults(context, profile, functions));
+			}
+		}
+	}
+
+	/**
+	 * Records the problems reported for a function definition.
+	 */
+	static final class FunctionRecorder {
+		private final IFile file;
+		private final long key;
+		private final int offset;
+		private final int endOffset;
+		private final int line;
+		private final int endLine;
+		private final ReportedProblem[] previousProblems;
+		private final List<ReportedProblem> problems = new ArrayList<>();
+		private boolean cacheable = true;
+
+		FunctionRecorder(IFile file, long key, IASTFileLocation loc, ReportedProblem[] previousProblems) {
+			this.file = file;
+			this.key = key;
+			this.offset = loc.getNodeOffset();
+			this.endOffset = offset + loc.getNodeLength();
+			this.line = loc.getStartingLineNumber();
+			this.endLine = loc.getEndingLineNumber();
+			this.previousProblems = previousProblems;
+		}
+
+		/**
+		 * Returns the problems reported for the function definition when it was checked the last
+		 * time, or {@code null} if the function definition needs to be checked.
+		 */
+		List<ReportedProblem> getPreviousProblems() {
+			return previousProblems != null ? Arrays.asList(previousProblems) : null;
+		}
+
+		/**
+		 * Creates the location of a previously reported problem for the current position of
+		 * the function definition.
+		 */
+		IProblemLocation createLocation(ReportedProblem problem, IProblemLocationFactory factory) {
+			int problemLine = problem.line >= 0 ? line + problem.line : -1;
+			if (problem.offset < 0)
+				return factory.createProblemLocation(file, problemLine);
+			int start = offset + problem.offset;
+			return factory.createProblemLocation(file, start, start + problem.length, problemLine);
+		}
+
+		void record(String id, IProblemLocation loc, Object[] args) {
+			if (!cacheable)
+				return;
+			if (!file.equals(loc.getFile()) || loc.getData() != null) {
+				cacheable = false;
+				return;
+			}
+			int start = loc.getStartingChar();
+			int end = loc.getEndingChar();
+			int problemLine = loc.getLineNumber();
+			boolean hasRange = start >= 0 && end >= start;
+			boolean hasLine = problemLine > 0;
+			if ((!hasRange && !hasLine) || (hasRange && (start < offset || end > endOffset))
+					|| (hasLine && (problemLine < line || problemLine > endLine))) {
+				// The problem may depend on code outside of the function definition.
+				cacheable = false;
+				return;
+			}
+			problems.add(new ReportedProblem(id, hasRange ? start - offset : -1, hasRange ? end - start : 0,
+					hasLine ? problemLine - line : -1, args));
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cfg;
+
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.LiveVariables;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ReachingDefinitions;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ReachingDefinitions.Definition;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+
+/**
+ * Tests for the data-flow summaries of {@link CxxControlFlowGraph}.
+ */
+public class DataFlowTest extends CodanFastCxxAstTestCase {
+	private CxxControlFlowGraph graph;
+
+	@Override
+	public IChecker getChecker() {
+		return null;
+	}
+
+	private void buildCfg(String code, boolean cpp) {
+		parse(code, cpp ? ParserLanguage.CPP : ParserLanguage.C, true);
+		tu.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration decl) {
+				if (decl instanceof IASTFunctionDefinition) {
+					graph = CxxControlFlowGraph.build((IASTFunctionDefinition) decl);
+					return PROCESS_ABORT;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		assertNotNull(graph);
+	}
+
+	private IBasicBlock node(String code) {
+		for (IBasicBlock node : graph.getNodes()) {
+			Object data = ((ICfgData) node).getData();
+			if (data instanceof IASTNode && ((IASTNode) data).getRawSignature().equals(code))
+				return node;
+		}
+		fail("No node for " + code);
+		return null;
+	}
+
+	private IVariable variable(String name) {
+		for (Definition def : graph.getReachingDefinitions().getDefinitions()) {
+			if (def.getVariable().getName().equals(name))
+				return def.getVariable();
+		}
+		fail("No definition of " + name);
+		return null;
+	}
+
+	//	int main(int a) {
+	//		int x = 1;
+	//		if (a)
+	//			x = 2;
+	//		return x;
+	//	}
+	public void testDefinitionsOfBranches() {
+		buildCfg(getAboveComment(), true);
+		ReachingDefinitions rd = graph.getReachingDefinitions();
+		List<Definition> defs = rd.getReachingDefinitions(node("return x;"), variable("x"));
+		assertEquals(2, defs.size());
+		assertEquals(1, rd.getReachingDefinitions(node("x = 2;"), variable("a")).size());
+	}
+
+	//	int main() {
+	//		int x = 1;
+	//		x = 2;
+	//		return x;
+	//	}
+	public void testKilledDefinition() {
+		buildCfg(getAboveComment(), true);
+		List<Definition> defs = graph.getReachingDefinitions().getReachingDefinitions(node("return x;"),
+				variable("x"));
+		assertEquals(1, defs.size());
+		assertSame(node("x = 2;"), defs.get(0).getNode());
+	}
+
+	//	int main() {
+	//		int x = 0;
+	//		for (int i = 0; i < 10; i++)
+	//			x += i;
+	//		return x;
+	//	}
+	public void testDefinitionsInLoop() {
+		buildCfg(getAboveComment(), true);
+		ReachingDefinitions rd = graph.getReachingDefinitions();
+		assertEquals(2, rd.getReachingDefinitions(node("return x;"), variable("x")).size());
+		assertEquals(2, rd.getReachingDefinitions(node("x += i;"), variable("i")).size());
+	}
+
+	//	void g(int);
+	//	void main() {
+	//		int x = 1;
+	//		x = 2;
+	//		g(x);
+	//	}
+	public void testDeadStore() {
+		buildCfg(getAboveComment(), true);
+		LiveVariables live = graph.getLiveVariables();
+		assertFalse(live.isLiveAfter(node("int x = 1;"), variable("x")));
+		assertTrue(live.isLiveAfter(node("x = 2;"), variable("x")));
+		assertFalse(live.isLiveAfter(node("g(x);"), variable("x")));
+	}
+
+	//	void g(int*);
+	//	void main() {
+	//		int x = 1;
+	//		g(&x);
+	//		x = 2;
+	//	}
+	public void testAddressTaken() {
+		buildCfg(getAboveComment(), false);
+		LiveVariables live = graph.getLiveVariables();
+		assertTrue(live.isLiveAfter(node("x = 2;"), variable("x")));
+	}
+
+	//	int main(int a) {
+	//		return a;
+	//	}
+	public void testSummariesAreCached() {
+		buildCfg(getAboveComment(), true);
+		assertSame(graph.getReachingDefinitions(), graph.getReachingDefinitions());
+		assertSame(graph.getLiveVariables(), graph.getLiveVariables());
+		assertSame(graph.getDeadNodes(), graph.getDeadNodes());
+	}
+}
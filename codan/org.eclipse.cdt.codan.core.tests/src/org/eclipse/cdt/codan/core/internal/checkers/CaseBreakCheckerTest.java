@@ -892,4 +892,43 @@ public class CaseBreakCheckerTest extends CheckerTestCase {
 		checkNoErrorsOfKind(ER_ID);
 	}
 
+	// void foo(int a, int b) {
+	//  switch (a) {
+	//  case 1:
+	//    b = 2;
+	//  case 2:
+	//    b = 3;
+	//  }
+	// }
+	// void bar(int a) {
+	//  switch (a) {
+	//  case 1:
+	//  }
+	// }
+
+	// void foo(int a, int b) {
+	//  switch (a) {
+	//  case 1:
+	//    b = 2;
+	//    break;
+	//  case 2:
+	//    b = 3;
+	//    break;
+	//  }
+	// }
+	// void bar(int a) {
+	//  switch (a) {
+	//  case 1:
+	//  }
+	// }
+	public void testRerunAfterChangeOfOtherFunction() throws Exception {
+		CharSequence[] code = getContents(2);
+		loadCodeAndRun(code[0].toString());
+		checkErrorLines(4, 6, 11);
+		runCodan();
+		checkErrorLines(4, 6, 11);
+		// The problem in the unchanged function moves with it.
+		loadCodeAndRun(code[1].toString());
+		checkErrorLines(13);
+	}
 }
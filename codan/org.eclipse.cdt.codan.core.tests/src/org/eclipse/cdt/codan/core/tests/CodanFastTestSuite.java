@@ -15,10 +15,16 @@
 package org.eclipse.cdt.codan.core.tests;
 
 import org.eclipse.cdt.codan.core.cfg.ControlFlowGraphTest;
+import org.eclipse.cdt.codan.core.cfg.DataFlowTest;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtilsTest;
 import org.eclipse.cdt.codan.core.param.BasicProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.ListProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.MapProblemPreferenceTest;
+import org.eclipse.cdt.codan.internal.core.AnalysisCheckpointTest;
+import org.eclipse.cdt.codan.internal.core.CheckerBudgetTest;
+import org.eclipse.cdt.codan.internal.core.CheckersRegistryTest;
+import org.eclipse.cdt.codan.internal.core.CodanRunnerTest;
+import org.eclipse.cdt.codan.internal.core.SarifWriterTest;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -47,6 +53,12 @@ public class CodanFastTestSuite extends TestSuite {
 		suite.addTestSuite(MapProblemPreferenceTest.class);
 		suite.addTestSuite(CxxAstUtilsTest.class);
 		suite.addTestSuite(ControlFlowGraphTest.class);
+		suite.addTestSuite(DataFlowTest.class);
+		suite.addTestSuite(CheckerBudgetTest.class);
+		suite.addTestSuite(CodanRunnerTest.class);
+		suite.addTestSuite(CheckersRegistryTest.class);
+		suite.addTestSuite(SarifWriterTest.class);
+		suite.addTestSuite(AnalysisCheckpointTest.class);
 		return suite;
 	}
 }
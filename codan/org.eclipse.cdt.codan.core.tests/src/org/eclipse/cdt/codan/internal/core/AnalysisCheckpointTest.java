@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for AnalysisCheckpoint
+ */
+public class AnalysisCheckpointTest extends TestCase {
+	private File file;
+	private final IFile a = getFile("/project/a.c");
+	private final IFile b = getFile("/project/b.c");
+	private final IFile c = getFile("/project/c.c");
+
+	private static IFile getFile(String path) {
+		return ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(path));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("codan", ".checkpoint");
+		file.delete();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+	}
+
+	private String read() throws Exception {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	public void testNoCheckpoint() throws Exception {
+		AnalysisCheckpoint checkpoint = new AnalysisCheckpoint(file);
+		assertEquals(0, checkpoint.getAnalyzedFileCount());
+		assertEquals(0, checkpoint.getOutputLength());
+		assertFalse(checkpoint.isAnalyzed(a));
+		checkpoint.close();
+		assertFalse(file.exists());
+	}
+
+	public void testContinue() throws Exception {
+		AnalysisCheckpoint checkpoint = new AnalysisCheckpoint(file);
+		checkpoint.analyzed(a, 100);
+		checkpoint.analyzed(b, 250);
+		// Interrupted without closing the checkpoint.
+		assertEquals("100\t/project/a.c\n250\t/project/b.c\n", read());
+
+		checkpoint = new AnalysisCheckpoint(file);
+		assertEquals(2, checkpoint.getAnalyzedFileCount());
+		assertEquals(250, checkpoint.getOutputLength());
+		assertTrue(checkpoint.isAnalyzed(a));
+		assertTrue(checkpoint.isAnalyzed(b));
+		assertFalse(checkpoint.isAnalyzed(c));
+		checkpoint.analyzed(c, 300);
+		checkpoint.close();
+		assertEquals("100\t/project/a.c\n250\t/project/b.c\n300\t/project/c.c\n", read());
+	}
+
+	public void testTruncatedLine() throws Exception {
+		Files.write(file.toPath(), "100\t/project/a.c\n250\t/proj".getBytes(StandardCharsets.UTF_8));
+		AnalysisCheckpoint checkpoint = new AnalysisCheckpoint(file);
+		assertEquals(1, checkpoint.getAnalyzedFileCount());
+		assertEquals(100, checkpoint.getOutputLength());
+		assertFalse(checkpoint.isAnalyzed(b));
+
+		// The truncated line is dropped, the next file is recorded on a line of its own.
+		checkpoint.analyzed(b, 200);
+		checkpoint.close();
+		assertEquals("100\t/project/a.c\n200\t/project/b.c\n", read());
+	}
+
+	public void testReset() throws Exception {
+		AnalysisCheckpoint checkpoint = new AnalysisCheckpoint(file);
+		checkpoint.analyzed(a, 100);
+		checkpoint.close();
+
+		checkpoint = new AnalysisCheckpoint(file);
+		checkpoint.reset();
+		assertEquals(0, checkpoint.getAnalyzedFileCount());
+		assertEquals(0, checkpoint.getOutputLength());
+		assertFalse(checkpoint.isAnalyzed(a));
+		assertFalse(file.exists());
+		checkpoint.analyzed(b, 50);
+		checkpoint.close();
+		assertEquals("50\t/project/b.c\n", read());
+	}
+
+	public void testDelete() throws Exception {
+		AnalysisCheckpoint checkpoint = new AnalysisCheckpoint(file);
+		checkpoint.analyzed(a, 100);
+		checkpoint.delete();
+		assertFalse(file.exists());
+	}
+}
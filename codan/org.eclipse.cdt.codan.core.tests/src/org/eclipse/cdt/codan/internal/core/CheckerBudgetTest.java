@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for CheckerBudget
+ */
+public class CheckerBudgetTest extends TestCase {
+
+	public void testUnlimited() throws Exception {
+		CheckerBudget budget = new CheckerBudget(0);
+		Thread.sleep(20);
+		assertFalse(budget.isExhausted());
+		budget.run(() -> {
+			CheckerBudget.checkCanceled();
+			return null;
+		});
+	}
+
+	public void testExhausted() throws Exception {
+		CheckerBudget budget = new CheckerBudget(50);
+		assertFalse(budget.isExhausted());
+		Thread.sleep(100);
+		assertTrue(budget.isExhausted());
+		assertCanceled(budget);
+	}
+
+	public void testCurrentThreadOnly() throws Exception {
+		CheckerBudget budget = new CheckerBudget(50);
+		Thread.sleep(100);
+		// Only the budget assigned to the current thread is checked.
+		CheckerBudget.checkCanceled();
+		new CheckerBudget(60000).run(() -> {
+			CheckerBudget.checkCanceled();
+			assertCanceled(budget);
+			// The outer budget is restored.
+			CheckerBudget.checkCanceled();
+			return null;
+		});
+	}
+
+	private static void assertCanceled(CheckerBudget budget) {
+		budget.run(() -> {
+			try {
+				CheckerBudget.checkCanceled();
+				fail();
+			} catch (OperationCanceledException e) {
+			}
+			return null;
+		});
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import org.eclipse.cdt.codan.core.model.IChecker;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for acquiring the checkers of CheckersRegistry
+ */
+public class CheckersRegistryTest extends TestCase {
+	private CheckersRegistry registry;
+	private IChecker checker;
+
+	@Override
+	protected void setUp() throws Exception {
+		registry = CheckersRegistry.getInstance();
+		checker = registry.iterator().next();
+	}
+
+	public void testAcquireIdleChecker() {
+		IChecker acquired = registry.acquireChecker(checker);
+		try {
+			assertSame(checker, acquired);
+		} finally {
+			registry.releaseChecker(acquired);
+		}
+		acquired = registry.acquireChecker(checker);
+		registry.releaseChecker(acquired);
+		assertSame(checker, acquired);
+	}
+
+	public void testAcquireBusyChecker() {
+		IChecker acquired = registry.acquireChecker(checker);
+		try {
+			IChecker copy = registry.acquireChecker(checker);
+			try {
+				assertNotSame(checker, copy);
+				assertSame(checker.getClass(), copy.getClass());
+				assertEquals(registry.getRefProblems(checker), registry.getRefProblems(copy));
+			} finally {
+				registry.releaseChecker(copy);
+			}
+			// The copy is reused.
+			IChecker next = registry.acquireChecker(checker);
+			registry.releaseChecker(next);
+			assertSame(copy, next);
+		} finally {
+			registry.releaseChecker(acquired);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for running checkers with a time budget with CodanRunner
+ */
+public class CodanRunnerTest extends TestCase {
+	private IResource resource;
+	private CheckerInvocationContext context;
+
+	private interface CheckerBody {
+		void run() throws Exception;
+	}
+
+	private static class TestChecker implements IChecker {
+		final CheckerBody body;
+		boolean done;
+		boolean after;
+
+		TestChecker(CheckerBody body) {
+			this.body = body;
+		}
+
+		@Override
+		public void before(IResource resource) {
+		}
+
+		@Override
+		public boolean processResource(IResource resource, ICheckerInvocationContext context) {
+			try {
+				body.run();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			} finally {
+				done = true;
+			}
+			return false;
+		}
+
+		@Override
+		public void after(IResource resource) {
+			after = true;
+		}
+
+		@Override
+		public IProblemReporter getProblemReporter() {
+			return null;
+		}
+
+		@Override
+		public boolean runInEditor() {
+			return false;
+		}
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		resource = ResourcesPlugin.getWorkspace().getRoot();
+		context = new CheckerInvocationContext(resource);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		context.dispose();
+	}
+
+	private boolean run(long timeBudget, TestChecker checker) {
+		return CodanRunner.runChecker(checker, resource, null, CheckerLaunchMode.RUN_ON_DEMAND, context,
+				new CheckerBudget(timeBudget));
+	}
+
+	public void testUnlimitedBudget() {
+		TestChecker checker = new TestChecker(() -> {
+			Thread.sleep(50);
+			CheckerBudget.checkCanceled();
+		});
+		assertTrue(run(0, checker));
+		assertTrue(checker.done);
+		assertTrue(checker.after);
+	}
+
+	public void testCheckerExceedsBudget() {
+		TestChecker slow = new TestChecker(() -> {
+			while (true) {
+				CheckerBudget.checkCanceled();
+				Thread.sleep(10);
+			}
+		});
+		long start = System.currentTimeMillis();
+		// The next checker runs after a checker exceeded its budget.
+		assertTrue(run(100, slow));
+		assertTrue(System.currentTimeMillis() - start < 5000);
+		assertTrue(slow.done);
+		assertTrue(slow.after);
+	}
+
+	public void testCancel() {
+		TestChecker canceled = new TestChecker(() -> {
+			throw new OperationCanceledException();
+		});
+		assertFalse(run(60000, canceled));
+		assertTrue(canceled.after);
+	}
+
+	public void testFailure() {
+		TestChecker failing = new TestChecker(() -> {
+			throw new IllegalStateException();
+		});
+		// The failure is logged and the next checker runs.
+		assertTrue(run(60000, failing));
+		assertTrue(failing.after);
+	}
+}
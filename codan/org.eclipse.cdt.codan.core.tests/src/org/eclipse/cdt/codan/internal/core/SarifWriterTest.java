@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.cdt.codan.core.model.CodanSeverity;
+import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
+import org.eclipse.cdt.codan.internal.core.model.CodanProblem;
+import org.eclipse.cdt.codan.internal.core.model.CodanProblemLocation;
+import org.eclipse.cdt.codan.internal.core.model.CodanProblemMarker;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for SarifWriter
+ */
+public class SarifWriterTest extends TestCase {
+	private static final String EXPECTED_END = "\n      ]\n    }\n  ]\n}\n";
+
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("codan", ".sarif");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+	}
+
+	private ICodanProblemMarker createProblem(String message, int line) {
+		CodanProblem problem = new CodanProblem("test.problem", "Test problem");
+		problem.setSeverity(CodanSeverity.Error);
+		problem.setMessagePattern("{0}");
+		IFile resource = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path("/project/file.c"));
+		return new CodanProblemMarker(problem, new CodanProblemLocation(resource, 10, 15, line),
+				new Object[] { message });
+	}
+
+	private String read() throws Exception {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	public void testEmpty() throws Exception {
+		new SarifWriter(file, 0).close();
+		String content = read();
+		assertTrue(content.startsWith("{\n"));
+		assertTrue(content.contains("\"version\": \"2.1.0\""));
+		assertTrue(content.endsWith("\"results\": [" + EXPECTED_END));
+	}
+
+	public void testResult() throws Exception {
+		try (SarifWriter writer = new SarifWriter(file, 0)) {
+			writer.write(Arrays.asList(createProblem("first", 3), createProblem("second", 4)));
+		}
+		String content = read();
+		assertTrue(content.contains("{\"ruleId\": \"test.problem\", \"level\": \"error\", "
+				+ "\"message\": {\"text\": \"first\"}, \"locations\": [{\"physicalLocation\": "
+				+ "{\"artifactLocation\": {\"uri\": "));
+		assertTrue(content.contains("project/file.c\"}, \"region\": "
+				+ "{\"startLine\": 3, \"charOffset\": 10, \"charLength\": 5}}}]},\n"));
+		assertTrue(content.contains("\"text\": \"second\"}"));
+		assertTrue(content.endsWith("}}}]}" + EXPECTED_END));
+	}
+
+	public void testEscaping() throws Exception {
+		try (SarifWriter writer = new SarifWriter(file, 0)) {
+			writer.write(Collections.singletonList(createProblem("a \"b\" c\\d\ne\rf\tg\u0001h ä", 1)));
+		}
+		assertTrue(read().contains("\"text\": \"a \\\"b\\\" c\\\\d\\ne\\rf\\tg\\u0001h ä\"}"));
+	}
+
+	public void testResume() throws Exception {
+		long length;
+		try (SarifWriter writer = new SarifWriter(file, 0)) {
+			writer.write(Collections.singletonList(createProblem("kept", 1)));
+			length = writer.getLength();
+			// The results of a file that was not recorded in the checkpoint.
+			writer.write(Collections.singletonList(createProblem("dropped", 2)));
+		}
+		try (SarifWriter writer = new SarifWriter(file, length)) {
+			assertTrue(writer.isResumed());
+			assertEquals(length, writer.getLength());
+			writer.write(Collections.singletonList(createProblem("added", 3)));
+		}
+		String content = read();
+		assertTrue(content.contains("\"text\": \"kept\"}"));
+		assertFalse(content.contains("dropped"));
+		assertTrue(content.contains("}}}]},\n        {\"ruleId\": \"test.problem\", \"level\": \"error\", "
+				+ "\"message\": {\"text\": \"added\"}"));
+		assertTrue(content.endsWith(EXPECTED_END));
+		assertEquals(content.indexOf(EXPECTED_END), content.lastIndexOf(EXPECTED_END));
+	}
+
+	public void testResumeWithoutResults() throws Exception {
+		long length;
+		try (SarifWriter writer = new SarifWriter(file, 0)) {
+			length = writer.getLength();
+		}
+		try (SarifWriter writer = new SarifWriter(file, length)) {
+			assertTrue(writer.isResumed());
+			writer.write(Collections.singletonList(createProblem("added", 1)));
+		}
+		// The first result is not preceded by a separator.
+		assertTrue(read().contains("\"results\": [\n        {\"ruleId\""));
+	}
+
+	public void testResumeTruncatedFile() throws Exception {
+		long length;
+		try (SarifWriter writer = new SarifWriter(file, 0)) {
+			writer.write(Collections.singletonList(createProblem("lost", 1)));
+			length = writer.getLength();
+		}
+		Files.write(file.toPath(), Arrays.copyOf(Files.readAllBytes(file.toPath()), (int) length - 1));
+		try (SarifWriter writer = new SarifWriter(file, length)) {
+			// The output is shorter than recorded in the checkpoint, it is written again.
+			assertFalse(writer.isResumed());
+		}
+		String content = read();
+		assertFalse(content.contains("lost"));
+		assertTrue(content.endsWith("\"results\": [" + EXPECTED_END));
+	}
+}
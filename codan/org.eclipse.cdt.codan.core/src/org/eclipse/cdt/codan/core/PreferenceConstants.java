@@ -21,4 +21,17 @@ public class PreferenceConstants {
 	public static final String P_RUN_IN_EDITOR = "inEditor"; //$NON-NLS-1$
 	public static final String P_PROBLEMS = "problems"; //$NON-NLS-1$
 	public static final String P_USE_PARENT = "useParentScope"; //$NON-NLS-1$
+	/**
+	 * The time in milliseconds a checker may spend on a resource before it is canceled,
+	 * {@code 0} for no limit. A checker is canceled by an {@link org.eclipse.core.runtime.OperationCanceledException}
+	 * thrown when it reports a problem or requests a model.
+	 * @since 4.3
+	 */
+	public static final String P_CHECKER_TIME_BUDGET = "checkerTimeBudget"; //$NON-NLS-1$
+	/**
+	 * Whether checkers working on function definitions reuse their results for the function
+	 * definitions that did not change since the file was checked the last time.
+	 * @since 4.3
+	 */
+	public static final String P_INCREMENTAL_ANALYSIS = "incrementalAnalysis"; //$NON-NLS-1$
 }
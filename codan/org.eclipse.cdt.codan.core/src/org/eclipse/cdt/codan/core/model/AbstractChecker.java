@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.internal.core.CheckerBudget;
 import org.eclipse.cdt.codan.internal.core.CheckersRegistry;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -171,8 +172,13 @@ public abstract class AbstractChecker implements IChecker {
 	 * @param problemId - id of a problem
 	 * @param loc - problem location
 	 * @param args - extra problem arguments
+	 * @throws OperationCanceledException if the checker was canceled or exceeded its time budget
+	 *     (see {@link org.eclipse.cdt.codan.core.PreferenceConstants#P_CHECKER_TIME_BUDGET}). Checkers
+	 *     should let it propagate, it is caught by the framework running the checker, which then
+	 *     moves on to the next one.
 	 */
 	public void reportProblem(String problemId, IProblemLocation loc, Object... args) {
+		CheckerBudget.checkCanceled();
 		getProblemReporter().reportProblem(problemId, loc, args);
 	}
 
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Records the files analyzed by a headless code analysis run, so that an interrupted run can be
+ * continued without analyzing the same files again.
+ * <p>
+ * Each line of the checkpoint file contains the length of the output written after a file was
+ * analyzed and the workspace path of the file, separated by a tab. A truncated last line, left
+ * by an interruption while it was written, is ignored.
+ * <p>
+ * This class is public for testing purposes only.
+ */
+public final class AnalysisCheckpoint implements Closeable {
+	private final File file;
+	private final Set<String> analyzedFiles = new HashSet<>();
+	private long outputLength;
+	private Writer out;
+
+	/**
+	 * Reads the checkpoint file, if it exists.
+	 */
+	public AnalysisCheckpoint(File file) throws IOException {
+		this.file = file;
+		if (!file.isFile())
+			return;
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		int end = content.lastIndexOf('\n') + 1;
+		if (end < content.length()) {
+			// Drop the truncated line, so that new lines are appended correctly.
+			content = content.substring(0, end);
+			Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		}
+		for (String line : content.split("\n")) { //$NON-NLS-1$
+			int tab = line.indexOf('\t');
+			if (tab <= 0)
+				break;
+			try {
+				outputLength = Long.parseLong(line.substring(0, tab));
+			} catch (NumberFormatException e) {
+				break;
+			}
+			analyzedFiles.add(line.substring(tab + 1));
+		}
+	}
+
+	/**
+	 * Returns the number of files recorded as analyzed.
+	 */
+	public int getAnalyzedFileCount() {
+		return analyzedFiles.size();
+	}
+
+	/**
+	 * Returns the length of the output at the time the last analyzed file was recorded.
+	 */
+	public long getOutputLength() {
+		return outputLength;
+	}
+
+	public boolean isAnalyzed(IFile file) {
+		return analyzedFiles.contains(file.getFullPath().toString());
+	}
+
+	/**
+	 * Forgets the analyzed files, e.g. when the output they were recorded for no longer exists.
+	 */
+	public void reset() {
+		analyzedFiles.clear();
+		outputLength = 0;
+		file.delete();
+	}
+
+	/**
+	 * Records that the given file has been analyzed and its results were written to the output.
+	 *
+	 * @param analyzedFile the analyzed file
+	 * @param length the length of the output after the results of the file
+	 */
+	public void analyzed(IFile analyzedFile, long length) throws IOException {
+		if (out == null) {
+			out = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8);
+		}
+		out.write(length + "\t" + analyzedFile.getFullPath() + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		out.flush();
+		outputLength = length;
+	}
+
+	/**
+	 * Deletes the checkpoint file once the run has completed.
+	 */
+	public void delete() throws IOException {
+		close();
+		file.delete();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (out != null) {
+			out.close();
+			out = null;
+		}
+	}
+}
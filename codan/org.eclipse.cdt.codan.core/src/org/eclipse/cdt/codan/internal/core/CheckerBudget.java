@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Time budget of a checker processing a resource. Checkers are canceled cooperatively, the budget
+ * of the checker running on the current thread is checked by {@link #checkCanceled()}, which is
+ * called by the framework whenever a checker reports a problem or requests an expensive model.
+ */
+public final class CheckerBudget {
+	private static final ThreadLocal<CheckerBudget> current = new ThreadLocal<>();
+
+	private final long millis;
+	private final boolean unlimited;
+	private final long deadline;
+
+	/**
+	 * @param millis the time budget in milliseconds, {@code 0} for no limit.
+	 */
+	public CheckerBudget(long millis) {
+		this.millis = millis;
+		unlimited = millis <= 0;
+		deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	/**
+	 * Returns the time budget in milliseconds, {@code 0} for no limit.
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * Returns whether the time budget has been used up.
+	 */
+	public boolean isExhausted() {
+		return !unlimited && System.nanoTime() - deadline >= 0;
+	}
+
+	/**
+	 * Runs the task with this budget assigned to the current thread.
+	 */
+	public <T> T run(Supplier<T> task) {
+		CheckerBudget previous = current.get();
+		current.set(this);
+		try {
+			return task.get();
+		} finally {
+			current.set(previous);
+		}
+	}
+
+	/**
+	 * Throws {@link OperationCanceledException} if the checker running on the current thread has
+	 * exceeded its time budget.
+	 */
+	public static void checkCanceled() throws OperationCanceledException {
+		CheckerBudget budget = current.get();
+		if (budget != null && budget.isExhausted())
+			throw new OperationCanceledException();
+	}
+}
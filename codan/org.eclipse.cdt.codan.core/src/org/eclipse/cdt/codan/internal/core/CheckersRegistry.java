@@ -14,12 +14,17 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.PreferenceConstants;
@@ -44,6 +49,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.ConfigurationScope;
 import org.eclipse.core.runtime.preferences.DefaultScope;
@@ -68,9 +74,18 @@ public class CheckersRegistry implements ICheckersRegistry {
 	private static CheckersRegistry instance;
 	private static boolean initialized = false;
 	private final Map<Object, IProblemProfile> profiles = new HashMap<>();
-	private final Map<IChecker, Collection<IProblem>> problemList = new HashMap<>();
+	// Contains the copies of the checkers as well, they are added while checkers are running.
+	private final Map<IChecker, Collection<IProblem>> problemList = new ConcurrentHashMap<>();
 	private final Map<String, IChecker> problemCheckerMapping = new HashMap<>();
 	private final List<ICheckerEnablementVerifier> checkerEnablementVerifiers = new ArrayList<>();
+	// The extensions the checkers were created from, used for creating copies of them.
+	private final Map<IChecker, IConfigurationElement> checkerElements = new HashMap<>();
+	// The checkers processing a resource.
+	private final Set<IChecker> busyCheckers = new HashSet<>();
+	// The copies of the checkers not processing a resource, by original checker.
+	private final Map<IChecker, Deque<IChecker>> idleCopies = new HashMap<>();
+	// The original checkers, by copy.
+	private final Map<IChecker, IChecker> originals = new HashMap<>();
 
 	private CheckersRegistry() {
 		instance = this;
@@ -153,6 +168,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 					Object checker = configurationElement.createExecutableExtension(CLASS_ATTR);
 					checkerObj = (IChecker) checker;
 					addChecker(checkerObj);
+					checkerElements.put(checkerObj, configurationElement);
 				} catch (CoreException e) {
 					CodanCorePlugin.log(e);
 					return;
@@ -428,6 +444,61 @@ public class CheckersRegistry implements ICheckersRegistry {
 		return false;
 	}
 
+	/**
+	 * Returns a checker that processes a resource on behalf of the given checker. A checker
+	 * processes one resource at a time. While the given checker is processing another resource,
+	 * a copy of it created from the same extension is returned, which shares the problems of the
+	 * checker. Checkers that were not created from an extension are waited for instead. The
+	 * returned checker has to be released by {@link #releaseChecker(IChecker)}.
+	 *
+	 * @param checker a registered checker
+	 * @return the given checker or a copy of it
+	 * @throws OperationCanceledException if the thread was interrupted while waiting for the
+	 *     checker
+	 */
+	public synchronized IChecker acquireChecker(IChecker checker) throws OperationCanceledException {
+		if (busyCheckers.add(checker))
+			return checker;
+		Deque<IChecker> copies = idleCopies.get(checker);
+		if (copies != null && !copies.isEmpty())
+			return copies.pop();
+		IConfigurationElement element = checkerElements.get(checker);
+		if (element != null) {
+			try {
+				IChecker copy = (IChecker) element.createExecutableExtension(CLASS_ATTR);
+				Collection<IProblem> problems = problemList.get(checker);
+				if (problems != null)
+					problemList.put(copy, problems);
+				originals.put(copy, checker);
+				return copy;
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+			}
+		}
+		while (!busyCheckers.add(checker)) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+		return checker;
+	}
+
+	/**
+	 * Releases a checker returned by {@link #acquireChecker(IChecker)}.
+	 */
+	public synchronized void releaseChecker(IChecker checker) {
+		IChecker original = originals.get(checker);
+		if (original != null) {
+			idleCopies.computeIfAbsent(original, c -> new ArrayDeque<>()).push(checker);
+		} else {
+			busyCheckers.remove(checker);
+			notifyAll();
+		}
+	}
+
 	/**
 	 * @return the number of checkers
 	 */
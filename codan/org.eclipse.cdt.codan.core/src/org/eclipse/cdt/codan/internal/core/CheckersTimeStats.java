@@ -18,11 +18,13 @@ import java.util.Iterator;
 import java.util.Map;
 
 /**
- * Class to collect time states for checkers runs
+ * Class to collect time states for checkers runs. Checkers may run concurrently, the times are
+ * measured separately for every thread.
  */
 public class CheckersTimeStats {
 	public static final String ALL = "ALL"; //$NON-NLS-1$
 	public static final String ELAPSED = "ELAPSED"; //$NON-NLS-1$
+	public static final String TIMEOUT = "TIMEOUT"; //$NON-NLS-1$
 	private static CheckersTimeStats instance = new CheckersTimeStats();
 	private boolean enableStats = false;
 
@@ -35,17 +37,18 @@ public class CheckersTimeStats {
 
 	private static class TimeRecord {
 		private long duration;
-		private long current;
+		private final Map<Thread, Long> current = new HashMap<>();
 		private int count;
 
 		public void start() {
-			current = System.currentTimeMillis();
+			current.put(Thread.currentThread(), System.currentTimeMillis());
 		}
 
 		public void stop() {
+			Long start = current.remove(Thread.currentThread());
 			count++;
-			duration += System.currentTimeMillis() - current;
-			current = 0;
+			if (start != null)
+				duration += System.currentTimeMillis() - start;
 		}
 
 		@Override
@@ -90,7 +93,7 @@ public class CheckersTimeStats {
 	 * @param id
 	 * @param counter
 	 */
-	public void checkerStart(String id, String counter) {
+	public synchronized void checkerStart(String id, String counter) {
 		if (enableStats) {
 			TimeRecord record = getTimeRecord(getKey(id, counter));
 			record.start();
@@ -105,7 +108,7 @@ public class CheckersTimeStats {
 	 * @param id
 	 * @param counter
 	 */
-	public void checkerStop(String id, String counter) {
+	public synchronized void checkerStop(String id, String counter) {
 		if (enableStats) {
 			getTimeRecord(getKey(id, counter)).stop();
 		}
@@ -118,6 +121,17 @@ public class CheckersTimeStats {
 		checkerStop(id, ELAPSED);
 	}
 
+	/**
+	 * Counts a run of the checker with given id that exceeded its time budget
+	 *
+	 * @param id
+	 */
+	public synchronized void checkerTimedOut(String id) {
+		if (enableStats) {
+			getTimeRecord(getKey(id, TIMEOUT)).count++;
+		}
+	}
+
 	/**
 	 * Print checker stats to stdout if tracing enabled
 	 */
@@ -130,7 +144,7 @@ public class CheckersTimeStats {
 	/**
 	 *
 	 */
-	public void printStats() {
+	public synchronized void printStats() {
 		System.out.println("---"); //$NON-NLS-1$
 		String totalId = getKey(ALL, ELAPSED);
 		TimeRecord all = records.get(totalId);
@@ -147,7 +161,7 @@ public class CheckersTimeStats {
 	/**
 	 *
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		records.clear();
 	}
 
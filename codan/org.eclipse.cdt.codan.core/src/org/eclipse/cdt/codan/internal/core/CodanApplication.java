@@ -13,16 +13,29 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.codan.core.CodanRuntime;
 import org.eclipse.cdt.codan.core.model.AbstractProblemReporter;
+import org.eclipse.cdt.codan.core.model.IChecker;
 import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
+import org.eclipse.cdt.codan.core.model.IProblemReporterSessionPersistent;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
@@ -38,6 +51,70 @@ public class CodanApplication implements IApplication {
 	private Collection<String> projects = new ArrayList<>();
 	private boolean verbose;
 	private boolean all;
+	private boolean parallel;
+	private int threads;
+	private File sarifFile;
+	private File checkpointFile;
+	private SarifWriter sarif;
+	private AnalysisCheckpoint checkpoint;
+	/** Problems waiting to be written to the SARIF file, by the analyzed resource. */
+	private final Map<IResource, List<ICodanProblemMarker>> pendingProblems = new ConcurrentHashMap<>();
+
+	/**
+	 * Prints the problems or, when writing a SARIF file, collects them until the analyzed resource
+	 * has been processed. The checkers report through a session reporter for the analyzed resource,
+	 * so the problems found in other files, e.g. headers, are written with the results of the file
+	 * that was analyzed and are not lost when the run is interrupted.
+	 */
+	private class ProblemReporter extends AbstractProblemReporter implements IProblemReporterSessionPersistent {
+		private final IResource analyzedResource;
+		private final IChecker checker;
+
+		ProblemReporter(IResource analyzedResource, IChecker checker) {
+			this.analyzedResource = analyzedResource;
+			this.checker = checker;
+		}
+
+		@Override
+		protected void reportProblem(ICodanProblemMarker pm) {
+			IResource file = pm.getResource();
+			if (sarifFile != null) {
+				IResource key = analyzedResource != null ? analyzedResource : file;
+				pendingProblems.computeIfAbsent(key, r -> Collections.synchronizedList(new ArrayList<>())).add(pm);
+				return;
+			}
+			System.out.println(file.getLocation() + ":" + pm.getLocation().getLineNumber() + ": " //$NON-NLS-1$ //$NON-NLS-2$
+					+ pm.createMessage());
+		}
+
+		@Override
+		public IProblemReporterSessionPersistent createReporter(IResource resource, IChecker checker) {
+			return new ProblemReporter(resource, checker);
+		}
+
+		@Override
+		public void deleteProblems(boolean all) {
+			// Nothing is persisted.
+		}
+
+		@Override
+		public void start() {
+		}
+
+		@Override
+		public void done() {
+		}
+
+		@Override
+		public IChecker getChecker() {
+			return checker;
+		}
+
+		@Override
+		public IResource getResource() {
+			return analyzedResource;
+		}
+	}
 
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
@@ -46,21 +123,18 @@ public class CodanApplication implements IApplication {
 			help();
 			return EXIT_OK;
 		}
-		extractArguments(args);
+		if (!extractArguments(args)) {
+			help();
+			return EXIT_OK;
+		}
 		CodanBuilder codanBuilder = new CodanBuilder();
 		CodanRuntime runtime = CodanRuntime.getInstance();
-		runtime.setProblemReporter(new AbstractProblemReporter() {
-			@Override
-			protected void reportProblem(ICodanProblemMarker pm) {
-				IResource file = pm.getResource();
-				System.out.println(file.getLocation() + ":" + pm.getLocation().getLineNumber() + ": " //$NON-NLS-1$ //$NON-NLS-2$
-						+ pm.createMessage());
-			}
-		});
+		runtime.setProblemReporter(new ProblemReporter(null, null));
 		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		List<IResource> resources = new ArrayList<>();
 		if (all) {
 			log(Messages.CodanApplication_LogRunWorkspace);
-			codanBuilder.processResource(root, new NullProgressMonitor());
+			resources.add(root);
 		} else {
 			for (String project : projects) {
 				log(Messages.CodanApplication_LogRunProject + project);
@@ -70,12 +144,111 @@ public class CodanApplication implements IApplication {
 							NLS.bind(Messages.CodanApplication_Error_ProjectDoesNotExists, project));
 					continue;
 				}
-				codanBuilder.processResource(wProject, new NullProgressMonitor());
+				resources.add(wProject);
+			}
+		}
+		if (parallel || threads > 0 || sarifFile != null || checkpointFile != null) {
+			processFiles(codanBuilder, resources);
+		} else {
+			for (IResource resource : resources) {
+				codanBuilder.processResource(resource, new NullProgressMonitor());
 			}
 		}
 		return EXIT_OK;
 	}
 
+	/**
+	 * Runs the code analysis on the files of the given resources, distributing the files over a pool
+	 * of threads. The results of each file, including the problems found in the files it includes,
+	 * are written to the SARIF file as soon as the file has been analyzed, after which the file is
+	 * recorded in the checkpoint. Checkers that process containers
+	 * are not run in this mode.
+	 */
+	private void processFiles(final CodanBuilder codanBuilder, Collection<IResource> resources)
+			throws CoreException, InterruptedException, IOException {
+		final List<IFile> files = new ArrayList<>();
+		for (IResource resource : resources) {
+			resource.accept(proxy -> {
+				if (proxy.getType() == IResource.FILE) {
+					files.add((IFile) proxy.requestResource());
+				}
+				return true;
+			}, IResource.NONE);
+		}
+		if (checkpointFile != null) {
+			checkpoint = new AnalysisCheckpoint(checkpointFile);
+		}
+		boolean completed = false;
+		try {
+			if (sarifFile != null) {
+				sarif = new SarifWriter(sarifFile, checkpoint != null ? checkpoint.getOutputLength() : 0);
+				if (!sarif.isResumed() && checkpoint != null) {
+					// The results of the analyzed files are lost.
+					checkpoint.reset();
+				}
+			}
+			if (checkpoint != null && checkpoint.getAnalyzedFileCount() > 0) {
+				log(NLS.bind(Messages.CodanApplication_LogResume, checkpoint.getAnalyzedFileCount()));
+			}
+			int threadCount = threads > 0 ? threads : parallel ? Runtime.getRuntime().availableProcessors() : 1;
+			log(NLS.bind(Messages.CodanApplication_LogRunParallel, files.size(), threadCount));
+			ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+			try {
+				for (final IFile file : files) {
+					if (checkpoint != null && checkpoint.isAnalyzed(file))
+						continue;
+					executor.execute(() -> {
+						codanBuilder.processResource(file, new NullProgressMonitor());
+						analyzed(file);
+					});
+				}
+			} finally {
+				executor.shutdown();
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+			}
+			if (sarif != null) {
+				// Problems reported outside of a session for an analyzed file.
+				for (List<ICodanProblemMarker> problems : pendingProblems.values()) {
+					sarif.write(problems);
+				}
+				pendingProblems.clear();
+			}
+			completed = true;
+		} finally {
+			if (sarif != null) {
+				sarif.close();
+			}
+			if (checkpoint != null) {
+				if (completed) {
+					checkpoint.delete();
+				} else {
+					checkpoint.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the results of an analyzed file and records it in the checkpoint.
+	 */
+	private synchronized void analyzed(IFile file) {
+		try {
+			long length = 0;
+			if (sarif != null) {
+				List<ICodanProblemMarker> problems = pendingProblems.remove(file);
+				if (problems != null) {
+					sarif.write(problems);
+				}
+				length = sarif.getLength();
+			}
+			if (checkpoint != null) {
+				checkpoint.analyzed(file, length);
+			}
+		} catch (IOException e) {
+			System.err.println(NLS.bind(Messages.CodanApplication_Error_Output, e.getMessage()));
+		}
+	}
+
 	/**
 	 * @param string
 	 */
@@ -86,18 +259,40 @@ public class CodanApplication implements IApplication {
 
 	/**
 	 * @param args
+	 * @return {@code false} if the arguments are not valid
 	 */
-	private void extractArguments(String[] args) {
+	private boolean extractArguments(String[] args) {
 		for (int i = 0; i < args.length; i++) {
 			String string = args[i];
 			if (string.equals("-verbose")) { //$NON-NLS-1$
 				verbose = true;
 			} else if (string.equals("-all")) { //$NON-NLS-1$
 				all = true;
+			} else if (string.equals("-parallel")) { //$NON-NLS-1$
+				parallel = true;
+			} else if (string.equals("-threads")) { //$NON-NLS-1$
+				if (++i >= args.length)
+					return false;
+				try {
+					threads = Integer.parseInt(args[i]);
+				} catch (NumberFormatException e) {
+					return false;
+				}
+				if (threads <= 0)
+					return false;
+			} else if (string.equals("-sarif")) { //$NON-NLS-1$
+				if (++i >= args.length)
+					return false;
+				sarifFile = new File(args[i]);
+			} else if (string.equals("-checkpoint")) { //$NON-NLS-1$
+				if (++i >= args.length)
+					return false;
+				checkpointFile = new File(args[i]);
 			} else {
 				projects.add(string);
 			}
 		}
+		return true;
 	}
 
 	/**
@@ -107,6 +302,10 @@ public class CodanApplication implements IApplication {
 		System.out.println(Messages.CodanApplication_Usage);
 		System.out.println(Messages.CodanApplication_Options);
 		System.out.println(Messages.CodanApplication_all_option);
+		System.out.println(Messages.CodanApplication_parallel_option);
+		System.out.println(Messages.CodanApplication_threads_option);
+		System.out.println(Messages.CodanApplication_sarif_option);
+		System.out.println(Messages.CodanApplication_checkpoint_option);
 		System.out.println(Messages.CodanApplication_verbose_option);
 	}
 
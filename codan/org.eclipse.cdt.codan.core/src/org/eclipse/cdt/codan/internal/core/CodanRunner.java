@@ -15,6 +15,7 @@
 package org.eclipse.cdt.codan.internal.core;
 
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.PreferenceConstants;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.IChecker;
 import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
@@ -23,7 +24,10 @@ import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.osgi.util.NLS;
 
@@ -82,28 +86,20 @@ public class CodanRunner {
 		try {
 			CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
 			ICheckerInvocationContext context = new CheckerInvocationContext(resource);
+			long timeBudget = getTimeBudget();
 			try {
 				for (IChecker checker : chegistry) {
 					if (monitor.isCanceled())
 						return;
 					if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
-						synchronized (checker) {
-							try {
-								checker.before(resource);
-								CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
-								if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
-									((IRunnableInEditorChecker) checker).processModel(model, context);
-								} else {
-									checker.processResource(resource, context);
-								}
-							} catch (OperationCanceledException e) {
+						// Files may be processed concurrently, each one by a checker of its own.
+						IChecker running = chegistry.acquireChecker(checker);
+						try {
+							if (!runChecker(running, resource, model, checkerLaunchMode, context,
+									new CheckerBudget(timeBudget)))
 								return;
-							} catch (Throwable e) {
-								CodanCorePlugin.log(e);
-							} finally {
-								CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
-								checker.after(resource);
-							}
+						} finally {
+							chegistry.releaseChecker(running);
 						}
 					}
 					monitor.worked(1);
@@ -126,4 +122,49 @@ public class CodanRunner {
 			monitor.done();
 		}
 	}
+
+	private static long getTimeBudget() {
+		return Platform.getPreferencesService().getInt(CodanCorePlugin.PLUGIN_ID,
+				PreferenceConstants.P_CHECKER_TIME_BUDGET, 0, null);
+	}
+
+	/**
+	 * Runs a checker on the current thread. A checker that exceeds its time budget is reported and
+	 * the processing of the resource continues with the next checker.
+	 * <p>
+	 * This method is public for testing purposes only.
+	 *
+	 * @return {@code false} if the processing of the resource was canceled.
+	 */
+	public static boolean runChecker(IChecker checker, IResource resource, Object model,
+			CheckerLaunchMode checkerLaunchMode, ICheckerInvocationContext context, CheckerBudget budget) {
+		return budget.run(() -> {
+			try {
+				checker.before(resource);
+				CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
+				if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+					((IRunnableInEditorChecker) checker).processModel(model, context);
+				} else {
+					checker.processResource(resource, context);
+				}
+			} catch (OperationCanceledException e) {
+				if (!budget.isExhausted())
+					return false;
+				reportTimeout(checker, resource, budget.getMillis());
+			} catch (Throwable e) {
+				CodanCorePlugin.log(e);
+			} finally {
+				CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
+				checker.after(resource);
+			}
+			return true;
+		});
+	}
+
+	private static void reportTimeout(IChecker checker, IResource resource, long timeBudget) {
+		CheckersTimeStats.getInstance().checkerTimedOut(checker.getClass().getName());
+		CodanCorePlugin.log(new Status(IStatus.WARNING, CodanCorePlugin.PLUGIN_ID,
+				NLS.bind(Messages.CodanRunner_Checker_exceeded_time_budget,
+						new Object[] { checker.getClass().getName(), timeBudget, resource.getFullPath() })));
+	}
 }
@@ -31,5 +31,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 		node.putBoolean(PreferenceConstants.P_RUN_ON_BUILD, false);
 		node.putBoolean(PreferenceConstants.P_RUN_IN_EDITOR, true);
 		node.putBoolean(PreferenceConstants.P_USE_PARENT, true);
+		node.putInt(PreferenceConstants.P_CHECKER_TIME_BUDGET, 60000);
+		node.putBoolean(PreferenceConstants.P_INCREMENTAL_ANALYSIS, true);
 	}
 }
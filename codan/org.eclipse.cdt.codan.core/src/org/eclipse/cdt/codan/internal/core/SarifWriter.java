@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import org.eclipse.cdt.codan.core.model.CodanSeverity;
+import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * Streams the problems found by the code analysis to a file in the SARIF 2.1.0 format. Results are
+ * written as soon as they are passed to the writer, the end of the document is written when
+ * the writer is closed.
+ * <p>
+ * A partially written file can be continued by opening it with the length returned by
+ * {@link #getLength()} after the last batch of results that has to be kept.
+ * <p>
+ * This class is public for testing purposes only.
+ */
+public final class SarifWriter implements Closeable {
+	private static final String HEADER = "{\n" //$NON-NLS-1$
+			+ "  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n" //$NON-NLS-1$
+			+ "  \"version\": \"2.1.0\",\n" //$NON-NLS-1$
+			+ "  \"runs\": [\n" //$NON-NLS-1$
+			+ "    {\n" //$NON-NLS-1$
+			+ "      \"tool\": {\n" //$NON-NLS-1$
+			+ "        \"driver\": {\n" //$NON-NLS-1$
+			+ "          \"name\": \"Eclipse CDT Code Analysis\",\n" //$NON-NLS-1$
+			+ "          \"informationUri\": \"https://eclipse.org/cdt\"\n" //$NON-NLS-1$
+			+ "        }\n" //$NON-NLS-1$
+			+ "      },\n" //$NON-NLS-1$
+			+ "      \"results\": ["; //$NON-NLS-1$
+	private static final String FOOTER = "\n      ]\n    }\n  ]\n}\n"; //$NON-NLS-1$
+	private static final int HEADER_LENGTH = HEADER.getBytes(StandardCharsets.UTF_8).length;
+
+	private final RandomAccessFile out;
+	private final boolean resumed;
+	private boolean empty;
+
+	/**
+	 * Opens the output file.
+	 *
+	 * @param file the SARIF file
+	 * @param resumeLength the length of the existing content of the file to keep, or 0 to start
+	 *     a new file. The content is kept only if the file is at least that long, see
+	 *     {@link #isResumed()}.
+	 */
+	public SarifWriter(File file, long resumeLength) throws IOException {
+		out = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+		if (resumeLength >= HEADER_LENGTH && out.length() >= resumeLength) {
+			resumed = true;
+			empty = resumeLength == HEADER_LENGTH;
+			out.setLength(resumeLength);
+			out.seek(resumeLength);
+		} else {
+			resumed = false;
+			empty = true;
+			out.setLength(0);
+			write(HEADER);
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the writer continues a previously written file.
+	 */
+	public boolean isResumed() {
+		return resumed;
+	}
+
+	/**
+	 * Returns the length of the content written so far, not including the end of the document.
+	 */
+	public long getLength() throws IOException {
+		return out.getFilePointer();
+	}
+
+	/**
+	 * Appends the given problems to the results.
+	 */
+	public void write(Collection<ICodanProblemMarker> problems) throws IOException {
+		if (problems.isEmpty())
+			return;
+		StringBuilder buf = new StringBuilder();
+		for (ICodanProblemMarker problem : problems) {
+			buf.append(empty ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			empty = false;
+			appendResult(buf, problem);
+		}
+		write(buf.toString());
+	}
+
+	private void appendResult(StringBuilder buf, ICodanProblemMarker problem) {
+		buf.append("        {\"ruleId\": "); //$NON-NLS-1$
+		appendString(buf, problem.getProblem().getId());
+		buf.append(", \"level\": "); //$NON-NLS-1$
+		appendString(buf, getLevel(problem.getProblem().getSeverity()));
+		buf.append(", \"message\": {\"text\": "); //$NON-NLS-1$
+		appendString(buf, problem.createMessage());
+		buf.append("}"); //$NON-NLS-1$
+		IResource resource = problem.getResource();
+		if (resource != null) {
+			buf.append(", \"locations\": [{\"physicalLocation\": {\"artifactLocation\": {\"uri\": "); //$NON-NLS-1$
+			URI uri = resource.getLocationURI();
+			appendString(buf, uri != null ? uri.toString() : resource.getFullPath().toString());
+			buf.append("}"); //$NON-NLS-1$
+			IProblemLocation location = problem.getLocation();
+			int line = location.getLineNumber();
+			int start = location.getStartingChar();
+			int end = location.getEndingChar();
+			if (line > 0 || start >= 0) {
+				buf.append(", \"region\": {"); //$NON-NLS-1$
+				String separator = ""; //$NON-NLS-1$
+				if (line > 0) {
+					buf.append("\"startLine\": ").append(line); //$NON-NLS-1$
+					separator = ", "; //$NON-NLS-1$
+				}
+				if (start >= 0) {
+					buf.append(separator).append("\"charOffset\": ").append(start); //$NON-NLS-1$
+					if (end >= start) {
+						buf.append(", \"charLength\": ").append(end - start); //$NON-NLS-1$
+					}
+				}
+				buf.append("}"); //$NON-NLS-1$
+			}
+			buf.append("}}]"); //$NON-NLS-1$
+		}
+		buf.append("}"); //$NON-NLS-1$
+	}
+
+	private static String getLevel(CodanSeverity severity) {
+		switch (severity) {
+		case Error:
+			return "error"; //$NON-NLS-1$
+		case Warning:
+			return "warning"; //$NON-NLS-1$
+		default:
+			return "note"; //$NON-NLS-1$
+		}
+	}
+
+	private static void appendString(StringBuilder buf, String value) {
+		buf.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				buf.append("\\\""); //$NON-NLS-1$
+				break;
+			case '\\':
+				buf.append("\\\\"); //$NON-NLS-1$
+				break;
+			case '\n':
+				buf.append("\\n"); //$NON-NLS-1$
+				break;
+			case '\r':
+				buf.append("\\r"); //$NON-NLS-1$
+				break;
+			case '\t':
+				buf.append("\\t"); //$NON-NLS-1$
+				break;
+			default:
+				if (c < 0x20) {
+					buf.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+				} else {
+					buf.append(c);
+				}
+			}
+		}
+		buf.append('"');
+	}
+
+	private void write(String text) throws IOException {
+		out.write(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes the end of the document and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			write(FOOTER);
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -36,6 +36,9 @@ public class ControlFlowGraph implements IControlFlowGraph {
 	private List<IExitNode> exitNodes;
 	private List<IBasicBlock> deadNodes = new ArrayList<>();
 	private IStartNode start;
+	// Computed on demand, the graph is not modified once it is built.
+	private Collection<IBasicBlock> allNodes;
+	private Collection<IBasicBlock> allDeadNodes;
 
 	public ControlFlowGraph(IStartNode start, Collection<IExitNode> exitNodes) {
 		setExitNodes(exitNodes);
@@ -58,8 +61,10 @@ public class ControlFlowGraph implements IControlFlowGraph {
 		this.exitNodes = Collections.unmodifiableList(new ArrayList<>(exitNodes));
 	}
 
-	public void setUnconnectedNodes(Collection<IBasicBlock> nodes) {
+	public synchronized void setUnconnectedNodes(Collection<IBasicBlock> nodes) {
 		this.deadNodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+		allNodes = null;
+		allDeadNodes = null;
 	}
 
 	@Override
@@ -102,11 +107,14 @@ public class ControlFlowGraph implements IControlFlowGraph {
 	}
 
 	@Override
-	public Collection<IBasicBlock> getNodes() {
-		Collection<IBasicBlock> result = new LinkedHashSet<>();
-		getNodes(getStartNode(), result);
-		getDeadNodes(result);
-		return result;
+	public synchronized Collection<IBasicBlock> getNodes() {
+		if (allNodes == null) {
+			Collection<IBasicBlock> result = new LinkedHashSet<>();
+			getNodes(getStartNode(), result);
+			getDeadNodes(result);
+			allNodes = Collections.unmodifiableCollection(result);
+		}
+		return allNodes;
 	}
 
 	private void getNodes(IBasicBlock start, Collection<IBasicBlock> result) {
@@ -126,10 +134,13 @@ public class ControlFlowGraph implements IControlFlowGraph {
 		}
 	}
 
-	public Collection<IBasicBlock> getDeadNodes() {
-		Collection<IBasicBlock> result = new LinkedHashSet<>();
-		getDeadNodes(result);
-		return result;
+	public synchronized Collection<IBasicBlock> getDeadNodes() {
+		if (allDeadNodes == null) {
+			Collection<IBasicBlock> result = new LinkedHashSet<>();
+			getDeadNodes(result);
+			allDeadNodes = Collections.unmodifiableCollection(result);
+		}
+		return allDeadNodes;
 	}
 
 	private void getDeadNodes(Collection<IBasicBlock> result) {
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import static org.eclipse.cdt.core.parser.ParserLanguage.CPP;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ParallelNameResolver;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ResolutionContext;
+
+import junit.framework.TestSuite;
+
+public class ParallelNameResolverTests extends AST2CPPTestBase {
+	private static final int FUNCTION_COUNT = 200;
+
+	public ParallelNameResolverTests() {
+	}
+
+	public ParallelNameResolverTests(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(ParallelNameResolverTests.class);
+	}
+
+	private static String createCode() {
+		StringBuilder code = new StringBuilder();
+		code.append("template<typename T> struct Box { T value; T get() const { return value; } };\n");
+		code.append("template<typename T> using Alias = Box<Box<T>>;\n");
+		code.append("template<int N> struct Fact { static constexpr int value = N * Fact<N - 1>::value; };\n");
+		code.append("template<> struct Fact<0> { static constexpr int value = 1; };\n");
+		code.append("struct Base { virtual int f(); };\n");
+		code.append("struct Derived : Base { int f() override; };\n");
+		code.append("namespace ns { int g(int); double g(double); }\n");
+		for (int i = 0; i < FUNCTION_COUNT; i++) {
+			code.append("struct S").append(i).append(" { int m; };\n");
+			code.append("int f").append(i).append("(int p) {\n");
+			code.append("  Alias<S").append(i).append("> a;\n");
+			code.append("  auto v = a.get().get().m + ns::g(p);\n");
+			code.append("  constexpr int c = Fact<").append(i % 10).append(">::value;\n");
+			code.append("  Derived d; d.f();\n");
+			code.append("  Box<long> b; b.value = c;\n");
+			code.append("  return v + b.get();\n");
+			code.append("}\n");
+		}
+		return code.toString();
+	}
+
+	/**
+	 * Function bodies that enter the bodies of functions with deduced return types and of
+	 * constexpr functions.
+	 */
+	private static String createCodeWithSharedBodies() {
+		StringBuilder code = new StringBuilder();
+		code.append("constexpr int square(int x) { int r = x * x; return r; }\n");
+		code.append("template<typename T> constexpr T twice(T x) { T r = x + x; return r; }\n");
+		code.append("auto half(int x) { long r = x / 2; return r; }\n");
+		code.append("struct P { constexpr P(int v) : v(v) {} int v; auto get() const { return v; } };\n");
+		for (int i = 0; i < FUNCTION_COUNT; i++) {
+			code.append("int g").append(i).append("() {\n");
+			code.append("  constexpr int a = square(").append(i).append(") + twice(").append(i).append(");\n");
+			code.append("  auto b = half(a);\n");
+			code.append("  constexpr P p(a);\n");
+			code.append("  auto c = p.get();\n");
+			code.append("  return b + c;\n");
+			code.append("}\n");
+		}
+		return code.toString();
+	}
+
+	private static List<String> describeBindings(IASTTranslationUnit tu) {
+		NameCollector collector = new NameCollector(true);
+		tu.accept(collector);
+		List<String> result = new ArrayList<>();
+		for (IASTName name : collector.nameList) {
+			IBinding binding = name.resolveBinding();
+			StringBuilder buf = new StringBuilder();
+			buf.append(result.size()).append(' ').append(name);
+			buf.append(" -> ").append(binding == null ? null : binding.getClass().getSimpleName());
+			if (binding instanceof IProblemBinding) {
+				buf.append(" problem ").append(((IProblemBinding) binding).getID());
+			} else if (binding instanceof IType) {
+				buf.append(' ').append(ASTTypeUtil.getType((IType) binding));
+			} else if (binding instanceof IVariable) {
+				buf.append(' ').append(ASTTypeUtil.getType(((IVariable) binding).getType()));
+			}
+			result.add(buf.toString());
+		}
+		return result;
+	}
+
+	public void testSameBindingsAsSerialResolution() throws Exception {
+		final String code = createCode();
+		List<String> expected = describeBindings(parse(code, CPP));
+
+		IASTTranslationUnit tu = parse(code, CPP);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			new ParallelNameResolver(pool).resolveNames(tu);
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(expected, describeBindings(tu));
+	}
+
+	public void testSharedFunctionBodies() throws Exception {
+		final String code = createCodeWithSharedBodies();
+		List<String> expected = describeBindings(parse(code, CPP));
+
+		IASTTranslationUnit tu = parse(code, CPP);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			new ParallelNameResolver(pool).resolveNames(tu);
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(expected, describeBindings(tu));
+	}
+
+	public void testResolutionContextIsolation() throws Exception {
+		IASTTranslationUnit tu = parse(createCode(), CPP);
+		CPPSemantics.pushLookupPoint(tu);
+		try {
+			ResolutionContext child = ResolutionContext.current().createChild();
+			assertNull(child.run(() -> CPPSemantics.getCurrentLookupPoint()));
+			assertSame(tu, CPPSemantics.getCurrentLookupPoint());
+		} finally {
+			CPPSemantics.popLookupPoint();
+		}
+
+		CPPSemantics.enablePromiscuousBindingResolution();
+		try {
+			ResolutionContext child = ResolutionContext.current().createChild();
+			assertTrue(child.run(() -> CPPSemantics.isUsingPromiscuousBindingResolution()));
+		} finally {
+			CPPSemantics.disablePromiscuousBindingResolution();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2.cxx14.constexpr;
+
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCache;
+
+import junit.framework.TestSuite;
+
+public abstract class MemoizationTests extends TestBase {
+	public static class NonIndexingTests extends MemoizationTests {
+		public NonIndexingTests() {
+			setStrategy(new NonIndexingTestStrategy());
+		}
+
+		public static TestSuite suite() {
+			return suite(NonIndexingTests.class);
+		}
+	}
+
+	public static class SingleProjectTests extends MemoizationTests {
+		public SingleProjectTests() {
+			setStrategy(new SinglePDOMTestStrategy(true, false));
+		}
+
+		public static TestSuite suite() {
+			return suite(SingleProjectTests.class);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ConstexprEvaluationContext.setBudget(ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS, 0);
+		super.tearDown();
+	}
+
+	private ConstexprCache getCache() throws Exception {
+		return ((CPPASTTranslationUnit) getLastDeclarationInitializer().getTranslationUnit()).getConstexprCache();
+	}
+
+	//	constexpr int fib(int n) {
+	//		return n < 2 ? n : fib(n - 1) + fib(n - 2);
+	//	}
+
+	//	constexpr int x = fib(40);
+	public void testRecursiveCallsAreMemoized() throws Exception {
+		assertEvaluationEquals(102334155);
+		assertTrue(getCache().getHitCount() > 0);
+	}
+
+	//	constexpr int square(int n) {
+	//		int result = 0;
+	//		for (int i = 0; i < n; i++)
+	//			result += n;
+	//		return result;
+	//	}
+
+	//	constexpr int x = square(10) + square(10);
+	public void testRepeatedCall() throws Exception {
+		assertEvaluationEquals(200);
+		ConstexprCache cache = getCache();
+		int hits = cache.getHitCount();
+		assertTrue(hits > 0);
+		assertEvaluationEquals(200);
+		assertTrue(cache.getHitCount() > hits);
+	}
+
+	//	constexpr int increment(int& n) {
+	//		return ++n;
+	//	}
+	//	constexpr int f() {
+	//		int n = 0;
+	//		increment(n);
+	//		increment(n);
+	//		return increment(n);
+	//	}
+
+	//	constexpr int x = f();
+	public void testCallWithReferenceParameter() throws Exception {
+		assertEvaluationEquals(3);
+	}
+
+	//	constexpr int sum(int n) {
+	//		int result = 0;
+	//		for (int i = 0; i < n; i++)
+	//			result += i;
+	//		return result;
+	//	}
+
+	//	constexpr int x = sum(10);
+	public void testStepBudget() throws Exception {
+		ConstexprEvaluationContext.setBudget(50, 0);
+		assertEvaluationProblem();
+		assertTrue(getCache().getExhaustedEvaluationCount() > 0);
+		// Calls that were given up are not cached.
+		ConstexprEvaluationContext.setBudget(ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS, 0);
+		assertEvaluationEquals(45);
+	}
+}
@@ -22,8 +22,10 @@ import java.io.OutputStream;
 
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.MappedCharArray;
 
 import junit.framework.TestSuite;
 
@@ -37,6 +39,7 @@ public class FileCharArrayTests extends BaseTestCase {
 
 	@Override
 	protected void tearDown() throws Exception {
+		FileCharArray.setUseMemoryMappedFiles(true);
 		if (fFile != null) {
 			fFile.delete();
 		}
@@ -67,6 +70,7 @@ public class FileCharArrayTests extends BaseTestCase {
 	}
 
 	private void testFile(boolean aligned, int charSize) throws IOException {
+		FileCharArray.setUseMemoryMappedFiles(false);
 		createFile(aligned, charSize);
 
 		AbstractCharArray charArray;
@@ -87,6 +91,81 @@ public class FileCharArrayTests extends BaseTestCase {
 
 	}
 
+	private AbstractCharArray create(String charSet, long timestamp, long fileSize) throws IOException {
+		try (FileInputStream inputStream = new FileInputStream(fFile)) {
+			return FileCharArray.create(fFile.getPath(), charSet, inputStream, timestamp, fileSize);
+		}
+	}
+
+	private static char[] getChars(AbstractCharArray charArray) {
+		char[] chars = new char[charArray.getLength()];
+		charArray.arraycopy(0, chars, 0, chars.length);
+		return chars;
+	}
+
+	public void testMappedFile() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE + 1;
+		createFile(true, charSize);
+		FileCharArray.setUseMemoryMappedFiles(true);
+		// Files that can be modified are not mapped.
+		assertFalse(create("utf-8", 0, -1) instanceof MappedCharArray);
+
+		fFile.setReadOnly();
+		AbstractCharArray charArray = create("utf-8", 0, -1);
+		if (File.separatorChar == '\\' || fFile.canWrite()) {
+			// Files are not mapped on Windows, nor when the read-only flag does not apply to the user.
+			assertFalse(charArray instanceof MappedCharArray);
+			return;
+		}
+		assertTrue(charArray instanceof MappedCharArray);
+		assertEquals(charSize, charArray.getLength());
+		checkContent(charArray, 0, charSize);
+
+		FileCharArray.setUseMemoryMappedFiles(false);
+		AbstractCharArray decoded = create("utf-8", 0, -1);
+		assertFalse(decoded instanceof MappedCharArray);
+		assertEquals(decoded.getContentsHash(), charArray.getContentsHash());
+	}
+
+	public void testMappedFileWithByteOrderMark() throws IOException {
+		fFile = File.createTempFile("data", ".txt");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fFile))) {
+			out.write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF });
+			for (int i = 0; i < LazyCharArray.CHUNK_SIZE; i++) {
+				out.write('a' + i % 26);
+			}
+		}
+		fFile.setReadOnly();
+		AbstractCharArray charArray = create("UTF-8", 0, -1);
+		assertEquals(LazyCharArray.CHUNK_SIZE, charArray.getLength());
+		assertEquals('a', charArray.get(0));
+		assertEquals(new CharArray(getChars(charArray)).getContentsHash(), charArray.getContentsHash());
+	}
+
+	public void testNonAsciiFileIsDecoded() throws IOException {
+		createFile(false, LazyCharArray.CHUNK_SIZE / 2);
+		AbstractCharArray charArray = create("UTF-8", 0, -1);
+		assertFalse(charArray instanceof MappedCharArray);
+		assertEquals(0xa2, charArray.get(0));
+		checkContent(charArray, 1, LazyCharArray.CHUNK_SIZE / 2);
+	}
+
+	public void testSharedContents() throws IOException {
+		createFile(false, 1000);
+		final long timestamp = fFile.lastModified();
+		final long fileSize = fFile.length();
+		AbstractCharArray charArray = create("UTF-8", timestamp, fileSize);
+		int hits = FileCharArray.getCacheHitCount();
+		assertSame(charArray, create("UTF-8", timestamp, fileSize));
+		assertEquals(hits + 1, FileCharArray.getCacheHitCount());
+
+		// Contents are not shared for a different modification stamp or character set.
+		assertNotSame(charArray, create("UTF-8", timestamp + 1000, fileSize));
+		assertNotSame(charArray, create("ISO-8859-1", timestamp, fileSize));
+		// Nor when the modification stamp is unknown.
+		assertNotSame(charArray, create("UTF-8", 0, -1));
+	}
+
 	public void checkContent(AbstractCharArray charArray, int from, int to) {
 		for (int i = from; i < to; i++) {
 			assertEquals(i % 127, charArray.get(i));
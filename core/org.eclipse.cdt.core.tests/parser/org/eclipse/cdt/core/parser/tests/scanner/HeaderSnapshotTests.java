@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTComment;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTImageLocation;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTProblem;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.HeaderSnapshotCache;
+import org.eclipse.cdt.internal.core.parser.scanner.LexerTokenCache;
+
+import junit.framework.TestSuite;
+
+public class HeaderSnapshotTests extends BaseTestCase {
+	private static final String HEADER = "// header comment\n" + "#define TWICE(x) ((x) + (x))\n"
+			+ "#define STR(x) #x\n" + "#define CAT(a, b) a ## b\n" + "int CAT(var, 1) = TWICE(ONE);\n"
+			+ "const char* s = STR(ONE);\n" + "#ifdef EXTRA\n" + "int extra;\n" + "#define HIDDEN 1\n" + "#else\n"
+			+ "int no_extra = UNKNOWN;\n" + "#endif\n" + "#if defined(ONE) && ONE > 0 && !UNDEF_IN_IF\n"
+			+ "/* block\n comment */ int positive;\n" + "#elif 1\n" + "#error not reached\n" + "#endif\n"
+			+ "#undef CAT\n" + "#pragma mark\n" + "#if 0\n" + "#include \"inactive.h\"\n" + "#endif\n"
+			+ "int f() { return TWICE(2) + CAT; }\n" + "\"unterminated\n";
+
+	public static TestSuite suite() {
+		return suite(HeaderSnapshotTests.class);
+	}
+
+	private final HeaderSnapshotCache fCache = HeaderSnapshotCache.getInstance();
+	private final List<File> fFiles = new ArrayList<>();
+	private File fDirectory;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCache.configure(true, null);
+		fCache.clear();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fCache.configure(false, null);
+		for (File file : fFiles) {
+			file.delete();
+		}
+		if (fDirectory != null) {
+			for (File file : fDirectory.listFiles()) {
+				file.delete();
+			}
+			fDirectory.delete();
+		}
+		super.tearDown();
+	}
+
+	private String createHeader(String contents) throws Exception {
+		File file = File.createTempFile("snapshot", ".h");
+		fFiles.add(file);
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getAbsolutePath();
+	}
+
+	private CPreprocessor createPreprocessor(String code) {
+		ScannerInfo info = new ScannerInfo();
+		CPreprocessor cpp = new CPreprocessor(FileContent.create("<test-code>", code.toCharArray()), info,
+				ParserLanguage.CPP, new NullLogService(), GPPScannerExtensionConfiguration.getInstance(info),
+				FileCodeReaderFactory.getInstance());
+		cpp.setUseTokenCache(true);
+		return cpp;
+	}
+
+	private String include(String path) {
+		return "#include \"" + path + "\"\n";
+	}
+
+	/**
+	 * Returns the tokens the preprocessor passes to the parser.
+	 */
+	private List<String> tokenize(String code) throws Exception {
+		CPreprocessor cpp = createPreprocessor(code);
+		List<String> result = new ArrayList<>();
+		try {
+			for (;;) {
+				IToken t = cpp.nextToken();
+				result.add(t.getType() + " " + t.getOffset() + "-" + t.getEndOffset() + " " + t.getImage() + " "
+						+ cpp.getCodeBranchNesting());
+			}
+		} catch (EndOfFileException e) {
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a description of the preprocessor nodes, the names and their locations.
+	 */
+	private List<String> parse(String code) throws Exception {
+		CPreprocessor cpp = createPreprocessor(code);
+		IASTTranslationUnit tu = new GNUCPPSourceParser(cpp, ParserMode.COMPLETE_PARSE, new NullLogService(),
+				GPPParserExtensionConfiguration.getInstance()).parse();
+		final List<String> result = new ArrayList<>();
+		for (IASTPreprocessorStatement stmt : tu.getAllPreprocessorStatements()) {
+			result.add(describe(stmt) + " " + stmt.isActive());
+		}
+		for (IASTPreprocessorMacroExpansion expansion : tu.getMacroExpansions()) {
+			result.add(describe(expansion.getMacroReference()));
+			for (IASTName nested : expansion.getNestedMacroReferences()) {
+				result.add("  " + describe(nested));
+			}
+		}
+		for (IASTComment comment : tu.getComments()) {
+			result.add(describe(comment));
+		}
+		for (IASTProblem problem : tu.getPreprocessorProblems()) {
+			result.add(describe(problem) + " " + problem.getID());
+		}
+		tu.accept(new ASTVisitor(true) {
+			@Override
+			public int visit(IASTName name) {
+				String description = describe(name);
+				for (IASTNodeLocation location : name.getNodeLocations()) {
+					description += " " + location.getClass().getSimpleName() + " " + location.getNodeOffset() + ","
+							+ location.getNodeLength();
+				}
+				IASTImageLocation image = name.getImageLocation();
+				if (image != null) {
+					description += " image " + image.getLocationKind() + " " + image.getNodeOffset() + ","
+							+ image.getNodeLength();
+				}
+				result.add(description);
+				return PROCESS_CONTINUE;
+			}
+		});
+		return result;
+	}
+
+	private static String describe(IASTNode node) {
+		IASTFileLocation loc = node.getFileLocation();
+		String description = node.getClass().getSimpleName() + " '" + node.getRawSignature() + "'";
+		if (loc != null) {
+			description += " " + loc.getNodeOffset() + "," + loc.getNodeLength() + " "
+					+ loc.getStartingLineNumber();
+		}
+		return description;
+	}
+
+	private void assertReplayed(String code) throws Exception {
+		fCache.configure(false, null);
+		List<String> tokens = tokenize(code);
+		List<String> nodes = parse(code);
+		fCache.configure(true, null);
+
+		int hits = fCache.getHitCount();
+		assertEquals(tokens, tokenize(code));
+		assertEquals(tokens, tokenize(code));
+		assertEquals(nodes, parse(code));
+		assertTrue(fCache.getHitCount() >= hits + 2);
+	}
+
+	public void testReplay() throws Exception {
+		String path = createHeader(HEADER);
+		assertReplayed("#define ONE 1\n" + include(path) + "int after = TWICE(ONE);\n");
+	}
+
+	public void testReplayInactiveBranches() throws Exception {
+		String path = createHeader(HEADER);
+		assertReplayed("#define EXTRA\n" + include(path) + "int after;\n");
+	}
+
+	public void testReplayWithIncludeGuard() throws Exception {
+		String path = createHeader("#ifndef GUARD_H\n#define GUARD_H\n" + HEADER + "#endif\n");
+		assertReplayed(include(path) + include(path) + "int after;\n");
+	}
+
+	public void testDifferentMacros() throws Exception {
+		String path = createHeader(HEADER);
+		tokenize("#define ONE 1\n" + include(path));
+		for (String code : new String[] { "#define ONE 2\n", "#define ONE(x) 1\n", "", "#define EXTRA\n",
+				"#define UNKNOWN 3\n", "#define UNDEF_IN_IF 1\n", "#define TWICE(x) x\n" }) {
+			code += include(path);
+			int hits = fCache.getHitCount();
+			fCache.configure(false, null);
+			List<String> expected = tokenize(code);
+			fCache.configure(true, null);
+			assertEquals(code, expected, tokenize(code));
+			assertEquals(code, hits, fCache.getHitCount());
+		}
+	}
+
+	public void testNestedInclude() throws Exception {
+		String nested = createHeader("int nested;\n");
+		String path = createHeader("int outer;\n" + include(nested));
+		String code = include(path);
+		tokenize(code);
+		int misses = fCache.getMissCount();
+		tokenize(code);
+		// Only the nested header is replayed.
+		assertEquals(misses + 1, fCache.getMissCount());
+	}
+
+	public void testTokenCache() throws Exception {
+		LexerTokenCache tokenCache = LexerTokenCache.getInstance();
+		tokenCache.configure(true, null);
+		try {
+			tokenCache.clear();
+			String nested = createHeader("int nested;\n");
+			String path = createHeader("int outer;\n" + include(nested));
+			String code = include(path);
+			tokenize(code);
+			int hits = tokenCache.getHitCount();
+			tokenize(code);
+			// The replayed snapshot of the nested header takes the place of the token cache.
+			assertEquals(hits + 1, tokenCache.getHitCount());
+		} finally {
+			tokenCache.configure(false, null);
+		}
+	}
+
+	public void testCounter() throws Exception {
+		String path = createHeader("int x = __COUNTER__;\n");
+		String code = "int y = __COUNTER__;\n" + include(path);
+		tokenize(code);
+		int hits = fCache.getHitCount();
+		tokenize(code);
+		assertEquals(hits, fCache.getHitCount());
+	}
+
+	public void testDiskCache() throws Exception {
+		fDirectory = Files.createTempDirectory("snapshots").toFile();
+		fCache.configure(true, fDirectory);
+		String path = createHeader(HEADER);
+		String code = "#define ONE 1\n" + include(path);
+		List<String> expected = tokenize(code);
+		// The snapshot is written in the background.
+		for (int i = 0; i < 100 && fDirectory.list((dir, name) -> name.endsWith(".snapshots")).length == 0; i++) {
+			Thread.sleep(50);
+		}
+		fCache.clear();
+		int hits = fCache.getHitCount();
+		assertEquals(expected, tokenize(code));
+		assertEquals(hits + 1, fCache.getHitCount());
+	}
+
+	public void testDisabled() throws Exception {
+		fCache.configure(false, null);
+		String path = createHeader(HEADER);
+		int hits = fCache.getHitCount();
+		int misses = fCache.getMissCount();
+		tokenize(include(path));
+		tokenize(include(path));
+		assertEquals(hits, fCache.getHitCount());
+		assertEquals(misses, fCache.getMissCount());
+	}
+}
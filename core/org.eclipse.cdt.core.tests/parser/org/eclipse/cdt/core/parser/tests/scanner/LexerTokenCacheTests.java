@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.LexerTokenCache;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
+
+import junit.framework.TestSuite;
+
+public class LexerTokenCacheTests extends BaseTestCase {
+	private static final String INPUT = "#include <vector>\n" + "#define X(a) a ## 1 /* block\n comment */\n"
+			+ "int x = X(2) + 0x1p3 + 'c' + L\"s\"; // line comment\n" + "a ??= b ??/\n c \\\r\n d <: :> %: ...\n"
+			+ "\"unterminated\n" + "#if 0\n#include \"inactive.h\"\n#endif\n" + "/* unterminated";
+
+	private static class Log implements ILexerLog {
+		final List<String> fEvents = new ArrayList<>();
+
+		@Override
+		public void handleProblem(int problemID, char[] info, int offset, int endOffset) {
+			fEvents.add("problem " + problemID + " " + new String(info) + " " + offset + "-" + endOffset);
+		}
+
+		@Override
+		public void handleComment(boolean isBlockComment, int offset, int endOffset, AbstractCharArray input) {
+			fEvents.add("comment " + isBlockComment + " " + offset + "-" + endOffset);
+		}
+	}
+
+	public static TestSuite suite() {
+		return suite(LexerTokenCacheTests.class);
+	}
+
+	private final LexerTokenCache fCache = LexerTokenCache.getInstance();
+	private File fDirectory;
+	private File fHeader;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCache.configure(true, null);
+		fCache.clear();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fCache.configure(false, null);
+		if (fHeader != null) {
+			fHeader.delete();
+		}
+		if (fDirectory != null) {
+			for (File file : fDirectory.listFiles()) {
+				file.delete();
+			}
+			fDirectory.delete();
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Lexes the input like the preprocessor does for active code, returns the tokens and events.
+	 */
+	private List<String> lex(String input, boolean useCache, boolean headerNames) throws Exception {
+		Log log = new Log();
+		Lexer lexer = new Lexer(new CharArray(input.toCharArray()), new LexerOptions(), log, null);
+		if (useCache) {
+			lexer.setTokenCache(fCache);
+		}
+		List<String> result = log.fEvents;
+		boolean lookahead = true;
+		for (Token t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT; t = lexer.nextToken()) {
+			result.add(t.getType() + " " + t.getOffset() + "-" + t.getEndOffset() + " " + t.getImage() + " "
+					+ t.getClass().getSimpleName());
+			if (t.getType() == IToken.tPOUND && lexer.currentTokenIsFirstOnLine()) {
+				t = lexer.nextToken();
+				result.add("directive " + t.getImage());
+				if (headerNames && t.getImage().equals("include")) {
+					lexer.setInsideIncludeDirective(true);
+				}
+			} else if (t.getType() == IToken.tIDENTIFIER && lookahead) {
+				// Look ahead, like it is done for function-style macros.
+				lexer.saveState();
+				result.add("lookahead " + lexer.nextToken().getImage());
+				lexer.restoreState();
+			}
+			lookahead = !lookahead;
+		}
+		return result;
+	}
+
+	public void testReplay() throws Exception {
+		List<String> expected = lex(INPUT, false, true);
+		int misses = fCache.getMissCount();
+		assertEquals(expected, lex(INPUT, true, true));
+		assertEquals(misses + 1, fCache.getMissCount());
+
+		int hits = fCache.getHitCount();
+		assertEquals(expected, lex(INPUT, true, true));
+		assertEquals(hits + 1, fCache.getHitCount());
+	}
+
+	public void testReplayWithoutHeaderNames() throws Exception {
+		lex(INPUT, true, true);
+		int hits = fCache.getHitCount();
+		// The include directives are inactive, header names are lexed differently.
+		assertEquals(lex(INPUT, false, false), lex(INPUT, true, false));
+		assertEquals(hits + 1, fCache.getHitCount());
+	}
+
+	public void testDifferentContents() throws Exception {
+		lex(INPUT, true, true);
+		int misses = fCache.getMissCount();
+		String input = INPUT.replace("int", "long");
+		assertEquals(lex(input, false, true), lex(input, true, true));
+		assertEquals(misses + 1, fCache.getMissCount());
+	}
+
+	public void testDiskCache() throws Exception {
+		fDirectory = Files.createTempDirectory("tokencache").toFile();
+		fCache.configure(true, fDirectory);
+		List<String> expected = lex(INPUT, true, true);
+		// The recording is written in the background.
+		for (int i = 0; i < 100 && fDirectory.list((dir, name) -> name.endsWith(".tokens")).length == 0; i++) {
+			Thread.sleep(50);
+		}
+		fCache.clear();
+		int hits = fCache.getHitCount();
+		assertEquals(expected, lex(INPUT, true, true));
+		assertEquals(hits + 1, fCache.getHitCount());
+	}
+
+	public void testDiskCacheMarksFileAsUsed() throws Exception {
+		fDirectory = Files.createTempDirectory("tokencache").toFile();
+		fCache.configure(true, fDirectory);
+		lex(INPUT, true, true);
+		File[] files = {};
+		for (int i = 0; i < 100 && files.length == 0; i++) {
+			Thread.sleep(50);
+			files = fDirectory.listFiles((dir, name) -> name.endsWith(".tokens"));
+		}
+		assertEquals(1, files.length);
+		// The least recently used files are removed first.
+		long modified = System.currentTimeMillis() - 24 * 60 * 60 * 1000;
+		assertTrue(files[0].setLastModified(modified));
+		fCache.clear();
+		lex(INPUT, true, true);
+		assertTrue(files[0].lastModified() > modified);
+	}
+
+	public void testDisabled() throws Exception {
+		fCache.configure(false, null);
+		int hits = fCache.getHitCount();
+		int misses = fCache.getMissCount();
+		lex(INPUT, true, true);
+		lex(INPUT, true, true);
+		assertEquals(hits, fCache.getHitCount());
+		assertEquals(misses, fCache.getMissCount());
+	}
+
+	/**
+	 * Returns the tokens the preprocessor passes to the parser for the given code.
+	 */
+	private List<String> preprocess(String code, boolean useCache) throws Exception {
+		ScannerInfo info = new ScannerInfo();
+		CPreprocessor cpp = new CPreprocessor(FileContent.create("<test-code>", code.toCharArray()), info,
+				ParserLanguage.CPP, new NullLogService(), GPPScannerExtensionConfiguration.getInstance(info),
+				FileCodeReaderFactory.getInstance());
+		cpp.setUseTokenCache(useCache);
+		List<String> result = new ArrayList<>();
+		try {
+			for (;;) {
+				IToken t = cpp.nextToken();
+				result.add(t.getType() + " " + t.getOffset() + "-" + t.getEndOffset() + " " + t.getImage());
+			}
+		} catch (EndOfFileException e) {
+		}
+		return result;
+	}
+
+	public void testInactiveCode() throws Exception {
+		fHeader = File.createTempFile("tokencache", ".h");
+		Files.write(fHeader.toPath(), ("#ifdef A\n" + "int a; /* a */\n" + "#include \"inactive.h\"\n" + "#else\n"
+				+ "int b;\n" + "#endif\n" + "int c;\n").getBytes(StandardCharsets.UTF_8));
+		String include = "#include \"" + fHeader.getAbsolutePath() + "\"\n";
+		preprocess(include, true);
+
+		// The tokens of the inactive branch have been recorded, too.
+		int hits = fCache.getHitCount();
+		String code = "#define A\n" + include;
+		assertEquals(preprocess(code, false), preprocess(code, true));
+		assertEquals(hits + 1, fCache.getHitCount());
+	}
+
+	public void testNotRequested() throws Exception {
+		fHeader = File.createTempFile("tokencache", ".h");
+		Files.write(fHeader.toPath(), "int a;\n".getBytes(StandardCharsets.UTF_8));
+		String code = "#include \"" + fHeader.getAbsolutePath() + "\"\n";
+		int hits = fCache.getHitCount();
+		int misses = fCache.getMissCount();
+		preprocess(code, false);
+		preprocess(code, false);
+		assertEquals(hits, fCache.getHitCount());
+		assertEquals(misses, fCache.getMissCount());
+	}
+}
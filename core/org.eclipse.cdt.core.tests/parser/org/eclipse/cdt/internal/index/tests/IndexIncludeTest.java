@@ -17,6 +17,8 @@ package org.eclipse.cdt.internal.index.tests;
 import static org.eclipse.cdt.core.testplugin.util.TestSourceReader.createFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -31,9 +33,11 @@ import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.IPathEntry;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
@@ -289,6 +293,74 @@ public class IndexIncludeTest extends IndexTestBase {
 		}
 	}
 
+	// int unchanged_20261018;
+
+	// int changed_20261018;
+
+	// #include "ABS_EXTERNAL"
+	// int source_20261018;
+	public void testUnchangedIncludes() throws Exception {
+		// The index is updated explicitly.
+		IndexerPreferences.setUpdatePolicy(fProject.getProject(), IndexerPreferences.UPDATE_POLICY_MANUAL);
+		CharSequence[] contents = getContentsForTest(3);
+		// The header is not part of the project, it is checked only as an include of the source file.
+		File header = new File(CProjectHelper.freshDir(), "external_20261018.h");
+		try {
+			Files.write(header.toPath(), contents[0].toString().getBytes());
+			String source = contents[2].toString().replace("ABS_EXTERNAL",
+					header.getAbsolutePath().replace("\\", "\\\\"));
+			IFile file = TestSourceReader.createFile(fProject.getProject(), "source_20261018.cpp", source);
+			CCorePlugin.getIndexManager().reindex(fProject);
+			waitForIndexer();
+			long readTime = getSourceReadTime(file);
+
+			// Only the timestamp of the source file changed, it is not parsed again.
+			file.setLocalTimeStamp(file.getLocalTimeStamp() + 2000);
+			updateModifiedFiles();
+			fIndex.acquireReadLock();
+			try {
+				IIndexFile ifile = getIndexFile(file);
+				assertEquals(readTime, ifile.getSourceReadTime());
+				assertEquals(file.getLocalTimeStamp(), ifile.getTimestamp());
+			} finally {
+				fIndex.releaseReadLock();
+			}
+
+			// The header changed, the source file is parsed again.
+			Files.write(header.toPath(), contents[1].toString().getBytes());
+			header.setLastModified(header.lastModified() + 2000);
+			file.setLocalTimeStamp(file.getLocalTimeStamp() + 2000);
+			updateModifiedFiles();
+			fIndex.acquireReadLock();
+			try {
+				assertTrue(getIndexFile(file).getSourceReadTime() > readTime);
+				assertEquals(0, fIndex.findBindings("unchanged_20261018".toCharArray(), IndexFilter.ALL, npm()).length);
+				assertEquals(1, fIndex.findBindings("changed_20261018".toCharArray(), IndexFilter.ALL, npm()).length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			header.delete();
+			header.getParentFile().delete();
+			IndexerPreferences.setUpdatePolicy(fProject.getProject(), IndexerPreferences.getDefaultUpdatePolicy());
+		}
+	}
+
+	private long getSourceReadTime(IFile file) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			return getIndexFile(file).getSourceReadTime();
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private void updateModifiedFiles() throws Exception {
+		CCorePlugin.getIndexManager().update(new ICElement[] { fProject },
+				IIndexManager.UPDATE_CHECK_TIMESTAMPS | IIndexManager.UPDATE_CHECK_CONTENTS_HASH);
+		waitForIndexer();
+	}
+
 	// #define SOME_MACRO1 ok_1_220358
 	// #define SOME_MACRO2 ok_2_220358
 
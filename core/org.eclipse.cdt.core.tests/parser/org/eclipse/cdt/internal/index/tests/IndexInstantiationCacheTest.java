@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import static org.eclipse.cdt.core.testplugin.util.TestSourceReader.createFile;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBasicType;
+import org.eclipse.cdt.core.dom.ast.IBasicType.Kind;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.InstantiationCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests the results of template instantiations stored in the index. The instantiations of the alias
+ * templates used by the members of class templates from the index are stored by the translation unit
+ * that is indexed last and reused by the following translation units.
+ */
+public class IndexInstantiationCacheTest extends IndexTestBase {
+
+	public static TestSuite suite() {
+		return suite(IndexInstantiationCacheTest.class, "_");
+	}
+
+	private ICProject fProject;
+	private IIndex fIndex;
+
+	public IndexInstantiationCacheTest(String name) {
+		super(name);
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		fProject = CProjectHelper.createCCProject("IndexInstantiationCacheTest" + System.currentTimeMillis(), "bin",
+				IPDOMManager.ID_NO_INDEXER);
+		fIndex = CCorePlugin.getIndexManager().getIndex(fProject);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		CProjectHelper.delete(fProject);
+		super.tearDown();
+	}
+
+	private static class Result {
+		final IType type;
+		final int indexHits;
+
+		Result(IType type, int indexHits) {
+			this.type = type;
+			this.indexHits = indexHits;
+		}
+	}
+
+	/**
+	 * Resolves the type of the variable declared last in the file, with the headers taken from the index.
+	 */
+	private Result resolveLastVariable(IFile file) throws Exception {
+		ITranslationUnit tu = (ITranslationUnit) CoreModel.getDefault().create(file);
+		fIndex.acquireReadLock();
+		try {
+			IASTTranslationUnit ast = tu.getAST(fIndex, ITranslationUnit.AST_SKIP_INDEXED_HEADERS);
+			IASTDeclaration[] declarations = ast.getDeclarations();
+			IASTSimpleDeclaration declaration = (IASTSimpleDeclaration) declarations[declarations.length - 1];
+			IVariable variable = (IVariable) declaration.getDeclarators()[0].getName().resolveBinding();
+			IType type = SemanticUtil.getNestedType(variable.getType(), SemanticUtil.TDEF);
+			InstantiationCache cache = ((CPPASTTranslationUnit) ast).getInstantiationCache();
+			return new Result(type, cache.getIndexHitCount());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	// template<typename T> struct Traits { typedef T* type; };
+
+	// template<typename T> struct Traits { typedef T& type; };
+
+	// #include "traits.h"
+	// template<typename T> using Target = typename Traits<T>::type;
+	// template<typename T> struct Holder { typedef Target<T> type; };
+
+	// struct Arg {};
+
+	// #include "alias.h"
+	// #include "arg.h"
+	// Holder<Arg>::type a = 0;
+
+	// #include "alias.h"
+	// #include "arg.h"
+	// Holder<Arg>::type b = 0;
+	public void testAliasTargetInOtherHeader() throws Exception {
+		StringBuilder[] contents = getContentsForTest(6);
+		IProject project = fProject.getProject();
+		IFile traits = createFile(project, "traits.h", contents[0].toString());
+		createFile(project, "alias.h", contents[2].toString());
+		createFile(project, "arg.h", contents[3].toString());
+		createFile(project, "a.cpp", contents[4].toString());
+		IFile b = createFile(project, "b.cpp", contents[5].toString());
+		CCorePlugin.getIndexManager().setIndexerId(fProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fProject);
+
+		Result result = resolveLastVariable(b);
+		assertTrue(result.type instanceof IPointerType);
+		assertTrue(result.indexHits > 0);
+
+		// The stored result depends on the header defining the target of the alias, although the
+		// alias template is defined in another header.
+		traits = createFile(project, "traits.h", contents[1].toString());
+		waitUntilFileIsIndexed(fIndex, traits);
+		waitForIndexer(fProject);
+		result = resolveLastVariable(b);
+		assertTrue(result.type instanceof ICPPReferenceType);
+	}
+
+	// template<typename T> using Target = T*;
+	// template<typename T> struct Holder { typedef Target<T> type; };
+
+	// typedef int Arg;
+
+	// typedef char Arg;
+
+	// #include "alias.h"
+	// #include "arg.h"
+	// Holder<Arg>::type a = 0;
+
+	// #include "alias.h"
+	// #include "arg.h"
+	// Holder<Arg>::type b = 0;
+	public void testArgumentInOtherHeader() throws Exception {
+		StringBuilder[] contents = getContentsForTest(5);
+		IProject project = fProject.getProject();
+		createFile(project, "alias.h", contents[0].toString());
+		IFile arg = createFile(project, "arg.h", contents[1].toString());
+		createFile(project, "a.cpp", contents[3].toString());
+		IFile b = createFile(project, "b.cpp", contents[4].toString());
+		CCorePlugin.getIndexManager().setIndexerId(fProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fProject);
+
+		Result result = resolveLastVariable(b);
+		assertTrue(result.indexHits > 0);
+		assertEquals(Kind.eInt, getPointee(result.type).getKind());
+
+		// The stored result depends on the header declaring the argument of the instantiation.
+		arg = createFile(project, "arg.h", contents[2].toString());
+		waitUntilFileIsIndexed(fIndex, arg);
+		waitForIndexer(fProject);
+		result = resolveLastVariable(b);
+		assertEquals(Kind.eChar, getPointee(result.type).getKind());
+	}
+
+	private static IBasicType getPointee(IType type) {
+		assertTrue(type instanceof IPointerType);
+		IType pointee = SemanticUtil.getNestedType(((IPointerType) type).getType(), SemanticUtil.TDEF);
+		assertTrue(pointee instanceof IBasicType);
+		return (IBasicType) pointee;
+	}
+}
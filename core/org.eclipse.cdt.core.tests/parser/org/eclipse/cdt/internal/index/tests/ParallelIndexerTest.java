@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import static org.eclipse.cdt.core.testplugin.util.TestSourceReader.createFile;
+
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests indexing with multiple parser threads.
+ */
+public class ParallelIndexerTest extends IndexTestBase {
+	private static final int SOURCE_COUNT = 24;
+
+	public static TestSuite suite() {
+		return suite(ParallelIndexerTest.class, "_");
+	}
+
+	private ICProject fProject;
+	private IIndex fIndex;
+
+	public ParallelIndexerTest(String name) {
+		super(name);
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		fProject = CProjectHelper.createCCProject("ParallelIndexerTest" + System.currentTimeMillis(), "bin",
+				IPDOMManager.ID_NO_INDEXER);
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS, "4");
+		fIndex = CCorePlugin.getIndexManager().getIndex(fProject);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		CProjectHelper.delete(fProject);
+		super.tearDown();
+	}
+
+	public void testSourcesAndHeaderVersions() throws Exception {
+		IProject project = fProject.getProject();
+		IFile header = createFile(project, "variant.h",
+				"#ifdef VARIANT_A\nint variant_a;\n#else\nint variant_b;\n#endif\n");
+		createFile(project, "common.h", "#pragma once\nint common;\n");
+		for (int i = 0; i < SOURCE_COUNT; i++) {
+			String define = i % 2 == 0 ? "#define VARIANT_A\n" : "";
+			createFile(project, "source" + i + ".cpp",
+					define + "#include \"variant.h\"\n#include \"common.h\"\nvoid function" + i + "() {}\n");
+		}
+		CCorePlugin.getIndexManager().setIndexerId(fProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fProject);
+
+		fIndex.acquireReadLock();
+		try {
+			assertEquals(SOURCE_COUNT,
+					fIndex.findBindings(Pattern.compile("function[0-9]+"), true, IndexFilter.ALL, npm()).length);
+			assertEquals(1, fIndex.findBindings("variant_a".toCharArray(), IndexFilter.ALL, npm()).length);
+			assertEquals(1, fIndex.findBindings("variant_b".toCharArray(), IndexFilter.ALL, npm()).length);
+			assertEquals(1, fIndex.findBindings("common".toCharArray(), IndexFilter.ALL, npm()).length);
+
+			IIndexFile[] versions = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID,
+					IndexLocationFactory.getWorkspaceIFL(header));
+			assertEquals(2, versions.length);
+
+			for (int i = 0; i < SOURCE_COUNT; i++) {
+				IFile source = project.getFile("source" + i + ".cpp");
+				IIndexFile[] files = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID,
+						IndexLocationFactory.getWorkspaceIFL(source));
+				assertEquals(1, files.length);
+				IIndexInclude[] includes = files[0].getIncludes();
+				assertEquals(2, includes.length);
+				for (IIndexInclude include : includes) {
+					assertTrue(include.isResolved());
+				}
+			}
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+}
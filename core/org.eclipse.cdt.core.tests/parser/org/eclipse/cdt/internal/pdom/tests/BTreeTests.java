@@ -15,6 +15,7 @@
 package org.eclipse.cdt.internal.pdom.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
@@ -120,6 +121,44 @@ public class BTreeTests extends BaseTestCase5 {
 		}
 	}
 
+	/**
+	 * Batches of records, with duplicates within the batch and with records already in the
+	 * B-tree, must result in the same tree content as inserting the records one by one.
+	 */
+	@Test
+	public void testInsertAll() throws Exception {
+		Random random = new Random(4711);
+		for (int degree = 2; degree <= 12; degree += 5) {
+			init(degree);
+			try {
+				final SortedSet<Integer> expected = new TreeSet<>();
+				for (int batch = 0; batch < 20; batch++) {
+					long[] records = new long[random.nextInt(500)];
+					for (int i = 0; i < records.length; i++) {
+						int value = random.nextInt(5000);
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					long[] inserted = btree.insertAll(records);
+					assertEquals(records.length, inserted.length);
+					for (int i = 0; i < records.length; i++) {
+						assertEquals(db.getInt(records[i]), db.getInt(inserted[i]));
+						if (i > 0) {
+							assertTrue(db.getInt(records[i - 1]) <= db.getInt(records[i]));
+						}
+					}
+					assertBTreeMatchesSortedSet("[batch " + batch + "] ", btree, expected);
+					assertBTreeInvariantsHold("[batch " + batch + "] ");
+				}
+				// The records of a batch must match the ones returned by insert.
+				long[] again = new long[] { new BTMockRecord(db, expected.first()).getRecord() };
+				assertEquals(btree.insert(again[0]), btree.insertAll(again)[0]);
+			} finally {
+				finish();
+			}
+		}
+	}
+
 	/**
 	 * Insert/Delete a random number of records into/from the B-tree
 	 * @param seed the seed for obtaining the deterministic random testing
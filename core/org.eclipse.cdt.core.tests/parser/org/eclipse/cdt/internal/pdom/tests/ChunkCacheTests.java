@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCacheStatistics;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ChunkCache} class.
+ */
+public class ChunkCacheTests extends BaseTestCase5 {
+	private static final int CACHE_CHUNKS = 1600;
+	private static final int HOT_CHUNKS = 64;
+	private static final int WARMUP_ROUNDS = 10;
+	private static final int WARMUP_SCAN_CHUNKS = CACHE_CHUNKS / 5;
+	private static final int SCAN_CHUNKS = 2 * CACHE_CHUNKS;
+
+	private File hotFile;
+	private File scanFile;
+	private Database hot;
+	private Database scan;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		hotFile = createDatabaseFile(HOT_CHUNKS);
+		scanFile = createDatabaseFile(WARMUP_ROUNDS * WARMUP_SCAN_CHUNKS + SCAN_CHUNKS);
+		ChunkCache cache = new ChunkCache((long) CACHE_CHUNKS * Database.CHUNK_SIZE);
+		hot = new Database(hotFile, cache, 0, true, false);
+		hot.setLocked(true);
+		scan = new Database(scanFile, cache, 0, true, false);
+		scan.setLocked(true);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		hot.setExclusiveLock();
+		hot.close();
+		scan.setExclusiveLock();
+		scan.close();
+		hotFile.delete();
+		scanFile.delete();
+	}
+
+	private File createDatabaseFile(int chunks) throws Exception {
+		File file = File.createTempFile("test", "db");
+		file.deleteOnExit();
+		Database db = new Database(file, new ChunkCache(), 0, false, false);
+		db.setExclusiveLock();
+		for (int i = 0; i < chunks; i++) {
+			db.malloc(Database.MAX_MALLOC_SIZE);
+		}
+		db.close();
+		return file;
+	}
+
+	private void readChunks(Database db, int from, int to) throws CoreException {
+		for (int i = from; i < to; i++) {
+			db.getInt((long) i * Database.CHUNK_SIZE);
+		}
+	}
+
+	@Test
+	public void testScanDoesNotEvictHotChunks() throws Exception {
+		// The hot chunks are requested repeatedly while other chunks pass through the cache.
+		int next = 1;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			readChunks(hot, 1, HOT_CHUNKS + 1);
+			readChunks(scan, next, next + WARMUP_SCAN_CHUNKS);
+			next += WARMUP_SCAN_CHUNKS;
+		}
+		readChunks(hot, 1, HOT_CHUNKS + 1);
+
+		// Chunks that are read once must not replace the hot chunks.
+		readChunks(scan, next, next + SCAN_CHUNKS);
+		hot.resetCacheCounters();
+		readChunks(hot, 1, HOT_CHUNKS + 1);
+		assertEquals(0, hot.getCacheMisses());
+		assertEquals(HOT_CHUNKS, hot.getCacheHits());
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		readChunks(scan, 1, SCAN_CHUNKS + 1);
+		readChunks(scan, 1, 11);
+		ChunkCacheStatistics statistics = scan.getCacheStatistics();
+		assertEquals(SCAN_CHUNKS + 10, statistics.getHits() + statistics.getMisses());
+		assertTrue(statistics.getEvictions() >= SCAN_CHUNKS - CACHE_CHUNKS);
+
+		scan.resetCacheCounters();
+		assertEquals(0, scan.getCacheHits());
+		assertEquals(0, scan.getCacheMisses());
+		assertEquals(SCAN_CHUNKS + 10, statistics.getHits() + statistics.getMisses());
+	}
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for databases using compressed storage.
+ */
+public class CompressedDatabaseTests extends BaseTestCase5 {
+	private static final int VERSION = 17;
+	private static final int COUNT = 5000;
+
+	private File dbFile;
+	private Database db;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("compresseddatabasetest", "db");
+		db = open();
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		if (db != null) {
+			db.close();
+		}
+		dbFile.delete();
+	}
+
+	private Database open() throws Exception {
+		Database result = new Database(dbFile, new ChunkCache(), VERSION, false, false, false);
+		result.setExclusiveLock();
+		return result;
+	}
+
+	private Database reopen() throws Exception {
+		db.close();
+		db = open();
+		return db;
+	}
+
+	private long[] writeStrings() throws Exception {
+		long[] records = new long[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			records[i] = db.newString("identifier_" + i).getRecord();
+		}
+		return records;
+	}
+
+	private void checkStrings(long[] records) throws Exception {
+		for (int i = 0; i < COUNT; i++) {
+			assertEquals("identifier_" + i, db.getString(records[i]).getString());
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		db.setCompressedStorage(true);
+		assertTrue(db.isCompressed());
+		db.setVersion(VERSION);
+		long[] records = writeStrings();
+		db.flush();
+		assertTrue(db.getCompressionRatio() > 1);
+
+		reopen();
+		assertTrue(db.isCompressed());
+		assertEquals(VERSION, db.getVersion());
+		checkStrings(records);
+		assertTrue(db.getSizeBytes() < (records[COUNT - 1] / Database.CHUNK_SIZE + 1) * Database.CHUNK_SIZE);
+		assertEquals(db.getCompressionRatio(), db.getStorageStatus().getCompressionRatio());
+	}
+
+	@Test
+	public void testClearSwitchesFormat() throws Exception {
+		db.setVersion(VERSION);
+		writeStrings();
+		db.flush();
+		db.setCompressedStorage(true);
+		assertFalse(db.isCompressed());
+
+		db.clear(VERSION);
+		assertTrue(db.isCompressed());
+		long[] records = writeStrings();
+		reopen();
+		assertTrue(db.isCompressed());
+		checkStrings(records);
+
+		db.setCompressedStorage(false);
+		db.clear(VERSION);
+		assertFalse(db.isCompressed());
+		records = writeStrings();
+		reopen();
+		assertFalse(db.isCompressed());
+		checkStrings(records);
+	}
+
+	@Test
+	public void testRewriteChunks() throws Exception {
+		db.setCompressedStorage(true);
+		db.setVersion(VERSION);
+		final int size = Database.MAX_MALLOC_SIZE;
+		final Random random = new Random(42);
+		long[] records = new long[20];
+		byte[][] contents = new byte[records.length][];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = db.malloc(size);
+			contents[i] = new byte[size];
+			random.nextBytes(contents[i]); // Does not compress.
+			db.putBytes(records[i], contents[i], size);
+		}
+		db.flush();
+		for (int i = 0; i < records.length; i += 2) {
+			contents[i] = new byte[size]; // Compresses well.
+			db.putBytes(records[i], contents[i], size);
+		}
+		db.flush();
+		for (int i = 1; i < records.length; i += 2) {
+			contents[i] = new byte[size];
+			db.putBytes(records[i], contents[i], size);
+		}
+		for (int i = 0; i < records.length; i += 2) {
+			random.nextBytes(contents[i]);
+			db.putBytes(records[i], contents[i], size);
+		}
+		reopen();
+		for (int i = 0; i < records.length; i++) {
+			byte[] actual = new byte[size];
+			db.getBytes(records[i], actual);
+			assertArrayEquals(contents[i], actual, "record " + i);
+		}
+	}
+}
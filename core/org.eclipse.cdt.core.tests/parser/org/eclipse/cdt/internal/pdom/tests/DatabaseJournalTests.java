@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the journal of the {@link Database}.
+ */
+public class DatabaseJournalTests extends BaseTestCase5 {
+	private static final int VERSION = 17;
+
+	private File dbFile;
+	private File crashedFile;
+	private Database db;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("databasejournaltest", "db");
+		crashedFile = File.createTempFile("databasejournaltest", "crashed");
+		db = new Database(dbFile, new ChunkCache(), VERSION, false, false, true);
+		db.setExclusiveLock();
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		if (db != null) {
+			db.close();
+		}
+		dbFile.delete();
+		crashedFile.delete();
+		Database.getJournalFile(crashedFile).delete();
+	}
+
+	/**
+	 * Copies the journal and a database file that lost all writes after its header was cleared.
+	 */
+	private void simulateCrash(long truncateJournalBy) throws Exception {
+		File journal = Database.getJournalFile(dbFile);
+		File crashedJournal = Database.getJournalFile(crashedFile);
+		Files.copy(journal.toPath(), crashedJournal.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		try (RandomAccessFile file = new RandomAccessFile(crashedFile, "rw")) {
+			file.setLength(0);
+			file.setLength(Database.CHUNK_SIZE);
+		}
+		if (truncateJournalBy > 0) {
+			try (RandomAccessFile file = new RandomAccessFile(crashedJournal, "rw")) {
+				file.setLength(file.length() - truncateJournalBy);
+			}
+		}
+	}
+
+	@Test
+	public void testRecoverFromJournal() throws Exception {
+		assertTrue(db.isJournaled());
+		db.setVersion(VERSION);
+		long rec = db.malloc(100);
+		db.putInt(rec, 4711);
+		long str = db.newString("journaled").getRecord();
+		db.flush();
+		simulateCrash(0);
+
+		Database recovered = new Database(crashedFile, new ChunkCache(), 0, false, false, false);
+		try {
+			recovered.setExclusiveLock();
+			assertEquals(1, recovered.getRecoveredCommits());
+			assertFalse(Database.getJournalFile(crashedFile).exists());
+			assertEquals(VERSION, recovered.getVersion());
+			assertEquals(4711, recovered.getInt(rec));
+			assertEquals("journaled", recovered.getString(str).getString());
+		} finally {
+			recovered.close();
+		}
+	}
+
+	@Test
+	public void testIncompleteGroupIsIgnored() throws Exception {
+		db.setVersion(VERSION);
+		long rec1 = db.malloc(100);
+		db.putInt(rec1, 1);
+		db.flush();
+		long rec2 = db.malloc(100);
+		db.putInt(rec2, 2);
+		db.putInt(rec1, 3);
+		db.flush();
+		simulateCrash(1);
+
+		Database recovered = new Database(crashedFile, new ChunkCache(), 0, false, false, false);
+		try {
+			recovered.setExclusiveLock();
+			assertEquals(1, recovered.getRecoveredCommits());
+			assertEquals(VERSION, recovered.getVersion());
+			assertEquals(1, recovered.getInt(rec1));
+		} finally {
+			recovered.close();
+		}
+	}
+
+	@Test
+	public void testClearDiscardsJournal() throws Exception {
+		db.setVersion(VERSION);
+		db.putInt(db.malloc(100), 1);
+		db.flush();
+		db.clear(VERSION);
+		assertEquals(0, Database.getJournalFile(dbFile).length());
+	}
+
+	@Test
+	public void testCloseRemovesJournal() throws Exception {
+		db.setVersion(VERSION);
+		long rec = db.malloc(100);
+		db.putInt(rec, 42);
+		db.flush();
+		assertTrue(Database.getJournalFile(dbFile).length() > 0);
+		db.close();
+		db = null;
+		assertFalse(Database.getJournalFile(dbFile).exists());
+
+		db = new Database(dbFile, new ChunkCache(), 0, false, false, true);
+		db.setExclusiveLock();
+		assertEquals(0, db.getRecoveredCommits());
+		assertEquals(VERSION, db.getVersion());
+		assertEquals(42, db.getInt(rec));
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.CTestPlugin;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the cached and the memory-mapped storage of {@link Database}. The database is larger
+ * than the chunk cache, such that the cached storage has to read and evict chunks, and it is read
+ * by several threads concurrently.
+ */
+@Tag(BaseTestCase5.SLOW_TEST_TAG)
+public class DatabaseStorageTests extends BaseTestCase5 {
+	private static final int RECORDS = 200000;
+	private static final int RECORD_SIZE = 64;
+	private static final int LOOKUPS = 2000000;
+	private static final long CACHE_SIZE = 4 * 1024 * 1024;
+	private static final int READERS = 4;
+
+	@Test
+	public void testRandomReads() throws Exception {
+		File cached = run(false);
+		File mapped = run(true);
+		try {
+			// The part of the file that was mapped in advance has been removed.
+			assertEquals(cached.length(), mapped.length());
+		} finally {
+			cached.delete();
+			mapped.delete();
+		}
+	}
+
+	/**
+	 * Writes and reads the records, returns the closed database file.
+	 */
+	private File run(boolean memoryMapped) throws Exception {
+		File file = CTestPlugin.getDefault().getStateLocation()
+				.append(getName() + memoryMapped + System.currentTimeMillis() + ".dat").toFile();
+		file.deleteOnExit();
+		final Database db = new Database(file, new ChunkCache(CACHE_SIZE), 0, false, memoryMapped);
+		try {
+			db.setExclusiveLock();
+			final long[] records = new long[RECORDS];
+			for (int i = 0; i < RECORDS; i++) {
+				records[i] = db.malloc(RECORD_SIZE);
+				db.putInt(records[i], i);
+			}
+			db.giveUpExclusiveLock(true);
+
+			db.setLocked(true);
+			long[] checksums = new long[READERS];
+			Thread[] readers = new Thread[READERS];
+			for (int t = 0; t < READERS; t++) {
+				final int reader = t;
+				readers[t] = new Thread(() -> {
+					Random random = new Random(4711 + reader);
+					long checksum = 0;
+					try {
+						for (int i = 0; i < LOOKUPS / READERS; i++) {
+							checksum += db.getInt(records[random.nextInt(RECORDS)]);
+						}
+					} catch (CoreException e) {
+						checksum = -1;
+					}
+					checksums[reader] = checksum;
+				});
+			}
+			for (Thread reader : readers) {
+				reader.start();
+			}
+			for (Thread reader : readers) {
+				reader.join();
+			}
+			for (int t = 0; t < READERS; t++) {
+				Random random = new Random(4711 + t);
+				long checksum = 0;
+				for (int i = 0; i < LOOKUPS / READERS; i++) {
+					checksum += random.nextInt(RECORDS);
+				}
+				assertEquals(checksum, checksums[t]);
+			}
+			return file;
+		} finally {
+			db.setExclusiveLock();
+			db.close();
+		}
+	}
+}
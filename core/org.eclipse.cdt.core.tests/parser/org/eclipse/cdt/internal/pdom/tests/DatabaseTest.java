@@ -48,8 +48,7 @@ public class DatabaseTest extends BaseTestCase5 {
 
 	@BeforeEach
 	protected void beforeEach() throws Exception {
-		db = new Database(getTestDir().append(getName() + System.currentTimeMillis() + ".dat").toFile(),
-				new ChunkCache(), 0, false);
+		db = createDatabase(getTestDir().append(getName() + System.currentTimeMillis() + ".dat").toFile());
 		db.setExclusiveLock();
 
 		// Allocate all database chunks up to TEST_OFFSET.
@@ -64,6 +63,10 @@ public class DatabaseTest extends BaseTestCase5 {
 		db.flush();
 	}
 
+	protected Database createDatabase(File file) throws CoreException {
+		return new Database(file, new ChunkCache(), 0, false, false);
+	}
+
 	protected IPath getTestDir() {
 		IPath path = CTestPlugin.getDefault().getStateLocation().append("tests/");
 		File file = path.toFile();
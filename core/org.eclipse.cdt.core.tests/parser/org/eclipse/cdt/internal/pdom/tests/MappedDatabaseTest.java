@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the tests of {@link DatabaseTest} on a database with memory-mapped storage.
+ */
+public class MappedDatabaseTest extends DatabaseTest {
+
+	@Override
+	protected Database createDatabase(File file) throws CoreException {
+		return new Database(file, new ChunkCache(), 0, false, true);
+	}
+
+	@Test
+	public void testMemoryMapped() throws Exception {
+		assertTrue(db.isMemoryMapped());
+	}
+
+	@Test
+	public void testContentSurvivesReopen() throws Exception {
+		final int count = 5000; // Needs more than one growth of the mapping.
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE / 2);
+			db.putInt(records[i], i);
+			db.putLong(records[i] + Database.INT_SIZE, -i);
+		}
+		db.setVersion(42);
+		db.flush();
+		final long size = db.getSizeBytes();
+		final File file = db.getLocation();
+		db.close();
+		// The part of the file that was mapped in advance is removed on close.
+		assertTrue(file.length() <= size);
+
+		db = new Database(file, new ChunkCache(), 0, true, true);
+		db.setLocked(true);
+		assertEquals(42, db.getVersion());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, db.getInt(records[i]));
+			assertEquals(-i, db.getLong(records[i] + Database.INT_SIZE));
+		}
+		db.setExclusiveLock();
+	}
+}
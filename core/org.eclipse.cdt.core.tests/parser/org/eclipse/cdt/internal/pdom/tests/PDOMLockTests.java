@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.LockTimeHistogram;
+import org.eclipse.cdt.internal.core.pdom.PDOMLockStatistics;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the read and write locks of the PDOM.
+ */
+public class PDOMLockTests extends BaseTestCase5 {
+	private File file;
+	private WritablePDOM pdom;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		file = File.createTempFile("test", "pdom");
+		file.deleteOnExit();
+		pdom = new WritablePDOM(file, null, new ChunkCache(), Collections.emptyMap());
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.close();
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testWriterIsNotStarvedByOverlappingReaders() throws Exception {
+		final AtomicBoolean stop = new AtomicBoolean();
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(() -> {
+				try {
+					while (!stop.get()) {
+						pdom.acquireReadLock();
+						try {
+							Thread.sleep(5);
+						} finally {
+							pdom.releaseReadLock();
+						}
+					}
+				} catch (InterruptedException e) {
+				}
+			});
+			readers[i].start();
+		}
+		try {
+			Thread.sleep(50);
+			long start = System.currentTimeMillis();
+			pdom.acquireWriteLock(null);
+			pdom.releaseWriteLock();
+			assertTrue(System.currentTimeMillis() - start < 2000);
+		} finally {
+			stop.set(true);
+			for (Thread reader : readers) {
+				reader.join();
+			}
+		}
+	}
+
+	@Test
+	public void testWaitingReaderGoesBeforeNextWriter() throws Exception {
+		final CountDownLatch waiting = new CountDownLatch(1);
+		final AtomicBoolean acquired = new AtomicBoolean();
+		pdom.acquireWriteLock(null);
+		Thread reader = new Thread(() -> {
+			try {
+				waiting.countDown();
+				pdom.acquireReadLock();
+				acquired.set(true);
+				Thread.sleep(20);
+				pdom.releaseReadLock();
+			} catch (InterruptedException e) {
+			}
+		});
+		reader.start();
+		waiting.await();
+		while (!pdom.hasWaitingReaders()) {
+			Thread.sleep(1);
+		}
+		pdom.releaseWriteLock();
+		pdom.acquireWriteLock(null);
+		try {
+			assertTrue(acquired.get());
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		reader.join();
+	}
+
+	@Test
+	public void testNestedReadLockIsNotDelayedByWaitingWriter() throws Exception {
+		final CountDownLatch writerStarted = new CountDownLatch(1);
+		pdom.acquireReadLock();
+		Thread writer = new Thread(() -> {
+			try {
+				writerStarted.countDown();
+				pdom.acquireWriteLock(null);
+				pdom.releaseWriteLock();
+			} catch (InterruptedException e) {
+			}
+		});
+		try {
+			writer.start();
+			writerStarted.await();
+			Thread.sleep(50);
+			long start = System.nanoTime();
+			pdom.acquireReadLock();
+			pdom.releaseReadLock();
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 250);
+		} finally {
+			pdom.releaseReadLock();
+		}
+		writer.join();
+	}
+
+	@Test
+	public void testReadLockReleasedByOtherThread() throws Exception {
+		LockTimeHistogram holdTime = pdom.getLockStatistics().getReadHoldTime();
+		long count = holdTime.getCount();
+		Thread reader = new Thread(() -> {
+			try {
+				pdom.acquireReadLock();
+			} catch (InterruptedException e) {
+			}
+		});
+		reader.start();
+		reader.join();
+		pdom.releaseReadLock();
+		assertEquals(count + 1, holdTime.getCount());
+
+		// The lock is free and the hold time of the next read lock of this thread is recorded.
+		pdom.acquireWriteLock(null);
+		pdom.releaseWriteLock();
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		assertEquals(count + 2, holdTime.getCount());
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		PDOMLockStatistics statistics = pdom.getLockStatistics();
+		long readLocks = statistics.getReadWaitTime().getCount();
+		long writeLocks = statistics.getWriteHoldTime().getCount();
+		pdom.acquireReadLock();
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		pdom.releaseReadLock();
+		pdom.acquireWriteLock(null);
+		Thread.sleep(2);
+		pdom.releaseWriteLock();
+
+		assertEquals(readLocks + 2, statistics.getReadWaitTime().getCount());
+		assertEquals(writeLocks + 1, statistics.getWriteHoldTime().getCount());
+		assertTrue(statistics.getWriteHoldTime().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(2));
+		assertTrue(statistics.getWriteHoldTime().getPercentileNanos(100) >= TimeUnit.MILLISECONDS.toNanos(2));
+	}
+}
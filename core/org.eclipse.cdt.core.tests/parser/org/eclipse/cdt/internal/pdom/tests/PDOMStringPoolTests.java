@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMStringPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link PDOMStringPool} class and the comparisons of strings in the database.
+ */
+public class PDOMStringPoolTests extends BaseTestCase5 {
+	private File dbFile;
+	private Database db;
+	private PDOMStringPool pool;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomstringpooltest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		pool = new PDOMStringPool(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testInternAndRelease() throws Exception {
+		assertEquals(0, pool.find("name".toCharArray()));
+		long rec1 = pool.intern("name".toCharArray());
+		long rec2 = pool.intern("name".toCharArray());
+		long other = pool.intern("Name".toCharArray());
+		assertEquals(rec1, rec2);
+		assertNotEquals(rec1, other);
+		assertEquals(rec1, pool.find("name".toCharArray()));
+		assertEquals(2, pool.size());
+
+		pool.release(rec1);
+		assertEquals(rec1, pool.find("name".toCharArray()));
+		pool.release(rec2);
+		assertEquals(0, pool.find("name".toCharArray()));
+		assertEquals(other, pool.find("Name".toCharArray()));
+		assertEquals(1, pool.size());
+	}
+
+	@Test
+	public void testGrowth() throws Exception {
+		final int count = 5000;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = pool.intern(("identifier" + i).toCharArray());
+		}
+		assertEquals(count, pool.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(records[i], pool.find(("identifier" + i).toCharArray()));
+		}
+		for (int i = 0; i < count; i += 2) {
+			pool.release(records[i]);
+		}
+		for (int i = 0; i < count; i++) {
+			assertEquals(i % 2 == 0 ? 0 : records[i], pool.find(("identifier" + i).toCharArray()));
+		}
+	}
+
+	@Test
+	public void testLongAndWideStrings() throws Exception {
+		char[] wide = "\u00e4\u20ac".toCharArray();
+		char[] longName = new char[3000];
+		for (int i = 0; i < longName.length; i++) {
+			longName[i] = (char) ('a' + i % 26);
+		}
+		long wideRec = pool.intern(wide);
+		long longRec = pool.intern(longName);
+		assertEquals(wideRec, pool.find(wide));
+		assertEquals(longRec, pool.find(longName));
+		assertEquals(new String(wide).hashCode(), db.hashString(wideRec));
+		assertEquals(new String(longName).hashCode(), db.hashString(longRec));
+	}
+
+	@Test
+	public void testComparisons() throws Exception {
+		long abc = db.newString("abc").getRecord();
+		long abC = db.newString("abC").getRecord();
+		long abcd = db.newString("abcd").getRecord();
+		assertEquals(0, db.compareString(abc, "abc".toCharArray(), true));
+		assertEquals(0, db.compareString(abC, "abc".toCharArray(), false));
+		assertTrue(db.compareString(abC, "abc".toCharArray(), true) < 0);
+		assertTrue(db.compareString(abc, "abcd".toCharArray(), true) < 0);
+		assertEquals(0, db.compareStringPrefix(abcd, "abc".toCharArray(), true));
+		assertTrue(db.compareStringPrefix(abc, "abcd".toCharArray(), true) < 0);
+		assertEquals(Integer.signum(db.getString(abC).compareCompatibleWithIgnoreCase(db.getString(abc))),
+				Integer.signum(db.compareStringsCompatibleWithIgnoreCase(abC, abc)));
+		assertTrue(db.compareStringsCompatibleWithIgnoreCase(abC, abc) < 0);
+		assertTrue(db.compareStringsCompatibleWithIgnoreCase(abc, abcd) < 0);
+		assertTrue(db.compareStringCompatibleWithIgnoreCase(abcd, "ABC".toCharArray()) > 0);
+	}
+}
@@ -84,6 +84,16 @@ public interface ILanguage extends IAdaptable {
 	 */
 	public final static int OPTION_PARSE_INACTIVE_CODE = 0x20;
 
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Allows the preprocessor to take the tokens of included files from the token cache that is
+	 * shared by all parsers, provided the cache is enabled.
+	 * @see org.eclipse.cdt.core.CCorePreferenceConstants#PARSER_TOKEN_CACHE
+	 *
+	 * @since 8.0
+	 */
+	public final static int OPTION_USE_TOKEN_CACHE = 0x40;
+
 	/**
 	 * Return the language id for this language.
 	 * This is to differentiate languages from each other.
@@ -145,6 +145,7 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 		final IScanner scanner = createScanner(reader, scanInfo, fileCreator, log);
 		scanner.setComputeImageLocations((options & OPTION_NO_IMAGE_LOCATIONS) == 0);
 		scanner.setProcessInactiveCode((options & OPTION_PARSE_INACTIVE_CODE) != 0);
+		scanner.setUseTokenCache((options & OPTION_USE_TOKEN_CACHE) != 0);
 
 		IParserSettings parserSettings = null;
 		if (scanInfo instanceof ExtendedScannerInfo) {
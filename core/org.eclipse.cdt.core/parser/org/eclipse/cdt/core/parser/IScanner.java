@@ -104,6 +104,17 @@ public interface IScanner {
 	 */
 	public void setProcessInactiveCode(boolean val);
 
+	/**
+	 * Allows the preprocessor to take the tokens of included files from the token cache that is
+	 * shared by all parsers, provided the cache is enabled.
+	 * @see org.eclipse.cdt.core.CCorePreferenceConstants#PARSER_TOKEN_CACHE
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 8.0
+	 */
+	public default void setUseTokenCache(boolean val) {
+	}
+
 	/**
 	 * When in inactive code, skips all tokens up to the end of the inactive code section.
 	 * <p> Note, token after calling this method may be another token of type
@@ -15,8 +15,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
@@ -44,7 +44,8 @@ import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPInheritance.FinalOverriderMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
-import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.InstantiationCache;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 
@@ -57,14 +58,19 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	private final CPPScopeMapper fScopeMapper;
 	private CPPASTAmbiguityResolver fAmbiguityResolver;
 
-	// Caches.
-	private final Map<ICPPClassType, FinalOverriderMap> fFinalOverriderMapCache = new HashMap<>();
+	// Caches. They are concurrent, since names of the translation unit may be resolved in parallel,
+	// see ParallelNameResolver.
+	private final Map<ICPPClassType, FinalOverriderMap> fFinalOverriderMapCache = new ConcurrentHashMap<>();
 	// Cache for type instantiations. This is currently only used for instantiations of
 	// alias template instances, but its use could potentially be expanded to cover other
 	// instantiations. Note that class template instances are already cached by the
 	// template definition, so we wouldn't want to double-cache those. (But we could e.g.
-	// cache instantiations of function types if we found it worthwhile.)
-	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = new HashMap<>();
+	// cache instantiations of function types if we found it worthwhile.) Results computed for
+	// other translation units are looked up in the index.
+	private final InstantiationCache fInstantiationCache = new InstantiationCache(this);
+	// Cache for the results of constexpr function calls.
+	private final ConstexprCache fConstexprCache = new ConstexprCache();
+	private final Object fScopePopulationLock = new Object();
 
 	public CPPASTTranslationUnit() {
 		fScopeMapper = new CPPScopeMapper(this);
@@ -266,10 +272,21 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return fFinalOverriderMapCache;
 	}
 
-	public Map<TypeInstantiationRequest, IType> getInstantiationCache() {
+	public InstantiationCache getInstantiationCache() {
 		return fInstantiationCache;
 	}
 
+	public ConstexprCache getConstexprCache() {
+		return fConstexprCache;
+	}
+
+	/**
+	 * Returns the lock guarding the population of the scopes of this translation unit.
+	 */
+	public Object getScopePopulationLock() {
+		return fScopePopulationLock;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fScopeMapper.recordPartialSpecialization(indexSpec, astSpec);
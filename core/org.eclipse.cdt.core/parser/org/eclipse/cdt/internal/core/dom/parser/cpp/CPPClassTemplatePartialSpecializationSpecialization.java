@@ -54,20 +54,22 @@ public class CPPClassTemplatePartialSpecializationSpecialization extends CPPClas
 	}
 
 	@Override
-	public synchronized final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
-		if (instances == null)
-			instances = new ObjectMap(2);
+	public final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
+		// Computing the key may involve resolving bindings, which must not happen while holding the lock.
 		String key = ASTTypeUtil.getArgumentListString(arguments, true);
-		instances.put(key, instance);
+		synchronized (this) {
+			if (instances == null)
+				instances = new ObjectMap(2);
+			instances.put(key, instance);
+		}
 	}
 
 	@Override
-	public synchronized final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
-		if (instances != null) {
-			String key = ASTTypeUtil.getArgumentListString(arguments, true);
-			return (ICPPTemplateInstance) instances.get(key);
+	public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
+		String key = ASTTypeUtil.getArgumentListString(arguments, true);
+		synchronized (this) {
+			return instances != null ? (ICPPTemplateInstance) instances.get(key) : null;
 		}
-		return null;
 	}
 
 	@Override
@@ -63,7 +63,8 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 	private static final ICPPNamespace UNINITIALIZED = new CPPNamespace.CPPNamespaceProblem(null, 0, null);
 
 	private final IASTNode physicalNode;
-	private boolean isCached = false;
+	private volatile boolean isCached = false;
+	private boolean isPopulating = false;
 	protected CharArrayObjectMap<Object> bindings;
 	private ICPPNamespace fIndexNamespace = UNINITIALIZED;
 
@@ -320,12 +321,30 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 
 	@Override
 	public final void populateCache() {
-		if (!isCached) {
-			isCached = true; // set to true before doing the work, to avoid recursion
-			CPPSemantics.populateCache(this);
+		if (isCached)
+			return;
+		// Scopes populate each other, they are populated under a single lock per translation unit
+		// to allow for resolving names in parallel without deadlocks.
+		synchronized (getPopulationLock()) {
+			if (!isCached && !isPopulating) {
+				isPopulating = true; // set to true before doing the work, to avoid recursion
+				try {
+					CPPSemantics.populateCache(this);
+				} finally {
+					isPopulating = false;
+					isCached = true;
+				}
+			}
 		}
 	}
 
+	private Object getPopulationLock() {
+		IASTTranslationUnit tu = physicalNode != null ? physicalNode.getTranslationUnit() : null;
+		if (tu instanceof CPPASTTranslationUnit)
+			return ((CPPASTTranslationUnit) tu).getScopePopulationLock();
+		return this;
+	}
+
 	@Override
 	public void removeNestedFromCache(IASTNode container) {
 		if (bindings != null) {
@@ -95,24 +95,24 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 
 	@Override
 	public final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
-		if (instances == null)
-			instances = new ObjectMap(2);
+		// Computing the key may involve resolving bindings, which must not happen while holding the lock.
 		String key = ASTTypeUtil.getArgumentListString(arguments, true);
-		instances.put(key, instance);
+		synchronized (this) {
+			if (instances == null)
+				instances = new ObjectMap(2);
+			instances.put(key, instance);
+		}
 	}
 
 	@Override
 	public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
-		if (instances != null) {
-			String key = ASTTypeUtil.getArgumentListString(arguments, true);
-			ICPPTemplateInstance cand = (ICPPTemplateInstance) instances.get(key);
-			if (cand != null)
-				return cand;
-		}
+		ICPPTemplateInstance cand = getCachedInstance(arguments);
+		if (cand != null)
+			return cand;
 
 		final ICPPClassTemplate ib = getIndexBinding();
 		if (ib instanceof ICPPInstanceCache) {
-			ICPPTemplateInstance cand = ((ICPPInstanceCache) ib).getInstance(arguments);
+			cand = ((ICPPInstanceCache) ib).getInstance(arguments);
 			if (cand instanceof IIndexBinding) {
 				if (getTemplateName().getTranslationUnit().getIndexFileSet()
 						.containsDeclaration((IIndexBinding) cand)) {
@@ -125,6 +125,13 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 		return null;
 	}
 
+	private ICPPTemplateInstance getCachedInstance(ICPPTemplateArgument[] arguments) {
+		String key = ASTTypeUtil.getArgumentListString(arguments, true);
+		synchronized (this) {
+			return instances != null ? (ICPPTemplateInstance) instances.get(key) : null;
+		}
+	}
+
 	protected ICPPClassTemplate getIndexBinding() {
 		if (!checkedIndex) {
 			checkedIndex = true;
@@ -145,7 +152,7 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 	}
 
 	@Override
-	public ICPPTemplateInstance[] getAllInstances() {
+	public synchronized ICPPTemplateInstance[] getAllInstances() {
 		if (instances != null) {
 			ICPPTemplateInstance[] result = new ICPPTemplateInstance[instances.size()];
 			for (int i = 0; i < instances.size(); i++) {
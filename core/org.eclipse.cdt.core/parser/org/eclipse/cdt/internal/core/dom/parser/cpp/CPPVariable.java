@@ -20,7 +20,6 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.REF;
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.cdt.core.dom.ILinkage;
@@ -46,6 +45,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTStructuredBindingDeclaration;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBlockScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPConstructor;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
@@ -55,6 +55,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.EvalConstructor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.EvalUtil;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ResolutionContext;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.core.runtime.PlatformObject;
 
@@ -65,17 +66,6 @@ public class CPPVariable extends PlatformObject implements ICPPInternalDeclaredV
 	private IValue fInitialValue = IntegralValue.NOT_INITIALIZED;
 	private boolean fAllResolved;
 
-	/**
-	 * The set of CPPVariable objects for which initial value computation is in progress on each thread.
-	 * This is used to guard against recursion during initial value computation.
-	 */
-	private static final ThreadLocal<Set<CPPVariable>> fInitialValueInProgress = new ThreadLocal<>() {
-		@Override
-		protected Set<CPPVariable> initialValue() {
-			return new HashSet<>();
-		}
-	};
-
 	public CPPVariable(IASTName name) {
 		boolean isDef = name != null && name.isDefinition();
 		if (name instanceof ICPPASTQualifiedName) {
@@ -251,7 +241,8 @@ public class CPPVariable extends PlatformObject implements ICPPInternalDeclaredV
 	}
 
 	private IValue computeInitialValue() {
-		Set<CPPVariable> recursionProtectionSet = fInitialValueInProgress.get();
+		// Guard against recursion during initial value computation.
+		Set<ICPPVariable> recursionProtectionSet = ResolutionContext.current().getInitialValuesInProgress();
 		if (!recursionProtectionSet.add(this)) {
 			return IntegralValue.UNKNOWN;
 		}
@@ -100,19 +100,40 @@ public interface ICPPEvaluation {
 	 */
 	public final class ConstexprEvaluationContext {
 		/**
-		 * The maximum number of steps allowed in a single constexpr evaluation.
+		 * The default for the maximum number of steps allowed in a single constexpr evaluation.
 		 * This is used to prevent a buggy constexpr function from causing the
 		 * IDE to hang.
 		 */
 		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = 1024;
 
+		private static volatile int sMaxSteps = MAX_CONSTEXPR_EVALUATION_STEPS;
+		private static volatile long sTimeLimitNanos;
+
+		private final int fMaxSteps;
+		private final long fStartTime;
+		private final long fTimeLimitNanos;
 		private int fStepsPerformed;
+		private boolean fBudgetExhausted;
 
 		/**
 		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation.
 		 */
 		public ConstexprEvaluationContext() {
 			fStepsPerformed = 0;
+			fMaxSteps = sMaxSteps;
+			fTimeLimitNanos = sTimeLimitNanos;
+			fStartTime = fTimeLimitNanos > 0 ? System.nanoTime() : 0;
+		}
+
+		/**
+		 * Sets the budget for constexpr evaluations started afterwards.
+		 *
+		 * @param maxSteps the maximum number of steps of a single evaluation.
+		 * @param timeLimitMillis the maximum time a single evaluation may take, or 0 for no limit.
+		 */
+		public static void setBudget(int maxSteps, int timeLimitMillis) {
+			sMaxSteps = Math.max(1, maxSteps);
+			sTimeLimitNanos = Math.max(0, timeLimitMillis) * 1000000L;
 		}
 
 		/**
@@ -131,6 +152,18 @@ public interface ICPPEvaluation {
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Checks whether the evaluation has used up its budget of steps or time and needs to be
+		 * given up.
+		 */
+		public boolean isBudgetExhausted() {
+			if (!fBudgetExhausted) {
+				fBudgetExhausted = fStepsPerformed >= fMaxSteps
+						|| (fTimeLimitNanos > 0 && System.nanoTime() - fStartTime > fTimeLimitNanos);
+			}
+			return fBudgetExhausted;
+		}
 	}
 
 	/**
@@ -35,12 +35,10 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.getUltimateTypeUptoPointers;
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.isConversionOperator;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -295,30 +293,12 @@ public class CPPSemantics {
 	//       "::  i"         => { "::", "i",   null     }
 	private static final Pattern QUALNAME_REGEX = Pattern.compile("^\\s*(::)?\\s*([^\\s:]+)\\s*(?:::(.*))?$"); //$NON-NLS-1$
 
-	// This flag controls whether name lookup is allowed to find bindings in headers
-	// that are not reachable via includes from the file containing the name.
-	// Generally this is not allowed, but certain consumers, such as IncludeOrganizer,
-	// need it (since the whole point of IncludeOrganizer is to find missing headers).
-	private static final ThreadLocal<Boolean> fAllowPromiscuousBindingResolution = new ThreadLocal<>() {
-		@Override
-		protected Boolean initialValue() {
-			return false;
-		}
-	};
-
-	private static final ThreadLocal<Deque<IASTNode>> fLookupPoints = new ThreadLocal<>() {
-		@Override
-		protected Deque<IASTNode> initialValue() {
-			return new ArrayDeque<>();
-		}
-	};
-
 	public static void pushLookupPoint(IASTNode point) {
-		fLookupPoints.get().push(point);
+		ResolutionContext.current().fLookupPoints.push(point);
 	}
 
 	public static void popLookupPoint() {
-		fLookupPoints.get().pop();
+		ResolutionContext.current().fLookupPoints.pop();
 	}
 
 	/**
@@ -331,8 +311,7 @@ public class CPPSemantics {
 	 *       the usual way (via function arguments).
 	 */
 	public static IASTNode getCurrentLookupPoint() {
-		Deque<IASTNode> lookupPoints = fLookupPoints.get();
-		return lookupPoints.isEmpty() ? null : lookupPoints.peek();
+		return ResolutionContext.current().getLookupPoint();
 	}
 
 	static protected IBinding resolveBinding(IASTName name) {
@@ -4627,16 +4606,20 @@ public class CPPSemantics {
 		return binding;
 	}
 
+	// Promiscuous binding resolution controls whether name lookup is allowed to find bindings
+	// in headers that are not reachable via includes from the file containing the name.
+	// Generally this is not allowed, but certain consumers, such as IncludeOrganizer,
+	// need it (since the whole point of IncludeOrganizer is to find missing headers).
 	public static void enablePromiscuousBindingResolution() {
-		fAllowPromiscuousBindingResolution.set(true);
+		ResolutionContext.current().setPromiscuousBindingResolution(true);
 	}
 
 	public static void disablePromiscuousBindingResolution() {
-		fAllowPromiscuousBindingResolution.set(false);
+		ResolutionContext.current().setPromiscuousBindingResolution(false);
 	}
 
 	public static boolean isUsingPromiscuousBindingResolution() {
-		return fAllowPromiscuousBindingResolution.get();
+		return ResolutionContext.current().isUsingPromiscuousBindingResolution();
 	}
 
 	/**
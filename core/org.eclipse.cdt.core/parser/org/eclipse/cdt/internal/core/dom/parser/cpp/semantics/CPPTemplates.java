@@ -28,9 +28,7 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -239,18 +237,6 @@ public class CPPTemplates {
 
 	// Infrastructure to protect against rogue template metaprograms that don't terminate.
 	private static final int TEMPLATE_INSTANTIATION_DEPTH_LIMIT = 128;
-	private static final ThreadLocal<Integer> fTemplateInstantiationDepth = new ThreadLocal<>() {
-		@Override
-		protected Integer initialValue() {
-			return 0;
-		}
-	};
-	private static final ThreadLocal<Set<TypeInstantiationRequest>> instantiationsInProgress = new ThreadLocal<>() {
-		@Override
-		protected Set<TypeInstantiationRequest> initialValue() {
-			return new HashSet<>();
-		}
-	};
 
 	/**
 	 * Instantiates a class or variable template with the given arguments. May return {@code null}.
@@ -1011,12 +997,13 @@ public class CPPTemplates {
 				: null;
 
 		// Guard against infinite recursion during template instantiation with a depth limit.
-		int instantiationDepth = fTemplateInstantiationDepth.get();
+		final ResolutionContext resolutionContext = ResolutionContext.current();
+		int instantiationDepth = resolutionContext.fTemplateInstantiationDepth;
 		if (instantiationDepth > TEMPLATE_INSTANTIATION_DEPTH_LIMIT) {
 			return RecursionResolvingBinding.createFor(decl);
 		}
 		// Increment the instantiation depth for the duration of this call.
-		fTemplateInstantiationDepth.set(instantiationDepth + 1);
+		resolutionContext.fTemplateInstantiationDepth = instantiationDepth + 1;
 
 		try {
 			if (decl instanceof ICPPClassTemplatePartialSpecialization && classOwner != null) {
@@ -1159,7 +1146,7 @@ public class CPPTemplates {
 			CCorePlugin.log(e);
 		} finally {
 			// Restore original instantiation depth.
-			fTemplateInstantiationDepth.set(instantiationDepth);
+			resolutionContext.fTemplateInstantiationDepth = instantiationDepth;
 		}
 		return spec;
 	}
@@ -1549,7 +1536,9 @@ public class CPPTemplates {
 			return type;
 
 		TypeInstantiationRequest instantiationRequest = new TypeInstantiationRequest(type, context);
-		if (!instantiationsInProgress.get().add(instantiationRequest)) {
+		final Set<TypeInstantiationRequest> instantiationsInProgress = ResolutionContext
+				.current().fInstantiationsInProgress;
+		if (!instantiationsInProgress.add(instantiationRequest)) {
 			return type instanceof ICPPFunctionType ? ProblemFunctionType.RECURSION_IN_LOOKUP
 					: ProblemType.RECURSION_IN_LOOKUP;
 		}
@@ -1728,7 +1717,7 @@ public class CPPTemplates {
 		} catch (DOMException e) {
 			return e.getProblem();
 		} finally {
-			instantiationsInProgress.get().remove(instantiationRequest);
+			instantiationsInProgress.remove(instantiationRequest);
 		}
 	}
 
@@ -3439,7 +3428,7 @@ public class CPPTemplates {
 		return true;
 	}
 
-	private static Map<TypeInstantiationRequest, IType> getInstantiationCache() {
+	private static InstantiationCache getInstantiationCache() {
 		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
 		if (lookupPoint != null) {
 			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
@@ -3451,12 +3440,12 @@ public class CPPTemplates {
 	}
 
 	private static IType getCachedInstantiation(TypeInstantiationRequest instantiationRequest) {
-		Map<TypeInstantiationRequest, IType> cache = getInstantiationCache();
+		InstantiationCache cache = getInstantiationCache();
 		return cache != null ? cache.get(instantiationRequest) : null;
 	}
 
 	private static void putCachedInstantiation(TypeInstantiationRequest instantiationRequest, IType result) {
-		Map<TypeInstantiationRequest, IType> cache = getInstantiationCache();
+		InstantiationCache cache = getInstantiationCache();
 		if (cache != null) {
 			cache.put(instantiationRequest, result);
 		}
@@ -29,7 +29,6 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -276,16 +275,6 @@ public class CPPVisitor extends ASTQueries {
 	// Common combinations of flags.
 	public static final int DO_NOT_RESOLVE_PLACEHOLDERS = 0;
 
-	// Thread-local set of declarators for which auto types are being created.
-	// Used to prevent infinite recursion while processing invalid self-referencing
-	// auto-type declarations.
-	private static final ThreadLocal<Set<IASTDeclarator>> autoTypeDeclarators = new ThreadLocal<>() {
-		@Override
-		protected Set<IASTDeclarator> initialValue() {
-			return new HashSet<>();
-		}
-	};
-
 	public static final Predicate<IVariable> IS_STATIC_VARIABLE = IVariable::isStatic;
 	private static final Predicate<IVariable> HAS_INTEGRAL_TYPE = variable -> BuiltinOperators
 			.isIntegral(SemanticUtil.getUltimateTypeUptoPointers(variable.getType()));
@@ -2482,7 +2471,9 @@ public class CPPVisitor extends ASTQueries {
 			PlaceholderKind placeholderKind) {
 		IType cannotDeduce = placeholderKind == PlaceholderKind.Auto ? ProblemType.CANNOT_DEDUCE_AUTO_TYPE
 				: ProblemType.CANNOT_DEDUCE_DECLTYPE_AUTO_TYPE;
-		Set<IASTDeclarator> recursionProtectionSet = autoTypeDeclarators.get();
+		// The set of declarators for which auto types are being created is used to prevent infinite
+		// recursion while processing invalid self-referencing auto-type declarations.
+		Set<IASTDeclarator> recursionProtectionSet = ResolutionContext.current().fAutoTypeDeclarators;
 		if (!recursionProtectionSet.add(declarator)) {
 			// Detected a self referring auto type, e.g.: auto x = x;
 			return cannotDeduce;
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunctionType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.internal.core.dom.parser.DependentValue;
+import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
+
+/**
+ * Cache for the results of calls to constexpr functions of a translation unit, keyed by the function
+ * and the signatures of the arguments. In addition the cache collects statistics about the constexpr
+ * evaluations of the translation unit.
+ * <p>
+ * The cache is concurrent, since names of the translation unit may be resolved in parallel.
+ */
+public final class ConstexprCache {
+	private static final int MAX_ENTRIES = 10000;
+
+	private static final class Key {
+		final ICPPFunction fFunction;
+		final char[] fArguments;
+		final int fHashCode;
+
+		Key(ICPPFunction function, char[] arguments) {
+			fFunction = function;
+			fArguments = arguments;
+			fHashCode = 31 * function.hashCode() + Arrays.hashCode(arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fHashCode == other.fHashCode && fFunction.equals(other.fFunction)
+					&& Arrays.equals(fArguments, other.fArguments);
+		}
+	}
+
+	private final Map<Key, EvalFixed> fResults = new ConcurrentHashMap<>();
+	private final AtomicInteger fHits = new AtomicInteger();
+	private final AtomicInteger fMisses = new AtomicInteger();
+	private final AtomicInteger fEvaluations = new AtomicInteger();
+	private final AtomicInteger fExhaustedEvaluations = new AtomicInteger();
+	private final AtomicLong fSteps = new AtomicLong();
+
+	/**
+	 * Returns the cache of the translation unit of the current lookup point, or {@code null}.
+	 */
+	static ConstexprCache getCurrent() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the key for a call of the function, or {@code null} if the result of the call
+	 * cannot be cached, e.g. because an argument refers to the state of the calling function.
+	 *
+	 * @param arguments the arguments of the call, starting at index 1.
+	 */
+	Object createKey(ICPPFunction function, ICPPEvaluation[] arguments, ICPPEvaluation implicitThis) {
+		if (implicitThis != null)
+			return null;
+		// A reference to the state of the caller may be returned.
+		ICPPFunctionType functionType = function.getType();
+		if (functionType == null || SemanticUtil.getNestedType(functionType.getReturnType(),
+				SemanticUtil.TDEF) instanceof ICPPReferenceType)
+			return null;
+		StringBuilder buf = new StringBuilder();
+		for (int i = 1; i < arguments.length; i++) {
+			ICPPEvaluation arg = arguments[i];
+			if (arg instanceof EvalReference || arg instanceof EvalCompositeAccess)
+				return null;
+			IType type = SemanticUtil.getNestedType(arg.getType(), SemanticUtil.TDEF | SemanticUtil.CVTYPE);
+			if (type instanceof IPointerType || type instanceof ICPPReferenceType)
+				return null;
+			char[] signature = arg.getSignature();
+			if (signature.length == 1 && signature[0] == '?')
+				return null;
+			buf.append(signature.length).append(':').append(signature);
+		}
+		char[] chars = new char[buf.length()];
+		buf.getChars(0, chars.length, chars, 0);
+		return new Key(function, chars);
+	}
+
+	/**
+	 * Returns the cached result for the key, or {@code null}.
+	 */
+	ICPPEvaluation get(Object key) {
+		EvalFixed result = fResults.get(key);
+		if (result == null) {
+			fMisses.incrementAndGet();
+			return null;
+		}
+		fHits.incrementAndGet();
+		return copy(result);
+	}
+
+	/**
+	 * Stores the result of a call, unless its value could not be determined.
+	 */
+	void put(Object key, ICPPEvaluation result) {
+		if (result == EvalFixed.INCOMPLETE || fResults.size() >= MAX_ENTRIES)
+			return;
+		IValue value = result.getValue();
+		if (value == IntegralValue.ERROR || value == IntegralValue.UNKNOWN || value instanceof DependentValue)
+			return;
+		fResults.put((Key) key, new EvalFixed(result.getType(), result.getValueCategory(), value.clone()));
+	}
+
+	private static EvalFixed copy(EvalFixed eval) {
+		// Values can be modified by the code that evaluates the call.
+		return new EvalFixed(eval.getType(), eval.getValueCategory(), eval.getValue().clone());
+	}
+
+	/**
+	 * Reports a constexpr evaluation started from outside of constexpr code.
+	 */
+	void evaluationCompleted(ConstexprEvaluationContext context) {
+		fEvaluations.incrementAndGet();
+		fSteps.addAndGet(context.getStepsPerformed());
+		if (context.isBudgetExhausted()) {
+			fExhaustedEvaluations.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns the number of calls for which a cached result was used.
+	 */
+	public int getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * Returns the number of calls that had to be evaluated.
+	 */
+	public int getMissCount() {
+		return fMisses.get();
+	}
+
+	/**
+	 * Returns the number of constexpr evaluations of function calls.
+	 */
+	public int getEvaluationCount() {
+		return fEvaluations.get();
+	}
+
+	/**
+	 * Returns the number of constexpr evaluations that were given up because they exceeded their
+	 * budget.
+	 */
+	public int getExhaustedEvaluationCount() {
+		return fExhaustedEvaluations.get();
+	}
+
+	/**
+	 * Returns the total number of steps performed by constexpr evaluations.
+	 */
+	public long getStepCount() {
+		return fSteps.get();
+	}
+}
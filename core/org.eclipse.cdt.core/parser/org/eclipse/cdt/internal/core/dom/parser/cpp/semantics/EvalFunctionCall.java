@@ -184,7 +184,12 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation eval = evaluateFunctionBody(new ConstexprEvaluationContext());
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+		ICPPEvaluation eval = evaluateFunctionBody(context);
+		ConstexprCache cache = ConstexprCache.getCurrent();
+		if (cache != null) {
+			cache.evaluationCompleted(context);
+		}
 		if (eval == this) {
 			return DependentValue.create(eval);
 		}
@@ -264,7 +269,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isBudgetExhausted()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -333,6 +338,22 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		// The result of a call depends on the function and the arguments, only.
+		ConstexprCache cache = ConstexprCache.getCurrent();
+		Object key = cache != null ? cache.createKey(function, fArguments, getImplicitThis()) : null;
+		if (key != null) {
+			ICPPEvaluation result = cache.get(key);
+			if (result != null)
+				return result;
+		}
+		ICPPEvaluation result = executeFunctionBody(function, context);
+		if (key != null && !context.isBudgetExhausted()) {
+			cache.put(key, result);
+		}
+		return result;
+	}
+
+	private ICPPEvaluation executeFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
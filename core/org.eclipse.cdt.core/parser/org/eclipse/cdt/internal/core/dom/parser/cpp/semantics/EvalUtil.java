@@ -15,7 +15,6 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.REF;
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
@@ -35,17 +34,6 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecutionOwner;
 
 public class EvalUtil {
-	/**
-	 * The set of ICPPVariable objects for which initial value computation is in progress on each thread.
-	 * This is used to guard against recursion during initial value computation.
-	 */
-	private static final ThreadLocal<Set<ICPPVariable>> fInitialValueInProgress = new ThreadLocal<>() {
-		@Override
-		protected Set<ICPPVariable> initialValue() {
-			return new HashSet<>();
-		}
-	};
-
 	public static IValue getConditionExprValue(ICPPEvaluation conditionExprEval, ActivationRecord record,
 			ConstexprEvaluationContext context) {
 		return conditionExprEval.computeForFunctionCall(record, context.recordStep()).getValue();
@@ -164,7 +152,8 @@ public class EvalUtil {
 	 * the given activation record.
 	 */
 	public static ICPPEvaluation getVariableValue(ICPPVariable variable, ActivationRecord record) {
-		Set<ICPPVariable> recursionProtectionSet = fInitialValueInProgress.get();
+		// Guard against recursion during initial value computation.
+		Set<ICPPVariable> recursionProtectionSet = ResolutionContext.current().fVariableValuesInProgress;
 		if (!recursionProtectionSet.add(variable)) {
 			return EvalFixed.INCOMPLETE;
 		}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPAliasTemplateInstance;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Cache for the results of type instantiations of a translation unit. Results that are not found
+ * in the cache are looked up in the index, which persists the results computed for other translation
+ * units. The results computed for instantiations of templates from the index are collected, such that
+ * the indexer can store them.
+ * <p>
+ * The cache is concurrent, since names of the translation unit may be resolved in parallel.
+ */
+public final class InstantiationCache {
+	private static final int MAX_PERSISTED_RESULTS = 1000;
+
+	private final IASTTranslationUnit fTranslationUnit;
+	private final Map<TypeInstantiationRequest, IType> fResults = new ConcurrentHashMap<>();
+	private final Queue<TypeInstantiationRequest> fComputed = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger fComputedCount = new AtomicInteger();
+	private final AtomicInteger fHits = new AtomicInteger();
+	private final AtomicInteger fIndexHits = new AtomicInteger();
+	private final AtomicInteger fMisses = new AtomicInteger();
+
+	public InstantiationCache(IASTTranslationUnit tu) {
+		fTranslationUnit = tu;
+	}
+
+	/**
+	 * Returns the result of the instantiation, or {@code null} if it is neither cached nor stored
+	 * in the index.
+	 */
+	IType get(TypeInstantiationRequest request) {
+		IType result = fResults.get(request);
+		if (result != null) {
+			fHits.incrementAndGet();
+			return result;
+		}
+		IIndex index = fTranslationUnit.getIndex();
+		if (index instanceof CIndex && isFromIndex(request)) {
+			char[] signature = request.getPersistentSignature();
+			if (signature != null) {
+				try {
+					result = ((CIndex) index).findInstantiation(ILinkage.CPP_LINKAGE_ID, signature);
+				} catch (CoreException e) {
+					CCorePlugin.log(e);
+				}
+				if (result != null) {
+					fIndexHits.incrementAndGet();
+					fResults.put(request, result);
+					return result;
+				}
+			}
+		}
+		fMisses.incrementAndGet();
+		return null;
+	}
+
+	void put(TypeInstantiationRequest request, IType result) {
+		if (fResults.put(request, result) == null && isFromIndex(request)
+				&& fComputedCount.incrementAndGet() <= MAX_PERSISTED_RESULTS) {
+			fComputed.add(request);
+		}
+	}
+
+	private static boolean isFromIndex(TypeInstantiationRequest request) {
+		IType type = request.getType();
+		return type instanceof ICPPAliasTemplateInstance
+				&& ((ICPPAliasTemplateInstance) type).getTemplateDefinition() instanceof IIndexBinding;
+	}
+
+	/**
+	 * Returns the instantiations of templates from the index that were computed for this translation
+	 * unit, together with their results.
+	 */
+	public List<Map.Entry<TypeInstantiationRequest, IType>> getComputedInstantiations() {
+		List<Map.Entry<TypeInstantiationRequest, IType>> result = new ArrayList<>();
+		for (TypeInstantiationRequest request : fComputed) {
+			IType type = fResults.get(request);
+			if (type != null) {
+				result.add(Map.entry(request, type));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of instantiations whose result was found in the cache.
+	 */
+	public int getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * Returns the number of instantiations whose result was found in the index.
+	 */
+	public int getIndexHitCount() {
+		return fIndexHits.get();
+	}
+
+	/**
+	 * Returns the number of instantiations that had to be computed.
+	 */
+	public int getMissCount() {
+		return fMisses.get();
+	}
+}
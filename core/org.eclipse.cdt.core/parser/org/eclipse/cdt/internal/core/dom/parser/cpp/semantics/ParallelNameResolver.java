@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
+import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
+
+/**
+ * Resolves the bindings of all names of a C++ translation unit using a fork-join pool.
+ * <p>
+ * The names outside of function bodies are resolved first, on the calling thread. This populates
+ * the scopes shared by the function bodies and creates the bindings of all non-local declarations.
+ * The function bodies are then resolved in parallel, each of them by a single task in its own
+ * {@link ResolutionContext}.
+ * <p>
+ * The names and expressions of the AST cache their bindings and evaluations without
+ * synchronization, so a function body must not be resolved by two threads. Resolving a function
+ * body enters the body of another function only to deduce its return type or to evaluate it as
+ * a constant expression. The bodies of functions declared {@code constexpr} or with a deduced
+ * return type are therefore resolved on the calling thread too, together with their return types
+ * and executions, before the other bodies are resolved in parallel. Apart from these, function
+ * bodies share only the caches of the translation unit, the template instances and the contents
+ * of scopes, which are synchronized.
+ * <p>
+ * The AST must not be modified while the names are resolved. When the AST is based on an index,
+ * the caller has to hold a read lock on the index for the duration of the call.
+ */
+public final class ParallelNameResolver {
+	private final ForkJoinPool fPool;
+
+	/**
+	 * @param pool the pool used for resolving the function bodies, or {@code null} to resolve all
+	 *     names on the calling thread.
+	 */
+	public ParallelNameResolver(ForkJoinPool pool) {
+		fPool = pool;
+	}
+
+	/**
+	 * Resolves the bindings of all names of the given translation unit, including implicit names.
+	 */
+	public void resolveNames(IASTTranslationUnit ast) {
+		final List<IASTFunctionDefinition> functionDefinitions = new ArrayList<>();
+		final List<IASTFunctionDefinition> dependentDefinitions = new ArrayList<>();
+		ast.accept(new NameResolutionVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				if (fPool != null && declaration instanceof IASTFunctionDefinition) {
+					IASTFunctionDefinition functionDefinition = (IASTFunctionDefinition) declaration;
+					if (isEnteredByOtherBodies(functionDefinition)) {
+						dependentDefinitions.add(functionDefinition);
+						return PROCESS_CONTINUE;
+					}
+					if (!functionDefinition.getDeclSpecifier().accept(this)
+							|| !functionDefinition.getDeclarator().accept(this)) {
+						return PROCESS_ABORT;
+					}
+					functionDefinitions.add(functionDefinition);
+					return PROCESS_SKIP;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		for (IASTFunctionDefinition functionDefinition : dependentDefinitions) {
+			computeBodyDependentState(functionDefinition);
+		}
+		if (functionDefinitions.isEmpty())
+			return;
+
+		final ResolutionContext context = ResolutionContext.current();
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>(functionDefinitions.size());
+		for (IASTFunctionDefinition functionDefinition : functionDefinitions) {
+			final ResolutionContext taskContext = context.createChild();
+			tasks.add(ForkJoinTask.adapt((Runnable) () -> taskContext.run(() -> {
+				resolveFunctionBody(functionDefinition);
+				return null;
+			})));
+		}
+		fPool.invoke(ForkJoinTask.adapt((Runnable) () -> ForkJoinTask.invokeAll(tasks)));
+	}
+
+	/**
+	 * Returns whether the body of the function definition may be entered while resolving the names
+	 * of other function bodies.
+	 */
+	private static boolean isEnteredByOtherBodies(IASTFunctionDefinition functionDefinition) {
+		IASTDeclSpecifier declSpec = functionDefinition.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			int type = ((IASTSimpleDeclSpecifier) declSpec).getType();
+			return type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the return type and the execution of a function, which are used by other function
+	 * bodies while they are resolved in parallel.
+	 */
+	private static void computeBodyDependentState(IASTFunctionDefinition functionDefinition) {
+		IBinding binding = ASTQueries.findInnermostDeclarator(functionDefinition.getDeclarator()).getName()
+				.resolveBinding();
+		if (binding instanceof IFunction) {
+			((IFunction) binding).getType();
+		}
+		CPPFunction.computeFunctionBodyExecution(functionDefinition);
+	}
+
+	/**
+	 * Resolves the names of a function definition, except for the ones of its declaration.
+	 */
+	private static void resolveFunctionBody(IASTFunctionDefinition functionDefinition) {
+		final NameResolutionVisitor visitor = new NameResolutionVisitor();
+		for (IASTNode child : functionDefinition.getChildren()) {
+			if (child != functionDefinition.getDeclSpecifier() && child != functionDefinition.getDeclarator()) {
+				if (!child.accept(visitor))
+					return;
+			}
+		}
+	}
+
+	private static class NameResolutionVisitor extends ASTVisitor {
+		NameResolutionVisitor() {
+			shouldVisitNames = true;
+			shouldVisitImplicitNames = true;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			name.resolveBinding();
+			return PROCESS_CONTINUE;
+		}
+	}
+}
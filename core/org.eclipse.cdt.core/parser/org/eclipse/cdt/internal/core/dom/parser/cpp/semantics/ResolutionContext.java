@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
+
+/**
+ * The state of the binding resolutions in progress, i.e. the stack of lookup points and the guards
+ * against infinite recursion during template instantiation and value computation.
+ * <p>
+ * Every thread has its own current context. A task that resolves bindings on a shared worker thread,
+ * e.g. in a fork-join pool, has to run in a context of its own, see {@link #createChild()} and
+ * {@link #run(Supplier)}, because a worker thread that waits for another task may pick up further
+ * tasks while the resolution of the waiting task is still in progress.
+ * <p>
+ * A context must not be used by more than one thread at a time.
+ * <p>
+ * The context is found through a thread-local rather than passed to the methods of
+ * {@link CPPSemantics}, {@link CPPTemplates} and {@link EvalUtil} explicitly. The state it holds
+ * is consulted when bindings compute their types and values lazily, e.g. in
+ * {@code IVariable.getInitialValue()} or {@code IFunction.getType()}, which are API methods that
+ * cannot take a context parameter. The state used to be kept in separate thread-locals of those
+ * classes, this class keeps it in one place, so that it can be replaced as a whole for a task.
+ */
+public final class ResolutionContext {
+	private static final ThreadLocal<ResolutionContext> fCurrent = ThreadLocal.withInitial(ResolutionContext::new);
+
+	final Deque<IASTNode> fLookupPoints = new ArrayDeque<>();
+	final Set<TypeInstantiationRequest> fInstantiationsInProgress = new HashSet<>();
+	final Set<ICPPVariable> fVariableValuesInProgress = new HashSet<>();
+	private final Set<ICPPVariable> fInitialValuesInProgress = new HashSet<>();
+	final Set<IASTDeclarator> fAutoTypeDeclarators = new HashSet<>();
+	int fTemplateInstantiationDepth;
+	boolean fAllowPromiscuousBindingResolution;
+
+	private ResolutionContext() {
+	}
+
+	/**
+	 * Returns the context of the calling thread.
+	 */
+	public static ResolutionContext current() {
+		return fCurrent.get();
+	}
+
+	/**
+	 * Creates a new context for resolving bindings on behalf of this one. The new context has
+	 * no resolution in progress, but inherits the settings of this context.
+	 */
+	public ResolutionContext createChild() {
+		ResolutionContext child = new ResolutionContext();
+		child.fAllowPromiscuousBindingResolution = fAllowPromiscuousBindingResolution;
+		return child;
+	}
+
+	/**
+	 * Makes this the current context of the calling thread while running the given task.
+	 */
+	public <T> T run(Supplier<T> task) {
+		final ResolutionContext previous = fCurrent.get();
+		if (previous == this)
+			return task.get();
+		fCurrent.set(this);
+		try {
+			return task.get();
+		} finally {
+			fCurrent.set(previous);
+		}
+	}
+
+	public boolean isUsingPromiscuousBindingResolution() {
+		return fAllowPromiscuousBindingResolution;
+	}
+
+	public void setPromiscuousBindingResolution(boolean allow) {
+		fAllowPromiscuousBindingResolution = allow;
+	}
+
+	/**
+	 * Returns the variables for which the computation of the initial value is in progress.
+	 */
+	public Set<ICPPVariable> getInitialValuesInProgress() {
+		return fInitialValuesInProgress;
+	}
+
+	/**
+	 * Returns the current point of instantiation / point of lookup, or {@code null}.
+	 */
+	public IASTNode getLookupPoint() {
+		return fLookupPoints.peek();
+	}
+}
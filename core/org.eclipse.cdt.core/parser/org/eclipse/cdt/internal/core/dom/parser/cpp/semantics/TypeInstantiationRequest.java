@@ -16,11 +16,18 @@ package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
 import java.util.Arrays;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IFunction;
 import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTypeSpecialization;
+import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.ISerializableType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPTemplateParameterMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.InstantiationContext;
 import org.eclipse.core.runtime.CoreException;
@@ -29,6 +36,49 @@ import org.eclipse.core.runtime.CoreException;
  * Used to track ongoing instantiations as a safeguard against infinite recursion.
  */
 public class TypeInstantiationRequest {
+	/**
+	 * Builds signatures that identify types across translation units. Instances and specializations
+	 * are described by their template arguments and owners, other bindings by their qualified names.
+	 * A signature is not persistable if it contains a binding that may not have the same qualified name
+	 * in all translation units, such as a binding that is not in the index or that is local to a file.
+	 */
+	private static class PersistentSignatureBuilder extends SignatureBuilder {
+		boolean fPersistable = true;
+
+		@Override
+		public void marshalBinding(IBinding binding) throws CoreException {
+			if (binding == null || binding instanceof ISerializableType || binding instanceof ICPPTemplateParameter) {
+				super.marshalBinding(binding);
+			} else if (binding instanceof ICPPTemplateInstance) {
+				ICPPTemplateInstance instance = (ICPPTemplateInstance) binding;
+				marshalBinding(instance.getTemplateDefinition());
+				ICPPTemplateArgument[] args = instance.getTemplateArguments();
+				putInt(args.length);
+				for (ICPPTemplateArgument arg : args) {
+					marshalTemplateArgument(arg);
+				}
+			} else if (binding instanceof ICPPSpecialization) {
+				marshalBinding(binding.getOwner());
+				putCharArray(binding.getNameCharArray());
+			} else {
+				// Functions can be overloaded, their qualified names are ambiguous.
+				if (!(binding instanceof IIndexBinding) || binding instanceof IFunction
+						|| ((IIndexBinding) binding).isFileLocal()) {
+					fPersistable = false;
+				}
+				super.marshalBinding(binding);
+			}
+		}
+
+		@Override
+		public void marshalType(IType type) throws CoreException {
+			if (type instanceof UniqueType) {
+				fPersistable = false;
+			}
+			super.marshalType(type);
+		}
+	}
+
 	private final IType type;
 	private final ICPPTemplateParameterMap parameterMap;
 	private final int packOffset;
@@ -50,6 +100,58 @@ public class TypeInstantiationRequest {
 		this.contextTypeSpecialization = context.getContextTypeSpecialization();
 	}
 
+	public IType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns a signature that identifies the request in all translation units, or {@code null}
+	 * if the request depends on bindings of a single translation unit.
+	 */
+	public char[] getPersistentSignature() {
+		PersistentSignatureBuilder builder = new PersistentSignatureBuilder();
+		try {
+			builder.marshalType(type);
+			builder.marshalType(contextTypeSpecialization);
+			builder.putInt(packOffset);
+			if (parameterMap != null) {
+				Integer[] positions = parameterMap.getAllParameterPositions().clone();
+				Arrays.sort(positions);
+				builder.putInt(positions.length);
+				for (Integer position : positions) {
+					builder.putInt(position);
+					ICPPTemplateArgument[] packExpansion = parameterMap.getPackExpansion(position);
+					if (packExpansion != null) {
+						builder.putInt(packExpansion.length);
+						for (ICPPTemplateArgument arg : packExpansion) {
+							builder.marshalTemplateArgument(arg);
+						}
+					} else {
+						builder.putInt(-1);
+						builder.marshalTemplateArgument(parameterMap.getArgument(position));
+					}
+				}
+			}
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+			return null;
+		}
+		return builder.fPersistable ? builder.getSignature() : null;
+	}
+
+	/**
+	 * Checks whether the type consists of bindings that can be identified in all translation units.
+	 */
+	public static boolean isPersistable(IType type) {
+		PersistentSignatureBuilder builder = new PersistentSignatureBuilder();
+		try {
+			builder.marshalType(type);
+		} catch (CoreException e) {
+			return false;
+		}
+		return builder.fPersistable;
+	}
+
 	@Override
 	public int hashCode() {
 		if (hashCode == 0) {
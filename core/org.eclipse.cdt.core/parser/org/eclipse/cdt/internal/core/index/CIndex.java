@@ -34,6 +34,7 @@ import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IName;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPNamespace;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDeclaration;
 import org.eclipse.cdt.core.index.IIndex;
@@ -544,6 +545,20 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexFragmentBinding[result.size()]);
 	}
 
+	/**
+	 * Returns the stored result of the type instantiation with the given signature, or {@code null}.
+	 * @see IWritableIndexFragment#addInstantiations(int, IIndexFragmentFile[], char[][], IBinding[], IType[])
+	 */
+	public IType findInstantiation(int linkageID, char[] signature) throws CoreException {
+		for (IIndexFragment fragment : fFragments) {
+			IType result = fragment.findInstantiation(linkageID, signature);
+			if (result != null) {
+				return getCompositesFactory(linkageID).getCompositeType(result);
+			}
+		}
+		return null;
+	}
+
 	private ICompositesFactory getCompositesFactory(int linkageID) {
 		switch (linkageID) {
 		case ILinkage.CPP_LINKAGE_ID:
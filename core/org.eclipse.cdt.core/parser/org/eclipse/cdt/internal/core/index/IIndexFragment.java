@@ -21,6 +21,7 @@ import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexLinkage;
@@ -359,6 +360,12 @@ public interface IIndexFragment {
 	 */
 	IIndexScope[] getInlineNamespaces() throws CoreException;
 
+	/**
+	 * Returns the stored result of the type instantiation with the given signature, or {@code null}.
+	 * @see IWritableIndexFragment#addInstantiations(int, IIndexFragmentFile[], char[][], IBinding[], IType[])
+	 */
+	IType findInstantiation(int linkageID, char[] signature) throws CoreException;
+
 	/**
 	 * Returns {@code true} if the index fragment is fully initialized. An fragment may not be fully
 	 * initialized during Eclipse startup, or soon after adding a new project to the workspace.
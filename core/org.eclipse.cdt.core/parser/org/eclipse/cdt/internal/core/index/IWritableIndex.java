@@ -18,6 +18,8 @@ package org.eclipse.cdt.internal.core.index;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
@@ -26,6 +28,7 @@ import org.eclipse.cdt.internal.core.pdom.FailedToReAcquireLockException;
 import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 
 /**
  * Interface used by the indexer to write to the index. A writable index is not thread-safe,
@@ -173,6 +176,11 @@ public interface IWritableIndex extends IIndex {
 	 */
 	long getDatabaseSizeBytes();
 
+	/**
+	 * Returns a status describing the storage of the database, including its compression ratio.
+	 */
+	IStatus getDatabaseStorageStatus();
+
 	/**
 	 * Clears the result cache, caller needs to hold a write-lock.
 	 */
@@ -189,4 +197,12 @@ public interface IWritableIndex extends IIndex {
 	 * Both files must belong to the writable fragment.
 	 */
 	void transferContext(IIndexFragmentFile source, IIndexFragmentFile target) throws CoreException;
+
+	/**
+	 * Stores the results of type instantiations computed for a translation unit in the writable
+	 * fragment, such that they can be reused by other translation units.
+	 * @see IWritableIndexFragment#addInstantiations(int, IIndexFragmentFile[], char[][], IBinding[], IType[])
+	 */
+	int addInstantiations(int linkageID, IIndexFragmentFile[] files, char[][] signatures, IBinding[] templates,
+			IType[] results) throws CoreException;
 }
@@ -17,6 +17,8 @@ package org.eclipse.cdt.internal.core.index;
 
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.internal.core.index.IWritableIndex.IncludeInformation;
@@ -25,6 +27,7 @@ import org.eclipse.cdt.internal.core.pdom.FailedToReAcquireLockException;
 import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 
 /**
  * The interface that an actual storage for an index has to implement.
@@ -53,6 +56,17 @@ public interface IWritableIndexFragment extends IIndexFragment {
 	IIndexFragmentFile addFile(int linkageID, IIndexFileLocation fileLocation, ISignificantMacros sigMacros)
 			throws CoreException;
 
+	/**
+	 * Creates file objects for the given locations and linkage or returns existing ones. The new file
+	 * objects are added to the file index in a single batch.
+	 * @param fileLocations the locations of the files.
+	 * @param sigMacros the macro definitions at the inclusion points, one for each location.
+	 * @return the existing or newly created IIndexFragmentFile for each location.
+	 * @throws CoreException
+	 */
+	IIndexFragmentFile[] addFiles(int linkageID, IIndexFileLocation[] fileLocations, ISignificantMacros[] sigMacros)
+			throws CoreException;
+
 	/**
 	 * Creates a file object for the given location and linkage. The created file object is not added to
 	 * the file index.
@@ -87,6 +101,20 @@ public interface IWritableIndexFragment extends IIndexFragment {
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver resolver,
 			YieldableIndexLock lock) throws CoreException, FailedToReAcquireLockException;
 
+	/**
+	 * Stores the results of type instantiations computed for a translation unit, such that they can
+	 * be reused by other translation units. The results depend on the given files, the files they
+	 * include and the files defining the templates, they are discarded when one of these files is
+	 * cleared.
+	 * @param files the files of the translation unit that were written to the index.
+	 * @param signatures the signatures identifying the instantiations in all translation units.
+	 * @param templates the instantiated templates.
+	 * @param results the results of the instantiations.
+	 * @return the number of results stored.
+	 */
+	int addInstantiations(int linkageID, IIndexFragmentFile[] files, char[][] signatures, IBinding[] templates,
+			IType[] results) throws CoreException;
+
 	/**
 	 * Acquires a write lock, while giving up a certain amount of read locks.
 	 */
@@ -118,4 +146,9 @@ public interface IWritableIndexFragment extends IIndexFragment {
 	 * @return the size of the database in bytes
 	 */
 	long getDatabaseSizeBytes();
+
+	/**
+	 * @return a status describing the storage of the database, including its compression ratio
+	 */
+	IStatus getDatabaseStorageStatus();
 }
@@ -15,8 +15,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.index;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.internal.core.pdom.ASTFilePathResolver;
@@ -24,6 +29,7 @@ import org.eclipse.cdt.internal.core.pdom.FailedToReAcquireLockException;
 import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 
 public class WritableCIndex extends CIndex implements IWritableIndex {
 	private boolean fIsWriteLocked;
@@ -82,9 +88,22 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 			YieldableIndexLock lock) throws CoreException, FailedToReAcquireLockException {
 		assert getWritableFragment() == file.getIndexFragment();
 
+		List<IncludeInformation> resolved = new ArrayList<>(includes.length);
 		for (IncludeInformation include : includes) {
 			if (include.fLocation != null) {
-				include.fTargetFile = addFile(linkageID, include.fLocation, include.fSignificantMacros);
+				resolved.add(include);
+			}
+		}
+		if (!resolved.isEmpty()) {
+			IIndexFileLocation[] locations = new IIndexFileLocation[resolved.size()];
+			ISignificantMacros[] sigMacros = new ISignificantMacros[resolved.size()];
+			for (int i = 0; i < locations.length; i++) {
+				locations[i] = resolved.get(i).fLocation;
+				sigMacros[i] = resolved.get(i).fSignificantMacros;
+			}
+			IIndexFragmentFile[] targets = getWritableFragment().addFiles(linkageID, locations, sigMacros);
+			for (int i = 0; i < targets.length; i++) {
+				resolved.get(i).fTargetFile = targets[i];
 			}
 		}
 		getWritableFragment().addFileContent(file, includes, macros, names, resolver, lock);
@@ -174,6 +193,11 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		return getWritableFragment().getDatabaseSizeBytes();
 	}
 
+	@Override
+	public IStatus getDatabaseStorageStatus() {
+		return getWritableFragment().getDatabaseStorageStatus();
+	}
+
 	@Override
 	public void transferIncluders(IIndexFragmentFile source, IIndexFragmentFile target) throws CoreException {
 		if (source == null || target == null)
@@ -191,4 +215,10 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 			return;
 		target.transferContext(source);
 	}
+
+	@Override
+	public int addInstantiations(int linkageID, IIndexFragmentFile[] files, char[][] signatures,
+			IBinding[] templates, IType[] results) throws CoreException {
+		return getWritableFragment().addInstantiations(linkageID, files, signatures, templates, results);
+	}
 }
@@ -166,7 +166,7 @@ public class InternalParserUtil extends ParserFactory {
 			if (input instanceof FileInputStream) {
 				try {
 					return createFileContent(path, null, file.getCharset(), input, fileInfo.getLastModified(),
-							fileInfo.getLength(), fileReadTime);
+							fileInfo.getLength(), fileReadTime, true);
 				} finally {
 					try {
 						input.close();
@@ -225,7 +225,7 @@ public class InternalParserUtil extends ParserFactory {
 				return null;
 			}
 			try {
-				return createFileContent(path, localPath, encoding, in, timestamp, fileSize, fileReadTime);
+				return createFileContent(path, localPath, encoding, in, timestamp, fileSize, fileReadTime, false);
 			} finally {
 				try {
 					in.close();
@@ -237,12 +237,13 @@ public class InternalParserUtil extends ParserFactory {
 	}
 
 	private static InternalFileContent createFileContent(String path, String localPath, String charset, InputStream in,
-			long fileTimestamp, long fileSize, long fileReadTime) {
+			long fileTimestamp, long fileSize, long fileReadTime, boolean workspaceFile) {
 		if (localPath == null) {
 			localPath = path;
 		}
 		try {
-			AbstractCharArray chars = FileCharArray.create(localPath, charset, in);
+			AbstractCharArray chars = FileCharArray.create(localPath, charset, in, fileTimestamp, fileSize,
+					workspaceFile);
 			if (chars == null)
 				return null;
 
@@ -295,6 +295,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	protected ScannerContext fCurrentContext;
 
 	private boolean isCancelled;
+	private boolean fUseTokenCache;
 	private boolean fIsFirstFetchToken = true;
 
 	private Token fPrefetchedTokens;
@@ -307,6 +308,12 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	private char[] fExternIncludeGuard;
 	private Set<String> fTracedGuards;
 
+	// Recording of header snapshots
+	private HeaderSnapshotRecorder fSnapshotRecorder;
+	private String fSnapshotKey;
+	private int fSnapshotConfiguration;
+	private boolean fSnapshotConfigurationComputed;
+
 	public CPreprocessor(FileContent fileContent, IScannerInfo info, ParserLanguage language, IParserLogService log,
 			IScannerExtensionConfiguration configuration, IncludeFileContentProvider readerFactory) {
 		Token.resetCounterFor(info);
@@ -417,6 +424,11 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		fRootContext.setParseInactiveCode(val);
 	}
 
+	@Override
+	public void setUseTokenCache(boolean val) {
+		fUseTokenCache = val;
+	}
+
 	public ITranslationUnit getTranslationUnit() {
 		return fRootContent.getTranslationUnit();
 	}
@@ -669,13 +681,25 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			t.setNext(null);
 			return t;
 		}
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.resume();
+		}
 		try {
 			t = internalFetchToken(fRootContext,
 					CHECK_NUMBERS | REPORT_SIGNIFICANT_MACROS | IGNORE_UNDEFINED_SIGNIFICANT_MACROS, false);
 		} catch (OffsetLimitReachedException e) {
+			abortHeaderSnapshot();
 			fHandledCompletion = true;
 			throw e;
 		}
+		if (fSnapshotRecorder != null) {
+			if (fSnapshotRecorder.isAborted()) {
+				fSnapshotRecorder = null;
+			} else {
+				fSnapshotRecorder.addToken(t, fCurrentContext.getCodeBranchNesting());
+				fSnapshotRecorder.pause();
+			}
+		}
 		final int offset = fLocationMap.getSequenceNumberForOffset(t.getOffset());
 		final int endOffset = fLocationMap.getSequenceNumberForOffset(t.getEndOffset());
 		t.setOffset(offset, endOffset);
@@ -883,6 +907,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	public void skipInactiveCode() throws OffsetLimitReachedException {
 		final Lexer lexer = fCurrentContext.getLexer();
 		if (lexer != null) {
+			abortHeaderSnapshot();
 			CodeState state = fCurrentContext.getCodeState();
 			while (state != CodeState.eActive) {
 				state = skipBranch(lexer, false);
@@ -943,6 +968,12 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 				continue;
 
 			case IToken.tEND_OF_INPUT:
+				final HeaderSnapshot.Replay replay = fCurrentContext.getSnapshotReplay();
+				if (replay != null) {
+					final Token t = replay.nextToken();
+					if (t != null)
+						return t;
+				}
 				if (fCurrentContext == uptoEndOfCtx || uptoEndOfCtx == null) {
 					if (fCurrentContext == fRootContext && !fHandledEndOfTranslationUnit
 							&& (options & STOP_AT_NL) == 0) {
@@ -951,6 +982,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 					}
 					return ppToken;
 				}
+				if (fSnapshotRecorder != null && fSnapshotRecorder.getContext() == fCurrentContext) {
+					completeHeaderSnapshot();
+				}
 
 				final ILocationCtx locationCtx = fCurrentContext.getLocationCtx();
 				ASTInclusionStatement inc = locationCtx.getInclusionStatement();
@@ -986,6 +1020,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 					}
 
 					final char[] name = ppToken.getCharImage();
+					fLocationMap.identifierNotExpanded(name);
 					int tokenType = fKeywords.get(name);
 					if (tokenType != fKeywords.undefined) {
 						ppToken.setType(tokenType);
@@ -1010,6 +1045,51 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		}
 	}
 
+	/**
+	 * Stores the snapshot recorded for the file of the current context.
+	 */
+	private void completeHeaderSnapshot() {
+		final HeaderSnapshotRecorder recorder = fSnapshotRecorder;
+		fSnapshotRecorder = null;
+		if (!recorder.isAborted() && fExternIncludeGuard == null) {
+			HeaderSnapshotCache.getInstance().put(fSnapshotKey,
+					recorder.complete(fCurrentContext.getSignificantMacros()));
+		} else {
+			recorder.abort();
+		}
+		fSnapshotKey = null;
+	}
+
+	private void abortHeaderSnapshot() {
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.abort();
+		}
+	}
+
+	/**
+	 * Returns a hash of the configuration that influences how a header is preprocessed.
+	 */
+	private int getSnapshotConfiguration() {
+		if (!fSnapshotConfigurationComputed) {
+			int hash = LexerTokenCache.getOptionFlags(fLexOptions);
+			hash = 31 * hash + (fLexOptions.fCreateImageLocations ? 1 : 0);
+			hash = 31 * hash + getHashCode(fKeywords);
+			hash = 31 * hash + getHashCode(fPPKeywords);
+			hash = 31 * hash + Arrays.hashCode(fAdditionalNumericLiteralSuffixes);
+			fSnapshotConfiguration = hash;
+			fSnapshotConfigurationComputed = true;
+		}
+		return fSnapshotConfiguration;
+	}
+
+	private static int getHashCode(CharArrayIntMap map) {
+		int hash = 0;
+		for (int i = 0; i < map.size(); i++) {
+			hash += Arrays.hashCode(map.keyAt(i)) ^ map.get(i);
+		}
+		return hash;
+	}
+
 	private void completeInclusion(ASTInclusionStatement inc) {
 		final ISignificantMacros sig;
 		CharArrayObjectMap<char[]> sigMacros = fCurrentContext.getSignificantMacros();
@@ -1338,6 +1418,8 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 
 	private <T> T findInclusion(final String includeDirective, final boolean quoteInclude, final boolean includeNext,
 			final String currentFile, final IIncludeFileTester<T> tester) {
+		// The result of the search cannot be replayed.
+		abortHeaderSnapshot();
 		T reader = null;
 		String absoluteInclusionPath = getAbsoluteInclusionPath(includeDirective, currentFile);
 		if (absoluteInclusionPath != null) {
@@ -1697,6 +1779,10 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			return;
 		}
 
+		if (active || includeType == IPreprocessorDirective.ppImport || fPreventInclusion != null) {
+			// Files including other files are not recorded, just the nested ones.
+			abortHeaderSnapshot();
+		}
 		boolean includeNext = includeType == IPreprocessorDirective.ppInclude_next;
 		final String includeDirective = new String(headerName);
 		if (!active) {
@@ -1770,13 +1856,30 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		case USE_SOURCE:
 			// Will be parsed
 			AbstractCharArray source = fi.getSource();
+			String recordSnapshot = null;
 			if (source != null) {
 				ILocationCtx ctx = fLocationMap.pushInclusion(poundOffset, nameOffsets[0], nameOffsets[1],
 						condEndOffset, source, path, headerName, userInclude, isHeuristic, fi.isSource());
-				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext,
-						new Lexer(source, fLexOptions, this, this));
+				Lexer includedLexer = new Lexer(source, fLexOptions, this, this);
+				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext, includedLexer);
 				fctx.setFoundOnPath(fi.getFoundOnPath(), includeDirective);
 				detectIncludeGuard(path, source, fctx);
+				final HeaderSnapshotCache snapshotCache = HeaderSnapshotCache.getInstance();
+				final String snapshotKey = fContentAssistLimit < 0
+						? snapshotCache.getKey(path, source, getSnapshotConfiguration())
+						: null;
+				final HeaderSnapshot snapshot = snapshotKey == null ? null
+						: snapshotCache.get(snapshotKey, path, fMacroDictionary, fctx.getSignificantMacros() != null);
+				// A snapshot replaces both preprocessing and lexing, the token cache is used otherwise.
+				if (snapshot != null) {
+					fctx.replaySnapshot(snapshot.createReplay(fctx, source, fMacroDictionary, fLocationMap,
+							fMacroDefinitionParser, fLexOptions, this));
+				} else {
+					if (fUseTokenCache) {
+						includedLexer.setTokenCache(LexerTokenCache.getInstance());
+					}
+					recordSnapshot = snapshotKey;
+				}
 				fCurrentContext = fctx;
 				stmt = ctx.getInclusionStatement();
 				stmt.setIncludedFileTimestamp(fi.getTimestamp());
@@ -1791,6 +1894,11 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 				}
 			}
 			fLocationMap.parsingFile(fFileContentProvider, fi);
+			if (recordSnapshot != null && (fSnapshotRecorder == null || fSnapshotRecorder.isAborted())) {
+				fSnapshotKey = recordSnapshot;
+				fSnapshotRecorder = new HeaderSnapshotRecorder(fCurrentContext, path, source, fMacroDictionary,
+						fLocationMap);
+			}
 			break;
 
 		case SKIP_FILE:
@@ -1938,7 +2046,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			stmt = fLocationMap.encounterPoundIfdef(offset, nameOffset, nameEndOffset, endOffset, isTaken, macro);
 		}
 		if (!conditional.isActive(withinExpansion))
-			stmt.setInactive();
+			setInactive(stmt);
 
 		return fCurrentContext.setBranchState(conditional, isTaken, withinExpansion, offset);
 	}
@@ -1999,7 +2107,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			stmt = fLocationMap.encounterPoundIf(startOffset, condOffset, condEndOffset, endOffset, isTaken, refs);
 		}
 		if (!cond.isActive(withinExpansion))
-			stmt.setInactive();
+			setInactive(stmt);
 
 		return fCurrentContext.setBranchState(cond, isTaken, withinExpansion, startOffset);
 	}
@@ -2016,7 +2124,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		final boolean isTaken = cond.canHaveActiveBranch(withinExpansion);
 		ASTElse stmt = fLocationMap.encounterPoundElse(startOffset, endOffset, isTaken);
 		if (!cond.isActive(withinExpansion))
-			stmt.setInactive();
+			setInactive(stmt);
 		return fCurrentContext.setBranchState(cond, isTaken, withinExpansion, startOffset);
 	}
 
@@ -2029,11 +2137,18 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		} else {
 			ASTEndif stmt = fLocationMap.encounterPoundEndIf(startOffset, endOffset);
 			if (!cond.isActive(withinExpansion))
-				stmt.setInactive();
+				setInactive(stmt);
 		}
 		return fCurrentContext.setBranchEndState(cond, withinExpansion, startOffset);
 	}
 
+	private void setInactive(ASTPreprocessorNode stmt) {
+		stmt.setInactive();
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.directiveIsInactive();
+		}
+	}
+
 	/**
 	 * Runs the preprocessor on the rest of the line, storing the tokens in the holder supplied.
 	 * Macro expansion is reported to the location map.
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide cache for the decoded contents of files, such that headers included by many
+ * translation units are read and decoded only once. Entries are keyed by the location and the
+ * character set of a file and are valid for a modification stamp and size of the file, only.
+ * The contents are softly referenced, they are dropped when memory gets tight.
+ * <p>
+ * Only immutable contents may be cached, they are shared between parsers running in parallel.
+ */
+final class DecodedFileCache {
+	private static final class Entry extends SoftReference<AbstractCharArray> {
+		final String fKey;
+		final long fTimestamp;
+		final long fFileSize;
+
+		Entry(String key, long timestamp, long fileSize, AbstractCharArray contents,
+				ReferenceQueue<AbstractCharArray> queue) {
+			super(contents, queue);
+			fKey = key;
+			fTimestamp = timestamp;
+			fFileSize = fileSize;
+		}
+	}
+
+	private final Map<String, Entry> fEntries = new ConcurrentHashMap<>();
+	private final ReferenceQueue<AbstractCharArray> fQueue = new ReferenceQueue<>();
+	private final AtomicInteger fHits = new AtomicInteger();
+	private final AtomicInteger fMisses = new AtomicInteger();
+
+	/**
+	 * Returns the cached contents of a file, or {@code null}.
+	 */
+	AbstractCharArray get(String fileName, String charSet, long timestamp, long fileSize) {
+		Entry entry = fEntries.get(getKey(fileName, charSet));
+		if (entry != null && entry.fTimestamp == timestamp && entry.fFileSize == fileSize) {
+			AbstractCharArray contents = entry.get();
+			if (contents != null) {
+				fHits.incrementAndGet();
+				return contents;
+			}
+		}
+		fMisses.incrementAndGet();
+		return null;
+	}
+
+	void put(String fileName, String charSet, long timestamp, long fileSize, AbstractCharArray contents) {
+		removeCollectedEntries();
+		String key = getKey(fileName, charSet);
+		fEntries.put(key, new Entry(key, timestamp, fileSize, contents, fQueue));
+	}
+
+	void clear() {
+		fEntries.clear();
+		removeCollectedEntries();
+	}
+
+	int getHitCount() {
+		return fHits.get();
+	}
+
+	int getMissCount() {
+		return fMisses.get();
+	}
+
+	private void removeCollectedEntries() {
+		Entry entry;
+		while ((entry = (Entry) fQueue.poll()) != null) {
+			fEntries.remove(entry.fKey, entry);
+		}
+	}
+
+	private static String getKey(String fileName, String charSet) {
+		return fileName + '\0' + charSet;
+	}
+}
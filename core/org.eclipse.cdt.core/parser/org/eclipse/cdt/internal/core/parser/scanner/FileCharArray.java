@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.parser.scanner;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -32,8 +33,54 @@ import org.eclipse.cdt.core.CCorePlugin;
  */
 public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	// Smaller files are read into memory, for them mapping does not pay off.
+	private static final int MIN_MAPPED_SIZE = 16 * 1024;
+	// A file that is mapped cannot be modified or deleted on Windows, and there is no way to unmap it.
+	private static final boolean CAN_MAP_FILES = !System.getProperty("os.name", "").startsWith("Windows"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private static final DecodedFileCache sCache = new DecodedFileCache();
+	private static volatile boolean sUseMemoryMappedFiles = CAN_MAP_FILES;
+
+	/**
+	 * Enables or disables reading files with one byte per character directly from memory-mapped
+	 * buffers. Has no effect on Windows, where files are never mapped. Only read-only files outside
+	 * of the workspace are mapped, see {@link #create(String, String, InputStream, long, long, boolean)}.
+	 */
+	public static void setUseMemoryMappedFiles(boolean value) {
+		sUseMemoryMappedFiles = value && CAN_MAP_FILES;
+		sCache.clear();
+	}
 
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
+		return create(fileName, charSet, in, 0, -1);
+	}
+
+	/**
+	 * Creates the char array for a local file outside of the workspace.
+	 *
+	 * @see #create(String, String, InputStream, long, long, boolean)
+	 */
+	public static AbstractCharArray create(String fileName, String charSet, InputStream in, long timestamp,
+			long fileSize) throws IOException {
+		return create(fileName, charSet, in, timestamp, fileSize, false);
+	}
+
+	/**
+	 * Creates the char array for a local file. The contents of files that have been read before with
+	 * the same modification stamp and size are shared.
+	 * <p>
+	 * A mapped file that is truncated while it is being read crashes the reader, and changes to it
+	 * show through the mapping. Therefore only files that cannot be written by this process, and
+	 * that are not workspace files which an editor may make writable on save, are mapped. Those are
+	 * typically system headers, which are replaced rather than modified in place on updates.
+	 *
+	 * @param timestamp the modification stamp of the file, or 0 if it is unknown.
+	 * @param fileSize the size of the file in bytes, or -1 if it is unknown.
+	 * @param workspaceFile whether the file is a file of the workspace.
+	 * @return the contents of the file, or {@code null} for a non-local file.
+	 */
+	public static AbstractCharArray create(String fileName, String charSet, InputStream in, long timestamp,
+			long fileSize, boolean workspaceFile) throws IOException {
 		// No support for non-local files.
 		if (!(in instanceof FileInputStream)) {
 			return null;
@@ -42,13 +89,36 @@ public class FileCharArray extends LazyCharArray {
 		if (!Charset.isSupported(charSet)) {
 			charSet = System.getProperty("file.encoding"); //$NON-NLS-1$
 		}
+		final boolean cacheable = timestamp != 0 && fileSize >= 0;
+		if (cacheable) {
+			AbstractCharArray cached = sCache.get(fileName, charSet, timestamp, fileSize);
+			if (cached != null)
+				return cached;
+		}
 		FileChannel channel = fis.getChannel();
 		final long lsize = channel.size();
-		if (lsize < CHUNK_SIZE) {
-			return decodeSmallFile(channel, (int) lsize, charSet);
+		AbstractCharArray result = null;
+		if (sUseMemoryMappedFiles && lsize >= MIN_MAPPED_SIZE && !workspaceFile && !new File(fileName).canWrite()) {
+			result = MappedCharArray.create(channel, lsize, charSet);
+		}
+		if (result == null) {
+			if (lsize >= CHUNK_SIZE) {
+				// Large files are decoded lazily, in chunks that are softly referenced. They are not shared.
+				return new FileCharArray(fileName, charSet);
+			}
+			result = decodeSmallFile(channel, (int) lsize, charSet);
+		}
+		if (cacheable && lsize == fileSize) {
+			sCache.put(fileName, charSet, timestamp, fileSize, result);
 		}
+		return result;
+	}
 
-		return new FileCharArray(fileName, charSet);
+	/**
+	 * For testing purposes, returns the number of files for which cached contents were used.
+	 */
+	public static int getCacheHitCount() {
+		return sCache.getHitCount();
 	}
 
 	private static AbstractCharArray decodeSmallFile(FileChannel channel, int lsize, String charSet)
@@ -0,0 +1,539 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import static org.eclipse.cdt.internal.core.parser.scanner.TokenRecording.readInt;
+import static org.eclipse.cdt.internal.core.parser.scanner.TokenRecording.writeInt;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
+import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.parser.scanner.ImageLocationInfo.MacroImageLocationInfo;
+import org.eclipse.cdt.internal.core.parser.scanner.ImageLocationInfo.ParameterImageLocationInfo;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.MacroDefinitionParser.InvalidMacroDefinitionException;
+
+/**
+ * The result of preprocessing an included file: the tokens passed to the parser, the changes to the
+ * macro dictionary and the information reported to the location map, stored as a sequence of
+ * operations. A snapshot can be replayed for every inclusion of the file for which the macros the
+ * snapshot depends on are defined in the same way as when the snapshot was recorded. Replaying it
+ * has the same effect as preprocessing the file, without lexing the file or expanding macros.
+ * <p>
+ * Snapshots are recorded by {@link HeaderSnapshotRecorder} and are immutable.
+ */
+final class HeaderSnapshot {
+	// Operations, each of them is followed by its operands. Macros and names are referenced by their
+	// index in the order of the operations that provided them, strings by their index in the pool.
+	static final int TOKEN = 0; // kind, offset, endOffset, image, nesting
+	static final int INACTIVE_CODE_TOKEN = 1; // kind, offset, oldNesting, newNesting, nesting
+	static final int MACRO = 2; // name, provides the macro currently defined with the name
+	static final int UNDEFINED_MACRO = 3; // name, provides an undefined macro
+	static final int DEFINE = 4; // startOffset, nameOffset, nameEndOffset, expansionOffset, endOffset, isActive
+	static final int UNDEF = 5; // name, startOffset, nameOffset, nameEndOffset, endOffset, isActive
+	static final int IMPLICIT_EXPANSION = 6; // macro, image location, provides a name
+	static final int DEFINED_EXPRESSION = 7; // macro, startOffset, endOffset, provides a name
+	static final int PUSH_EXPANSION = 8; // nameOffset, nameEndOffset, endOffset, contextLength, macro, names, image locations
+	static final int POP_EXPANSION = 9;
+	static final int INCLUDE = 10; // startOffset, nameOffset, nameEndOffset, endOffset, name, userInclude
+	static final int COMMENT = 11; // offset, endOffset, isBlockComment
+	static final int PROBLEM = 12; // id, arg, offset, endOffset
+	static final int ELSE = 13; // startOffset, endOffset, isActive, inactive
+	static final int ELIF = 14; // startOffset, condOffset, condEndOffset, endOffset, taken, names, inactive
+	static final int ENDIF = 15; // startOffset, endOffset, inactive
+	static final int ERROR = 16; // startOffset, condOffset, condEndOffset, endOffset
+	static final int PRAGMA = 17; // startOffset, condOffset, condEndOffset, endOffset
+	static final int IFDEF = 18; // startOffset, condOffset, condEndOffset, endOffset, taken, macro, inactive
+	static final int IFNDEF = 19; // startOffset, condOffset, condEndOffset, endOffset, taken, macro, inactive
+	static final int IF = 20; // startOffset, condOffset, condEndOffset, endOffset, taken, names, inactive
+
+	// Kinds of image locations
+	static final int NO_IMAGE_LOCATION = 0; // -
+	static final int MACRO_IMAGE_LOCATION = 1; // macro, offset, endOffset, tokenOffsetInExpansion
+	static final int PARAMETER_IMAGE_LOCATION = 2; // sequenceNumber, sequenceEndNumber, tokenOffsetInExpansion
+
+	// Kinds of conditions
+	static final int UNDEFINED = 0;
+	static final int DEFINED = 1;
+	static final int VALUE = 2;
+
+	private static final char[] OBJECT_STYLE = { 'o' };
+	private static final char[] FUNCTION_STYLE = { 'f' };
+
+	private final String fPath;
+	private final char[][] fConditionNames;
+	private final int[] fConditionKinds;
+	private final char[][] fConditionValues;
+	private final char[] fSignificantMacros;
+	private final int[] fCode;
+	private final char[][] fStrings;
+
+	HeaderSnapshot(String path, char[][] conditionNames, int[] conditionKinds, char[][] conditionValues,
+			char[] significantMacros, int[] code, char[][] strings) {
+		fPath = path;
+		fConditionNames = conditionNames;
+		fConditionKinds = conditionKinds;
+		fConditionValues = conditionValues;
+		fSignificantMacros = significantMacros;
+		fCode = code;
+		fStrings = strings;
+	}
+
+	/**
+	 * Returns the value by which a condition on the definition of a macro is checked.
+	 */
+	static char[] getValue(PreprocessorMacro macro) {
+		if (macro.isFunctionStyle()) {
+			return CharArrayUtils.concat(
+					CharArrayUtils.concat(FUNCTION_STYLE, ((FunctionStyleMacro) macro).getSignature()),
+					macro.getExpansionImage());
+		}
+		return CharArrayUtils.concat(OBJECT_STYLE, macro.getExpansionImage());
+	}
+
+	String getPath() {
+		return fPath;
+	}
+
+	/**
+	 * Checks whether the snapshot can be replayed for an inclusion.
+	 *
+	 * @param macroDictionary the macros defined at the point of inclusion.
+	 * @param tracksSignificantMacros whether the significant macros of the inclusion are tracked.
+	 */
+	boolean isApplicable(CharArrayMap<PreprocessorMacro> macroDictionary, boolean tracksSignificantMacros) {
+		if ((fSignificantMacros != null) != tracksSignificantMacros)
+			return false;
+		for (int i = 0; i < fConditionNames.length; i++) {
+			final PreprocessorMacro macro = macroDictionary.get(fConditionNames[i]);
+			switch (fConditionKinds[i]) {
+			case UNDEFINED:
+				if (macro != null)
+					return false;
+				break;
+			case DEFINED:
+				if (macro == null)
+					return false;
+				break;
+			default:
+				if (macro == null || !CharArrayUtils.equals(fConditionValues[i], getValue(macro)))
+					return false;
+				break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the snapshot depends on the same macro definitions as the given one.
+	 */
+	boolean hasSameConditions(HeaderSnapshot other) {
+		return Arrays.deepEquals(fConditionNames, other.fConditionNames)
+				&& Arrays.equals(fConditionKinds, other.fConditionKinds)
+				&& Arrays.deepEquals(fConditionValues, other.fConditionValues)
+				&& (fSignificantMacros != null) == (other.fSignificantMacros != null);
+	}
+
+	/**
+	 * Returns the approximate number of bytes used by the snapshot.
+	 */
+	long getMemorySize() {
+		long size = 64 + 4L * fCode.length + 16L * fConditionNames.length;
+		for (char[] string : fStrings) {
+			size += 16 + 2L * string.length;
+		}
+		for (char[] value : fConditionValues) {
+			if (value != null) {
+				size += 16 + 2L * value.length;
+			}
+		}
+		return size;
+	}
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeUTF(fPath);
+		writeInt(out, fConditionNames.length);
+		for (int i = 0; i < fConditionNames.length; i++) {
+			writeChars(out, fConditionNames[i]);
+			writeInt(out, fConditionKinds[i]);
+			writeChars(out, fConditionValues[i]);
+		}
+		writeChars(out, fSignificantMacros);
+		writeInt(out, fStrings.length);
+		for (char[] string : fStrings) {
+			writeChars(out, string);
+		}
+		writeInt(out, fCode.length);
+		for (int value : fCode) {
+			writeInt(out, value);
+		}
+	}
+
+	/**
+	 * Reads a snapshot written by {@link #write(DataOutputStream)}.
+	 *
+	 * @throws IOException if the data is malformed.
+	 */
+	static HeaderSnapshot read(DataInputStream in) throws IOException {
+		final String path = in.readUTF();
+		final int conditionCount = readInt(in);
+		final char[][] conditionNames = new char[conditionCount][];
+		final int[] conditionKinds = new int[conditionCount];
+		final char[][] conditionValues = new char[conditionCount][];
+		for (int i = 0; i < conditionCount; i++) {
+			conditionNames[i] = readChars(in);
+			conditionKinds[i] = readInt(in);
+			conditionValues[i] = readChars(in);
+			if (conditionNames[i] == null || (conditionKinds[i] == VALUE) == (conditionValues[i] == null))
+				throw new IOException("Invalid header snapshot"); //$NON-NLS-1$
+		}
+		final char[] significantMacros = readChars(in);
+		final char[][] strings = new char[readInt(in)][];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readChars(in);
+			if (strings[i] == null)
+				throw new IOException("Invalid header snapshot"); //$NON-NLS-1$
+		}
+		final int[] code = new int[readInt(in)];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = readInt(in);
+		}
+		return new HeaderSnapshot(path, conditionNames, conditionKinds, conditionValues, significantMacros, code,
+				strings);
+	}
+
+	private static void writeChars(DataOutputStream out, char[] chars) throws IOException {
+		writeInt(out, chars == null ? 0 : chars.length + 1);
+		if (chars != null) {
+			for (char c : chars) {
+				writeInt(out, c);
+			}
+		}
+	}
+
+	private static char[] readChars(DataInputStream in) throws IOException {
+		final int length = readInt(in) - 1;
+		if (length < 0)
+			return null;
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) readInt(in);
+		}
+		return chars;
+	}
+
+	/**
+	 * Creates a replay of the snapshot for an inclusion of the file. The location map has to be in the
+	 * context of the inclusion.
+	 */
+	Replay createReplay(ScannerContext context, AbstractCharArray source, CharArrayMap<PreprocessorMacro> dictionary,
+			LocationMap locationMap, MacroDefinitionParser macroDefinitionParser, LexerOptions lexOptions,
+			Object lexerSource) {
+		return new Replay(context, source, dictionary, locationMap, macroDefinitionParser, lexOptions, lexerSource);
+	}
+
+	/**
+	 * Performs the operations of a snapshot, one token at a time.
+	 */
+	final class Replay {
+		private final ScannerContext fContext;
+		private final AbstractCharArray fSource;
+		private final CharArrayMap<PreprocessorMacro> fMacroDictionary;
+		private final LocationMap fLocationMap;
+		private final MacroDefinitionParser fMacroDefinitionParser;
+		private final LexerOptions fLexOptions;
+		private final Object fLexerSource;
+		private final int fSequenceNumberBase;
+		private final ArrayList<PreprocessorMacro> fMacros = new ArrayList<>();
+		private final ArrayList<IASTName> fNames = new ArrayList<>();
+		private final ArrayDeque<ILocationCtx> fExpansions = new ArrayDeque<>();
+		private int fPos;
+		private int fNesting;
+
+		private Replay(ScannerContext context, AbstractCharArray source, CharArrayMap<PreprocessorMacro> dictionary,
+				LocationMap locationMap, MacroDefinitionParser macroDefinitionParser, LexerOptions lexOptions,
+				Object lexerSource) {
+			fContext = context;
+			fSource = source;
+			fMacroDictionary = dictionary;
+			fLocationMap = locationMap;
+			fMacroDefinitionParser = macroDefinitionParser;
+			fLexOptions = lexOptions;
+			fLexerSource = lexerSource;
+			fSequenceNumberBase = locationMap.getSequenceNumberForOffset(0);
+			if (fSignificantMacros != null) {
+				context.addSignificantMacros(new SignificantMacros(fSignificantMacros));
+			}
+		}
+
+		/**
+		 * Returns the nesting of code branches at the point where the last token was computed.
+		 */
+		int getCodeBranchNesting() {
+			return fNesting;
+		}
+
+		/**
+		 * Performs the operations up to the next token and returns the token, or <code>null</code> when
+		 * the end of the snapshot has been reached.
+		 */
+		Token nextToken() {
+			while (fPos < fCode.length) {
+				switch (next()) {
+				case TOKEN: {
+					final int kind = next();
+					final int offset = next();
+					final int endOffset = next();
+					final char[] image = string(next());
+					fNesting = next();
+					if (image == null)
+						return new Token(kind, null, offset, endOffset);
+					return new TokenWithImage(kind, null, offset, endOffset, image);
+				}
+				case INACTIVE_CODE_TOKEN: {
+					final int kind = next();
+					final int offset = next();
+					final int oldNesting = next();
+					final int newNesting = next();
+					fNesting = next();
+					return new InactiveCodeToken(kind, oldNesting, newNesting, offset);
+				}
+				case MACRO:
+					fMacros.add(fMacroDictionary.get(string(next())));
+					break;
+				case UNDEFINED_MACRO:
+					fMacros.add(new UndefinedMacro(string(next())));
+					break;
+				case DEFINE:
+					define();
+					break;
+				case UNDEF: {
+					final char[] name = string(next());
+					final int startOffset = next();
+					final int nameOffset = next();
+					final int nameEndOffset = next();
+					final int endOffset = next();
+					final boolean isActive = next() != 0;
+					PreprocessorMacro definition;
+					if (isActive) {
+						definition = fMacroDictionary.remove(name, 0, name.length);
+						fContext.internalModification(name);
+					} else {
+						definition = fMacroDictionary.get(name);
+					}
+					fLocationMap.encounterPoundUndef(definition, startOffset, nameOffset, nameEndOffset, endOffset,
+							name, isActive);
+					break;
+				}
+				case IMPLICIT_EXPANSION: {
+					final PreprocessorMacro macro = macro(next());
+					fNames.add(fLocationMap.encounterImplicitMacroExpansion(macro, imageLocation()));
+					break;
+				}
+				case DEFINED_EXPRESSION: {
+					final PreprocessorMacro macro = macro(next());
+					final int startOffset = next();
+					final int endOffset = next();
+					fNames.add(fLocationMap.encounterDefinedExpression(macro, startOffset, endOffset));
+					break;
+				}
+				case PUSH_EXPANSION: {
+					final int nameOffset = next();
+					final int nameEndOffset = next();
+					final int endOffset = next();
+					final int contextLength = next();
+					final PreprocessorMacro macro = macro(next());
+					final IASTName[] names = names();
+					final ImageLocationInfo[] imageLocations = new ImageLocationInfo[next()];
+					for (int i = 0; i < imageLocations.length; i++) {
+						imageLocations[i] = imageLocation();
+					}
+					fExpansions.push(fLocationMap.pushMacroExpansion(nameOffset, nameEndOffset, endOffset,
+							contextLength, macro, names, imageLocations));
+					break;
+				}
+				case POP_EXPANSION:
+					fLocationMap.popContext(fExpansions.pop());
+					break;
+				case INCLUDE: {
+					final int startOffset = next();
+					final int nameOffset = next();
+					final int nameEndOffset = next();
+					final int endOffset = next();
+					final char[] name = string(next());
+					final boolean userInclude = next() != 0;
+					fLocationMap.encounterPoundInclude(startOffset, nameOffset, nameEndOffset, endOffset, name, null,
+							userInclude, false, false, null);
+					break;
+				}
+				case COMMENT: {
+					final int offset = next();
+					final int endOffset = next();
+					fLocationMap.encounteredComment(offset, endOffset, next() != 0, fSource);
+					break;
+				}
+				case PROBLEM: {
+					final int id = next();
+					final char[] arg = string(next());
+					final int offset = next();
+					final int endOffset = next();
+					fLocationMap.encounterProblem(id, arg, offset, endOffset);
+					break;
+				}
+				case ELSE: {
+					final int startOffset = next();
+					final int endOffset = next();
+					final boolean isActive = next() != 0;
+					setInactive(fLocationMap.encounterPoundElse(startOffset, endOffset, isActive));
+					break;
+				}
+				case ENDIF: {
+					final int startOffset = next();
+					final int endOffset = next();
+					setInactive(fLocationMap.encounterPoundEndIf(startOffset, endOffset));
+					break;
+				}
+				case ERROR:
+				case PRAGMA: {
+					final int operation = fCode[fPos - 1];
+					final int startOffset = next();
+					final int condOffset = next();
+					final int condEndOffset = next();
+					final int endOffset = next();
+					if (operation == ERROR) {
+						fLocationMap.encounterPoundError(startOffset, condOffset, condEndOffset, endOffset);
+					} else {
+						fLocationMap.encounterPoundPragma(startOffset, condOffset, condEndOffset, endOffset);
+					}
+					break;
+				}
+				case IFDEF:
+				case IFNDEF: {
+					final int operation = fCode[fPos - 1];
+					final int startOffset = next();
+					final int condOffset = next();
+					final int condEndOffset = next();
+					final int endOffset = next();
+					final boolean taken = next() != 0;
+					final PreprocessorMacro macro = macro(next());
+					if (operation == IFDEF) {
+						setInactive(fLocationMap.encounterPoundIfdef(startOffset, condOffset, condEndOffset,
+								endOffset, taken, macro));
+					} else {
+						setInactive(fLocationMap.encounterPoundIfndef(startOffset, condOffset, condEndOffset,
+								endOffset, taken, macro));
+					}
+					break;
+				}
+				case IF:
+				case ELIF: {
+					final int operation = fCode[fPos - 1];
+					final int startOffset = next();
+					final int condOffset = next();
+					final int condEndOffset = next();
+					final int endOffset = next();
+					final boolean taken = next() != 0;
+					final IASTName[] names = names();
+					if (operation == IF) {
+						setInactive(fLocationMap.encounterPoundIf(startOffset, condOffset, condEndOffset, endOffset,
+								taken, names));
+					} else {
+						setInactive(fLocationMap.encounterPoundElif(startOffset, condOffset, condEndOffset,
+								endOffset, taken, names));
+					}
+					break;
+				}
+				default:
+					throw new IllegalStateException("Invalid header snapshot"); //$NON-NLS-1$
+				}
+			}
+			return null;
+		}
+
+		private void define() {
+			final int startOffset = next();
+			final int nameOffset = next();
+			final int nameEndOffset = next();
+			final int expansionOffset = next();
+			final int endOffset = next();
+			final boolean isActive = next() != 0;
+			final ObjectStyleMacro macrodef;
+			try {
+				Lexer lexer = new Lexer(fSource, nameOffset, fSource.tryGetLength(), fLexOptions, ILexerLog.NULL,
+						fLexerSource);
+				macrodef = fMacroDefinitionParser.parseMacroDefinition(lexer, ILexerLog.NULL);
+			} catch (OffsetLimitReachedException | InvalidMacroDefinitionException e) {
+				// The definition has been parsed successfully when the snapshot was recorded.
+				throw new IllegalStateException(e);
+			}
+			if (isActive) {
+				final char[] macroName = macrodef.getNameCharArray();
+				fMacroDictionary.put(macroName, macrodef);
+				fContext.internalModification(macroName);
+			}
+			fLocationMap.encounterPoundDefine(startOffset, nameOffset, nameEndOffset, expansionOffset, endOffset,
+					isActive, macrodef);
+		}
+
+		private void setInactive(ASTPreprocessorNode stmt) {
+			if (next() != 0) {
+				stmt.setInactive();
+			}
+		}
+
+		private IASTName[] names() {
+			final IASTName[] names = new IASTName[next()];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = fNames.get(next());
+			}
+			return names;
+		}
+
+		private ImageLocationInfo imageLocation() {
+			ImageLocationInfo info;
+			switch (next()) {
+			case MACRO_IMAGE_LOCATION:
+				final ObjectStyleMacro macro = (ObjectStyleMacro) macro(next());
+				final int offset = next();
+				info = new MacroImageLocationInfo(macro, offset, next());
+				break;
+			case PARAMETER_IMAGE_LOCATION:
+				final int sequenceNumber = fSequenceNumberBase + next();
+				info = new ParameterImageLocationInfo(sequenceNumber, fSequenceNumberBase + next());
+				break;
+			default:
+				return null;
+			}
+			info.fTokenOffsetInExpansion = next();
+			return info;
+		}
+
+		private PreprocessorMacro macro(int index) {
+			return index < 0 ? null : fMacros.get(index);
+		}
+
+		private char[] string(int index) {
+			return index < 0 ? null : fStrings[index];
+		}
+
+		private int next() {
+			return fCode[fPos++];
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.parser.util.CharArrayMap;
+
+/**
+ * Cache for the snapshots of included files, shared by all parsers. A snapshot depends on the contents
+ * of a file, on the configuration of the preprocessor and on the macros defined when the file is
+ * included. For every file the cache keeps a few snapshots recorded for different macro definitions,
+ * the first one that is applicable to an inclusion is replayed. Only files that do not include other
+ * files are recorded, see {@link HeaderSnapshotRecorder}.
+ * <p>
+ * A replayed snapshot takes the place of the {@link LexerTokenCache} for the inclusion, the tokens
+ * of the file are neither lexed nor taken from the token cache. The token cache is used for the
+ * inclusions that no snapshot is applicable to, its recordings do not depend on the macros and on
+ * the included files.
+ * <p>
+ * Snapshots are kept in memory and on disk as described in {@link PersistentCache}.
+ */
+public final class HeaderSnapshotCache extends PersistentCache<HeaderSnapshot[]> {
+	private static final int MAGIC = 0x4353504E;
+	// Needs to be incremented whenever the preprocessor changes the way it processes a file.
+	private static final int FORMAT_VERSION = 1;
+	private static final String FILE_EXTENSION = ".snapshots"; //$NON-NLS-1$
+	private static final int MAX_VARIANTS = 8;
+
+	private static final HeaderSnapshotCache INSTANCE = new HeaderSnapshotCache();
+
+	public static HeaderSnapshotCache getInstance() {
+		return INSTANCE;
+	}
+
+	private HeaderSnapshotCache() {
+		super(MAGIC, FORMAT_VERSION, FILE_EXTENSION, "C/C++ Header Snapshot Writer"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the key for the snapshots of the given file, or <code>null</code> if the cache is disabled.
+	 *
+	 * @param configuration a hash of the configuration of the preprocessor.
+	 */
+	String getKey(String path, AbstractCharArray source, int configuration) {
+		if (!isEnabled())
+			return null;
+		return Long.toHexString(source.getContentsHash()) + '-' + Integer.toHexString(source.getLength()) + '-'
+				+ Integer.toHexString(path.hashCode()) + '-' + Integer.toHexString(configuration);
+	}
+
+	/**
+	 * Returns a snapshot for the given key that is applicable to an inclusion, or <code>null</code>.
+	 *
+	 * @param macroDictionary the macros defined at the point of inclusion.
+	 * @param tracksSignificantMacros whether the significant macros of the inclusion are tracked.
+	 */
+	HeaderSnapshot get(String key, String path, CharArrayMap<PreprocessorMacro> macroDictionary,
+			boolean tracksSignificantMacros) {
+		HeaderSnapshot[] snapshots = lookup(key);
+		if (snapshots != null) {
+			for (HeaderSnapshot snapshot : snapshots) {
+				if (snapshot.getPath().equals(path)
+						&& snapshot.isApplicable(macroDictionary, tracksSignificantMacros)) {
+					countHit();
+					return snapshot;
+				}
+			}
+		}
+		countMiss();
+		return null;
+	}
+
+	/**
+	 * Adds a snapshot to the cache, it replaces the least recently added one for the same key when
+	 * there are too many of them.
+	 */
+	synchronized void put(String key, HeaderSnapshot snapshot) {
+		HeaderSnapshot[] snapshots = { snapshot };
+		final HeaderSnapshot[] old = getFromMemory(key);
+		if (old != null) {
+			snapshots = Arrays.copyOf(snapshots, Math.min(old.length + 1, MAX_VARIANTS));
+			int count = 1;
+			for (int i = 0; i < old.length && count < snapshots.length; i++) {
+				if (!old[i].hasSameConditions(snapshot)) {
+					snapshots[count++] = old[i];
+				}
+			}
+			snapshots = Arrays.copyOf(snapshots, count);
+		}
+		store(key, snapshots, true);
+	}
+
+	@Override
+	long getMemorySize(HeaderSnapshot[] snapshots) {
+		long size = 16;
+		for (HeaderSnapshot snapshot : snapshots) {
+			size += snapshot.getMemorySize();
+		}
+		return size;
+	}
+
+	@Override
+	HeaderSnapshot[] readValue(String key, DataInputStream in) throws IOException {
+		final int count = in.readInt();
+		if (count <= 0 || count > MAX_VARIANTS)
+			return null;
+		final HeaderSnapshot[] snapshots = new HeaderSnapshot[count];
+		for (int i = 0; i < count; i++) {
+			snapshots[i] = HeaderSnapshot.read(in);
+		}
+		return snapshots;
+	}
+
+	@Override
+	void writeValue(HeaderSnapshot[] snapshots, DataOutputStream out) throws IOException {
+		out.writeInt(snapshots.length);
+		for (HeaderSnapshot snapshot : snapshots) {
+			snapshot.write(out);
+		}
+	}
+}
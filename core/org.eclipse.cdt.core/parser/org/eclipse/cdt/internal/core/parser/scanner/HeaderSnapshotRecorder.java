@@ -0,0 +1,400 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IFileNomination;
+import org.eclipse.cdt.core.dom.ast.IMacroBinding;
+import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
+import org.eclipse.cdt.core.parser.util.CharArraySet;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.parser.scanner.ImageLocationInfo.MacroImageLocationInfo;
+import org.eclipse.cdt.internal.core.parser.scanner.ImageLocationInfo.ParameterImageLocationInfo;
+
+/**
+ * Records a {@link HeaderSnapshot} while an included file is preprocessed. The recorder is notified
+ * by the location map about everything that is reported while the file is preprocessed, and by the
+ * preprocessor about the tokens passed to the parser and about the identifiers that are not expanded.
+ * <p>
+ * Recording is aborted when the file does something that cannot be replayed, or when something is
+ * reported that does not belong to the file. In particular the active inclusion of another file
+ * aborts the recording, because the preprocessing of the nested file depends on the include search
+ * path and on the state of the index. Only files that do not include other files are recorded,
+ * a file that includes others is preprocessed for every inclusion, with the snapshots of the
+ * nested files being replayed.
+ */
+final class HeaderSnapshotRecorder {
+	private final ScannerContext fContext;
+	private final String fPath;
+	private final AbstractCharArray fSource;
+	private final CharArrayMap<PreprocessorMacro> fMacroDictionary;
+	private final LocationMap fLocationMap;
+	private final int fSequenceNumberBase;
+	private int[] fCode = new int[1024];
+	private int fCodeLength;
+	private final ArrayList<char[]> fStrings = new ArrayList<>();
+	private final CharArrayObjectMap<Integer> fStringIndexes = new CharArrayObjectMap<>(64);
+	private final IdentityHashMap<PreprocessorMacro, Integer> fMacros = new IdentityHashMap<>();
+	private final IdentityHashMap<IASTName, Integer> fNames = new IdentityHashMap<>();
+	// Maps the names of the macros the snapshot depends on to DEFINED, UNDEFINED or the value of the macro.
+	private final CharArrayObjectMap<char[]> fConditions = new CharArrayObjectMap<>(64);
+	private final CharArraySet fModifiedMacros = new CharArraySet(16);
+	private int fInactiveSlot = -1;
+	private boolean fAborted;
+
+	/**
+	 * Starts recording. The location map has to be in the context of the included file.
+	 */
+	HeaderSnapshotRecorder(ScannerContext context, String path, AbstractCharArray source,
+			CharArrayMap<PreprocessorMacro> macroDictionary, LocationMap locationMap) {
+		fContext = context;
+		fPath = path;
+		fSource = source;
+		fMacroDictionary = macroDictionary;
+		fLocationMap = locationMap;
+		fSequenceNumberBase = locationMap.getSequenceNumberForOffset(0);
+		resume();
+	}
+
+	/**
+	 * Returns the scanner context of the file that is recorded.
+	 */
+	ScannerContext getContext() {
+		return fContext;
+	}
+
+	boolean isAborted() {
+		return fAborted;
+	}
+
+	/**
+	 * Stops listening to the location map, e.g. while the parser handles the tokens.
+	 */
+	void pause() {
+		fLocationMap.setSnapshotRecorder(null);
+	}
+
+	void resume() {
+		if (!fAborted) {
+			fLocationMap.setSnapshotRecorder(this);
+		}
+	}
+
+	void abort() {
+		fAborted = true;
+		pause();
+	}
+
+	/**
+	 * Completes the recording.
+	 *
+	 * @param significantMacros the significant macros of the file, or <code>null</code> if they are not
+	 *     tracked.
+	 */
+	HeaderSnapshot complete(CharArrayObjectMap<char[]> significantMacros) {
+		pause();
+		final int count = fConditions.size();
+		final char[][] names = new char[count][];
+		final int[] kinds = new int[count];
+		final char[][] values = new char[count][];
+		for (int i = 0; i < count; i++) {
+			names[i] = fConditions.keyAt(i);
+			final char[] value = fConditions.getAt(i);
+			if (value == SignificantMacros.UNDEFINED) {
+				kinds[i] = HeaderSnapshot.UNDEFINED;
+			} else if (value == SignificantMacros.DEFINED) {
+				kinds[i] = HeaderSnapshot.DEFINED;
+			} else {
+				kinds[i] = HeaderSnapshot.VALUE;
+				values[i] = value;
+			}
+		}
+		char[] encoded = null;
+		if (significantMacros != null) {
+			encoded = significantMacros.isEmpty() ? CharArrayUtils.EMPTY
+					: new SignificantMacros(significantMacros).encode();
+		}
+		return new HeaderSnapshot(fPath, names, kinds, values, encoded, Arrays.copyOf(fCode, fCodeLength),
+				fStrings.toArray(new char[fStrings.size()][]));
+	}
+
+	/**
+	 * Records a token passed to the parser.
+	 *
+	 * @param t the token, with offsets relative to the current context of the location map.
+	 * @param nesting the nesting of code branches after the token has been computed.
+	 */
+	void addToken(Token t, int nesting) {
+		if (t instanceof InactiveCodeToken) {
+			final InactiveCodeToken ict = (InactiveCodeToken) t;
+			add(HeaderSnapshot.INACTIVE_CODE_TOKEN, t.getType(), t.getOffset(), ict.getOldNesting(),
+					ict.getNewNesting(), nesting);
+		} else {
+			final char[] image = t.getCharImage();
+			final int imageIndex = Arrays.equals(image, TokenUtil.getImage(t.getType())) ? -1 : getStringIndex(image);
+			add(HeaderSnapshot.TOKEN, t.getType(), t.getOffset(), t.getEndOffset(), imageIndex, nesting);
+		}
+	}
+
+	/**
+	 * Notifies the recorder about an identifier that has not been expanded, either because there is
+	 * no macro with the name, or because a function-style macro is not followed by arguments.
+	 */
+	void identifierNotExpanded(char[] name) {
+		addCondition(name, fMacroDictionary.get(name), false);
+	}
+
+	/**
+	 * Notifies the recorder that the directive reported last is in inactive code.
+	 */
+	void directiveIsInactive() {
+		if (fInactiveSlot >= 0) {
+			fCode[fInactiveSlot] = 1;
+			fInactiveSlot = -1;
+		}
+	}
+
+	void encounterImplicitMacroExpansion(IMacroBinding macro, ImageLocationInfo imageLocationInfo, IASTName name) {
+		final int macroIndex = getMacroIndex(macro, false);
+		final int[] imageLocation = encodeImageLocation(imageLocationInfo);
+		add(HeaderSnapshot.IMPLICIT_EXPANSION, macroIndex);
+		add(imageLocation);
+		fNames.put(name, fNames.size());
+	}
+
+	void encounterDefinedExpression(IMacroBinding macro, int startOffset, int endOffset, IASTName name) {
+		add(HeaderSnapshot.DEFINED_EXPRESSION, getMacroIndex(macro, true), startOffset, endOffset);
+		fNames.put(name, fNames.size());
+	}
+
+	void pushMacroExpansion(int nameOffset, int nameEndOffset, int endOffset, int contextLength,
+			IMacroBinding macro, IASTName[] implicitMacroReferences, ImageLocationInfo[] imageLocations) {
+		final int macroIndex = getMacroIndex(macro, false);
+		final int[][] encodedImageLocations = new int[imageLocations.length][];
+		for (int i = 0; i < imageLocations.length; i++) {
+			encodedImageLocations[i] = encodeImageLocation(imageLocations[i]);
+		}
+		add(HeaderSnapshot.PUSH_EXPANSION, nameOffset, nameEndOffset, endOffset, contextLength, macroIndex);
+		addNames(implicitMacroReferences);
+		add(imageLocations.length);
+		for (int[] imageLocation : encodedImageLocations) {
+			add(imageLocation);
+		}
+	}
+
+	void popContext() {
+		add(HeaderSnapshot.POP_EXPANSION);
+	}
+
+	void encounterPoundInclude(int startOffset, int nameOffset, int nameEndOffset, int endOffset, char[] name,
+			String filename, boolean userInclude, boolean active, boolean heuristic,
+			IFileNomination nominationDelegate) {
+		if (active || filename != null || heuristic || nominationDelegate != null) {
+			abort();
+			return;
+		}
+		add(HeaderSnapshot.INCLUDE, startOffset, nameOffset, nameEndOffset, endOffset, getStringIndex(name),
+				userInclude ? 1 : 0);
+	}
+
+	void encounteredComment(int offset, int endOffset, boolean isBlockComment, AbstractCharArray input) {
+		if (input != fSource) {
+			abort();
+			return;
+		}
+		add(HeaderSnapshot.COMMENT, offset, endOffset, isBlockComment ? 1 : 0);
+	}
+
+	void encounterProblem(int id, char[] arg, int offset, int endOffset) {
+		add(HeaderSnapshot.PROBLEM, id, arg == null ? -1 : getStringIndex(arg), offset, endOffset);
+	}
+
+	void encounterPoundElse(int startOffset, int endOffset, boolean isActive) {
+		add(HeaderSnapshot.ELSE, startOffset, endOffset, isActive ? 1 : 0);
+		addInactiveSlot();
+	}
+
+	void encounterPoundElif(int startOffset, int condOffset, int condEndOffset, int endOffset, boolean taken,
+			IASTName[] macrosInDefinedExpression) {
+		add(HeaderSnapshot.ELIF, startOffset, condOffset, condEndOffset, endOffset, taken ? 1 : 0);
+		addNames(macrosInDefinedExpression);
+		addInactiveSlot();
+	}
+
+	void encounterPoundEndIf(int startOffset, int endOffset) {
+		add(HeaderSnapshot.ENDIF, startOffset, endOffset);
+		addInactiveSlot();
+	}
+
+	void encounterPoundError(int startOffset, int condOffset, int condEndOffset, int endOffset) {
+		add(HeaderSnapshot.ERROR, startOffset, condOffset, condEndOffset, endOffset);
+	}
+
+	void encounterPoundPragma(int startOffset, int condOffset, int condEndOffset, int endOffset) {
+		add(HeaderSnapshot.PRAGMA, startOffset, condOffset, condEndOffset, endOffset);
+	}
+
+	void encounterPoundIfdef(int startOffset, int condOffset, int condEndOffset, int endOffset, boolean taken,
+			IMacroBinding macro) {
+		encounterIfdef(HeaderSnapshot.IFDEF, startOffset, condOffset, condEndOffset, endOffset, taken, macro);
+	}
+
+	void encounterPoundIfndef(int startOffset, int condOffset, int condEndOffset, int endOffset, boolean taken,
+			IMacroBinding macro) {
+		encounterIfdef(HeaderSnapshot.IFNDEF, startOffset, condOffset, condEndOffset, endOffset, taken, macro);
+	}
+
+	private void encounterIfdef(int operation, int startOffset, int condOffset, int condEndOffset, int endOffset,
+			boolean taken, IMacroBinding macro) {
+		final int macroIndex = getMacroIndex(macro, true);
+		add(operation, startOffset, condOffset, condEndOffset, endOffset, taken ? 1 : 0, macroIndex);
+		addInactiveSlot();
+	}
+
+	void encounterPoundIf(int startOffset, int condOffset, int condEndOffset, int endOffset, boolean taken,
+			IASTName[] macrosInDefinedExpression) {
+		add(HeaderSnapshot.IF, startOffset, condOffset, condEndOffset, endOffset, taken ? 1 : 0);
+		addNames(macrosInDefinedExpression);
+		addInactiveSlot();
+	}
+
+	void encounterPoundDefine(int startOffset, int nameOffset, int nameEndOffset, int expansionOffset,
+			int endOffset, boolean isActive, IMacroBinding macrodef) {
+		if (isActive) {
+			fModifiedMacros.put(macrodef.getNameCharArray());
+		}
+		add(HeaderSnapshot.DEFINE, startOffset, nameOffset, nameEndOffset, expansionOffset, endOffset,
+				isActive ? 1 : 0);
+	}
+
+	void encounterPoundUndef(int startOffset, int nameOffset, int nameEndOffset, int endOffset, char[] name,
+			boolean isActive) {
+		if (isActive) {
+			fModifiedMacros.put(name);
+		}
+		add(HeaderSnapshot.UNDEF, getStringIndex(name), startOffset, nameOffset, nameEndOffset, endOffset,
+				isActive ? 1 : 0);
+	}
+
+	/**
+	 * Returns the index under which the replay finds the given macro, adds the operation providing the
+	 * macro if necessary.
+	 *
+	 * @param definedOnly whether the snapshot depends on the macro being defined rather than on its value.
+	 */
+	private int getMacroIndex(IMacroBinding binding, boolean definedOnly) {
+		if (binding == null)
+			return -1;
+		if (!(binding instanceof PreprocessorMacro)) {
+			abort();
+			return -1;
+		}
+		final PreprocessorMacro macro = (PreprocessorMacro) binding;
+		final char[] name = macro.getNameCharArray();
+		if (macro instanceof UndefinedMacro) {
+			addCondition(name, null, false);
+		} else if (fMacroDictionary.get(name) != macro || macro instanceof CounterMacro
+				|| macro instanceof DateMacro || macro instanceof TimeMacro) {
+			// The macro cannot be found by its name or it expands differently every time.
+			abort();
+			return -1;
+		} else {
+			addCondition(name, macro, definedOnly);
+		}
+		Integer index = fMacros.get(macro);
+		if (index == null) {
+			index = fMacros.size();
+			fMacros.put(macro, index);
+			add(macro instanceof UndefinedMacro ? HeaderSnapshot.UNDEFINED_MACRO : HeaderSnapshot.MACRO,
+					getStringIndex(name));
+		}
+		return index;
+	}
+
+	private void addCondition(char[] name, PreprocessorMacro macro, boolean definedOnly) {
+		if (fModifiedMacros.containsKey(name))
+			return;
+		final char[] old = fConditions.get(name);
+		if (macro == null) {
+			if (old == null) {
+				fConditions.put(name, SignificantMacros.UNDEFINED);
+			}
+		} else if (!macro.isDynamic()) {
+			if (definedOnly) {
+				if (old == null) {
+					fConditions.put(name, SignificantMacros.DEFINED);
+				}
+			} else if (old == null || old == SignificantMacros.DEFINED) {
+				fConditions.put(name, HeaderSnapshot.getValue(macro));
+			}
+		}
+	}
+
+	private int[] encodeImageLocation(ImageLocationInfo info) {
+		if (info instanceof MacroImageLocationInfo) {
+			final MacroImageLocationInfo mli = (MacroImageLocationInfo) info;
+			final int macroIndex = getMacroIndex(mli.getMacro(), false);
+			return new int[] { HeaderSnapshot.MACRO_IMAGE_LOCATION, macroIndex, mli.getOffset(), mli.getEndOffset(),
+					info.fTokenOffsetInExpansion };
+		}
+		if (info instanceof ParameterImageLocationInfo) {
+			final ParameterImageLocationInfo pli = (ParameterImageLocationInfo) info;
+			return new int[] { HeaderSnapshot.PARAMETER_IMAGE_LOCATION, pli.fSequenceNumber - fSequenceNumberBase,
+					pli.fSequenceEndNumber - fSequenceNumberBase, info.fTokenOffsetInExpansion };
+		}
+		if (info != null) {
+			abort();
+		}
+		return new int[] { HeaderSnapshot.NO_IMAGE_LOCATION };
+	}
+
+	private void addNames(IASTName[] names) {
+		add(names.length);
+		for (IASTName name : names) {
+			final Integer index = fNames.get(name);
+			if (index == null) {
+				abort();
+				return;
+			}
+			add(index);
+		}
+	}
+
+	private void addInactiveSlot() {
+		fInactiveSlot = fCodeLength;
+		add(0);
+	}
+
+	private int getStringIndex(char[] string) {
+		Integer index = fStringIndexes.get(string);
+		if (index == null) {
+			index = fStrings.size();
+			fStrings.add(string);
+			fStringIndexes.put(string, index);
+		}
+		return index;
+	}
+
+	private void add(int... values) {
+		if (fAborted)
+			return;
+		if (fCodeLength + values.length > fCode.length) {
+			fCode = Arrays.copyOf(fCode, Math.max(fCode.length * 2, fCodeLength + values.length));
+		}
+		System.arraycopy(values, 0, fCode, fCodeLength, values.length);
+		fCodeLength += values.length;
+	}
+}
@@ -44,6 +44,18 @@ public abstract class ImageLocationInfo {
 			fEndOffset = endOffset;
 		}
 
+		ObjectStyleMacro getMacro() {
+			return fMacro;
+		}
+
+		int getOffset() {
+			return fOffset;
+		}
+
+		int getEndOffset() {
+			return fEndOffset;
+		}
+
 		@Override
 		public IASTImageLocation createLocation(LocationMap lm, ImageLocationInfo upto) {
 			IASTPreprocessorMacroDefinition md = lm.getMacroDefinition(fMacro);
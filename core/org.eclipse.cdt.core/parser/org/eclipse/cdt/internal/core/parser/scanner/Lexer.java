@@ -111,6 +111,13 @@ final public class Lexer implements ITokenSequence {
 	private Token fMarkToken;
 	private Token fMarkLastToken;
 
+	// Tokens recorded by an earlier lexer for the same input, or the recording of the tokens of this lexer
+	private TokenRecording fReplay;
+	private int fReplayIndex;
+	private TokenRecording fRecording;
+	private TokenRecording fEventRecording;
+	private LexerTokenCache fTokenCache;
+
 	public Lexer(char[] input, LexerOptions options, ILexerLog log, Object source) {
 		this(new CharArray(input), 0, input.length, options, log, source);
 	}
@@ -149,6 +156,7 @@ final public class Lexer implements ITokenSequence {
 	 */
 	public void setContentAssistMode(int offset) {
 		fSupportContentAssist = true;
+		fReplay = fRecording = null;
 		if (isValidOffset(offset)) {
 			fLimit = offset;
 		}
@@ -161,6 +169,24 @@ final public class Lexer implements ITokenSequence {
 		return fSupportContentAssist;
 	}
 
+	/**
+	 * Replays the tokens of the input from the given cache, or records them for the cache when they are
+	 * not available, yet. Has to be called before the first token is requested.
+	 */
+	public void setTokenCache(LexerTokenCache cache) {
+		if (fSupportContentAssist || fStart != 0 || fToken.getType() != tBEFORE_INPUT)
+			return;
+		final String key = cache.getKey(fInput, fOptions);
+		if (key == null || (fLimit >= 0 && fLimit != fInput.getLength()))
+			return;
+		fReplay = cache.get(key);
+		fReplayIndex = 0;
+		if (fReplay == null) {
+			fRecording = new TokenRecording(key, fOffset);
+			fTokenCache = cache;
+		}
+	}
+
 	/**
 	 * Call this before consuming the name-token in the include directive. It causes the header-file
 	 * tokens to be created.
@@ -261,9 +287,97 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	/**
-	 * Computes the next token.
+	 * Computes the next token, or takes it from a recording.
 	 */
 	private Token fetchToken() throws OffsetLimitReachedException {
+		if (fReplay != null) {
+			final Token t = replayToken();
+			if (t != null)
+				return t;
+		} else if (fRecording != null && fOffset == fRecording.getExitOffset()) {
+			return recordToken();
+		}
+		return lexToken();
+	}
+
+	/**
+	 * Creates the token that starts at the current offset from the recording, returns <code>null</code>
+	 * when the recording does not contain the token.
+	 */
+	private Token replayToken() {
+		final TokenRecording replay = fReplay;
+		int i = fReplayIndex;
+		if (i >= replay.getTokenCount() || replay.getEntryOffset(i) != fOffset) {
+			i = replay.findToken(fOffset);
+			if (i < 0)
+				return null;
+		}
+		// Header names are lexed differently.
+		if (replay.isInsideIncludeDirective(i) != fInsideIncludeDirective)
+			return null;
+
+		final int kind = replay.getKind(i);
+		final int offset = replay.getOffset(i);
+		replay.replayEvents(i, fLog, fInput);
+		fEndOffset = replay.getEndOffset(i);
+		nextCharPhase3();
+		fReplayIndex = i + 1;
+		if (kind == tNEWLINE)
+			fInsideIncludeDirective = false;
+
+		final int image = replay.getImage(i);
+		switch (image) {
+		case TokenRecording.NO_IMAGE:
+			return newToken(kind, offset);
+		case TokenRecording.DIGRAPH:
+			return newDigraphToken(kind, offset);
+		default:
+			return newToken(kind, offset, image);
+		}
+	}
+
+	/**
+	 * Computes the next token and adds it to the recording. The recording is passed to the cache
+	 * when the end of the input is reached.
+	 */
+	private Token recordToken() throws OffsetLimitReachedException {
+		final TokenRecording recording = fRecording;
+		final boolean insideIncludeDirective = fInsideIncludeDirective;
+		final int eventCount = recording.getEventCount();
+		// The recording is dropped if lexing fails.
+		fRecording = null;
+		fEventRecording = recording;
+		final Token t;
+		try {
+			t = lexToken();
+		} finally {
+			fEventRecording = null;
+		}
+		if (t.getEndOffset() != fOffset)
+			return t;
+
+		final int image;
+		if (t instanceof TokenForDigraph) {
+			image = TokenRecording.DIGRAPH;
+		} else if (t instanceof TokenWithImage) {
+			image = t.getCharImage().length;
+		} else {
+			image = TokenRecording.NO_IMAGE;
+		}
+		recording.addToken(t.getType(), t.getOffset(), t.getEndOffset(), image, insideIncludeDirective,
+				recording.hasEventsSince(eventCount));
+		if (t.getType() == IToken.tEND_OF_INPUT) {
+			fTokenCache.put(recording);
+		} else {
+			fRecording = recording;
+		}
+		return t;
+	}
+
+	/**
+	 * Computes the next token from the input.
+	 */
+	private Token lexToken() throws OffsetLimitReachedException {
 		while (true) {
 			final int start = fOffset;
 			final int c = fCharPhase3;
@@ -735,9 +849,19 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	private void handleProblem(int problemID, char[] arg, int offset) {
+		if (fEventRecording != null) {
+			fEventRecording.addProblem(problemID, arg, offset, fOffset);
+		}
 		fLog.handleProblem(problemID, arg, offset, fOffset);
 	}
 
+	private void handleComment(boolean isBlockComment, int offset, int endOffset) {
+		if (fEventRecording != null) {
+			fEventRecording.addComment(isBlockComment, offset, endOffset);
+		}
+		fLog.handleComment(isBlockComment, offset, endOffset, fInput);
+	}
+
 	private Token headerName(final int start, final boolean expectQuotes) throws OffsetLimitReachedException {
 		int length = 1;
 		boolean done = false;
@@ -775,14 +899,14 @@ final public class Lexer implements ITokenSequence {
 				fEndOffset = pos;
 				if (nextCharPhase3() == '/') {
 					nextCharPhase3();
-					fLog.handleComment(true, start, fOffset, fInput);
+					handleComment(true, start, fOffset);
 					return;
 				}
 			}
 		}
 		fCharPhase3 = END_OF_INPUT;
 		fOffset = fEndOffset = pos;
-		fLog.handleComment(true, start, pos, fInput);
+		handleComment(true, start, pos);
 	}
 
 	private void lineComment(final int start) {
@@ -791,7 +915,7 @@ final public class Lexer implements ITokenSequence {
 			switch (c) {
 			case END_OF_INPUT:
 			case '\n':
-				fLog.handleComment(false, start, fOffset, fInput);
+				handleComment(false, start, fOffset);
 				return;
 			}
 			c = nextCharPhase3();
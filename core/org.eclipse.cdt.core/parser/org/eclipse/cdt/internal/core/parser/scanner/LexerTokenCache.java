@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+
+/**
+ * Cache for the preprocessor tokens of included files, shared by all parsers. The tokens computed by
+ * the {@link Lexer} depend on the contents of a file and on the lexer options, only. They do not
+ * depend on the macros defined when the file is included, so a recording of the tokens can be replayed
+ * for every inclusion of a file with the same contents. The preprocessor still processes the tokens
+ * for every inclusion, such that the cache complements the {@link HeaderSnapshotCache}: It is used for
+ * the files that include other files and for the inclusions no snapshot is applicable to.
+ * <p>
+ * The preprocessor skips inactive code branches by lexing them, so a recording contains the tokens of
+ * all branches and can be replayed whatever branches are active for an inclusion. A recording is
+ * discarded when the lexer does not reach the end of the input, e.g. in content assist mode.
+ * <p>
+ * Parsers use the cache only when asked to, see {@link CPreprocessor#setUseTokenCache(boolean)}.
+ * <p>
+ * Recordings are kept in memory and on disk as described in {@link PersistentCache}.
+ */
+public final class LexerTokenCache extends PersistentCache<TokenRecording> {
+	private static final int MAGIC = 0x43544B52;
+	// Needs to be incremented whenever the lexer changes the way it computes tokens.
+	private static final int FORMAT_VERSION = 1;
+	private static final String FILE_EXTENSION = ".tokens"; //$NON-NLS-1$
+
+	private static final LexerTokenCache INSTANCE = new LexerTokenCache();
+
+	public static LexerTokenCache getInstance() {
+		return INSTANCE;
+	}
+
+	private LexerTokenCache() {
+		super(MAGIC, FORMAT_VERSION, FILE_EXTENSION, "C/C++ Token Cache Writer"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the key for the recording of the given input, or <code>null</code> if the cache is
+	 * disabled.
+	 */
+	String getKey(AbstractCharArray input, LexerOptions options) {
+		if (!isEnabled())
+			return null;
+		return Long.toHexString(input.getContentsHash()) + '-' + Integer.toHexString(input.getLength()) + '-'
+				+ Integer.toHexString(getOptionFlags(options));
+	}
+
+	/**
+	 * Returns the lexer options that affect the computed tokens, encoded as bits.
+	 */
+	static int getOptionFlags(LexerOptions options) {
+		int flags = 0;
+		if (options.fSupportDollarInIdentifiers)
+			flags |= 0x01;
+		if (options.fSupportAtSignInIdentifiers)
+			flags |= 0x02;
+		if (options.fSupportMinAndMax)
+			flags |= 0x04;
+		if (options.fSupportSlashPercentComments)
+			flags |= 0x08;
+		if (options.fSupportUTFLiterals)
+			flags |= 0x10;
+		if (options.fSupportRawStringLiterals)
+			flags |= 0x20;
+		if (options.fSupportUserDefinedLiterals)
+			flags |= 0x40;
+		if (options.fSupportDigitSeparators)
+			flags |= 0x80;
+		return flags;
+	}
+
+	/**
+	 * Returns the recording for the given key, or <code>null</code> if there is none.
+	 */
+	TokenRecording get(String key) {
+		TokenRecording recording = lookup(key);
+		if (recording != null) {
+			countHit();
+		} else {
+			countMiss();
+		}
+		return recording;
+	}
+
+	/**
+	 * Adds a completed recording to the cache.
+	 */
+	void put(TokenRecording recording) {
+		recording.complete();
+		// A recording depends on its key, only.
+		store(recording.getKey(), recording, false);
+	}
+
+	@Override
+	long getMemorySize(TokenRecording recording) {
+		return recording.getMemorySize();
+	}
+
+	@Override
+	TokenRecording readValue(String key, DataInputStream in) throws IOException {
+		return TokenRecording.read(key, in);
+	}
+
+	@Override
+	void writeValue(TokenRecording recording, DataOutputStream out) throws IOException {
+		recording.write(out);
+	}
+}
@@ -72,11 +72,20 @@ public class LocationMap implements ILocationResolver {
 	private List<ISkippedIndexedFilesListener> fSkippedFilesListeners = new ArrayList<>();
 	// Keyed by file location.
 	private Map<String, LocationCtxFile> fFileContexts;
+	private HeaderSnapshotRecorder fSnapshotRecorder;
 
 	public LocationMap(LexerOptions lexOptions) {
 		fLexerOptions = lexOptions;
 	}
 
+	/**
+	 * Sets the recorder to be notified about everything reported to the location map, or
+	 * <code>null</code>.
+	 */
+	void setSnapshotRecorder(HeaderSnapshotRecorder recorder) {
+		fSnapshotRecorder = recorder;
+	}
+
 	@Override
 	public LexerOptions getLexerOptions() {
 		return fLexerOptions;
@@ -87,6 +96,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void registerMacroFromIndex(IMacroBinding macro, IName originalDefinition, int expansionOffset) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		registerPredefinedMacro(macro, originalDefinition, expansionOffset);
 	}
 
@@ -121,6 +132,8 @@ public class LocationMap implements ILocationResolver {
 	 */
 	public ILocationCtx pushPreInclusion(AbstractCharArray buffer, int offset, boolean isMacroFile) {
 		assert fCurrentContext instanceof LocationCtxContainer;
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		int sequenceNumber = getSequenceNumberForOffset(offset);
 		fCurrentContext = new LocationCtxContainer((LocationCtxContainer) fCurrentContext, buffer, offset, offset,
 				sequenceNumber);
@@ -142,6 +155,8 @@ public class LocationMap implements ILocationResolver {
 			AbstractCharArray buffer, String filename, char[] name, boolean userInclude, boolean heuristic,
 			boolean isSource) {
 		assert fCurrentContext instanceof LocationCtxContainer;
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		int startNumber = getSequenceNumberForOffset(startOffset);
 		int nameNumber = getSequenceNumberForOffset(nameOffset);
 		int nameEndNumber = getSequenceNumberForOffset(nameEndOffset);
@@ -163,8 +178,11 @@ public class LocationMap implements ILocationResolver {
 	 * @param imageLocationInfo the image-location for the name of the macro.
 	 */
 	public IASTName encounterImplicitMacroExpansion(IMacroBinding macro, ImageLocationInfo imageLocationInfo) {
-		return new ASTMacroReferenceName(null, IASTPreprocessorMacroExpansion.NESTED_EXPANSION_NAME, 0, 0, macro,
-				imageLocationInfo);
+		final IASTName name = new ASTMacroReferenceName(null, IASTPreprocessorMacroExpansion.NESTED_EXPANSION_NAME,
+				0, 0, macro, imageLocationInfo);
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterImplicitMacroExpansion(macro, imageLocationInfo, name);
+		return name;
 	}
 
 	/**
@@ -174,8 +192,11 @@ public class LocationMap implements ILocationResolver {
 	public IASTName encounterDefinedExpression(IMacroBinding macro, int startOffset, int endOffset) {
 		int startNumber = getSequenceNumberForOffset(startOffset);
 		int endNumber = getSequenceNumberForOffset(endOffset);
-		return new ASTMacroReferenceName(null, IASTPreprocessorStatement.MACRO_NAME, startNumber, endNumber, macro,
-				null);
+		final IASTName name = new ASTMacroReferenceName(null, IASTPreprocessorStatement.MACRO_NAME, startNumber,
+				endNumber, macro, null);
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterDefinedExpression(macro, startOffset, endOffset, name);
+		return name;
 	}
 
 	/**
@@ -190,6 +211,10 @@ public class LocationMap implements ILocationResolver {
 	public ILocationCtx pushMacroExpansion(int nameOffset, int nameEndOffset, int endOffset, int contextLength,
 			IMacroBinding macro, IASTName[] implicitMacroReferences, ImageLocationInfo[] imageLocations) {
 		assert fCurrentContext instanceof LocationCtxContainer;
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.pushMacroExpansion(nameOffset, nameEndOffset, endOffset, contextLength, macro,
+					implicitMacroReferences, imageLocations);
+		}
 
 		int nameNumber = getSequenceNumberForOffset(nameOffset);
 		int nameEndNumber = getSequenceNumberForOffset(nameEndOffset);
@@ -228,6 +253,8 @@ public class LocationMap implements ILocationResolver {
 	 */
 	public void popContext(ILocationCtx locationCtx) {
 		assert fCurrentContext == locationCtx;
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.popContext();
 		final LocationCtx child = fCurrentContext;
 		final LocationCtx parent = (LocationCtx) fCurrentContext.getParent();
 		if (parent != null) {
@@ -250,6 +277,10 @@ public class LocationMap implements ILocationResolver {
 	public ASTInclusionStatement encounterPoundInclude(int startOffset, int nameOffset, int nameEndOffset,
 			int endOffset, char[] name, String filename, boolean userInclude, boolean active, boolean heuristic,
 			IFileNomination nominationDelegate) {
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.encounterPoundInclude(startOffset, nameOffset, nameEndOffset, endOffset, name, filename,
+					userInclude, active, heuristic, nominationDelegate);
+		}
 		boolean exported = isExportedIncludeAt(endOffset);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		nameOffset = getSequenceNumberForOffset(nameOffset);
@@ -276,7 +307,17 @@ public class LocationMap implements ILocationResolver {
 		return exported;
 	}
 
+	/**
+	 * Reports an identifier that has not been expanded as a macro.
+	 */
+	void identifierNotExpanded(char[] name) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.identifierNotExpanded(name);
+	}
+
 	public void encounteredComment(int offset, int endOffset, boolean isBlockComment, AbstractCharArray input) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounteredComment(offset, endOffset, isBlockComment, input);
 		ASTComment comment = new ASTComment(fTranslationUnit, getCurrentFilePath(), offset, endOffset, isBlockComment);
 		if (fLexerOptions.fIncludeExportPatterns != null && fCurrentContext instanceof LocationCtxFile) {
 			CharSequence text = getTrimmedCommentText(input.subSequence(offset, endOffset), isBlockComment);
@@ -312,6 +353,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void encounterProblem(int id, char[] arg, int offset, int endOffset) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterProblem(id, arg, offset, endOffset);
 		offset = getSequenceNumberForOffset(offset);
 		endOffset = getSequenceNumberForOffset(endOffset);
 		ASTProblem problem = new ASTProblem(fTranslationUnit, IASTTranslationUnit.SCANNER_PROBLEM, id, arg, false,
@@ -320,6 +363,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public ASTElse encounterPoundElse(int startOffset, int endOffset, boolean isActive) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundElse(startOffset, endOffset, isActive);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		endOffset = getSequenceNumberForOffset(endOffset);
 		final ASTElse astElse = new ASTElse(fTranslationUnit, startOffset, endOffset, isActive);
@@ -329,6 +374,10 @@ public class LocationMap implements ILocationResolver {
 
 	public ASTElif encounterPoundElif(int startOffset, int condOffset, int condEndOffset, int endOffset, boolean taken,
 			IASTName[] macrosInDefinedExpression) {
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.encounterPoundElif(startOffset, condOffset, condEndOffset, endOffset, taken,
+					macrosInDefinedExpression);
+		}
 		startOffset = getSequenceNumberForOffset(startOffset);
 		condOffset = getSequenceNumberForOffset(condOffset);
 		condEndOffset = getSequenceNumberForOffset(condEndOffset);
@@ -346,6 +395,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public ASTEndif encounterPoundEndIf(int startOffset, int endOffset) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundEndIf(startOffset, endOffset);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		endOffset = getSequenceNumberForOffset(endOffset);
 		final ASTEndif stmt = new ASTEndif(fTranslationUnit, startOffset, endOffset);
@@ -354,6 +405,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void encounterPoundError(int startOffset, int condOffset, int condEndOffset, int endOffset) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundError(startOffset, condOffset, condEndOffset, endOffset);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		condOffset = getSequenceNumberForOffset(condOffset);
 		condEndOffset = getSequenceNumberForOffset(condEndOffset);
@@ -362,6 +415,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void encounterPoundPragma(int startOffset, int condOffset, int condEndOffset, int endOffset) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundPragma(startOffset, condOffset, condEndOffset, endOffset);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		condOffset = getSequenceNumberForOffset(condOffset);
 		condEndOffset = getSequenceNumberForOffset(condEndOffset);
@@ -370,11 +425,15 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void encounterPragmaOperator(int startNumber, int condNumber, int condEndNumber, int endNumber) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		fDirectives.add(new ASTPragmaOperator(fTranslationUnit, startNumber, condNumber, condEndNumber, endNumber));
 	}
 
 	public ASTIfdef encounterPoundIfdef(int startOffset, int condOffset, int condEndOffset, int endOffset,
 			boolean taken, IMacroBinding macro) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundIfdef(startOffset, condOffset, condEndOffset, endOffset, taken, macro);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		condOffset = getSequenceNumberForOffset(condOffset);
 		condEndOffset = getSequenceNumberForOffset(condEndOffset);
@@ -387,6 +446,8 @@ public class LocationMap implements ILocationResolver {
 
 	public ASTIfndef encounterPoundIfndef(int startOffset, int condOffset, int condEndOffset, int endOffset,
 			boolean taken, IMacroBinding macro) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundIfndef(startOffset, condOffset, condEndOffset, endOffset, taken, macro);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		condOffset = getSequenceNumberForOffset(condOffset);
 		condEndOffset = getSequenceNumberForOffset(condEndOffset);
@@ -399,6 +460,10 @@ public class LocationMap implements ILocationResolver {
 
 	public ASTIf encounterPoundIf(int startOffset, int condOffset, int condEndOffset, int endOffset, boolean taken,
 			IASTName[] macrosInDefinedExpression) {
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.encounterPoundIf(startOffset, condOffset, condEndOffset, endOffset, taken,
+					macrosInDefinedExpression);
+		}
 		startOffset = getSequenceNumberForOffset(startOffset);
 		condOffset = getSequenceNumberForOffset(condOffset);
 		condEndOffset = getSequenceNumberForOffset(condEndOffset);
@@ -416,6 +481,10 @@ public class LocationMap implements ILocationResolver {
 
 	public void encounterPoundDefine(int startOffset, int nameOffset, int nameEndOffset, int expansionOffset,
 			int endOffset, boolean isActive, IMacroBinding macrodef) {
+		if (fSnapshotRecorder != null) {
+			fSnapshotRecorder.encounterPoundDefine(startOffset, nameOffset, nameEndOffset, expansionOffset,
+					endOffset, isActive, macrodef);
+		}
 		startOffset = getSequenceNumberForOffset(startOffset);
 		nameOffset = getSequenceNumberForOffset(nameOffset);
 		nameEndOffset = getSequenceNumberForOffset(nameEndOffset);
@@ -434,6 +503,8 @@ public class LocationMap implements ILocationResolver {
 
 	public void encounterPoundUndef(IMacroBinding definition, int startOffset, int nameOffset, int nameEndOffset,
 			int endOffset, char[] name, boolean isActive) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.encounterPoundUndef(startOffset, nameOffset, nameEndOffset, endOffset, name, isActive);
 		startOffset = getSequenceNumberForOffset(startOffset);
 		nameOffset = getSequenceNumberForOffset(nameOffset);
 		nameEndOffset = getSequenceNumberForOffset(nameEndOffset);
@@ -859,12 +930,16 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void parsingFile(InternalFileContentProvider fileContentProvider, InternalFileContent fileContent) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		for (ISkippedIndexedFilesListener l : fSkippedFilesListeners) {
 			l.parsingFile(fileContentProvider, fileContent);
 		}
 	}
 
 	public IFileNomination reportPragmaOnceSemantics(ILocationCtx locationCtx) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		if (locationCtx == fRootContext) {
 			if (fTranslationUnit != null) {
 				fTranslationUnit.setPragmaOnceSemantics(true);
@@ -881,6 +956,8 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void endTranslationUnit(int endOffset, CharArrayObjectMap<char[]> sigMacros) {
+		if (fSnapshotRecorder != null)
+			fSnapshotRecorder.abort();
 		if (fTranslationUnit != null) {
 			int offset = getSequenceNumberForOffset(endOffset);
 			((ASTNode) fTranslationUnit).setLength(offset);
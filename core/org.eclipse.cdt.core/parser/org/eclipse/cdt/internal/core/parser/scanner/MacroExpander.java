@@ -384,6 +384,9 @@ public class MacroExpander {
 					result.append(t);
 				} else if (macro == null || (macro.isFunctionStyle() && !input.findLParenthesis())) {
 					// Tricky: Don't mark function-style macros if you don't find the left parenthesis
+					if (fLocationMap != null) {
+						fLocationMap.identifierNotExpanded(image);
+					}
 					if (fReportMacros != null) {
 						if (macro != null) {
 							fReportMacros.significantMacro(macro);
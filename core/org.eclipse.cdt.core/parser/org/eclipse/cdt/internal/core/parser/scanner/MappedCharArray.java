@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Implementation of char array for a file with one byte per character, i.e. an ASCII file in UTF-8 or
+ * a file in ISO-8859-1. The characters are read directly from a memory-mapped buffer, without
+ * decoding them into a {@code char[]}. Instances can be shared between parsers. They are immutable only
+ * as long as the file is not modified in place, which is why only read-only files are mapped.
+ */
+public final class MappedCharArray extends AbstractCharArray {
+	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	private static final String ASCII_CHARSET_NAME = "US-ASCII"; //$NON-NLS-1$
+	private static final String LATIN1_CHARSET_NAME = "ISO-8859-1"; //$NON-NLS-1$
+	private static final long NON_ASCII_MASK = 0x8080808080808080L;
+	private static final int HASH_BUFFER_SIZE = 4096;
+
+	/**
+	 * Maps the contents of the channel, returns {@code null} if the contents use more than one
+	 * byte for some characters in the given character set.
+	 */
+	static MappedCharArray create(FileChannel channel, long size, String charSet) throws IOException {
+		charSet = Charset.forName(charSet).name();
+		final boolean needsAsciiCheck;
+		if (UTF8_CHARSET_NAME.equals(charSet) || ASCII_CHARSET_NAME.equals(charSet)) {
+			needsAsciiCheck = true;
+		} else if (LATIN1_CHARSET_NAME.equals(charSet)) {
+			needsAsciiCheck = false;
+		} else {
+			return null;
+		}
+		if (size > Integer.MAX_VALUE)
+			return null;
+
+		ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		int start = 0;
+		if (UTF8_CHARSET_NAME.equals(charSet) && size >= 3 && buffer.get(0) == (byte) 0xEF
+				&& buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+			start = 3;
+		}
+		if (needsAsciiCheck && !isAscii(buffer, start)) {
+			return null;
+		}
+		return new MappedCharArray(buffer, start);
+	}
+
+	private static boolean isAscii(ByteBuffer buffer, int start) {
+		final int limit = buffer.limit();
+		int pos = start;
+		for (; pos + 8 <= limit; pos += 8) {
+			if ((buffer.getLong(pos) & NON_ASCII_MASK) != 0)
+				return false;
+		}
+		for (; pos < limit; pos++) {
+			if (buffer.get(pos) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	private final ByteBuffer fBuffer;
+	private final int fStart;
+	private final int fLength;
+	private volatile long fHash64;
+	private volatile boolean fHashComputed;
+
+	private MappedCharArray(ByteBuffer buffer, int start) {
+		fBuffer = buffer;
+		fStart = start;
+		fLength = buffer.limit() - start;
+	}
+
+	@Override
+	public int tryGetLength() {
+		return fLength;
+	}
+
+	@Override
+	public int getLength() {
+		return fLength;
+	}
+
+	@Override
+	public boolean isValidOffset(int offset) {
+		return offset < fLength;
+	}
+
+	@Override
+	public char get(int offset) {
+		return (char) (fBuffer.get(fStart + offset) & 0xFF);
+	}
+
+	@Override
+	public void arraycopy(int offset, char[] destination, int destinationPos, int length) {
+		int pos = fStart + offset;
+		for (int i = 0; i < length; i++) {
+			destination[destinationPos + i] = (char) (fBuffer.get(pos + i) & 0xFF);
+		}
+	}
+
+	@Override
+	public long getContentsHash() {
+		if (!fHashComputed) {
+			StreamHasher hasher = new StreamHasher();
+			char[] chars = new char[HASH_BUFFER_SIZE];
+			for (int offset = 0; offset < fLength; offset += chars.length) {
+				int length = Math.min(chars.length, fLength - offset);
+				arraycopy(offset, chars, 0, length);
+				hasher.addChunk(length == chars.length ? chars : Arrays.copyOf(chars, length));
+			}
+			fHash64 = hasher.computeHash();
+			fHashComputed = true;
+		}
+		return fHash64;
+	}
+
+	@Override
+	public boolean hasError() {
+		return false;
+	}
+}
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Base class for the caches of the preprocessor that are shared by all parsers. The values are kept
+ * in memory in an LRU fashion and, when a directory has been configured, written to disk in the
+ * background such that they survive restarts. A file is stored for every key, the least recently
+ * used files are removed when the directory grows too large. The cache is disabled until it is
+ * configured.
+ *
+ * @param <V> the type of the cached values.
+ */
+abstract class PersistentCache<V> {
+	private static final long MAX_MEMORY_SIZE = Math.min(32L * 1024 * 1024, Runtime.getRuntime().maxMemory() / 64);
+	private static final long MAX_DISK_SIZE = 256L * 1024 * 1024;
+	// The modification time of the file of a value used from memory is updated at most this often.
+	private static final long TOUCH_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+	private static final class Entry<V> {
+		final V fValue;
+		final long fMemorySize;
+		long fLastUsed;
+
+		Entry(V value, long memorySize, long lastUsed) {
+			fValue = value;
+			fMemorySize = memorySize;
+			fLastUsed = lastUsed;
+		}
+	}
+
+	private final int fMagic;
+	private final int fFormatVersion;
+	private final String fFileExtension;
+	private final String fWriterName;
+
+	private boolean fEnabled;
+	private File fDirectory;
+	private final LinkedHashMap<String, Entry<V>> fEntries = new LinkedHashMap<>(64, 0.75f, true);
+	private long fMemorySize;
+	private long fDiskSize = -1;
+	private ExecutorService fWriter;
+	private final AtomicInteger fHits = new AtomicInteger();
+	private final AtomicInteger fMisses = new AtomicInteger();
+
+	/**
+	 * @param magic the number the files of the cache start with.
+	 * @param formatVersion the version of the format of the files.
+	 * @param fileExtension the extension of the files, including the dot.
+	 * @param writerName the name of the thread writing the files.
+	 */
+	PersistentCache(int magic, int formatVersion, String fileExtension, String writerName) {
+		fMagic = magic;
+		fFormatVersion = formatVersion;
+		fFileExtension = fileExtension;
+		fWriterName = writerName;
+	}
+
+	/**
+	 * Enables or disables the cache.
+	 *
+	 * @param enabled whether values are stored and looked up.
+	 * @param directory the directory for storing the values, or <code>null</code> to keep them in
+	 *     memory only.
+	 */
+	public synchronized void configure(boolean enabled, File directory) {
+		if (!enabled) {
+			directory = null;
+		}
+		fEnabled = enabled;
+		if (directory != null && !directory.equals(fDirectory)) {
+			directory.mkdirs();
+			fDiskSize = -1;
+		}
+		fDirectory = directory;
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	public synchronized boolean isEnabled() {
+		return fEnabled;
+	}
+
+	/**
+	 * Discards the values held in memory.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fMemorySize = 0;
+	}
+
+	/**
+	 * Returns the number of inclusions for which a cached value was used.
+	 */
+	public int getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * Returns the number of inclusions for which the value had to be computed.
+	 */
+	public int getMissCount() {
+		return fMisses.get();
+	}
+
+	final void countHit() {
+		fHits.incrementAndGet();
+	}
+
+	final void countMiss() {
+		fMisses.incrementAndGet();
+	}
+
+	/**
+	 * Returns the memory used by the given value, in bytes.
+	 */
+	abstract long getMemorySize(V value);
+
+	/**
+	 * Reads a value written by {@link #writeValue(Object, DataOutputStream)}, returns
+	 * <code>null</code> if the value is not valid.
+	 */
+	abstract V readValue(String key, DataInputStream in) throws IOException;
+
+	abstract void writeValue(V value, DataOutputStream out) throws IOException;
+
+	/**
+	 * Returns the value for the given key held in memory or stored on disk, or <code>null</code>.
+	 * The file of the value is marked as used.
+	 */
+	final V lookup(String key) {
+		File file;
+		synchronized (this) {
+			Entry<V> entry = fEntries.get(key);
+			if (entry != null) {
+				if (fDirectory != null) {
+					touch(entry, getFile(fDirectory, key));
+				}
+				return entry.fValue;
+			}
+			file = fDirectory == null ? null : getFile(fDirectory, key);
+		}
+		if (file != null && file.isFile()) {
+			V value = readFile(key, file);
+			if (value != null) {
+				long now = System.currentTimeMillis();
+				file.setLastModified(now);
+				addToMemory(key, value, now);
+				return value;
+			}
+			file.delete();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the value for the given key held in memory, or <code>null</code>.
+	 */
+	final synchronized V getFromMemory(String key) {
+		Entry<V> entry = fEntries.get(key);
+		return entry != null ? entry.fValue : null;
+	}
+
+	/**
+	 * Stores a value in memory and, in the background, on disk.
+	 *
+	 * @param replace whether the file of a previous value for the key is replaced. When the value
+	 *     depends on the key only, there is no need to write it again.
+	 */
+	final void store(String key, V value, boolean replace) {
+		addToMemory(key, value, System.currentTimeMillis());
+		synchronized (this) {
+			if (fDirectory != null) {
+				final File directory = fDirectory;
+				getWriter().execute(() -> writeFile(directory, key, value, replace));
+			}
+		}
+	}
+
+	// Must be called with the lock held.
+	private void touch(Entry<V> entry, File file) {
+		long now = System.currentTimeMillis();
+		if (now - entry.fLastUsed >= TOUCH_INTERVAL) {
+			entry.fLastUsed = now;
+			getWriter().execute(() -> file.setLastModified(now));
+		}
+	}
+
+	private synchronized void addToMemory(String key, V value, long now) {
+		final long size = getMemorySize(value);
+		if (size > MAX_MEMORY_SIZE / 4)
+			return;
+		Entry<V> old = fEntries.put(key, new Entry<>(value, size, now));
+		if (old != null) {
+			fMemorySize -= old.fMemorySize;
+		}
+		fMemorySize += size;
+		for (Iterator<Entry<V>> it = fEntries.values().iterator(); fMemorySize > MAX_MEMORY_SIZE && it.hasNext();) {
+			fMemorySize -= it.next().fMemorySize;
+			it.remove();
+		}
+	}
+
+	private File getFile(File directory, String key) {
+		return new File(directory, key + fFileExtension);
+	}
+
+	private ExecutorService getWriter() {
+		if (fWriter == null) {
+			ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					r -> {
+						Thread thread = new Thread(r, fWriterName);
+						thread.setDaemon(true);
+						return thread;
+					});
+			writer.allowCoreThreadTimeOut(true);
+			fWriter = writer;
+		}
+		return fWriter;
+	}
+
+	private V readFile(String key, File file) {
+		try (CheckedInputStream checked = new CheckedInputStream(
+				new BufferedInputStream(new FileInputStream(file)), new CRC32());
+				DataInputStream in = new DataInputStream(checked)) {
+			if (in.readInt() != fMagic || in.readInt() != fFormatVersion)
+				return null;
+			V value = readValue(key, in);
+			final long crc = checked.getChecksum().getValue();
+			if (value == null || in.readLong() != crc)
+				return null;
+			return value;
+		} catch (IOException e) {
+			// The file is incomplete or corrupt.
+			return null;
+		}
+	}
+
+	private void writeFile(File directory, String key, V value, boolean replace) {
+		final File file = getFile(directory, key);
+		if (!replace && file.exists())
+			return;
+		final File tmp = new File(directory, key + ".tmp"); //$NON-NLS-1$
+		try {
+			try (CheckedOutputStream checked = new CheckedOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmp)), new CRC32());
+					DataOutputStream out = new DataOutputStream(checked)) {
+				out.writeInt(fMagic);
+				out.writeInt(fFormatVersion);
+				writeValue(value, out);
+				out.flush();
+				out.writeLong(checked.getChecksum().getValue());
+			}
+			if (replace) {
+				file.delete();
+			}
+			if (!tmp.renameTo(file)) {
+				tmp.delete();
+				return;
+			}
+			addDiskSize(directory, file.length());
+		} catch (IOException e) {
+			tmp.delete();
+			CCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Accounts for a file written to the directory and removes the least recently used files when
+	 * the size of the directory exceeds its limit.
+	 */
+	private void addDiskSize(File directory, long size) {
+		synchronized (this) {
+			if (fDiskSize >= 0) {
+				fDiskSize += size;
+				if (fDiskSize <= MAX_DISK_SIZE)
+					return;
+			}
+		}
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(fFileExtension));
+		if (files == null)
+			return;
+		long total = 0;
+		final long[] modified = new long[files.length];
+		final Integer[] order = new Integer[files.length];
+		for (int i = 0; i < files.length; i++) {
+			total += files[i].length();
+			modified[i] = files[i].lastModified();
+			order[i] = i;
+		}
+		if (total > MAX_DISK_SIZE) {
+			Arrays.sort(order, Comparator.comparingLong(i -> modified[i]));
+			for (Integer i : order) {
+				if (total <= MAX_DISK_SIZE * 3 / 4)
+					break;
+				final long length = files[i].length();
+				if (files[i].delete()) {
+					total -= length;
+				}
+			}
+		}
+		synchronized (this) {
+			if (directory.equals(fDirectory)) {
+				fDiskSize = total;
+			}
+		}
+	}
+}
@@ -58,7 +58,8 @@ final class ScannerContext {
 	private final int fDepth;
 	private final ILocationCtx fLocationCtx;
 	private final ScannerContext fParent;
-	private final Lexer fLexer;
+	private Lexer fLexer;
+	private HeaderSnapshot.Replay fSnapshotReplay;
 	private Token fTokens;
 	private ArrayList<Conditional> fConditionals;
 	private CodeState fCurrentState = CodeState.eActive;
@@ -119,6 +120,21 @@ final class ScannerContext {
 		return fLexer;
 	}
 
+	/**
+	 * Makes this context replay a snapshot instead of lexing its file.
+	 */
+	void replaySnapshot(HeaderSnapshot.Replay replay) {
+		fLexer = null;
+		fSnapshotReplay = replay;
+	}
+
+	/**
+	 * Returns the snapshot replayed by this context, or <code>null</code>.
+	 */
+	HeaderSnapshot.Replay getSnapshotReplay() {
+		return fSnapshotReplay;
+	}
+
 	/**
 	 * Needs to be called whenever we change over to another branch of conditional
 	 * compilation. Returns the conditional associated with the branch or <code>null</code>,
@@ -296,6 +312,8 @@ final class ScannerContext {
 	 * Returns the current nesting within code branches
 	 */
 	public int getCodeBranchNesting() {
+		if (fSnapshotReplay != null)
+			return fSnapshotReplay.getCodeBranchNesting();
 		if (fConditionals == null)
 			return 0;
 		return fConditionals.size();
@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The preprocessor tokens of a file as computed by the {@link Lexer}, together with the comments and
+ * problems reported while the tokens were computed. A lexer replays the recorded tokens instead of
+ * scanning the characters of the file again.
+ * <p>
+ * The tokens are stored in the order they were computed, the first token starts at the first offset,
+ * each of the other tokens starts at the end offset of the previous one. Tokens and events are
+ * recorded while a file is lexed for the first time. A recording is immutable after it has been
+ * completed.
+ */
+final class TokenRecording {
+	// Slots of a token
+	private static final int KIND = 0;
+	private static final int OFFSET = 1;
+	private static final int END_OFFSET = 2;
+	private static final int INFO = 3;
+	private static final int TOKEN_SLOTS = 4;
+
+	// Bits of the info slot, the remaining bits encode the image
+	private static final int INSIDE_INCLUDE_DIRECTIVE = 0x1;
+	private static final int HAS_EVENTS = 0x2;
+	private static final int IMAGE_SHIFT = 2;
+
+	// Encoding of the image
+	static final int NO_IMAGE = -2;
+	static final int DIGRAPH = -1;
+
+	// Slots of an event
+	private static final int TOKEN = 0;
+	private static final int TYPE = 1;
+	private static final int EVENT_OFFSET = 2;
+	private static final int EVENT_END_OFFSET = 3;
+	private static final int PROBLEM_ID = 4;
+	private static final int EVENT_SLOTS = 5;
+
+	// Types of events
+	private static final int LINE_COMMENT = 0;
+	private static final int BLOCK_COMMENT = 1;
+	private static final int PROBLEM = 2;
+
+	private final String fKey;
+	private final int fFirstOffset;
+	private int[] fTokens;
+	private int fTokenCount;
+	private int[] fEvents;
+	private char[][] fProblemArguments;
+	private int fEventCount;
+
+	TokenRecording(String key, int firstOffset) {
+		this(key, firstOffset, new int[1024 * TOKEN_SLOTS], 0, new int[16 * EVENT_SLOTS], new char[16][], 0);
+	}
+
+	private TokenRecording(String key, int firstOffset, int[] tokens, int tokenCount, int[] events,
+			char[][] problemArguments, int eventCount) {
+		fKey = key;
+		fFirstOffset = firstOffset;
+		fTokens = tokens;
+		fTokenCount = tokenCount;
+		fEvents = events;
+		fProblemArguments = problemArguments;
+		fEventCount = eventCount;
+	}
+
+	String getKey() {
+		return fKey;
+	}
+
+	int getTokenCount() {
+		return fTokenCount;
+	}
+
+	/**
+	 * Returns the offset at which the lexer starts computing the given token.
+	 */
+	int getEntryOffset(int token) {
+		return token == 0 ? fFirstOffset : fTokens[(token - 1) * TOKEN_SLOTS + END_OFFSET];
+	}
+
+	/**
+	 * Returns the offset at which the lexer continues after the last recorded token.
+	 */
+	int getExitOffset() {
+		return getEntryOffset(fTokenCount);
+	}
+
+	int getKind(int token) {
+		return fTokens[token * TOKEN_SLOTS + KIND];
+	}
+
+	int getOffset(int token) {
+		return fTokens[token * TOKEN_SLOTS + OFFSET];
+	}
+
+	int getEndOffset(int token) {
+		return fTokens[token * TOKEN_SLOTS + END_OFFSET];
+	}
+
+	/**
+	 * Returns the length of the image of the token, {@link #NO_IMAGE} or {@link #DIGRAPH}.
+	 */
+	int getImage(int token) {
+		return (fTokens[token * TOKEN_SLOTS + INFO] >> IMAGE_SHIFT) + NO_IMAGE;
+	}
+
+	boolean isInsideIncludeDirective(int token) {
+		return (fTokens[token * TOKEN_SLOTS + INFO] & INSIDE_INCLUDE_DIRECTIVE) != 0;
+	}
+
+	/**
+	 * Returns the index of the token that the lexer computes when it starts at the given offset,
+	 * or -1 if there is no such token.
+	 */
+	int findToken(int entryOffset) {
+		if (fTokenCount == 0)
+			return -1;
+		if (entryOffset == fFirstOffset)
+			return 0;
+		// Find the first token that ends at the offset, the next one starts there.
+		int low = 0;
+		int high = fTokenCount - 1;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (getEndOffset(mid) < entryOffset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		if (getEndOffset(low) != entryOffset || low + 1 >= fTokenCount)
+			return -1;
+		return low + 1;
+	}
+
+	void addToken(int kind, int offset, int endOffset, int image, boolean insideIncludeDirective,
+			boolean hasEvents) {
+		final int pos = fTokenCount * TOKEN_SLOTS;
+		if (pos == fTokens.length) {
+			fTokens = Arrays.copyOf(fTokens, pos * 2);
+		}
+		fTokens[pos + KIND] = kind;
+		fTokens[pos + OFFSET] = offset;
+		fTokens[pos + END_OFFSET] = endOffset;
+		int info = (image - NO_IMAGE) << IMAGE_SHIFT;
+		if (insideIncludeDirective)
+			info |= INSIDE_INCLUDE_DIRECTIVE;
+		if (hasEvents)
+			info |= HAS_EVENTS;
+		fTokens[pos + INFO] = info;
+		fTokenCount++;
+	}
+
+	/**
+	 * Adds a comment reported while the next token is computed.
+	 */
+	void addComment(boolean isBlockComment, int offset, int endOffset) {
+		addEvent(isBlockComment ? BLOCK_COMMENT : LINE_COMMENT, offset, endOffset, 0, null);
+	}
+
+	/**
+	 * Adds a problem reported while the next token is computed.
+	 */
+	void addProblem(int problemID, char[] arg, int offset, int endOffset) {
+		addEvent(PROBLEM, offset, endOffset, problemID, arg);
+	}
+
+	private void addEvent(int type, int offset, int endOffset, int problemID, char[] arg) {
+		final int pos = fEventCount * EVENT_SLOTS;
+		if (pos == fEvents.length) {
+			fEvents = Arrays.copyOf(fEvents, pos * 2);
+			fProblemArguments = Arrays.copyOf(fProblemArguments, fProblemArguments.length * 2);
+		}
+		fEvents[pos + TOKEN] = fTokenCount;
+		fEvents[pos + TYPE] = type;
+		fEvents[pos + EVENT_OFFSET] = offset;
+		fEvents[pos + EVENT_END_OFFSET] = endOffset;
+		fEvents[pos + PROBLEM_ID] = problemID;
+		fProblemArguments[fEventCount] = arg;
+		fEventCount++;
+	}
+
+	/**
+	 * Returns whether events have been added since the given number of events was recorded.
+	 */
+	boolean hasEventsSince(int eventCount) {
+		return fEventCount > eventCount;
+	}
+
+	int getEventCount() {
+		return fEventCount;
+	}
+
+	/**
+	 * Discards events that were added after the given number of events was recorded.
+	 */
+	void discardEvents(int eventCount) {
+		Arrays.fill(fProblemArguments, eventCount, fEventCount, null);
+		fEventCount = eventCount;
+	}
+
+	/**
+	 * Reports the comments and problems that were reported while the given token was computed.
+	 */
+	void replayEvents(int token, ILexerLog log, AbstractCharArray input) {
+		if ((fTokens[token * TOKEN_SLOTS + INFO] & HAS_EVENTS) == 0)
+			return;
+		int low = 0;
+		int high = fEventCount;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (fEvents[mid * EVENT_SLOTS + TOKEN] < token) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		for (int i = low; i < fEventCount && fEvents[i * EVENT_SLOTS + TOKEN] == token; i++) {
+			final int pos = i * EVENT_SLOTS;
+			final int offset = fEvents[pos + EVENT_OFFSET];
+			final int endOffset = fEvents[pos + EVENT_END_OFFSET];
+			switch (fEvents[pos + TYPE]) {
+			case LINE_COMMENT:
+				log.handleComment(false, offset, endOffset, input);
+				break;
+			case BLOCK_COMMENT:
+				log.handleComment(true, offset, endOffset, input);
+				break;
+			default:
+				log.handleProblem(fEvents[pos + PROBLEM_ID], fProblemArguments[i], offset, endOffset);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the approximate number of bytes used by the recording.
+	 */
+	long getMemorySize() {
+		return 64 + 4L * (fTokenCount * TOKEN_SLOTS + fEventCount * EVENT_SLOTS) + 16L * fEventCount;
+	}
+
+	/**
+	 * Releases the space reserved for further tokens and events.
+	 */
+	void complete() {
+		fTokens = Arrays.copyOf(fTokens, fTokenCount * TOKEN_SLOTS);
+		fEvents = Arrays.copyOf(fEvents, fEventCount * EVENT_SLOTS);
+		fProblemArguments = Arrays.copyOf(fProblemArguments, fEventCount);
+	}
+
+	/**
+	 * Writes the recording, offsets are stored relative to the previous token to keep the output small.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		writeInt(out, fFirstOffset);
+		writeInt(out, fTokenCount);
+		int prevEnd = fFirstOffset;
+		for (int i = 0; i < fTokenCount; i++) {
+			final int pos = i * TOKEN_SLOTS;
+			writeInt(out, fTokens[pos + KIND]);
+			writeInt(out, fTokens[pos + OFFSET] - prevEnd);
+			writeInt(out, fTokens[pos + END_OFFSET] - fTokens[pos + OFFSET]);
+			writeInt(out, fTokens[pos + INFO]);
+			prevEnd = fTokens[pos + END_OFFSET];
+		}
+		writeInt(out, fEventCount);
+		for (int i = 0; i < fEventCount; i++) {
+			final int pos = i * EVENT_SLOTS;
+			for (int j = 0; j < EVENT_SLOTS; j++) {
+				writeInt(out, fEvents[pos + j]);
+			}
+			final char[] arg = fProblemArguments[i];
+			writeInt(out, arg == null ? 0 : arg.length + 1);
+			if (arg != null) {
+				for (char c : arg) {
+					writeInt(out, c);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a recording written by {@link #write(DataOutputStream)}.
+	 *
+	 * @throws IOException if the data is malformed.
+	 */
+	static TokenRecording read(String key, DataInputStream in) throws IOException {
+		final int firstOffset = readInt(in);
+		final int tokenCount = readInt(in);
+		final int[] tokens = new int[tokenCount * TOKEN_SLOTS];
+		int prevEnd = firstOffset;
+		for (int i = 0; i < tokenCount; i++) {
+			final int pos = i * TOKEN_SLOTS;
+			tokens[pos + KIND] = readInt(in);
+			tokens[pos + OFFSET] = prevEnd + readInt(in);
+			tokens[pos + END_OFFSET] = tokens[pos + OFFSET] + readInt(in);
+			tokens[pos + INFO] = readInt(in);
+			if (tokens[pos + OFFSET] < prevEnd || tokens[pos + END_OFFSET] < tokens[pos + OFFSET])
+				throw new IOException("Invalid token recording"); //$NON-NLS-1$
+			prevEnd = tokens[pos + END_OFFSET];
+		}
+		final int eventCount = readInt(in);
+		final int[] events = new int[eventCount * EVENT_SLOTS];
+		final char[][] problemArguments = new char[eventCount][];
+		for (int i = 0; i < eventCount; i++) {
+			final int pos = i * EVENT_SLOTS;
+			for (int j = 0; j < EVENT_SLOTS; j++) {
+				events[pos + j] = readInt(in);
+			}
+			final int length = readInt(in) - 1;
+			if (length >= 0) {
+				final char[] arg = new char[length];
+				for (int j = 0; j < length; j++) {
+					arg[j] = (char) readInt(in);
+				}
+				problemArguments[i] = arg;
+			}
+		}
+		return new TokenRecording(key, firstOffset, tokens, tokenCount, events, problemArguments, eventCount);
+	}
+
+	/**
+	 * Writes an int with a variable length encoding, small non-negative values use a single byte.
+	 */
+	static void writeInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	static int readInt(DataInputStream in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final int b = in.readUnsignedByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return result;
+		}
+		throw new IOException("Invalid token recording"); //$NON-NLS-1$
+	}
+}
@@ -33,6 +33,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,9 +70,11 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IndexBasedFileContentProvider;
 import org.eclipse.cdt.internal.core.model.DebugLogConstants;
@@ -81,10 +89,12 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -111,7 +121,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 		LinkageTask(int linkageID) {
 			fLinkageID = linkageID;
-			fLocationTasks = new HashMap<>();
+			// Read by the parser jobs.
+			fLocationTasks = new ConcurrentHashMap<>();
 		}
 
 		boolean requestUpdate(IIndexFileLocation ifl, IIndexFragmentFile ifile, Object tu, UpdateKind kind,
@@ -137,10 +148,12 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	private static class LocationTask {
 		private boolean fCountedUnknownVersion;
-		private boolean fStoredAVersion;
+		// The fields below are read by the parser jobs while the index is written. The list of
+		// version tasks is replaced rather than modified.
+		private volatile boolean fStoredAVersion;
 		Object fTu;
-		UpdateKind fKind = UpdateKind.OTHER_HEADER;
-		private List<FileVersionTask> fVersionTasks = Collections.emptyList();
+		volatile UpdateKind fKind = UpdateKind.OTHER_HEADER;
+		private volatile List<FileVersionTask> fVersionTasks = Collections.emptyList();
 
 		/**
 		 * Requests the update of a file, returns whether the total count needs to be updated.
@@ -177,28 +190,26 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				countRequest = false;
 			}
 
-			switch (fVersionTasks.size()) {
-			case 0:
+			List<FileVersionTask> versionTasks = fVersionTasks;
+			if (versionTasks.isEmpty()) {
 				fVersionTasks = Collections.singletonList(fc);
-				break;
-			case 1:
-				List<FileVersionTask> newList = new ArrayList<>(2);
-				newList.add(fVersionTasks.get(0));
+			} else {
+				List<FileVersionTask> newList = new ArrayList<>(versionTasks.size() + 1);
+				newList.addAll(versionTasks);
 				newList.add(fc);
 				fVersionTasks = newList;
-				break;
-			default:
-				fVersionTasks.add(fc);
-				break;
 			}
 			return countRequest;
 		}
 
-		void removeVersionTask(Iterator<FileVersionTask> it) {
-			if (fVersionTasks.size() == 1) {
+		void removeVersionTask(FileVersionTask versionTask) {
+			List<FileVersionTask> versionTasks = fVersionTasks;
+			if (versionTasks.size() == 1) {
 				fVersionTasks = Collections.emptyList();
 			} else {
-				it.remove();
+				List<FileVersionTask> newList = new ArrayList<>(versionTasks);
+				newList.remove(versionTask);
+				fVersionTasks = newList;
 			}
 		}
 
@@ -239,7 +250,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	public static class FileVersionTask {
 		private final IIndexFragmentFile fIndexFile;
-		private boolean fOutdated;
+		// Read by the parser jobs.
+		private volatile boolean fOutdated;
 
 		FileVersionTask(IIndexFragmentFile file) {
 			fIndexFile = file;
@@ -316,6 +328,28 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		parsingFileTask, errorWhileParsing, tooManyIndexProblems
 	}
 
+	/**
+	 * A source file parsed by one of the parser threads.
+	 */
+	private static class ParseRequest {
+		final LocationTask fLocationTask;
+		final IIndexFileLocation fLocation;
+		final AbstractLanguage fLanguage;
+		final IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		Throwable fError;
+		long fParsingTime;
+
+		ParseRequest(LocationTask locationTask, IIndexFileLocation location, AbstractLanguage language,
+				IScannerInfo scannerInfo) {
+			fLocationTask = locationTask;
+			fLocation = location;
+			fLanguage = language;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
 	private int fUpdateFlags = IIndexManager.UPDATE_ALL;
 	private UnusedHeaderStrategy fIndexHeadersWithoutContext = UnusedHeaderStrategy.useDefaultLanguage;
 	private boolean fIndexFilesWithoutConfiguration = true;
@@ -323,9 +357,24 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
-	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
-	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
-	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
+	// The caches are shared by the parser threads.
+	private Map<IIndexFile, IndexFileContent> fIndexContentCache = Collections.synchronizedMap(new LRUCache<>(500));
+	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = Collections
+			.synchronizedMap(new LRUCache<>(5000));
+	// Modified while the index is written, in parallel with the parser jobs.
+	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new ConcurrentHashMap<>();
+
+	private static final class UnchangedFile {
+		final IIndexFragmentFile fFile;
+		final long fTimestamp;
+		final int fSizeAndEncodingHashcode;
+
+		UnchangedFile(IIndexFragmentFile file, long timestamp, int sizeAndEncodingHashcode) {
+			fFile = file;
+			fTimestamp = timestamp;
+			fSizeAndEncodingHashcode = sizeAndEncodingHashcode;
+		}
+	}
 
 	private Object[] fFilesToUpdate;
 	private List<Object> fFilesToRemove = new ArrayList<>();
@@ -339,11 +388,19 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError = 5;
+	private int fParserThreads = 1;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
 	 * The files from the urgent tasks are indexed before all not yet processed files.
 	 */
 	private final Deque<AbstractIndexerTask> fUrgentTasks;
+	/**
+	 * Files that were not updated because only their timestamp changed. Their timestamps in the
+	 * index are updated after the files to be parsed have been determined.
+	 */
+	private final List<UnchangedFile> fUnchangedFiles = new ArrayList<>();
+	/** Contents hashes of files that have been computed while checking the includes of a file. */
+	private final Map<IIndexFileLocation, Long> fContentsHashes = new HashMap<>();
 	boolean fTaskCompleted;
 	private IndexerProgress fInfo = new IndexerProgress();
 
@@ -398,6 +455,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of jobs parsing source files concurrently. With a single thread all files
+	 * are parsed by the thread running the task. Headers parsed in the context of a source file are
+	 * always parsed by the thread running the task.
+	 */
+	public final void setParserThreads(int threads) {
+		fParserThreads = Math.max(1, threads);
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -540,7 +606,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			fTodoTaskUpdater = createTodoTaskUpdater();
 
 			fASTOptions = ILanguage.OPTION_NO_IMAGE_LOCATIONS
-					| ILanguage.OPTION_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS;
+					| ILanguage.OPTION_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
+					| ILanguage.OPTION_USE_TOKEN_CACHE;
 
 			if (getSkipReferences() == SKIP_ALL_REFERENCES) {
 				fASTOptions |= ILanguage.OPTION_SKIP_FUNCTION_BODIES;
@@ -551,11 +618,12 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 			try {
 				try {
-					SubMonitor progress = SubMonitor.convert(monitor, 20);
+					SubMonitor progress = SubMonitor.convert(monitor, 21);
 					// Split into sources and headers, remove excluded sources.
 					HashMap<Integer, List<IIndexFileLocation>> files = new HashMap<>();
 					final ArrayList<IIndexFragmentFile> indexFilesToRemove = new ArrayList<>();
 					extractFiles(files, indexFilesToRemove, progress.split(1));
+					updateUnchangedFiles(progress.split(1));
 
 					setResume(true, progress.split(1));
 
@@ -615,6 +683,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 							fFilesToRemove = urgentTask.fFilesToRemove;
 							incrementRequestedFilesCount(fFilesToUpdate.length + fFilesToRemove.size());
 							extractFiles(files, indexFilesToRemove, progress.split(1));
+							updateUnchangedFiles(progress.split(1));
 							removeFilesInIndex(fFilesToRemove, indexFilesToRemove, progress.split(1));
 						}
 					}
@@ -754,10 +823,17 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private boolean isModified(boolean checkTimestamps, boolean checkFileContentsHash, IIndexFileLocation ifl,
 			Object tu, IIndexFragmentFile file) throws CoreException {
 		if (checkTimestamps) {
-			if (fResolver.getLastModified(ifl) != file.getTimestamp()
-					|| computeFileSizeAndEncodingHashcode(ifl) != file.getSizeAndEncodingHashcode()) {
-				if (checkFileContentsHash && computeFileContentsHash(tu) == file.getContentsHash()) {
-					return false;
+			final long timestamp = fResolver.getLastModified(ifl);
+			final int sizeAndEncodingHashcode = computeFileSizeAndEncodingHashcode(ifl);
+			if (timestamp != file.getTimestamp() || sizeAndEncodingHashcode != file.getSizeAndEncodingHashcode()) {
+				if (checkFileContentsHash) {
+					fStatistics.fContentsHashCheckCount++;
+					if (computeFileContentsHash(tu) == file.getContentsHash() && hasUnchangedIncludes(file)) {
+						// Parsing the file again would produce the same result.
+						fStatistics.fUnchangedContentsCount++;
+						fUnchangedFiles.add(new UnchangedFile(file, timestamp, sizeAndEncodingHashcode));
+						return false;
+					}
 				}
 				return true;
 			}
@@ -765,6 +841,70 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return false;
 	}
 
+	/**
+	 * Checks whether all files included by the given file, directly or indirectly, still have the
+	 * contents they had when the file was indexed. An include that could not be resolved may resolve
+	 * now, it is considered to be changed.
+	 */
+	private boolean hasUnchangedIncludes(IIndexFragmentFile file) throws CoreException {
+		final Set<IIndexFragmentFile> visited = new HashSet<>();
+		final Deque<IIndexFragmentFile> work = new ArrayDeque<>();
+		visited.add(file);
+		work.add(file);
+		while (!work.isEmpty()) {
+			for (IIndexInclude include : work.remove().getIncludes()) {
+				if (!include.isActive())
+					continue;
+				if (!include.isResolved())
+					return false;
+				final IIndexFragmentFile target = ((IIndexFragmentInclude) include).getIncludes();
+				if (target == null)
+					return false;
+				if (visited.add(target)) {
+					if (!hasUnchangedContents(target))
+						return false;
+					work.add(target);
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean hasUnchangedContents(IIndexFragmentFile file) throws CoreException {
+		final IIndexFileLocation ifl = file.getLocation();
+		if (fResolver.getLastModified(ifl) == file.getTimestamp()
+				&& computeFileSizeAndEncodingHashcode(ifl) == file.getSizeAndEncodingHashcode()) {
+			return true;
+		}
+		Long hash = fContentsHashes.get(ifl);
+		if (hash == null) {
+			final Object tu = fResolver.getInputFile(ifl);
+			hash = tu == null ? 0 : computeFileContentsHash(tu);
+			fContentsHashes.put(ifl, hash);
+		}
+		return hash != 0 && hash == file.getContentsHash();
+	}
+
+	/**
+	 * Stores the new timestamps of files that were not updated because their contents did not change,
+	 * such that their contents need not be checked again.
+	 */
+	private void updateUnchangedFiles(IProgressMonitor monitor) throws InterruptedException, CoreException {
+		fContentsHashes.clear();
+		if (fUnchangedFiles.isEmpty())
+			return;
+		fIndex.acquireWriteLock(monitor);
+		try {
+			for (UnchangedFile unchanged : fUnchangedFiles) {
+				unchanged.fFile.setTimestamp(unchanged.fTimestamp);
+				unchanged.fFile.setSizeAndEncodingHashcode(unchanged.fSizeAndEncodingHashcode);
+			}
+		} finally {
+			fIndex.releaseWriteLock();
+		}
+		fUnchangedFiles.clear();
+	}
+
 	private long computeFileContentsHash(Object tu) {
 		FileContent codeReader = fResolver.getCodeReader(tu);
 		return codeReader != null ? codeReader.getContentsHash() : 0;
@@ -897,17 +1037,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserThreads > 1 && fIndex instanceof CIndex) {
+				if (!parseRequiredSourcesInParallel(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -959,13 +1104,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 							progress.split(1);
 							if (hasUrgentTasks())
 								return;
-							Iterator<FileVersionTask> it = locTask.fVersionTasks.iterator();
-							while (it.hasNext()) {
-								FileVersionTask v = it.next();
+							for (FileVersionTask v : locTask.fVersionTasks) {
 								if (v.fOutdated) {
 									fIndex.clearFile(v.fIndexFile);
 									reportFile(true, locTask.fKind);
-									locTask.removeVersionTask(it);
+									locTask.removeVersionTask(v);
 									fIndexContentCache.remove(v.fIndexFile);
 									fIndexFilesCache.remove(ifl);
 								}
@@ -979,6 +1122,220 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Parses the required sources of the given list with multiple jobs. The ASTs are passed to
+	 * the current thread through a bounded queue and written to the index in the order they
+	 * become available. The parser jobs lock the index only while they create an AST, and storing
+	 * the symbols of an AST yields the write lock to them, so parsing continues while the index
+	 * is written. Sources left over by the jobs are parsed later by the current thread, as files
+	 * that still need a version.
+	 *
+	 * @return {@code false} if the parsing was stopped in favor of urgent tasks.
+	 */
+	private boolean parseRequiredSourcesInParallel(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		final List<ParseRequest> requests = new ArrayList<>();
+		for (Iterator<IIndexFileLocation> it = files.iterator(); it.hasNext();) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				final Object tu = locTask.fTu;
+				requests.add(new ParseRequest(locTask, ifl, getLanguage(tu, linkageID), getScannerInfo(linkageID, tu)));
+			}
+		}
+		if (requests.isEmpty())
+			return true;
+
+		final int jobCount = Math.min(fParserThreads, requests.size());
+		final BlockingQueue<ParseRequest> parsed = new ArrayBlockingQueue<>(2 * jobCount);
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicBoolean stop = new AtomicBoolean();
+		final ParserJob[] jobs = new ParserJob[jobCount];
+		for (int i = 0; i < jobCount; i++) {
+			jobs[i] = new ParserJob(i + 1, requests, next, createFileContentProvider(linkageID), parsed, stop);
+			jobs[i].schedule();
+		}
+		try {
+			for (int i = 0; i < requests.size(); i++) {
+				if (hasUrgentTasks())
+					return false;
+				ParseRequest request;
+				while ((request = parsed.poll(100, TimeUnit.MILLISECONDS)) == null) {
+					if (!isRunning(jobs) && parsed.isEmpty())
+						return true;
+				}
+				writeParsedFile(request, progress.split(1));
+			}
+		} finally {
+			stop.set(true);
+			for (ParserJob job : jobs) {
+				job.cancel();
+			}
+			for (ParserJob job : jobs) {
+				job.join();
+			}
+			parsed.clear();
+		}
+		return true;
+	}
+
+	private static boolean isRunning(Job[] jobs) {
+		for (Job job : jobs) {
+			if (job.getState() != Job.NONE)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates the ASTs of required sources in parallel with the thread running the task.
+	 */
+	private class ParserJob extends Job {
+		private final List<ParseRequest> fRequests;
+		private final AtomicInteger fNext;
+		private final InternalFileContentProvider fContentProvider;
+		private final BlockingQueue<ParseRequest> fParsed;
+		private final AtomicBoolean fStop;
+
+		ParserJob(int number, List<ParseRequest> requests, AtomicInteger next,
+				InternalFileContentProvider contentProvider, BlockingQueue<ParseRequest> parsed, AtomicBoolean stop) {
+			super("Indexer Parser " + number); //$NON-NLS-1$
+			fRequests = requests;
+			fNext = next;
+			fContentProvider = contentProvider;
+			fParsed = parsed;
+			fStop = stop;
+			setSystem(true);
+			setPriority(Job.LONG);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			parseRequests(fRequests, fNext, fContentProvider, fParsed, fStop, monitor);
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * Runs in a parser job, creates the ASTs for the requests until all of them are taken or
+	 * the parsing is stopped. The read locks of the task on the index cannot be shared with other
+	 * threads, the job locks the fragments of the index instead.
+	 */
+	private void parseRequests(List<ParseRequest> requests, AtomicInteger next,
+			InternalFileContentProvider contentProvider, BlockingQueue<ParseRequest> parsed, AtomicBoolean stop,
+			IProgressMonitor monitor) {
+		final IIndexFragment[] fragments = ((CIndex) fIndex).getFragments();
+		int i;
+		while (!stop.get() && !monitor.isCanceled() && (i = next.getAndIncrement()) < requests.size()) {
+			final ParseRequest request = requests.get(i);
+			final long start = System.currentTimeMillis();
+			try {
+				if (!request.fLocationTask.isCompleted()) {
+					if (fShowActivity) {
+						trace("Indexer: parsing " + getLabel(request.fLocation).toOSString()); //$NON-NLS-1$
+					}
+					acquireReadLocks(fragments);
+					try {
+						request.fCodeReader = fResolver.getCodeReader(request.fLocationTask.fTu);
+						request.fAST = createAST(request.fLanguage, request.fCodeReader, request.fScannerInfo,
+								fASTOptions, null, contentProvider, monitor);
+					} finally {
+						releaseReadLocks(fragments, fragments.length);
+					}
+				}
+			} catch (InterruptedException | OperationCanceledException e) {
+				return;
+			} catch (CoreException | RuntimeException | Error e) {
+				request.fError = e;
+			}
+			request.fParsingTime = System.currentTimeMillis() - start;
+			try {
+				while (!parsed.offer(request, 100, TimeUnit.MILLISECONDS)) {
+					if (stop.get())
+						return;
+				}
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	private static void acquireReadLocks(IIndexFragment[] fragments) throws InterruptedException {
+		int i = 0;
+		try {
+			for (; i < fragments.length; i++) {
+				fragments[i].acquireReadLock();
+			}
+		} finally {
+			if (i < fragments.length) {
+				releaseReadLocks(fragments, i);
+			}
+		}
+	}
+
+	private static void releaseReadLocks(IIndexFragment[] fragments, int count) {
+		for (int i = 0; i < count; i++) {
+			fragments[i].releaseReadLock();
+		}
+	}
+
+	/**
+	 * Writes the AST created by a parser job to the index. Errors are handled the same way as in
+	 * {@link #parseFile(Object, AbstractLanguage, IIndexFileLocation, IScannerInfo, FileContext, IProgressMonitor)}.
+	 */
+	private void writeParsedFile(ParseRequest request, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(request.fLocation);
+		progress.subTask(
+				getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+		fStatistics.fParsingTime += request.fParsingTime;
+		Throwable th = request.fError;
+		if (th == null && !request.fLocationTask.isCompleted()) {
+			try {
+				if (request.fAST == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					writeToIndex(request.fLanguage.getLinkageID(), request.fAST, request.fCodeReader, null,
+							progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+				if (fShowActivity) {
+					trace("Indexer: processed " + path.toOSString()); //$NON-NLS-1$
+				}
+			} catch (OperationCanceledException e) {
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+				th = e;
+			}
+		}
+		// The ASTs can be large, release them as early as possible.
+		request.fAST = null;
+		request.fCodeReader = null;
+		if (th instanceof RuntimeException && th.getCause() instanceof DependsOnOutdatedFileException) {
+			th = null;
+		} else if (th instanceof OutOfMemoryError) {
+			if (--fSwallowOutOfMemoryError < 0)
+				throw (OutOfMemoryError) th;
+		} else if (th instanceof Error && !(th instanceof StackOverflowError || th instanceof AssertionError)) {
+			throw (Error) th;
+		}
+		if (th != null) {
+			swallowError(path, th);
+		}
+
+		if (!resultCacheCleared) {
+			fIndex.acquireWriteLock(progress.split(1));
+			try {
+				fIndex.clearResultCache();
+			} finally {
+				fIndex.releaseWriteLock();
+			}
+		}
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1099,7 +1456,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			FileContent codeReader = fResolver.getCodeReader(tu);
 
 			long start = System.currentTimeMillis();
-			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
+			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, null,
+					progress.split(10));
 			fStatistics.fParsingTime += System.currentTimeMillis() - start;
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
@@ -1208,8 +1566,13 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return e;
 	}
 
+	/**
+	 * Creates the AST for the given code reader. Unless a content provider is passed in, the content
+	 * provider shared by all ASTs created in the thread running the task is used.
+	 */
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
-			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+			IScannerInfo scanInfo, int options, FileContext ctx, InternalFileContentProvider contentProvider,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,28 +1583,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
-		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
+		if (contentProvider == null) {
+			final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
+			if (fCodeReaderFactory == null) {
+				fCodeReaderFactory = createFileContentProvider(language.getLinkageID());
+				if (fIsFastIndexer) {
+					((IndexBasedFileContentProvider) fCodeReaderFactory).setContextToHeaderGap(ctx2header);
+				}
+			} else if (fIsFastIndexer) {
+				final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
 				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
+				ibfcp.setLinkage(language.getLinkageID());
 			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
-		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
-			ibfcp.setContextToHeaderGap(ctx2header);
-			ibfcp.setLinkage(language.getLinkageID());
+			contentProvider = fCodeReaderFactory;
 		}
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, contentProvider, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1606,20 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private InternalFileContentProvider createFileContentProvider(int linkageID) {
+		InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver, linkageID,
+					fileContentProvider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			fileContentProvider = ibfcp;
+		}
+		fileContentProvider.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return fileContentProvider;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
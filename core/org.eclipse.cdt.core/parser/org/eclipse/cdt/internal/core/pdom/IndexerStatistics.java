@@ -26,4 +26,21 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+	/** Files with a modified timestamp whose contents hash was compared to the one in the index */
+	public int fContentsHashCheckCount = 0;
+	/** Files that were not parsed, because their contents and the contents of their includes are unchanged */
+	public int fUnchangedContentsCount = 0;
+	/** Constexpr evaluations of function calls, the steps they took and how many exceeded their budget */
+	public int fConstexprEvaluationCount = 0;
+	public long fConstexprStepCount = 0;
+	public int fConstexprExhaustedCount = 0;
+	/** Calls of constexpr functions whose result was taken from the cache, or had to be computed */
+	public int fConstexprCacheHits = 0;
+	public int fConstexprCacheMisses = 0;
+	/** Type instantiations whose result was taken from the cache or the index, or had to be computed */
+	public int fInstantiationCacheHits = 0;
+	public int fInstantiationIndexHits = 0;
+	public int fInstantiationCacheMisses = 0;
+	/** Results of type instantiations that were stored in the index */
+	public int fStoredInstantiations = 0;
 }
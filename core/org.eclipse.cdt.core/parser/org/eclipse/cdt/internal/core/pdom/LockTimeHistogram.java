@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of time intervals. Bucket {@code i} counts the intervals shorter than {@code 2^i}
+ * microseconds that do not fit into a lower bucket, the last bucket counts all longer intervals.
+ */
+public final class LockTimeHistogram {
+	private static final int BUCKET_COUNT = 32;
+
+	private final AtomicLongArray fBuckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder fTotalNanos = new LongAdder();
+	private final LongAccumulator fMaxNanos = new LongAccumulator(Math::max, 0);
+
+	void record(long nanos) {
+		if (nanos < 0)
+			nanos = 0;
+		fBuckets.incrementAndGet(getBucket(nanos));
+		fTotalNanos.add(nanos);
+		fMaxNanos.accumulate(nanos);
+	}
+
+	private static int getBucket(long nanos) {
+		final long micros = nanos / 1000;
+		return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	/**
+	 * Returns the number of buckets of the histogram.
+	 */
+	public static int getBucketCount() {
+		return BUCKET_COUNT;
+	}
+
+	/**
+	 * Returns the exclusive upper bound of the intervals counted in the given bucket in nanoseconds,
+	 * or {@link Long#MAX_VALUE} for the last bucket.
+	 */
+	public static long getBucketUpperBoundNanos(int bucket) {
+		return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+	}
+
+	/**
+	 * Returns the number of intervals counted in each bucket.
+	 */
+	public long[] getBucketCounts() {
+		long[] result = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			result[i] = fBuckets.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of recorded intervals.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			count += fBuckets.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the sum of all recorded intervals in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return fTotalNanos.sum();
+	}
+
+	/**
+	 * Returns the longest recorded interval in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return fMaxNanos.get();
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of the recorded intervals in nanoseconds,
+	 * or 0 if no intervals were recorded.
+	 * @param percentile a number between 0 and 100.
+	 */
+	public long getPercentileNanos(double percentile) {
+		final long[] counts = getBucketCounts();
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		if (total == 0)
+			return 0;
+		final long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank && seen > 0)
+				return Math.min(getBucketUpperBoundNanos(i), getMaxNanos());
+		}
+		return getMaxNanos();
+	}
+
+	@SuppressWarnings("nls")
+	@Override
+	public String toString() {
+		final long count = getCount();
+		final double mean = count == 0 ? 0 : getTotalNanos() / 1e6 / count;
+		return String.format("count=%d, mean=%.3fms, p50<=%.3fms, p99<=%.3fms, max=%.3fms", count, mean,
+				getPercentileNanos(50) / 1e6, getPercentileNanos(99) / 1e6, getMaxNanos() / 1e6);
+	}
+}
@@ -32,6 +32,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -48,6 +51,7 @@ import org.eclipse.cdt.core.dom.ast.IField;
 import org.eclipse.cdt.core.dom.ast.IFunction;
 import org.eclipse.cdt.core.dom.ast.IMacroBinding;
 import org.eclipse.cdt.core.dom.ast.IParameter;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.ITypedef;
 import org.eclipse.cdt.core.dom.ast.IValue;
 import org.eclipse.cdt.core.dom.ast.IVariable;
@@ -67,6 +71,7 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.Linkage;
+import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexCBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
@@ -81,6 +86,7 @@ import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMStringPool;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.CompoundRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.FindBinding;
@@ -115,6 +121,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private static final int BLOCKED_WRITE_LOCK_OUTPUT_INTERVAL = 30000;
 	private static final int LONG_WRITE_LOCK_REPORT_THRESHOLD = 1000;
 	private static final int LONG_READ_LOCK_WAIT_REPORT_THRESHOLD = 1000;
+	private static final int MAX_READER_DEFERRAL = 500;
 	static boolean sDEBUG_LOCKS; // Initialized in the PDOMManager, because IBM needs PDOM independent of runtime plugin.
 
 	/**
@@ -311,10 +318,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *  221.0 - Names of bindings and macro containers are stored in a pool of shared strings
+	 *  222.0 - Results of type instantiations are stored with the files they depend on
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(222, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(222, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(222, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -351,7 +360,8 @@ public class PDOM extends PlatformObject implements IPDOM {
 	public static final int INDEX_OF_FILES_WITH_UNRESOLVED_INCLUDES = Database.DATA_AREA + 12;
 	public static final int PROPERTIES = Database.DATA_AREA + 16;
 	public static final int TAG_INDEX = Database.DATA_AREA + 20;
-	public static final int END = Database.DATA_AREA + 24;
+	public static final int STRING_POOL = Database.DATA_AREA + 24;
+	public static final int END = Database.DATA_AREA + 28;
 	static {
 		assert END <= Database.CHUNK_SIZE;
 	}
@@ -412,6 +422,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	// Local caches
 	protected Database db;
 	private BTree fileIndex;
+	private PDOMStringPool stringPool;
 	private PDOMTagIndex tagIndex;
 	private BTree indexOfDefectiveFiles;
 	private BTree indexOfFiledWithUnresolvedIncludes;
@@ -539,6 +550,15 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return db;
 	}
 
+	/**
+	 * Returns the pool for the names of bindings and macro containers.
+	 */
+	public PDOMStringPool getStringPool() {
+		if (stringPool == null)
+			stringPool = new PDOMStringPool(getDB(), STRING_POOL);
+		return stringPool;
+	}
+
 	public BTree getFileIndex() throws CoreException {
 		if (fileIndex == null)
 			fileIndex = new BTree(getDB(), FILE_INDEX, new PDOMFile.Comparator(getDB()));
@@ -654,6 +674,41 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return file;
 	}
 
+	/**
+	 * Same as calling {@link #addFile(int, IIndexFileLocation, ISignificantMacros)} for each of the
+	 * locations, however the files that need to be created are added to the file index in a single
+	 * batch.
+	 */
+	protected IIndexFragmentFile[] addFiles(int linkageID, IIndexFileLocation[] locations,
+			ISignificantMacros[] sigMacros) throws CoreException {
+		PDOMLinkage linkage = createLinkage(linkageID);
+		IIndexFragmentFile[] result = new IIndexFragmentFile[locations.length];
+		Map<FileContentKey, PDOMFile> newFiles = new HashMap<>();
+		for (int i = 0; i < locations.length; i++) {
+			IIndexFragmentFile file = getFile(linkage, locations[i], sigMacros[i]);
+			if (file == null) {
+				FileContentKey key = new FileContentKey(linkageID, locations[i], sigMacros[i]);
+				PDOMFile pdomFile = newFiles.get(key);
+				if (pdomFile == null) {
+					pdomFile = new PDOMFile(linkage, locations[i], linkageID, sigMacros[i]);
+					newFiles.put(key, pdomFile);
+				}
+				file = pdomFile;
+			}
+			result[i] = file;
+		}
+		if (!newFiles.isEmpty()) {
+			long[] records = new long[newFiles.size()];
+			int i = 0;
+			for (PDOMFile pdomFile : newFiles.values()) {
+				records[i++] = pdomFile.getRecord();
+			}
+			getFileIndex().insertAll(records);
+			fEvent.setHasNewFiles();
+		}
+		return result;
+	}
+
 	protected void clearFileIndex() throws CoreException {
 		db.putRecPtr(FILE_INDEX, 0);
 		fileIndex = null;
@@ -1002,40 +1057,116 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	// Read-write lock rules. Readers don't conflict with other readers,
 	// Writers conflict with readers, and everyone conflicts with writers.
-	private final Object mutex = new Object();
+	// Readers and writers take turns: a reader that starts waiting while a writer is waiting lets
+	// the writer go first, a writer lets the readers that waited during the previous write go first.
+	// A thread that already holds a read lock is never delayed by a waiting writer, because the writer
+	// waits for that thread to release its lock. Since read locks are not strictly bound to threads,
+	// a reader does not defer to a waiting writer for longer than MAX_READER_DEFERRAL.
+	private final ReentrantLock mutex = new ReentrantLock();
+	private final Condition lockReleased = mutex.newCondition();
 	private int lockCount;
 	private int waitingReaders;
+	private int waitingWriters;
+	// Number of waiting readers that have to be let in before the next writer.
+	private int priorityReaders;
+	// Incremented whenever the write lock is released.
+	private long writePhase;
 	private long lastWriteAccess = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
+	// The threads holding read locks. An entry is removed when its thread releases its last read lock,
+	// read locks released by a thread that does not hold any are taken from another holder.
+	private final Map<Thread, ReadLockHolder> fReadLockHolders = new HashMap<>();
+	private final PDOMLockStatistics fLockStatistics = new PDOMLockStatistics();
+
+	private static final class ReadLockHolder {
+		final long fTimeAcquired;
+		int fReadLocks;
+
+		ReadLockHolder(long timeAcquired) {
+			fTimeAcquired = timeAcquired;
+		}
+	}
+
+	// Must be called with the mutex held.
+	private void addReadLocks(int count, long now) {
+		fReadLockHolders.computeIfAbsent(Thread.currentThread(), t -> new ReadLockHolder(now)).fReadLocks += count;
+	}
+
+	// Must be called with the mutex held.
+	private void removeReadLocks(int count, long now) {
+		Thread thread = Thread.currentThread();
+		while (count > 0) {
+			ReadLockHolder holder = fReadLockHolders.get(thread);
+			if (holder == null) {
+				// Read locks may be released by a different thread than the one that acquired them.
+				Iterator<Map.Entry<Thread, ReadLockHolder>> it = fReadLockHolders.entrySet().iterator();
+				if (!it.hasNext())
+					return;
+				Map.Entry<Thread, ReadLockHolder> entry = it.next();
+				thread = entry.getKey();
+				holder = entry.getValue();
+			}
+			int released = Math.min(count, holder.fReadLocks);
+			count -= released;
+			holder.fReadLocks -= released;
+			if (holder.fReadLocks == 0) {
+				fReadLockHolders.remove(thread);
+				fLockStatistics.getReadHoldTime().record(now - holder.fTimeAcquired);
+			}
+		}
+	}
 
 	@Override
 	public void acquireReadLock() throws InterruptedException {
-		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
-		synchronized (mutex) {
+		final long t = System.nanoTime();
+		mutex.lock();
+		try {
+			final boolean holdsReadLock = fReadLockHolders.containsKey(Thread.currentThread());
+			final long phase = writePhase;
+			long deferral = TimeUnit.MILLISECONDS.toNanos(MAX_READER_DEFERRAL);
 			++waitingReaders;
 			try {
-				while (lockCount < 0)
-					mutex.wait();
+				while (true) {
+					if (lockCount < 0) {
+						lockReleased.await();
+					} else if (!holdsReadLock && phase == writePhase && waitingWriters > 0 && deferral > 0) {
+						// Let the waiting writer go first.
+						deferral = lockReleased.awaitNanos(deferral);
+					} else {
+						break;
+					}
+				}
 			} finally {
 				--waitingReaders;
+				if (phase != writePhase && priorityReaders > 0) {
+					if (--priorityReaders == 0)
+						lockReleased.signalAll();
+				}
 			}
 			++lockCount;
 			db.setLocked(true);
 
+			final long now = System.nanoTime();
+			fLockStatistics.getReadWaitTime().record(now - t);
+			addReadLocks(1, now);
+
 			if (sDEBUG_LOCKS) {
-				t = (System.nanoTime() - t) / 1000000;
-				if (t >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
-					System.out.println("Acquired index read lock after " + t + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
+				long ms = (now - t) / 1000000;
+				if (ms >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
+					System.out.println("Acquired index read lock after " + ms + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
 				}
 				incReadLock(fLockDebugging);
 			}
+		} finally {
+			mutex.unlock();
 		}
 	}
 
 	@Override
 	public void releaseReadLock() {
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			assert lockCount > 0 : "No lock to release"; //$NON-NLS-1$
 			if (sDEBUG_LOCKS) {
 				decReadLock(fLockDebugging);
@@ -1044,8 +1175,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastReadAccess = System.currentTimeMillis();
 			if (lockCount > 0)
 				--lockCount;
-			mutex.notifyAll();
+			removeReadLocks(1, System.nanoTime());
+			lockReleased.signalAll();
 			db.setLocked(lockCount != 0);
+		} finally {
+			mutex.unlock();
 		}
 		// A lock release probably means that some AST is going away. The result cache has to be
 		// cleared since it may contain objects belonging to the AST that is going away. A failure
@@ -1073,7 +1207,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 */
 	public void acquireWriteLock(int giveupReadLocks, IProgressMonitor monitor) throws InterruptedException {
 		assert !isPermanentlyReadOnly();
-		synchronized (mutex) {
+		final long t = System.nanoTime();
+		mutex.lock();
+		try {
 			if (sDEBUG_LOCKS) {
 				incWriteLock(giveupReadLocks);
 			}
@@ -1088,26 +1224,36 @@ public class PDOM extends PlatformObject implements IPDOM {
 				giveupReadLocks = 0;
 			}
 
-			// Let the readers go first
+			// Let the readers that waited during the previous write go first.
 			long start = sDEBUG_LOCKS ? System.currentTimeMillis() : 0;
 			int count = 0;
-			while (lockCount > giveupReadLocks || waitingReaders > 0) {
-				mutex.wait(CANCELLATION_CHECK_INTERVAL);
-				if (monitor != null && monitor.isCanceled()) {
-					throw new OperationCanceledException();
-				}
-				count++;
-				if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
-					monitor.subTask(Messages.PDOM_waitingForWriteLock);
-				}
-				if (sDEBUG_LOCKS) {
-					start = reportBlockedWriteLock(start, giveupReadLocks);
+			++waitingWriters;
+			try {
+				while (lockCount > giveupReadLocks || (priorityReaders > 0 && waitingReaders > 0)) {
+					lockReleased.await(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+					if (monitor != null && monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					count++;
+					if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
+						monitor.subTask(Messages.PDOM_waitingForWriteLock);
+					}
+					if (sDEBUG_LOCKS) {
+						start = reportBlockedWriteLock(start, giveupReadLocks);
+					}
 				}
+			} finally {
+				// Readers deferring to this writer need to re-check if the writer gave up.
+				if (--waitingWriters == 0 && lockCount >= 0)
+					lockReleased.signalAll();
 			}
 			lockCount = -1;
-			if (sDEBUG_LOCKS)
-				timeWriteLockAcquired = System.currentTimeMillis();
+			timeWriteLockAcquired = System.nanoTime();
+			removeReadLocks(giveupReadLocks, timeWriteLockAcquired);
+			fLockStatistics.getWriteWaitTime().record(timeWriteLockAcquired - t);
 			db.setExclusiveLock();
+		} finally {
+			mutex.unlock();
 		}
 		if (monitor != null)
 			monitor.subTask(""); //$NON-NLS-1$
@@ -1133,30 +1279,50 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastWriteAccess = System.currentTimeMillis();
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
-		synchronized (mutex) {
+		mutex.lock();
+		try {
+			final long now = System.nanoTime();
+			final long timeHeld = now - timeWriteLockAcquired;
+			fLockStatistics.getWriteHoldTime().record(timeHeld);
 			if (sDEBUG_LOCKS) {
-				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
-				if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
-					System.out.println("Index write lock held for " + timeHeld + " ms");
+				if (timeHeld / 1000000 >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
+					System.out.println("Index write lock held for " + timeHeld / 1000000 + " ms");
 				}
 				decWriteLock(establishReadLocks);
 			}
 
 			if (lockCount < 0)
 				lockCount = establishReadLocks;
-			mutex.notifyAll();
+			if (establishReadLocks > 0)
+				addReadLocks(establishReadLocks, now);
+			// The readers waiting now get in before the next writer.
+			writePhase++;
+			priorityReaders = waitingReaders;
+			lockReleased.signalAll();
 			db.setLocked(lockCount != 0);
+		} finally {
+			mutex.unlock();
 		}
 		fireChange(event);
 	}
 
 	@Override
 	public boolean hasWaitingReaders() {
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			return waitingReaders > 0;
+		} finally {
+			mutex.unlock();
 		}
 	}
 
+	/**
+	 * Returns the wait and hold times of the locks of this PDOM.
+	 */
+	public PDOMLockStatistics getLockStatistics() {
+		return fLockStatistics;
+	}
+
 	@Override
 	public long getLastWriteAccess() {
 		return lastWriteAccess;
@@ -1513,6 +1679,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	private void clearCaches() {
 		fileIndex = null;
+		stringPool = null;
 		tagIndex = null;
 		indexOfDefectiveFiles = null;
 		indexOfFiledWithUnresolvedIncludes = null;
@@ -1935,6 +2102,15 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return linkage.getInlineNamespaces();
 	}
 
+	@Override
+	public IType findInstantiation(int linkageID, char[] signature) throws CoreException {
+		PDOMLinkage linkage = getLinkage(linkageID);
+		if (linkage == null) {
+			return null;
+		}
+		return linkage.getInstantiationCache().find(signature);
+	}
+
 	@Override
 	public boolean isFullyInitialized() {
 		return true;
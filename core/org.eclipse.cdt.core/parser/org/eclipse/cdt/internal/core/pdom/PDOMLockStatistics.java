@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+/**
+ * Wait and hold times of the read and write locks of one PDOM since it was opened.
+ * A read lock is considered held by a thread from the time it acquires its first read lock
+ * until its last one is released, possibly by another thread.
+ */
+public final class PDOMLockStatistics {
+	private final LockTimeHistogram fReadWaitTime = new LockTimeHistogram();
+	private final LockTimeHistogram fReadHoldTime = new LockTimeHistogram();
+	private final LockTimeHistogram fWriteWaitTime = new LockTimeHistogram();
+	private final LockTimeHistogram fWriteHoldTime = new LockTimeHistogram();
+
+	/**
+	 * Returns the times spent waiting for a read lock.
+	 */
+	public LockTimeHistogram getReadWaitTime() {
+		return fReadWaitTime;
+	}
+
+	/**
+	 * Returns the times read locks were held.
+	 */
+	public LockTimeHistogram getReadHoldTime() {
+		return fReadHoldTime;
+	}
+
+	/**
+	 * Returns the times spent waiting for the write lock.
+	 */
+	public LockTimeHistogram getWriteWaitTime() {
+		return fWriteWaitTime;
+	}
+
+	/**
+	 * Returns the times the write lock was held.
+	 */
+	public LockTimeHistogram getWriteHoldTime() {
+		return fWriteHoldTime;
+	}
+
+	@SuppressWarnings("nls")
+	@Override
+	public String toString() {
+		return "read wait: " + fReadWaitTime + "\nread hold: " + fReadHoldTime + "\nwrite wait: " + fWriteWaitTime
+				+ "\nwrite hold: " + fWriteHoldTime;
+	}
+}
@@ -71,6 +71,7 @@ import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
 import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
 import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
@@ -79,8 +80,13 @@ import org.eclipse.cdt.internal.core.index.IndexFactory;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.index.IndexerStateEvent;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
+import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.HeaderSnapshotCache;
+import org.eclipse.cdt.internal.core.parser.scanner.LexerTokenCache;
 import org.eclipse.cdt.internal.core.pdom.PDOM.IListener;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCacheStatistics;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMProjectIndexLocationConverter;
 import org.eclipse.cdt.internal.core.pdom.indexer.AbstractPDOMIndexer;
@@ -216,6 +222,12 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		fInShutDown = false;
 		// Set path canonicalization strategy early on to avoid a race condition.
 		updatePathCanonicalizationStrategy();
+		// The storage mode needs to be known before the first index is opened.
+		updateStorageMode();
+		updateTokenCache();
+		updateFileReadMode();
+		updateHeaderSnapshotCache();
+		updateConstexprBudget();
 
 		Job postStartupJob = new Job(CCorePlugin.getResourceString("CCorePlugin.startupJob")) { //$NON-NLS-1$
 			@Override
@@ -300,6 +312,18 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		} else if (prop.equals(CCorePreferenceConstants.FILE_PATH_CANONICALIZATION)) {
 			updatePathCanonicalizationStrategy();
 			reindexAll();
+		} else if (prop.equals(CCorePreferenceConstants.INDEX_DB_MEMORY_MAPPED)
+				|| prop.equals(CCorePreferenceConstants.INDEX_DB_JOURNAL)) {
+			updateStorageMode();
+		} else if (prop.equals(CCorePreferenceConstants.PARSER_TOKEN_CACHE)) {
+			updateTokenCache();
+		} else if (prop.equals(CCorePreferenceConstants.PARSER_MEMORY_MAPPED_FILES)) {
+			updateFileReadMode();
+		} else if (prop.equals(CCorePreferenceConstants.PARSER_HEADER_SNAPSHOTS)) {
+			updateHeaderSnapshotCache();
+		} else if (prop.equals(CCorePreferenceConstants.PARSER_CONSTEXPR_MAX_STEPS)
+				|| prop.equals(CCorePreferenceConstants.PARSER_CONSTEXPR_TIME_LIMIT)) {
+			updateConstexprBudget();
 		}
 	}
 
@@ -315,6 +339,52 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		ChunkCache.getSharedInstance().setMaxSize(m2);
 	}
 
+	/**
+	 * Selects the storage mode for indexes opened from now on, indexes that are already open
+	 * keep their mode.
+	 */
+	private void updateStorageMode() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		boolean memoryMapped = prefs.getBoolean(CCorePlugin.PLUGIN_ID,
+				CCorePreferenceConstants.INDEX_DB_MEMORY_MAPPED, false, null);
+		Database.setUseMemoryMappedStorage(memoryMapped);
+		boolean journal = prefs.getBoolean(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.INDEX_DB_JOURNAL, false,
+				null);
+		Database.setUseJournal(journal);
+	}
+
+	private void updateTokenCache() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		boolean enabled = prefs.getBoolean(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.PARSER_TOKEN_CACHE, true,
+				null);
+		File directory = CCorePlugin.getDefault().getStateLocation().append("tokens").toFile(); //$NON-NLS-1$
+		LexerTokenCache.getInstance().configure(enabled, directory);
+	}
+
+	private void updateHeaderSnapshotCache() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		boolean enabled = prefs.getBoolean(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.PARSER_HEADER_SNAPSHOTS,
+				false, null);
+		File directory = CCorePlugin.getDefault().getStateLocation().append("snapshots").toFile(); //$NON-NLS-1$
+		HeaderSnapshotCache.getInstance().configure(enabled, directory);
+	}
+
+	private void updateConstexprBudget() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		int maxSteps = prefs.getInt(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.PARSER_CONSTEXPR_MAX_STEPS,
+				ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS, null);
+		int timeLimit = prefs.getInt(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.PARSER_CONSTEXPR_TIME_LIMIT, 0,
+				null);
+		ConstexprEvaluationContext.setBudget(maxSteps, timeLimit);
+	}
+
+	private void updateFileReadMode() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		boolean memoryMapped = prefs.getBoolean(CCorePlugin.PLUGIN_ID,
+				CCorePreferenceConstants.PARSER_MEMORY_MAPPED_FILES, true, null);
+		FileCharArray.setUseMemoryMappedFiles(memoryMapped);
+	}
+
 	private void updatePathCanonicalizationStrategy() {
 		IPreferencesService prefs = Platform.getPreferencesService();
 		boolean canonicalize = prefs.getBoolean(CCorePlugin.PLUGIN_ID,
@@ -342,6 +412,39 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 	}
 
+	/**
+	 * Returns the statistics about the requests for chunks of the index of each project, for
+	 * the projects whose index has been opened. The statistics are useful to tune the size of
+	 * the chunk cache, see {@link CCorePreferenceConstants#MAX_INDEX_DB_CACHE_SIZE_MB}.
+	 */
+	public Map<IProject, ChunkCacheStatistics> getChunkCacheStatistics() {
+		Map<IProject, ChunkCacheStatistics> result = new HashMap<>();
+		synchronized (fProjectToPDOM) {
+			for (Map.Entry<IProject, IPDOM> entry : fProjectToPDOM.entrySet()) {
+				if (entry.getValue() instanceof PDOM pdom) {
+					result.put(entry.getKey(), pdom.getDB().getCacheStatistics());
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the wait and hold times of the index locks of each project, for the projects whose
+	 * index has been opened.
+	 */
+	public Map<IProject, PDOMLockStatistics> getLockStatistics() {
+		Map<IProject, PDOMLockStatistics> result = new HashMap<>();
+		synchronized (fProjectToPDOM) {
+			for (Map.Entry<IProject, IPDOM> entry : fProjectToPDOM.entrySet()) {
+				if (entry.getValue() instanceof PDOM pdom) {
+					result.put(entry.getKey(), pdom.getLockStatistics());
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Returns the pdom for the project. The call to the method may cause
 	 * opening the database. In case there is a version mismatch the data
@@ -371,6 +474,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 						if (!currentOwner.exists()) {
 							fFileToProject.remove(dbFile);
 							dbFile.delete();
+							Database.getJournalFile(dbFile).delete();
 						}
 						dbName = null;
 						dbFile = null;
@@ -388,17 +492,25 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 			WritablePDOM pdom;
 			try {
+				// Opening the database replays the journal of an index that was not closed properly.
 				pdom = new WritablePDOM(dbFile, new PDOMProjectIndexLocationConverter(project), getLinkageFactories());
+				int recovered = pdom.getDB().getRecoveredCommits();
+				if (recovered > 0) {
+					CCorePlugin.log(IStatus.INFO, "Recovered C/C++ index file " + dbFile.getAbsolutePath() //$NON-NLS-1$
+							+ " from its journal (" + recovered + " commits)"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
 			} catch (CoreException | RuntimeException e) {
 				// Index file is likely corrupted. Recover by rebuilding the index.
 				// See http://bugs.eclipse.org/510054
 				CCorePlugin.log("Failed to open C/C++ index file " + dbFile.getAbsolutePath() //$NON-NLS-1$
 						+ " - rebuilding the index", e); //$NON-NLS-1$
 				dbFile.delete();
+				Database.getJournalFile(dbFile).delete();
 				fromScratch = true;
 				pdom = new WritablePDOM(dbFile, new PDOMProjectIndexLocationConverter(project), getLinkageFactories());
 			}
 
+			updateStorageFormat(pdom, project);
 			if (!pdom.isSupportedVersion() || fromScratch) {
 				try {
 					pdom.acquireWriteLock(monitor);
@@ -1401,6 +1513,17 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		pdom.setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, id);
 	}
 
+	/**
+	 * Selects the storage format of the project pdom according to the indexer preferences. The format
+	 * of an index that is not empty changes when the index is cleared.
+	 * @param pdom the pdom of the project
+	 * @param project the project the pdom belongs to
+	 * @throws CoreException
+	 */
+	public static void updateStorageFormat(WritablePDOM pdom, IProject project) throws CoreException {
+		pdom.getDB().setCompressedStorage(IndexerPreferences.isIndexCompressed(project));
+	}
+
 	@Override
 	public boolean isProjectIndexed(ICProject proj) {
 		return !IPDOMManager.ID_NO_INDEXER.equals(getIndexerId(proj));
@@ -23,6 +23,7 @@ import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexLinkage;
 import org.eclipse.cdt.core.index.IIndexMacro;
@@ -365,6 +366,14 @@ public class PDOMProxy implements IPDOM {
 		return IIndexScope.EMPTY_INDEX_SCOPE_ARRAY;
 	}
 
+	@Override
+	public IType findInstantiation(int linkageID, char[] signature) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findInstantiation(linkageID, signature);
+
+		return null;
+	}
+
 	@Override
 	public synchronized boolean isFullyInitialized() {
 		return fDelegate != null;
@@ -41,11 +41,13 @@ import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.ICompositeType;
 import org.eclipse.cdt.core.dom.ast.IEnumeration;
 import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.ITypedef;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier.ICPPASTBaseSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTQualifiedName;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTUsingDirective;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPAliasTemplateInstance;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassTemplate;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPField;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
@@ -65,9 +67,13 @@ import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalDeclaredVariable;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.InstantiationCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
@@ -313,6 +319,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			throws InterruptedException, CoreException {
 		final IIndexFragmentFile newFile = ctx == null ? null : ctx.fNewFile;
 		SubMonitor progress = SubMonitor.convert(monitor, data.fSelectedFiles.length * 10);
+		final List<IIndexFragmentFile> writtenFiles = new ArrayList<>(data.fSelectedFiles.length);
 		for (int i = 0; i < data.fSelectedFiles.length; i++) {
 			final FileInAST fileInAST = data.fSelectedFiles[i];
 			if (fileInAST != null) {
@@ -343,6 +350,12 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 							}
 						}
 					}
+					if (ifile != null) {
+						writtenFiles.add(ifile);
+					}
+					if (i == data.fSelectedFiles.length - 1) {
+						storeInstantiationsInIndex(data, writtenFiles);
+					}
 				} catch (FailedToReAcquireLockException e) {
 					hasLock = false;
 					e.reThrow();
@@ -457,6 +470,19 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			}
 		}
 
+		if (data.fAST instanceof CPPASTTranslationUnit) {
+			final ConstexprCache constexprCache = ((CPPASTTranslationUnit) data.fAST).getConstexprCache();
+			fStatistics.fConstexprEvaluationCount += constexprCache.getEvaluationCount();
+			fStatistics.fConstexprStepCount += constexprCache.getStepCount();
+			fStatistics.fConstexprExhaustedCount += constexprCache.getExhaustedEvaluationCount();
+			fStatistics.fConstexprCacheHits += constexprCache.getHitCount();
+			fStatistics.fConstexprCacheMisses += constexprCache.getMissCount();
+			final InstantiationCache instantiationCache = ((CPPASTTranslationUnit) data.fAST)
+					.getInstantiationCache();
+			fStatistics.fInstantiationCacheHits += instantiationCache.getHitCount();
+			fStatistics.fInstantiationIndexHits += instantiationCache.getIndexHitCount();
+			fStatistics.fInstantiationCacheMisses += instantiationCache.getMissCount();
+		}
 		fStatistics.fResolutionTime += System.currentTimeMillis() - start;
 	}
 
@@ -630,6 +656,40 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		return false;
 	}
 
+	/**
+	 * Stores the results of instantiations of templates from the index that were computed for the AST,
+	 * such that other translation units can reuse them. The results are discarded when one of the files
+	 * written for the AST, or one of the files they include, is cleared.
+	 */
+	private void storeInstantiationsInIndex(Data data, List<IIndexFragmentFile> writtenFiles) {
+		if (!(data.fAST instanceof CPPASTTranslationUnit) || writtenFiles.isEmpty())
+			return;
+		final InstantiationCache cache = ((CPPASTTranslationUnit) data.fAST).getInstantiationCache();
+		final List<char[]> signatures = new ArrayList<>();
+		final List<IBinding> templates = new ArrayList<>();
+		final List<IType> results = new ArrayList<>();
+		for (Map.Entry<TypeInstantiationRequest, IType> entry : cache.getComputedInstantiations()) {
+			final TypeInstantiationRequest request = entry.getKey();
+			final IType result = entry.getValue();
+			final char[] signature = request.getPersistentSignature();
+			if (signature == null || !TypeInstantiationRequest.isPersistable(result))
+				continue;
+			signatures.add(signature);
+			templates.add(((ICPPAliasTemplateInstance) request.getType()).getTemplateDefinition());
+			results.add(result);
+		}
+		if (signatures.isEmpty())
+			return;
+		try {
+			fStatistics.fStoredInstantiations += data.fIndex.addInstantiations(ILinkage.CPP_LINKAGE_ID,
+					writtenFiles.toArray(new IIndexFragmentFile[writtenFiles.size()]),
+					signatures.toArray(new char[signatures.size()][]), templates.toArray(new IBinding[templates.size()]),
+					results.toArray(new IType[results.size()]));
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
 	private IIndexFragmentFile storeFileInIndex(Data data, FileInAST astFile, int storageLinkageID,
 			YieldableIndexLock lock, IProgressMonitor monitor) throws CoreException, FailedToReAcquireLockException {
 		final IWritableIndex index = data.fIndex;
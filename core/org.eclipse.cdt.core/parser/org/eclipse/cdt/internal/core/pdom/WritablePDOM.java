@@ -16,15 +16,20 @@
 package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
@@ -43,11 +48,13 @@ import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMInclude;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroReferenceName;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
 
 public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	private boolean fClearedBecauseOfVersionMismatch = false;
@@ -80,6 +87,19 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		return super.addFile(linkageID, location, sigMacros);
 	}
 
+	@Override
+	public IIndexFragmentFile[] addFiles(int linkageID, IIndexFileLocation[] locations,
+			ISignificantMacros[] sigMacros) throws CoreException {
+		IIndexFragmentFile[] result = super.addFiles(linkageID, locations, sigMacros);
+		if (uncommittedKey != null) {
+			for (int i = 0; i < result.length; i++) {
+				if (uncommittedKey.equals(new FileContentKey(linkageID, locations[i], sigMacros[i])))
+					result[i] = uncommittedFile;
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public IIndexFragmentFile addUncommittedFile(int linkageID, IIndexFileLocation location,
 			ISignificantMacros significantMacros) throws CoreException {
@@ -362,4 +382,62 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	public long getDatabaseSizeBytes() {
 		return getDB().getSizeBytes();
 	}
+
+	@Override
+	public IStatus getDatabaseStorageStatus() {
+		return getDB().getStorageStatus();
+	}
+
+	@Override
+	public int addInstantiations(int linkageID, IIndexFragmentFile[] files, char[][] signatures,
+			IBinding[] templates, IType[] results) throws CoreException {
+		PDOMLinkage linkage = getLinkage(linkageID);
+		if (linkage == null)
+			return 0;
+		Set<PDOMFile> dependencies = new LinkedHashSet<>();
+		for (IIndexFragmentFile file : files) {
+			collectIncludedFiles((PDOMFile) file, linkageID, dependencies);
+		}
+		List<char[]> storedSignatures = new ArrayList<>(signatures.length);
+		List<IType> storedResults = new ArrayList<>(results.length);
+		for (int i = 0; i < signatures.length; i++) {
+			PDOMFile file = getDefiningFile(linkage, templates[i]);
+			if (file == null || file.getLinkageID() != linkageID)
+				continue;
+			dependencies.add(file);
+			storedSignatures.add(signatures[i]);
+			storedResults.add(results[i]);
+		}
+		return linkage.getInstantiationCache().add(dependencies, storedSignatures, storedResults);
+	}
+
+	private static PDOMFile getDefiningFile(PDOMLinkage linkage, IBinding binding) throws CoreException {
+		PDOMBinding pdomBinding = linkage.adaptBinding(binding);
+		if (pdomBinding == null)
+			return null;
+		PDOMName definition = pdomBinding.getFirstDefinition();
+		if (definition == null) {
+			definition = pdomBinding.getFirstDeclaration();
+			if (definition == null)
+				return null;
+		}
+		return definition.getFile();
+	}
+
+	/**
+	 * Adds the file and the files of the linkage it includes, directly or indirectly.
+	 */
+	private static void collectIncludedFiles(PDOMFile file, int linkageID, Set<PDOMFile> files)
+			throws CoreException {
+		ArrayDeque<PDOMFile> queue = new ArrayDeque<>();
+		if (file.getLinkageID() == linkageID && files.add(file))
+			queue.add(file);
+		while (!queue.isEmpty()) {
+			for (IIndexInclude include : queue.remove().getIncludes()) {
+				PDOMFile included = (PDOMFile) ((PDOMInclude) include).getIncludes();
+				if (included != null && included.getLinkageID() == linkageID && files.add(included))
+					queue.add(included);
+			}
+		}
+	}
 }
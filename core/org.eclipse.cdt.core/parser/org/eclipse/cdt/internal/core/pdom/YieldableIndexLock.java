@@ -56,7 +56,8 @@ public class YieldableIndexLock {
 	}
 
 	/**
-	 * Yields the lock temporarily if somebody is waiting for a read lock.
+	 * Yields the lock temporarily if somebody is waiting for a read lock. The waiting readers
+	 * obtain their locks before the write lock is reacquired.
 	 * @throws FailedToReAcquireLockException when lock is not reacquired.
 	 */
 	public void yield() throws FailedToReAcquireLockException {
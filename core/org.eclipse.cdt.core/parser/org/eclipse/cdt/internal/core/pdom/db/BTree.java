@@ -106,16 +106,127 @@ public class BTree {
 			return record;
 		}
 
-		return insert(null, 0, 0, root, record);
+		return insert(null, 0, 0, root, record, 0, null);
 	}
 
-	private long insert(Chunk pChunk, long parent, int iParent, long node, long record) throws CoreException {
+	/**
+	 * Inserts all records into the b-tree, as if {@link #insert(long)} was called for each of them.
+	 * The records are sorted according to the comparator of the b-tree, in place. Consecutive
+	 * records are then added to the leaf that received the previous record as long as it has room
+	 * and covers their keys, such that a batch of similar keys does not walk down the tree
+	 * once per record.
+	 *
+	 * @param records the offsets of the records, sorted by this method
+	 * @return for each of the sorted records the record that was inserted or that matched it
+	 */
+	public long[] insertAll(long[] records) throws CoreException {
+		sort(records);
+		final long[] result = new long[records.length];
+		final Finger finger = new Finger();
+		for (int i = 0; i < records.length; i++) {
+			final long record = records[i];
+			long inserted = 0;
+			if (finger.fLeaf != 0) {
+				inserted = insertIntoLeaf(finger, record);
+			}
+			if (inserted == 0) {
+				long root = getRoot();
+				if (root == 0) {
+					firstInsert(record);
+					finger.fLeaf = getRoot();
+					finger.fUpperBound = 0;
+					inserted = record;
+				} else {
+					finger.fLeaf = 0;
+					inserted = insert(null, 0, 0, root, record, 0, finger);
+				}
+			}
+			result[i] = inserted;
+		}
+		return result;
+	}
+
+	/**
+	 * The leaf that received the last record of a batch together with the smallest record
+	 * of the tree that is larger than all records of the leaf, or 0 if there is none.
+	 */
+	private static class Finger {
+		long fLeaf;
+		long fUpperBound;
+	}
+
+	/**
+	 * Inserts the record into the leaf of the finger, which must not hold records larger
+	 * than the given one. Returns 0 when the leaf is full or does not cover the record.
+	 */
+	private long insertIntoLeaf(Finger finger, long record) throws CoreException {
+		final long node = finger.fLeaf;
+		final Chunk chunk = db.getChunk(node);
+		if (getRecord(chunk, node, MAX_RECORDS - 1) != 0)
+			return 0;
+		if (finger.fUpperBound != 0 && cmp.compare(record, finger.fUpperBound) >= 0)
+			return 0;
+
+		int lower = 0;
+		int upper = MAX_RECORDS - 1;
+		while (lower < upper && getRecord(chunk, node, upper - 1) == 0) {
+			upper--;
+		}
+		while (lower < upper) {
+			int middle = (lower + upper) >>> 1;
+			long checkRec = getRecord(chunk, node, middle);
+			int compare = cmp.compare(checkRec, record);
+			if (compare > 0) {
+				upper = middle;
+			} else if (compare < 0) {
+				lower = middle + 1;
+			} else {
+				return checkRec;
+			}
+		}
+		for (int j = MAX_RECORDS - 2; j >= lower; --j) {
+			long r = getRecord(chunk, node, j);
+			if (r != 0)
+				putRecord(chunk, node, j + 1, r);
+		}
+		putRecord(chunk, node, lower, record);
+		return record;
+	}
+
+	private void sort(long[] records) throws CoreException {
+		if (records.length > 1) {
+			sort(records, records.clone(), 0, records.length);
+		}
+	}
+
+	/**
+	 * Merge sort, stable and without boxing of the records.
+	 */
+	private void sort(long[] records, long[] buffer, int from, int to) throws CoreException {
+		if (to - from < 2)
+			return;
+		final int middle = (from + to) >>> 1;
+		sort(buffer, records, from, middle);
+		sort(buffer, records, middle, to);
+		int i = from;
+		int j = middle;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < middle && cmp.compare(buffer[i], buffer[j]) <= 0)) {
+				records[k] = buffer[i++];
+			} else {
+				records[k] = buffer[j++];
+			}
+		}
+	}
+
+	private long insert(Chunk pChunk, long parent, int iParent, long node, long record, long upperBound,
+			Finger finger) throws CoreException {
 		Chunk chunk = db.getChunk(node);
 
 		// If this node is full (last record isn't null), split it.
 		if (getRecord(chunk, node, MAX_RECORDS - 1) != 0) {
 			long median = getRecord(chunk, node, MEDIAN_RECORD);
-			if (median == record) {
+			if (median == record || cmp.compare(median, record) == 0) {
 				// Found it, never mind.
 				return median;
 			} else {
@@ -157,6 +268,8 @@ public class BTree {
 				if (cmp.compare(record, median) > 0) {
 					node = newnode;
 					chunk = newchunk;
+				} else {
+					upperBound = median;
 				}
 			}
 		}
@@ -189,7 +302,8 @@ public class BTree {
 		long child = getChild(chunk, node, i);
 		if (child != 0) {
 			// Visit the children.
-			return insert(chunk, node, i, child, record);
+			long bound = getRecord(chunk, node, i);
+			return insert(chunk, node, i, child, record, bound != 0 ? bound : upperBound, finger);
 		} else {
 			// We are at the leaf, add us in.
 			// First copy everything after over one.
@@ -199,6 +313,10 @@ public class BTree {
 					putRecord(chunk, node, j + 1, r);
 			}
 			putRecord(chunk, node, i, record);
+			if (finger != null) {
+				finger.fLeaf = node;
+				finger.fUpperBound = upperBound;
+			}
 			return record;
 		}
 	}
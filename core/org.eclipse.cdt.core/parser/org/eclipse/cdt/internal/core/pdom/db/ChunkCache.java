@@ -13,12 +13,37 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.HashSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache for the chunks of all databases that are not memory-mapped.
+ * <p>
+ * The cache is split into segments, a chunk is assigned to a segment by its database and
+ * sequence number. Each segment is guarded by its own lock, which also guards the slots
+ * of the chunks of that segment in the chunk tables of the databases. Operations that need
+ * a consistent view of all chunks of a database use {@link #lockAll()}.
+ * <p>
+ * Each segment uses the 2Q replacement algorithm: chunks that are not known to the segment
+ * enter a small FIFO queue and only chunks that are requested again after they were dropped
+ * from that queue make it into the main LRU queue. This way a full re-index of one project,
+ * which touches most chunks of its database only once, does not evict the frequently used
+ * chunks of the other databases.
+ */
 public final class ChunkCache {
+	static final byte NOT_CACHED = 0;
+	static final byte PROBATION = 1;
+	static final byte PROTECTED = 2;
+
+	private static final int SEGMENT_BITS = 4;
+	private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+	private static final int PROBATION_PERCENT = 25;
+	private static final int GHOST_PERCENT = 50;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private final Segment[] fSegments = new Segment[SEGMENT_COUNT];
+	private volatile long fMaxSize;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,114 +54,260 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			fSegments[i] = new Segment();
+		}
+		setMaxSize(maxSize);
 	}
 
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
-		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
+	/**
+	 * Returns the lock that guards the chunk with the given sequence number of the database,
+	 * both in this cache and in the chunk table of the database.
+	 */
+	ReentrantLock getLock(Database db, int sequenceNumber) {
+		return getSegment(db, sequenceNumber);
+	}
+
+	/**
+	 * Acquires the locks of all segments.
+	 */
+	void lockAll() {
+		for (Segment segment : fSegments) {
+			segment.lock();
+		}
+	}
+
+	void unlockAll() {
+		for (int i = SEGMENT_COUNT; --i >= 0;) {
+			fSegments[i].unlock();
 		}
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Returns whether the current thread holds the lock of any of the segments.
 	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
-			}
+	boolean isLockedByCurrentThread() {
+		for (Segment segment : fSegments) {
+			if (segment.isHeldByCurrentThread())
+				return true;
 		}
+		return false;
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
+	private Segment getSegment(Database db, int sequenceNumber) {
+		final int h = (System.identityHashCode(db) ^ sequenceNumber) * 0x9E3779B9;
+		return fSegments[h >>> (32 - SEGMENT_BITS)];
+	}
+
+	private Segment getSegment(Chunk chunk) {
+		return getSegment(chunk.fDatabase, chunk.fSequenceNumber);
+	}
+
+	public void add(Chunk chunk, boolean locked) {
+		final Segment segment = getSegment(chunk);
+		segment.lock();
+		try {
+			if (locked) {
+				chunk.fLocked = true;
 			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
+			segment.add(chunk);
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	public void remove(Chunk chunk) {
+		final Segment segment = getSegment(chunk);
+		segment.lock();
+		try {
+			segment.remove(chunk);
+		} finally {
+			segment.unlock();
 		}
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		return fMaxSize;
 	}
 
 	/**
-	 * Clears the page table and changes it to hold chunks with
-	 * maximum total memory of <code>maxSize</code>.
+	 * Changes the cache to hold chunks with maximum total memory of <code>maxSize</code>.
+	 * Chunks are evicted as necessary.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
+	public void setMaxSize(long maxSize) {
+		final int length = computeLength(maxSize);
+		final int segmentLength = Math.max(1, length / SEGMENT_COUNT);
+		for (Segment segment : fSegments) {
+			segment.lock();
+			try {
+				segment.setCapacity(segmentLength);
+			} finally {
+				segment.unlock();
 			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
 		}
+		fMaxSize = (long) segmentLength * SEGMENT_COUNT * Database.CHUNK_SIZE;
 	}
 
 	private int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
 	}
+
+	/**
+	 * A segment of the cache. All methods must be called while holding the lock of the segment.
+	 */
+	@SuppressWarnings("serial")
+	private static final class Segment extends ReentrantLock {
+		private int fCapacity;
+		private int fProbationCapacity;
+		private int fGhostCapacity;
+
+		// Queue for chunks that entered the cache recently, first in first out.
+		private Chunk fProbationHead;
+		private Chunk fProbationTail;
+		private int fProbationSize;
+
+		// Queue for chunks that were requested again, least recently used at the tail.
+		private Chunk fProtectedHead;
+		private Chunk fProtectedTail;
+		private int fProtectedSize;
+
+		// Keys of the chunks recently dropped from the probation queue.
+		private final HashSet<Long> fGhosts = new HashSet<>();
+		private long[] fGhostRing = new long[0];
+		private int fGhostPointer;
+
+		void setCapacity(int capacity) {
+			fCapacity = capacity;
+			fProbationCapacity = Math.max(1, capacity * PROBATION_PERCENT / 100);
+			int ghostCapacity = Math.max(1, capacity * GHOST_PERCENT / 100);
+			if (ghostCapacity != fGhostCapacity) {
+				fGhostCapacity = ghostCapacity;
+				fGhostRing = new long[ghostCapacity];
+				fGhostPointer = 0;
+				fGhosts.clear();
+			}
+			evict();
+		}
+
+		void add(Chunk chunk) {
+			switch (chunk.fCacheQueue) {
+			case PROTECTED:
+				if (chunk != fProtectedHead) {
+					unlink(chunk);
+					linkProtected(chunk);
+				}
+				return;
+			case PROBATION:
+				// Repeated requests within the probation period do not count, scans typically
+				// access the same chunk several times in a row.
+				return;
+			default:
+				if (fGhosts.remove(key(chunk))) {
+					linkProtected(chunk);
+				} else {
+					linkProbation(chunk);
+				}
+				evict();
+			}
+		}
+
+		void remove(Chunk chunk) {
+			if (chunk.fCacheQueue != NOT_CACHED) {
+				unlink(chunk);
+			}
+		}
+
+		private void evict() {
+			while (fProbationSize + fProtectedSize > fCapacity) {
+				final Chunk chunk;
+				if (fProbationSize > fProbationCapacity || fProtectedTail == null) {
+					chunk = fProbationTail;
+					addGhost(key(chunk));
+				} else {
+					chunk = fProtectedTail;
+				}
+				unlink(chunk);
+				chunk.fDatabase.releaseChunk(chunk);
+				chunk.fDatabase.getCacheStatistics().evicted();
+			}
+		}
+
+		private void addGhost(long key) {
+			final long old = fGhostRing[fGhostPointer];
+			if (old != 0) {
+				fGhosts.remove(old);
+			}
+			fGhostRing[fGhostPointer] = key;
+			fGhostPointer = (fGhostPointer + 1) % fGhostRing.length;
+			fGhosts.add(key);
+		}
+
+		private static long key(Chunk chunk) {
+			// Sequence numbers start at 1 for cached chunks, so the key is never 0.
+			return ((long) System.identityHashCode(chunk.fDatabase) << 32) | chunk.fSequenceNumber;
+		}
+
+		private void linkProbation(Chunk chunk) {
+			chunk.fCacheQueue = PROBATION;
+			chunk.fCachePrev = null;
+			chunk.fCacheNext = fProbationHead;
+			if (fProbationHead != null) {
+				fProbationHead.fCachePrev = chunk;
+			} else {
+				fProbationTail = chunk;
+			}
+			fProbationHead = chunk;
+			fProbationSize++;
+		}
+
+		private void linkProtected(Chunk chunk) {
+			chunk.fCacheQueue = PROTECTED;
+			chunk.fCachePrev = null;
+			chunk.fCacheNext = fProtectedHead;
+			if (fProtectedHead != null) {
+				fProtectedHead.fCachePrev = chunk;
+			} else {
+				fProtectedTail = chunk;
+			}
+			fProtectedHead = chunk;
+			fProtectedSize++;
+		}
+
+		private void unlink(Chunk chunk) {
+			final Chunk prev = chunk.fCachePrev;
+			final Chunk next = chunk.fCacheNext;
+			if (chunk.fCacheQueue == PROBATION) {
+				if (prev == null) {
+					fProbationHead = next;
+				} else {
+					prev.fCacheNext = next;
+				}
+				if (next == null) {
+					fProbationTail = prev;
+				} else {
+					next.fCachePrev = prev;
+				}
+				fProbationSize--;
+			} else {
+				if (prev == null) {
+					fProtectedHead = next;
+				} else {
+					prev.fCacheNext = next;
+				}
+				if (next == null) {
+					fProtectedTail = prev;
+				} else {
+					next.fCachePrev = prev;
+				}
+				fProtectedSize--;
+			}
+			chunk.fCachePrev = chunk.fCacheNext = null;
+			chunk.fCacheQueue = NOT_CACHED;
+		}
+	}
 }
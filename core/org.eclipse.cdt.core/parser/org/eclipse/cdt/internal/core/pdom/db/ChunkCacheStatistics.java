@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests for the chunks of one database since it was opened.
+ */
+public final class ChunkCacheStatistics {
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+
+	void hit() {
+		fHits.increment();
+	}
+
+	void miss() {
+		fMisses.increment();
+	}
+
+	void evicted() {
+		fEvictions.increment();
+	}
+
+	/**
+	 * Returns the number of requests for chunks that were in memory.
+	 */
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of requests for chunks that had to be read from disk.
+	 */
+	public long getMisses() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * Returns the number of chunks that were evicted from the cache.
+	 */
+	public long getEvictions() {
+		return fEvictions.sum();
+	}
+
+	/**
+	 * Returns the ratio of hits to requests, or 0 if there were no requests.
+	 */
+	public double getHitRatio() {
+		final long hits = getHits();
+		final long requests = hits + getMisses();
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
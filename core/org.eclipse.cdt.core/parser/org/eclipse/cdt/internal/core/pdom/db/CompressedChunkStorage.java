@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Stores the chunks of a database compressed with {@link LZ4Codec}. The file is divided into sectors,
+ * every chunk occupies between one and {@link #SECTORS_PER_CHUNK} consecutive sectors. A chunk that
+ * does not compress well is stored as is. The location of each chunk is recorded in a table, which is
+ * written together with the file header when the database is flushed completely.
+ * <p>
+ * The layout of the file header in sector 0 is:
+ * <pre>
+ * int magic, int version, int chunkCount, int tableSectors, long tableSector
+ * </pre>
+ * An entry of the table holds <code>sector << 16 | storedLength</code>, or 0 for chunks that were
+ * never written. Free sectors are not recorded in the file, they are recomputed from the table
+ * when the file is opened.
+ */
+final class CompressedChunkStorage {
+	static final int MAGIC = 0x43445A31;
+	static final int VERSION_POSITION = 4;
+
+	private static final int SECTOR_SIZE = 512;
+	private static final int SECTORS_PER_CHUNK = Database.CHUNK_SIZE / SECTOR_SIZE;
+	private static final int HEADER_SIZE = 24;
+	private static final int ENTRY_SIZE = 8;
+	private static final int LENGTH_BITS = 16;
+	private static final long LENGTH_MASK = (1 << LENGTH_BITS) - 1;
+
+	private final Database fDatabase;
+	private final LZ4Codec fCodec = new LZ4Codec();
+	private final byte[] fCompressed = new byte[Database.CHUNK_SIZE];
+	private long[] fTable = new long[1];
+	private long fTableSector;
+	private int fTableSectors;
+	private long fEndSector = 1;
+	private long fStoredBytes;
+	@SuppressWarnings("unchecked")
+	private final ArrayDeque<Long>[] fFreeExtents = new ArrayDeque[SECTORS_PER_CHUNK + 1];
+
+	CompressedChunkStorage(Database database) {
+		fDatabase = database;
+		for (int i = 1; i <= SECTORS_PER_CHUNK; i++) {
+			fFreeExtents[i] = new ArrayDeque<>();
+		}
+	}
+
+	/**
+	 * Returns whether the file of the database starts with the header of a compressed database.
+	 */
+	static boolean isCompressed(Database database) throws IOException {
+		final ByteBuffer buf = ByteBuffer.allocate(4);
+		database.read(buf, 0);
+		return buf.position() == 4 && buf.getInt(0) == MAGIC;
+	}
+
+	/**
+	 * Reads the header and the table of an existing file.
+	 *
+	 * @return the version stored in the header, which is 0 for a file that was not flushed
+	 *     completely.
+	 */
+	synchronized int open() throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		fDatabase.read(header, 0);
+		final int version = header.getInt(VERSION_POSITION);
+		final int chunkCount = header.getInt(8);
+		fTableSectors = header.getInt(12);
+		fTableSector = header.getLong(16);
+
+		fTable = new long[Math.max(1, chunkCount)];
+		final ByteBuffer table = ByteBuffer.allocate(chunkCount * ENTRY_SIZE);
+		readFully(table, fTableSector * SECTOR_SIZE);
+		table.flip().asLongBuffer().get(fTable, 0, chunkCount);
+
+		// Recompute the free sectors.
+		final BitSet used = new BitSet();
+		used.set(0);
+		fEndSector = 1;
+		fStoredBytes = 0;
+		if (fTableSectors > 0) {
+			used.set((int) fTableSector, (int) (fTableSector + fTableSectors));
+			fEndSector = fTableSector + fTableSectors;
+		}
+		for (long entry : fTable) {
+			if (entry != 0) {
+				final long sector = entry >>> LENGTH_BITS;
+				final int length = (int) (entry & LENGTH_MASK);
+				used.set((int) sector, (int) (sector + sectors(length)));
+				fEndSector = Math.max(fEndSector, sector + sectors(length));
+				fStoredBytes += length;
+			}
+		}
+		for (int free = used.nextClearBit(0); free < fEndSector; free = used.nextClearBit(free)) {
+			final int next = used.nextSetBit(free);
+			final int end = next < 0 ? (int) fEndSector : (int) Math.min(fEndSector, next);
+			addFreeRun(free, end - free);
+			free = end;
+		}
+		return version;
+	}
+
+	/**
+	 * Forgets about all chunks, used after the file was truncated.
+	 */
+	synchronized void reset() {
+		fTable = new long[1];
+		fTableSector = 0;
+		fTableSectors = 0;
+		fEndSector = 1;
+		fStoredBytes = 0;
+		for (int i = 1; i <= SECTORS_PER_CHUNK; i++) {
+			fFreeExtents[i].clear();
+		}
+	}
+
+	/**
+	 * Returns the number of chunks recorded in the table.
+	 */
+	synchronized int getChunkCount() {
+		return fTable.length;
+	}
+
+	void read(int index, ByteBuffer buf) throws IOException {
+		final long entry;
+		synchronized (this) {
+			entry = index < fTable.length ? fTable[index] : 0;
+		}
+		final byte[] dst = buf.array();
+		if (entry == 0) {
+			Arrays.fill(dst, (byte) 0);
+			return;
+		}
+		final int length = (int) (entry & LENGTH_MASK);
+		final long position = (entry >>> LENGTH_BITS) * SECTOR_SIZE;
+		if (length == Database.CHUNK_SIZE) {
+			readFully(buf, position);
+			return;
+		}
+		final ByteBuffer compressed = ByteBuffer.allocate(length);
+		readFully(compressed, position);
+		LZ4Codec.decompress(compressed.array(), 0, length, dst);
+	}
+
+	private void readFully(ByteBuffer buf, long position) throws IOException {
+		while (buf.hasRemaining()) {
+			final int before = buf.position();
+			fDatabase.read(buf, position + before);
+			if (buf.position() == before)
+				throw new IOException("Unexpected end of file"); //$NON-NLS-1$
+		}
+	}
+
+	synchronized void write(int index, ByteBuffer buf) throws IOException {
+		final byte[] src = buf.array();
+		int length = fCodec.compress(src, Database.CHUNK_SIZE, fCompressed);
+		byte[] data = fCompressed;
+		if (length < 0 || sectors(length) == SECTORS_PER_CHUNK) {
+			length = Database.CHUNK_SIZE;
+			data = src;
+		}
+
+		if (index >= fTable.length) {
+			fTable = Arrays.copyOf(fTable, Math.max(index + 1, fTable.length + fTable.length / 4));
+		}
+		final long entry = fTable[index];
+		long sector;
+		if (entry != 0 && sectors((int) (entry & LENGTH_MASK)) == sectors(length)) {
+			sector = entry >>> LENGTH_BITS;
+		} else {
+			if (entry != 0) {
+				fFreeExtents[sectors((int) (entry & LENGTH_MASK))].push(entry >>> LENGTH_BITS);
+			}
+			sector = allocate(sectors(length));
+		}
+		if (entry != 0) {
+			fStoredBytes -= entry & LENGTH_MASK;
+		}
+		fStoredBytes += length;
+		fDatabase.write(ByteBuffer.wrap(data, 0, length), sector * SECTOR_SIZE);
+		fTable[index] = sector << LENGTH_BITS | length;
+	}
+
+	/**
+	 * Writes the table of chunks followed by the header.
+	 */
+	synchronized void writeTable(int chunkCount, int version) throws IOException {
+		final int tableSectors = Math.max(1, (chunkCount * ENTRY_SIZE + SECTOR_SIZE - 1) / SECTOR_SIZE);
+		if (tableSectors > fTableSectors) {
+			if (fTableSectors > 0) {
+				addFreeRun(fTableSector, fTableSectors);
+			}
+			// Leave room for growth, such that the table is not moved on every flush.
+			fTableSectors = tableSectors + tableSectors / 4;
+			fTableSector = fEndSector;
+			fEndSector += fTableSectors;
+		}
+		final ByteBuffer table = ByteBuffer.allocate(chunkCount * ENTRY_SIZE);
+		table.asLongBuffer().put(fTable, 0, Math.min(chunkCount, fTable.length));
+		fDatabase.write(table, fTableSector * SECTOR_SIZE);
+
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putInt(version).putInt(chunkCount).putInt(fTableSectors).putLong(fTableSector).flip();
+		fDatabase.write(header, 0);
+	}
+
+	/**
+	 * Returns the number of bytes used by the chunks in the file.
+	 */
+	synchronized long getStoredBytes() {
+		return fStoredBytes;
+	}
+
+	/**
+	 * Returns the number of chunks that have been written to the file.
+	 */
+	synchronized int getStoredChunks() {
+		int count = 0;
+		for (long entry : fTable) {
+			if (entry != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private long allocate(int sectors) {
+		Long sector = fFreeExtents[sectors].poll();
+		if (sector != null)
+			return sector;
+		for (int larger = sectors + 1; larger <= SECTORS_PER_CHUNK; larger++) {
+			sector = fFreeExtents[larger].poll();
+			if (sector != null) {
+				fFreeExtents[larger - sectors].push(sector + sectors);
+				return sector;
+			}
+		}
+		final long result = fEndSector;
+		fEndSector += sectors;
+		return result;
+	}
+
+	private void addFreeRun(long sector, int count) {
+		while (count > 0) {
+			final int n = Math.min(count, SECTORS_PER_CHUNK);
+			fFreeExtents[n].push(sector);
+			sector += n;
+			count -= n;
+		}
+	}
+
+	private static int sectors(int length) {
+		return (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+	}
+}
@@ -23,6 +23,8 @@ import org.eclipse.core.runtime.Status;
  * @author Doug Schaefer
  */
 public class DBStatus extends Status {
+	private double fCompressionRatio = 1;
+
 	/**
 	 * @param exception
 	 */
@@ -33,4 +35,31 @@ public class DBStatus extends Status {
 	public DBStatus(String msg) {
 		super(IStatus.ERROR, CCorePlugin.PLUGIN_ID, 0, msg, null);
 	}
+
+	private DBStatus(int severity, String msg, double compressionRatio) {
+		super(severity, CCorePlugin.PLUGIN_ID, 0, msg, null);
+		fCompressionRatio = compressionRatio;
+	}
+
+	/**
+	 * Creates an informational status describing the storage of a database.
+	 * @param sizeBytes the size of the file of the database
+	 * @param compressed whether the chunks of the database are stored compressed
+	 * @param compressionRatio the ratio between the size of the chunks and the bytes they occupy
+	 */
+	public static DBStatus createStorageStatus(long sizeBytes, boolean compressed, double compressionRatio) {
+		String msg = sizeBytes + " bytes"; //$NON-NLS-1$
+		if (compressed) {
+			msg += String.format(", compressed %.2f:1", compressionRatio); //$NON-NLS-1$
+		}
+		return new DBStatus(IStatus.INFO, msg, compressed ? compressionRatio : 1);
+	}
+
+	/**
+	 * Returns the compression ratio reported by a status created with {@link #createStorageStatus},
+	 * or 1 for other statuses.
+	 */
+	public double getCompressionRatio() {
+		return fCompressionRatio;
+	}
 }
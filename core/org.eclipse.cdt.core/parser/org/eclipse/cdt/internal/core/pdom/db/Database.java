@@ -22,17 +22,24 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -63,6 +70,16 @@ import org.eclipse.osgi.util.NLS;
  *
  * (1) where 2 <= m <= CHUNK_SIZE / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 1
  *
+ * ===== storage modes
+ *
+ * By default chunks are read into private buffers and are managed by the ChunkCache. With memory-mapped
+ * storage the file is mapped in segments of MAPPED_SEGMENT_CHUNKS chunks, the last segment being grown
+ * together with the array of chunks. Chunks are then plain views into the mapped segments. They are neither
+ * read nor cached, which allows getChunk() to work without synchronizing on the cache. The header chunk is
+ * always kept in a private buffer, it is read and written through the file channel in both modes.
+ * The segments are released when the database is cleared or closed, such that the part of the file
+ * that was mapped in advance can be truncated.
+ *
  * ===== block structure
  *
  * offset            content
@@ -99,6 +116,14 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	private static final int MAPPED_SEGMENT_CHUNKS = 16 * 1024; // 64MB per mapped segment.
+	// Releases a mapped segment, null if the platform does not allow to.
+	private static final MethodHandle UNMAPPER = getUnmapper();
+
+	private static volatile boolean sUseMemoryMappedStorage = Boolean
+			.getBoolean("org.eclipse.cdt.core.parser.pdom.mmap"); //$NON-NLS-1$
+	private static volatile boolean sUseJournal = Boolean.getBoolean("org.eclipse.cdt.core.parser.pdom.journal"); //$NON-NLS-1$
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
@@ -113,10 +138,20 @@ public class Database {
 	private int fChunksAllocated;
 	private ChunkCache fCache;
 
+	private final boolean fMemoryMapped;
+	private MappedByteBuffer[] fSegments; // Used with memory-mapped storage, only.
+	// Segments replaced by larger ones, still used by the chunks created before.
+	private final ArrayList<MappedByteBuffer> fReplacedSegments = new ArrayList<>();
+	private DatabaseJournal fJournal; // Used with writable, not memory-mapped storage, only.
+	private CompressedChunkStorage fCompressed; // Used with compressed storage, only.
+	private boolean fCompressOnClear;
+	private int fRecoveredCommits;
+
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	private final ChunkCacheStatistics fCacheStatistics = new ChunkCacheStatistics();
+	private long fCacheHitsAtReset;
+	private long fCacheMissesAtReset;
 
 	/** Soft reference wrapper to keep track of the record for disposed strings. */
 	private static class SoftStringRef extends SoftReference<IString> {
@@ -145,13 +180,68 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, sUseMemoryMappedStorage);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization, not used for memory-mapped storage
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param memoryMapped whether the file is accessed through memory-mapped segments rather than
+	 *     through chunks cached in <code>cache</code>
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean memoryMapped)
+			throws CoreException {
+		this(location, cache, version, openReadOnly, memoryMapped, sUseJournal);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary. A journal left behind
+	 * by a database that was not closed properly is replayed, unless the database is opened read-only.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization, not used for memory-mapped storage
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param memoryMapped whether the file is accessed through memory-mapped segments rather than
+	 *     through chunks cached in <code>cache</code>
+	 * @param journal whether flushes go through a journal, ignored for read-only and for memory-mapped
+	 *     databases
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean memoryMapped,
+			boolean journal) throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			fSegments = new MappedByteBuffer[0];
 			openFile();
+			// Compressed files cannot be mapped and do not use a journal.
+			final boolean compressed = CompressedChunkStorage.isCompressed(this);
+			fMemoryMapped = memoryMapped && !compressed;
+			if (!openReadOnly) {
+				final File journalFile = getJournalFile(location);
+				if (compressed) {
+					journalFile.delete();
+				} else {
+					fRecoveredCommits = DatabaseJournal.recover(journalFile, fFile.getChannel());
+					if (journal && !memoryMapped) {
+						fJournal = new DatabaseJournal(this, journalFile);
+					}
+				}
+			}
 
 			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
+			int storedVersion = 0;
+			if (compressed) {
+				fCompressed = new CompressedChunkStorage(this);
+				storedVersion = fCompressed.open();
+				nChunksOnDisk = fCompressed.getChunkCount();
+			}
+			fCompressOnClear = compressed;
 			fHeaderChunk = new Chunk(this, 0);
 			fHeaderChunk.fLocked = true; // Never makes it into the cache, needed to satisfy assertions.
 			if (nChunksOnDisk <= 0) {
@@ -160,9 +250,11 @@ public class Database {
 				fChunksUsed = fChunksAllocated = fChunks.length;
 			} else {
 				fHeaderChunk.read();
-				fVersion = fHeaderChunk.getInt(VERSION_OFFSET);
+				// The header of a compressed file records whether it was flushed completely.
+				fVersion = compressed ? storedVersion : fHeaderChunk.getInt(VERSION_OFFSET);
 				fChunks = new Chunk[nChunksOnDisk]; // chunk[0] is unused.
 				fChunksUsed = fChunksAllocated = nChunksOnDisk;
+				mapChunks();
 			}
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -186,6 +278,43 @@ public class Database {
 		} while (true);
 	}
 
+	/**
+	 * Reads the content of the chunk with the given sequence number into the buffer.
+	 */
+	void readChunk(int sequenceNumber, ByteBuffer buf) throws IOException {
+		if (fCompressed != null) {
+			fCompressed.read(sequenceNumber, buf);
+		} else {
+			read(buf, (long) sequenceNumber * CHUNK_SIZE);
+		}
+	}
+
+	/**
+	 * Writes the content of the chunk with the given sequence number back to the file.
+	 */
+	void writeChunk(int sequenceNumber, ByteBuffer buf) throws IOException {
+		if (fCompressed != null) {
+			fCompressed.write(sequenceNumber, buf);
+		} else {
+			write(buf, (long) sequenceNumber * CHUNK_SIZE);
+		}
+	}
+
+	/**
+	 * Forces the content of the file to the storage device, called when the journal is checkpointed.
+	 */
+	void force() throws IOException {
+		int retries = 0;
+		while (true) {
+			try {
+				fFile.getChannel().force(true);
+				return;
+			} catch (ClosedChannelException e) {
+				reopen(e, ++retries);
+			}
+		}
+	}
+
 	void write(ByteBuffer buf, long position) throws IOException {
 		int retries = 0;
 		while (true) {
@@ -199,6 +328,90 @@ public class Database {
 		}
 	}
 
+	private MappedByteBuffer map(long position, long size) throws IOException {
+		int retries = 0;
+		while (true) {
+			try {
+				return fFile.getChannel().map(fReadOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, position, size);
+			} catch (ClosedChannelException e) {
+				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
+				reopen(e, ++retries);
+			}
+		}
+	}
+
+	/**
+	 * Makes sure that all allocated chunks are covered by mapped segments. Segments that are already
+	 * mapped with their full size are kept, the last segment is remapped with a larger size. Existing chunks
+	 * continue to work on the previous mapping of the same region of the file.
+	 */
+	private void mapChunks() throws IOException {
+		if (!fMemoryMapped)
+			return;
+
+		final int segmentCount = (fChunksAllocated + MAPPED_SEGMENT_CHUNKS - 1) / MAPPED_SEGMENT_CHUNKS;
+		if (segmentCount > fSegments.length) {
+			MappedByteBuffer[] newSegments = new MappedByteBuffer[segmentCount];
+			System.arraycopy(fSegments, 0, newSegments, 0, fSegments.length);
+			fSegments = newSegments;
+		}
+		for (int i = 0; i < segmentCount; i++) {
+			final int chunksInSegment = Math.min(MAPPED_SEGMENT_CHUNKS, fChunksAllocated - i * MAPPED_SEGMENT_CHUNKS);
+			final long size = (long) chunksInSegment * CHUNK_SIZE;
+			final MappedByteBuffer segment = fSegments[i];
+			if (segment == null || segment.capacity() < size) {
+				fSegments[i] = map((long) i * MAPPED_SEGMENT_CHUNKS * CHUNK_SIZE, size);
+				if (segment != null) {
+					fReplacedSegments.add(segment);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Releases the mapped segments right away rather than when they are garbage collected, such that
+	 * the file can be truncated on all platforms. Must be called only after the chunks have been
+	 * discarded, an access to a released segment crashes the VM.
+	 */
+	private void unmapSegments() {
+		final MappedByteBuffer[] segments = fSegments;
+		fSegments = new MappedByteBuffer[0];
+		if (UNMAPPER != null) {
+			try {
+				for (MappedByteBuffer segment : segments) {
+					if (segment != null) {
+						UNMAPPER.invokeExact((ByteBuffer) segment);
+					}
+				}
+				for (MappedByteBuffer segment : fReplacedSegments) {
+					UNMAPPER.invokeExact((ByteBuffer) segment);
+				}
+			} catch (Throwable e) {
+				CCorePlugin.log(e);
+			}
+		}
+		fReplacedSegments.clear();
+	}
+
+	private static MethodHandle getUnmapper() {
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+			final Field field = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+			field.setAccessible(true);
+			return MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner", //$NON-NLS-1$
+					MethodType.methodType(void.class, ByteBuffer.class)).bindTo(field.get(null));
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// The segments are released by the garbage collector.
+			return null;
+		}
+	}
+
+	private Chunk createMappedChunk(int index) {
+		final MappedByteBuffer segment = fSegments[index / MAPPED_SEGMENT_CHUNKS];
+		final int offset = (index % MAPPED_SEGMENT_CHUNKS) * CHUNK_SIZE;
+		return new Chunk(this, index, segment.slice(offset, CHUNK_SIZE));
+	}
+
 	private void reopen(ClosedChannelException e, int attempt) throws ClosedChannelException, FileNotFoundException {
 		// Only if the current thread was not interrupted we try to reopen the file.
 		if (e instanceof ClosedByInterruptException || attempt >= 20) {
@@ -247,9 +460,29 @@ public class Database {
 		// Chunks have been removed from the cache, so we may just reset the array of chunks.
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		unmapSegments();
 		try {
-			fHeaderChunk.flush(); // Zero out header chunk.
-			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
+			if (fJournal != null) {
+				fJournal.reset(); // The content of the journal must not be replayed into the cleared file.
+				if (fCompressOnClear) {
+					fJournal.close(); // Compressed files do not use a journal.
+					fJournal = null;
+				}
+			}
+			if (fCompressOnClear) {
+				fFile.getChannel().truncate(0);
+				if (fCompressed == null) {
+					fCompressed = new CompressedChunkStorage(this);
+				} else {
+					fCompressed.reset();
+				}
+				fHeaderChunk.flush(); // Zero out header chunk.
+				fCompressed.writeTable(fChunksUsed, 0);
+			} else {
+				fCompressed = null;
+				fHeaderChunk.flush(); // Zero out header chunk.
+				fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
+			}
 		} catch (IOException e) {
 			CCorePlugin.log(e);
 		}
@@ -274,7 +507,8 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			for (int i = 1; i < fChunks.length; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null) {
@@ -282,6 +516,8 @@ public class Database {
 					fChunks[i] = null;
 				}
 			}
+		} finally {
+			fCache.unlockAll();
 		}
 	}
 
@@ -296,27 +532,58 @@ public class Database {
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
 
-		synchronized (fCache) {
+		if (fMemoryMapped) {
+			return getMappedChunk((int) long_index);
+		}
+
+		final int index = (int) long_index;
+		final ReentrantLock lock = fCache.getLock(this, index);
+		lock.lock();
+		try {
 			assert fLocked;
-			final int index = (int) long_index;
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
 			Chunk chunk = fChunks[index];
 			if (chunk == null) {
-				cacheMisses++;
+				fCacheStatistics.miss();
 				chunk = new Chunk(this, index);
 				chunk.read();
 				// Put the chunk in fChunks after it was read successfully.
 				fChunks[index] = chunk;
 			} else {
-				cacheHits++;
+				fCacheStatistics.hit();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
+		} finally {
+			lock.unlock();
 		}
 	}
 
+	/**
+	 * Lock-free variant of {@link #getChunk(long)} for memory-mapped storage. Concurrent readers may
+	 * create more than one chunk for the same index, which is harmless since all of them are views
+	 * of the same mapped memory. The array of chunks and the segments are modified only while holding
+	 * the exclusive lock.
+	 */
+	private Chunk getMappedChunk(int index) throws CoreException {
+		assert fLocked;
+		final Chunk[] chunks = fChunks;
+		if (index < 0 || index >= chunks.length) {
+			databaseCorruptionDetected();
+		}
+		Chunk chunk = chunks[index];
+		if (chunk == null) {
+			fCacheStatistics.miss();
+			chunk = createMappedChunk(index);
+			chunks[index] = chunk;
+		} else {
+			fCacheStatistics.hit();
+		}
+		return chunk;
+	}
+
 	private void databaseCorruptionDetected() throws CoreException {
 		String msg = MessageFormat.format(Messages.getString("Database.CorruptedDatabase"), //$NON-NLS-1$
 				new Object[] { fLocation.getName() });
@@ -376,12 +643,10 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			final int newChunkIndex = fChunksUsed; // fChunks.length;
 
-			final Chunk chunk = new Chunk(this, newChunkIndex);
-			chunk.fDirty = true;
-
 			if (newChunkIndex >= fChunksAllocated) {
 				int increment = Math.max(1024, fChunksAllocated / 20);
 				Chunk[] newchunks = new Chunk[fChunksAllocated + increment];
@@ -389,11 +654,21 @@ public class Database {
 
 				fChunks = newchunks;
 				fChunksAllocated += increment;
+				try {
+					mapChunks();
+				} catch (IOException e) {
+					throw new CoreException(new DBStatus(e));
+				}
 			}
+
+			final Chunk chunk = fMemoryMapped ? createMappedChunk(newChunkIndex) : new Chunk(this, newChunkIndex);
+			chunk.fDirty = true;
 			fChunksUsed += 1;
 			fChunks[newChunkIndex] = chunk;
 
-			fCache.add(chunk, true);
+			if (!fMemoryMapped) {
+				fCache.add(chunk, true);
+			}
 			long address = (long) newChunkIndex * CHUNK_SIZE;
 
 			/*
@@ -409,6 +684,8 @@ public class Database {
 								NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
 			}
 			return address;
+		} finally {
+			fCache.unlockAll();
 		}
 	}
 
@@ -417,21 +694,32 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			final int oldLen = fChunks.length;
 			Chunk[] newchunks = new Chunk[oldLen + numChunks];
 			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
 			for (int i = oldLen; i < oldLen + numChunks; i++) {
 				newchunks[i] = null;
 			}
-			final Chunk chunk = new Chunk(this, oldLen + numChunks - 1);
-			chunk.fDirty = true;
-			newchunks[oldLen + numChunks - 1] = chunk;
 			fChunks = newchunks;
-			fCache.add(chunk, true);
 			fChunksAllocated = oldLen + numChunks;
 			fChunksUsed = oldLen + numChunks;
+			try {
+				mapChunks();
+			} catch (IOException e) {
+				throw new CoreException(new DBStatus(e));
+			}
+			final Chunk chunk = fMemoryMapped ? createMappedChunk(oldLen + numChunks - 1)
+					: new Chunk(this, oldLen + numChunks - 1);
+			chunk.fDirty = true;
+			newchunks[oldLen + numChunks - 1] = chunk;
+			if (!fMemoryMapped) {
+				fCache.add(chunk, true);
+			}
 			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
+		} finally {
+			fCache.unlockAll();
 		}
 	}
 
@@ -623,6 +911,66 @@ public class Database {
 		return addStringToCache(new ShortString(this, offset));
 	}
 
+	private boolean isShortString(long offset) throws CoreException {
+		final int l = getInt(offset);
+		return (l < 0 ? -l : 2 * l) <= ShortString.MAX_BYTE_LENGTH;
+	}
+
+	/**
+	 * Compares the string stored at the given offset with the characters, see
+	 * {@link IString#compare(char[], boolean)}. Unlike {@link #getString(long)} this does not create
+	 * objects for strings that fit into a single chunk.
+	 */
+	public int compareString(long offset, char[] chars, boolean caseSensitive) throws CoreException {
+		if (isShortString(offset))
+			return ShortString.compare(getChunk(offset), offset, chars, caseSensitive);
+		return getString(offset).compare(chars, caseSensitive);
+	}
+
+	/**
+	 * Compares the string stored at the given offset with the characters, see
+	 * {@link IString#comparePrefix(char[], boolean)}. Does not create objects for short strings.
+	 */
+	public int compareStringPrefix(long offset, char[] chars, boolean caseSensitive) throws CoreException {
+		if (isShortString(offset))
+			return ShortString.comparePrefix(getChunk(offset), offset, chars, caseSensitive);
+		return getString(offset).comparePrefix(chars, caseSensitive);
+	}
+
+	/**
+	 * Compares the string stored at the given offset with the characters, see
+	 * {@link IString#compareCompatibleWithIgnoreCase(char[])}. Does not create objects for short strings.
+	 */
+	public int compareStringCompatibleWithIgnoreCase(long offset, char[] chars) throws CoreException {
+		if (isShortString(offset))
+			return ShortString.compareCompatibleWithIgnoreCase(getChunk(offset), offset, chars);
+		return getString(offset).compareCompatibleWithIgnoreCase(chars);
+	}
+
+	/**
+	 * Compares the strings stored at the given offsets, see
+	 * {@link IString#compareCompatibleWithIgnoreCase(IString)}. Does not create objects for short strings.
+	 */
+	public int compareStringsCompatibleWithIgnoreCase(long offset1, long offset2) throws CoreException {
+		if (offset1 == offset2)
+			return 0;
+		if (isShortString(offset1) && isShortString(offset2)) {
+			return ShortString.compareCompatibleWithIgnoreCase(getChunk(offset1), offset1, getChunk(offset2),
+					offset2);
+		}
+		return getString(offset1).compareCompatibleWithIgnoreCase(getString(offset2));
+	}
+
+	/**
+	 * Returns the hash code of the string stored at the given offset, compatible with
+	 * {@link String#hashCode()}.
+	 */
+	public int hashString(long offset) throws CoreException {
+		if (isShortString(offset))
+			return ShortString.hashCode(getChunk(offset), offset);
+		return getString(offset).hashCode();
+	}
+
 	private IString addStringToCache(IString string) {
 		// add string to cache
 		stringCache.put(string.getRecord(), new SoftStringRef(string, stringDisposal));
@@ -667,13 +1015,35 @@ public class Database {
 	public void close() throws CoreException {
 		assert fExclusiveLock;
 		flush();
+		if (fJournal != null) {
+			try {
+				fJournal.close();
+			} catch (IOException e) {
+				throw new CoreException(new DBStatus(e));
+			} finally {
+				fJournal = null;
+			}
+		}
 		removeChunksFromCache();
 
 		// Chunks have been removed from the cache, so we are fine.
 		fHeaderChunk.clear(0, CHUNK_SIZE);
 		fHeaderChunk.fDirty = false;
+		final int chunksUsed = fChunksUsed;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		if (fMemoryMapped) {
+			unmapSegments();
+			if (!fReadOnly) {
+				try {
+					// Remove the part of the file that was mapped in advance.
+					fFile.getChannel().truncate((long) chunksUsed * CHUNK_SIZE);
+				} catch (IOException e) {
+					// The unused chunks will just be treated as being used.
+					CCorePlugin.log(e);
+				}
+			}
+		}
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -690,7 +1060,8 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread via the cache, protected by the lock of the segment of {@link #fCache}
+	 * the chunk belongs to.
 	 */
 	void releaseChunk(final Chunk chunk) {
 		if (!chunk.fLocked) {
@@ -698,6 +1069,104 @@ public class Database {
 		}
 	}
 
+	/**
+	 * Returns whether the file is accessed through memory-mapped segments.
+	 */
+	public boolean isMemoryMapped() {
+		return fMemoryMapped;
+	}
+
+	/**
+	 * Sets whether databases created from now on use memory-mapped storage by default.
+	 */
+	public static void setUseMemoryMappedStorage(boolean value) {
+		sUseMemoryMappedStorage = value;
+	}
+
+	/**
+	 * Selects whether the chunks of the database are stored compressed. The format of a database that
+	 * is not empty changes when it is cleared the next time. Memory-mapped databases cannot be stored
+	 * compressed.
+	 */
+	public void setCompressedStorage(boolean compressed) throws CoreException {
+		if (fMemoryMapped || fReadOnly)
+			return;
+		fCompressOnClear = compressed;
+		try {
+			if (compressed != (fCompressed != null) && fFile.length() == 0) {
+				fCompressed = compressed ? new CompressedChunkStorage(this) : null;
+			}
+			if (fCompressed != null && fJournal != null) {
+				fJournal.close();
+				fJournal = null;
+			}
+		} catch (IOException e) {
+			throw new CoreException(new DBStatus(e));
+		}
+	}
+
+	/**
+	 * Returns whether the chunks of the database are stored compressed.
+	 */
+	public boolean isCompressed() {
+		return fCompressed != null;
+	}
+
+	/**
+	 * Returns the ratio between the size of the chunks written to the file and the number of bytes
+	 * they occupy, or 1 for a database that is not stored compressed.
+	 */
+	public double getCompressionRatio() {
+		final CompressedChunkStorage storage = fCompressed;
+		if (storage == null)
+			return 1;
+		final long stored = storage.getStoredBytes();
+		return stored == 0 ? 1 : (double) storage.getStoredChunks() * CHUNK_SIZE / stored;
+	}
+
+	/**
+	 * Returns a status describing how the database is stored.
+	 */
+	public DBStatus getStorageStatus() {
+		return DBStatus.createStorageStatus(getSizeBytes(), isCompressed(), getCompressionRatio());
+	}
+
+	/**
+	 * Returns whether flushes of the database go through a journal.
+	 */
+	public boolean isJournaled() {
+		return fJournal != null;
+	}
+
+	/**
+	 * Sets whether databases opened for writing from now on use a journal by default.
+	 */
+	public static void setUseJournal(boolean value) {
+		sUseJournal = value;
+	}
+
+	/**
+	 * Returns the location of the journal for the database at the given location.
+	 */
+	public static File getJournalFile(File location) {
+		return new File(location.getPath() + ".journal"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the number of groups of changes that were replayed from the journal when the database
+	 * was opened.
+	 */
+	public int getRecoveredCommits() {
+		return fRecoveredCommits;
+	}
+
+	/**
+	 * Returns the statistics about requests for chunks of this database.
+	 */
+	public ChunkCacheStatistics getCacheStatistics() {
+		return fCacheStatistics;
+	}
+
 	/**
 	 * Returns the cache used for this database.
 	 * @since 4.0
@@ -723,31 +1192,42 @@ public class Database {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
-					for (int i = 1; i < fChunksUsed; i++) {
-						Chunk chunk = fChunks[i];
-						if (chunk != null) {
-							if (chunk.fCacheIndex < 0) {
-								// Locked chunk that has been removed from cache.
-								if (chunk.fDirty) {
-									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
-								} else {
-									chunk.fLocked = false;
-									fChunks[i] = null;
-								}
-							} else if (chunk.fLocked) {
-								// Locked chunk, still in cache.
-								if (chunk.fDirty) {
-									if (flush) {
-										dirtyChunks.add(chunk);
+				if (fMemoryMapped) {
+					collectDirtyMappedChunks(dirtyChunks, flush);
+				} else {
+					fCache.lockAll();
+					try {
+						for (int i = 1; i < fChunksUsed; i++) {
+							Chunk chunk = fChunks[i];
+							if (chunk != null) {
+								if (chunk.fCacheQueue == ChunkCache.NOT_CACHED) {
+									// Locked chunk that has been removed from cache.
+									if (chunk.fDirty) {
+										// Keep in fChunks until it is flushed. With a journal the chunk may only
+										// be written back as part of a complete flush.
+										if (flush || fJournal == null) {
+											dirtyChunks.add(chunk);
+										}
+									} else {
+										chunk.fLocked = false;
+										fChunks[i] = null;
+									}
+								} else if (chunk.fLocked) {
+									// Locked chunk, still in cache.
+									if (chunk.fDirty) {
+										if (flush) {
+											dirtyChunks.add(chunk);
+										}
+									} else {
+										chunk.fLocked = false;
 									}
 								} else {
-									chunk.fLocked = false;
+									assert !chunk.fDirty; // Dirty chunks must be locked.
 								}
-							} else {
-								assert !chunk.fDirty; // Dirty chunks must be locked.
 							}
 						}
+					} finally {
+						fCache.unlockAll();
 					}
 				}
 				// Also handles header chunk.
@@ -758,6 +1238,21 @@ public class Database {
 		}
 	}
 
+	private void collectDirtyMappedChunks(ArrayList<Chunk> dirtyChunks, boolean flush) throws CoreException {
+		// Modifications are in the mapped memory already, forcing them to disk is optional.
+		for (int i = 1; i < fChunksUsed; i++) {
+			Chunk chunk = fChunks[i];
+			if (chunk != null && chunk.fDirty) {
+				dirtyChunks.add(chunk);
+			}
+		}
+		if (!flush && !dirtyChunks.isEmpty()) {
+			// The operating system may write back the mapped pages at any time.
+			markFileIncomplete();
+			dirtyChunks.clear();
+		}
+	}
+
 	public void flush() throws CoreException {
 		assert fLocked;
 		if (fExclusiveLock) {
@@ -771,13 +1266,16 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			for (int i = 1; i < fChunksUsed; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
 					dirtyChunks.add(chunk);
 				}
 			}
+		} finally {
+			fCache.unlockAll();
 		}
 
 		// Also handles header chunk.
@@ -794,46 +1292,121 @@ public class Database {
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
+		assert !fCache.isLockedByCurrentThread();
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
-			if (haveDirtyChunks || fHeaderChunk.fDirty) {
+			if (fJournal != null) {
+				if (isComplete) {
+					commitToJournal(dirtyChunks);
+				}
+			} else if (haveDirtyChunks || fHeaderChunk.fDirty) {
 				markFileIncomplete();
 			}
 			if (haveDirtyChunks) {
-				for (Chunk chunk : dirtyChunks) {
-					if (chunk.fDirty) {
-						chunk.flush();
+				if (fMemoryMapped) {
+					forceMappedChunks(dirtyChunks);
+				} else if (fJournal == null) {
+					for (Chunk chunk : dirtyChunks) {
+						if (chunk.fDirty) {
+							chunk.flush();
+						}
 					}
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
-					for (Chunk chunk : dirtyChunks) {
-						chunk.fLocked = false;
-						if (chunk.fCacheIndex < 0) {
-							fChunks[chunk.fSequenceNumber] = null;
+				if (!fMemoryMapped) {
+					fCache.lockAll();
+					try {
+						for (Chunk chunk : dirtyChunks) {
+							chunk.fLocked = false;
+							if (chunk.fCacheQueue == ChunkCache.NOT_CACHED) {
+								fChunks[chunk.fSequenceNumber] = null;
+							}
 						}
+					} finally {
+						fCache.unlockAll();
 					}
 				}
 			}
 
-			if (isComplete) {
+			if (isComplete && fJournal == null) {
 				if (fHeaderChunk.fDirty || fIsMarkedIncomplete) {
 					fHeaderChunk.putInt(VERSION_OFFSET, fVersion);
 					fHeaderChunk.flush();
+					if (fCompressed != null) {
+						try {
+							fCompressed.writeTable(fChunksUsed, fVersion);
+						} catch (IOException e) {
+							throw new CoreException(new DBStatus(e));
+						}
+					}
 					fIsMarkedIncomplete = false;
 				}
 			}
 		}
 	}
 
+	/**
+	 * Appends the dirty chunks together with the header chunk as one group to the journal, and
+	 * writes them back to the file afterwards.
+	 */
+	private void commitToJournal(final ArrayList<Chunk> dirtyChunks) throws CoreException {
+		final ArrayList<Chunk> group = new ArrayList<>(dirtyChunks.size() + 1);
+		for (Chunk chunk : dirtyChunks) {
+			if (chunk.fDirty) {
+				group.add(chunk);
+			}
+		}
+		if (group.isEmpty() && !fHeaderChunk.fDirty)
+			return;
+
+		fHeaderChunk.putInt(VERSION_OFFSET, fVersion);
+		group.add(fHeaderChunk);
+		try {
+			// The checkpoint must not truncate the journal before the chunks are written back.
+			synchronized (fJournal) {
+				fJournal.commit(group);
+				for (Chunk chunk : group) {
+					chunk.flush();
+				}
+			}
+		} catch (IOException e) {
+			throw new CoreException(new DBStatus(e));
+		}
+	}
+
+	/**
+	 * Forces the mapped pages of the given chunks to the storage device, using one call per segment
+	 * rather than one per chunk. The chunks need to be sorted by their sequence number.
+	 */
+	private void forceMappedChunks(final ArrayList<Chunk> dirtyChunks) {
+		int segmentIndex = -1;
+		int from = 0;
+		int to = 0;
+		for (Chunk chunk : dirtyChunks) {
+			final int seg = chunk.fSequenceNumber / MAPPED_SEGMENT_CHUNKS;
+			final int offset = (chunk.fSequenceNumber % MAPPED_SEGMENT_CHUNKS) * CHUNK_SIZE;
+			if (seg != segmentIndex) {
+				if (segmentIndex >= 0) {
+					fSegments[segmentIndex].force(from, to - from);
+				}
+				segmentIndex = seg;
+				from = offset;
+			}
+			to = offset + CHUNK_SIZE;
+			chunk.fDirty = false;
+		}
+		if (segmentIndex >= 0) {
+			fSegments[segmentIndex].force(from, to - from);
+		}
+	}
+
 	private void markFileIncomplete() throws CoreException {
 		if (!fIsMarkedIncomplete) {
 			fIsMarkedIncomplete = true;
 			try {
 				final ByteBuffer buf = ByteBuffer.wrap(new byte[4]);
-				fFile.getChannel().write(buf, 0);
+				fFile.getChannel().write(buf, fCompressed != null ? CompressedChunkStorage.VERSION_POSITION : 0);
 			} catch (IOException e) {
 				throw new CoreException(new DBStatus(e));
 			}
@@ -841,15 +1414,16 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		fCacheHitsAtReset = fCacheStatistics.getHits();
+		fCacheMissesAtReset = fCacheStatistics.getMisses();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return fCacheStatistics.getHits() - fCacheHitsAtReset;
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return fCacheStatistics.getMisses() - fCacheMissesAtReset;
 	}
 
 	public long getSizeBytes() {
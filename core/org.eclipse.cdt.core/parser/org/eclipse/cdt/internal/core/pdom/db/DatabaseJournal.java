@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * An append-only journal for the chunks of a database. Each flush of the database appends all of its
+ * dirty chunks together with the header chunk as one group, which is forced to the storage device with
+ * a single call. Only then the chunks are written back to the database file, without forcing them.
+ * A checkpoint, which runs in the background, forces the database file and truncates the journal.
+ * <p>
+ * The layout of a group is:
+ * <pre>
+ * int magic, int chunkCount,
+ * chunkCount * (int sequenceNumber, byte[CHUNK_SIZE] content),
+ * int commitMagic, long crc32 (of everything before the commit magic)
+ * </pre>
+ * After a crash, the complete groups are replayed into the database file by {@link #recover}, groups
+ * that were not fully written are ignored.
+ */
+final class DatabaseJournal {
+	private static final int GROUP_MAGIC = 0x43444A47;
+	private static final int COMMIT_MAGIC = 0x43444A43;
+	private static final int GROUP_HEADER_SIZE = 8;
+	private static final int RECORD_SIZE = 4 + Database.CHUNK_SIZE;
+	private static final int COMMIT_SIZE = 12;
+	private static final int WRITE_BATCH = 64; // chunks per gathering write
+
+	private static final long CHECKPOINT_DELAY_MS = 2000;
+	private static final long CHECKPOINT_SIZE = 64L * 1024 * 1024;
+
+	private static ScheduledThreadPoolExecutor sCheckpointExecutor;
+
+	private final Database fDatabase;
+	private final File fLocation;
+	private RandomAccessFile fFile;
+	private long fSize;
+	private ScheduledFuture<?> fPendingCheckpoint;
+
+	DatabaseJournal(Database database, File location) throws IOException {
+		fDatabase = database;
+		fLocation = location;
+		openFile();
+		fFile.getChannel().truncate(0);
+	}
+
+	private void openFile() throws IOException {
+		fFile = new RandomAccessFile(fLocation, "rw"); //$NON-NLS-1$
+	}
+
+	private FileChannel channel() throws IOException {
+		FileChannel channel = fFile.getChannel();
+		if (!channel.isOpen()) {
+			// The channel is closed when a thread is interrupted during an I/O operation.
+			openFile();
+			channel = fFile.getChannel();
+		}
+		return channel;
+	}
+
+	/**
+	 * Appends the given chunks as one group to the journal and forces the journal to the storage
+	 * device. When the method returns the chunks can be written back to the database file without
+	 * forcing it.
+	 */
+	synchronized void commit(List<Chunk> chunks) throws IOException {
+		final FileChannel channel = channel();
+		final CRC32 crc = new CRC32();
+		final ByteBuffer[] batch = new ByteBuffer[2 * WRITE_BATCH];
+		try {
+			channel.position(fSize);
+			ByteBuffer header = ByteBuffer.allocate(GROUP_HEADER_SIZE);
+			header.putInt(GROUP_MAGIC).putInt(chunks.size()).flip();
+			crc.update(header.duplicate());
+			writeFully(channel, new ByteBuffer[] { header }, 1);
+
+			int n = 0;
+			for (Chunk chunk : chunks) {
+				ByteBuffer seq = ByteBuffer.allocate(4);
+				seq.putInt(chunk.fSequenceNumber).flip();
+				ByteBuffer content = chunk.getContents();
+				crc.update(seq.duplicate());
+				crc.update(content.duplicate());
+				batch[n++] = seq;
+				batch[n++] = content;
+				if (n == batch.length) {
+					writeFully(channel, batch, n);
+					n = 0;
+				}
+			}
+			writeFully(channel, batch, n);
+
+			ByteBuffer commit = ByteBuffer.allocate(COMMIT_SIZE);
+			commit.putInt(COMMIT_MAGIC).putLong(crc.getValue()).flip();
+			writeFully(channel, new ByteBuffer[] { commit }, 1);
+			channel.force(false);
+			fSize = channel.position();
+		} catch (IOException e) {
+			// Drop the incomplete group.
+			try {
+				channel().truncate(fSize);
+			} catch (IOException e2) {
+			}
+			throw e;
+		}
+		scheduleCheckpoint();
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer[] buffers, int length) throws IOException {
+		long remaining = 0;
+		for (int i = 0; i < length; i++) {
+			remaining += buffers[i].remaining();
+		}
+		while (remaining > 0) {
+			remaining -= channel.write(buffers, 0, length);
+		}
+	}
+
+	private void scheduleCheckpoint() {
+		final long delay = fSize >= CHECKPOINT_SIZE ? 0 : CHECKPOINT_DELAY_MS;
+		if (fPendingCheckpoint != null && !fPendingCheckpoint.isDone()) {
+			if (delay > 0 || fPendingCheckpoint.getDelay(TimeUnit.MILLISECONDS) <= 0)
+				return;
+			fPendingCheckpoint.cancel(false);
+		}
+		fPendingCheckpoint = getCheckpointExecutor().schedule(this::checkpointInBackground, delay,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private static synchronized ScheduledThreadPoolExecutor getCheckpointExecutor() {
+		if (sCheckpointExecutor == null) {
+			sCheckpointExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread thread = new Thread(r, "C/C++ Index Journal Checkpoint"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			sCheckpointExecutor.setRemoveOnCancelPolicy(true);
+		}
+		return sCheckpointExecutor;
+	}
+
+	private void checkpointInBackground() {
+		try {
+			checkpoint();
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Forces the database file to the storage device and truncates the journal.
+	 */
+	synchronized void checkpoint() throws IOException {
+		if (fFile == null || fSize == 0)
+			return;
+
+		fDatabase.force();
+		final FileChannel channel = channel();
+		channel.truncate(0);
+		channel.force(true);
+		fSize = 0;
+	}
+
+	/**
+	 * Discards the content of the journal, used when the database is cleared.
+	 */
+	synchronized void reset() throws IOException {
+		cancelCheckpoint();
+		final FileChannel channel = channel();
+		channel.truncate(0);
+		channel.force(true);
+		fSize = 0;
+	}
+
+	/**
+	 * Checkpoints the journal and deletes its file.
+	 */
+	synchronized void close() throws IOException {
+		cancelCheckpoint();
+		checkpoint();
+		fFile.close();
+		fFile = null;
+		fLocation.delete();
+	}
+
+	private void cancelCheckpoint() {
+		if (fPendingCheckpoint != null) {
+			fPendingCheckpoint.cancel(false);
+			fPendingCheckpoint = null;
+		}
+	}
+
+	/**
+	 * Returns the current size of the journal in bytes.
+	 */
+	synchronized long getSize() {
+		return fSize;
+	}
+
+	/**
+	 * Replays the complete groups of the journal at the given location into the database file and
+	 * deletes the journal afterwards. A journal for an empty database file is discarded.
+	 *
+	 * @return the number of groups that have been replayed.
+	 */
+	static int recover(File location, FileChannel target) throws IOException {
+		if (!location.exists())
+			return 0;
+
+		int groups = 0;
+		try (RandomAccessFile file = new RandomAccessFile(location, "r")) { //$NON-NLS-1$
+			final FileChannel in = file.getChannel();
+			final long size = in.size();
+			final ByteBuffer header = ByteBuffer.allocate(GROUP_HEADER_SIZE);
+			final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+			final ByteBuffer commit = ByteBuffer.allocate(COMMIT_SIZE);
+			long pos = 0;
+			while (target.size() > 0) {
+				if (!readFully(in, header.clear(), pos) || header.getInt(0) != GROUP_MAGIC)
+					break;
+				final int count = header.getInt(4);
+				final long end = pos + GROUP_HEADER_SIZE + (long) count * RECORD_SIZE;
+				if (count <= 0 || end + COMMIT_SIZE > size)
+					break;
+				if (!readFully(in, commit.clear(), end) || commit.getInt(0) != COMMIT_MAGIC)
+					break;
+
+				// Check the group before modifying the database.
+				final CRC32 crc = new CRC32();
+				crc.update(header.flip());
+				for (long p = pos + GROUP_HEADER_SIZE; p < end; p += RECORD_SIZE) {
+					if (!readFully(in, record.clear(), p))
+						break;
+					crc.update(record.flip());
+				}
+				if (crc.getValue() != commit.getLong(4))
+					break;
+
+				for (long p = pos + GROUP_HEADER_SIZE; p < end; p += RECORD_SIZE) {
+					readFully(in, record.clear(), p);
+					final ByteBuffer content = record.flip().slice(4, Database.CHUNK_SIZE);
+					final long offset = (long) record.getInt(0) * Database.CHUNK_SIZE;
+					while (content.hasRemaining()) {
+						target.write(content, offset + content.position());
+					}
+				}
+				groups++;
+				pos = end + COMMIT_SIZE;
+			}
+			if (groups > 0) {
+				target.force(true);
+			}
+		}
+		if (!location.delete()) {
+			throw new IOException("Cannot delete journal " + location); //$NON-NLS-1$
+		}
+		return groups;
+	}
+
+	private static boolean readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		while (buf.hasRemaining()) {
+			if (channel.read(buf, position + buf.position()) < 0)
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A compressor and decompressor for the LZ4 block format, tuned for buffers of the size of a chunk.
+ * The compressor uses a single hash table probe per position, which trades compression ratio for
+ * speed, the output can be decompressed by any LZ4 implementation.
+ */
+final class LZ4Codec {
+	private static final int MIN_MATCH = 4;
+	private static final int MF_LIMIT = 12; // The last match must start this many bytes before the end.
+	private static final int LAST_LITERALS = 5; // The last bytes are always encoded as literals.
+	private static final int MAX_DISTANCE = 0xFFFF;
+	private static final int HASH_LOG = 12;
+	private static final int RUN_MASK = 0x0F;
+
+	private final int[] fHashTable = new int[1 << HASH_LOG];
+
+	/**
+	 * Compresses <code>src[0..srcLength)</code> into <code>dst</code>.
+	 *
+	 * @return the length of the compressed data, or -1 if it does not fit into <code>dst</code>.
+	 */
+	int compress(byte[] src, int srcLength, byte[] dst) {
+		final int[] table = fHashTable;
+		Arrays.fill(table, -1);
+
+		int ip = 0;
+		int anchor = 0;
+		int op = 0;
+		final int matchLimit = srcLength - LAST_LITERALS;
+		final int limit = srcLength - MF_LIMIT;
+		while (ip < limit) {
+			final int sequence = readInt(src, ip);
+			final int h = hash(sequence);
+			int ref = table[h];
+			table[h] = ip;
+			if (ref < 0 || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+				ip++;
+				continue;
+			}
+			// Extend the match backwards into the pending literals.
+			while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+				ip--;
+				ref--;
+			}
+			int matchLength = MIN_MATCH;
+			while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+				matchLength++;
+			}
+			op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op);
+			if (op < 0)
+				return -1;
+			ip += matchLength;
+			anchor = ip;
+		}
+		return writeSequence(src, anchor, srcLength - anchor, 0, 0, dst, op);
+	}
+
+	/**
+	 * Writes a sequence of literals followed by a match, a match length of zero denotes the final
+	 * sequence that consists of literals, only.
+	 */
+	private static int writeSequence(byte[] src, int literalStart, int literalLength, int distance, int matchLength,
+			byte[] dst, int op) {
+		final int matchCode = matchLength == 0 ? 0 : matchLength - MIN_MATCH;
+		final int required = 1 + literalLength / 255 + 1 + literalLength + (matchLength == 0 ? 0 : 3 + matchCode / 255);
+		if (op + required > dst.length)
+			return -1;
+		final int tokenPos = op++;
+		int token;
+		if (literalLength >= RUN_MASK) {
+			token = RUN_MASK << 4;
+			op = writeLength(literalLength - RUN_MASK, dst, op);
+		} else {
+			token = literalLength << 4;
+		}
+		System.arraycopy(src, literalStart, dst, op, literalLength);
+		op += literalLength;
+		if (matchLength != 0) {
+			dst[op++] = (byte) distance;
+			dst[op++] = (byte) (distance >>> 8);
+			if (matchCode >= RUN_MASK) {
+				token |= RUN_MASK;
+				op = writeLength(matchCode - RUN_MASK, dst, op);
+			} else {
+				token |= matchCode;
+			}
+		}
+		dst[tokenPos] = (byte) token;
+		return op;
+	}
+
+	private static int writeLength(int length, byte[] dst, int op) {
+		while (length >= 255) {
+			dst[op++] = (byte) 255;
+			length -= 255;
+		}
+		dst[op++] = (byte) length;
+		return op;
+	}
+
+	/**
+	 * Decompresses <code>src[srcOffset..srcOffset+srcLength)</code> into <code>dst</code>, which
+	 * needs to be filled exactly.
+	 *
+	 * @throws IOException in case the data is malformed.
+	 */
+	static void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst) throws IOException {
+		final int srcEnd = srcOffset + srcLength;
+		int ip = srcOffset;
+		int op = 0;
+		try {
+			while (true) {
+				final int token = src[ip++] & 0xFF;
+				int literalLength = token >>> 4;
+				if (literalLength == RUN_MASK) {
+					int b;
+					do {
+						b = src[ip++] & 0xFF;
+						literalLength += b;
+					} while (b == 255);
+				}
+				if (ip + literalLength > srcEnd || op + literalLength > dst.length)
+					throw corrupted();
+				System.arraycopy(src, ip, dst, op, literalLength);
+				ip += literalLength;
+				op += literalLength;
+				if (ip == srcEnd)
+					break;
+
+				final int distance = (src[ip++] & 0xFF) | (src[ip++] & 0xFF) << 8;
+				int matchLength = token & RUN_MASK;
+				if (matchLength == RUN_MASK) {
+					int b;
+					do {
+						b = src[ip++] & 0xFF;
+						matchLength += b;
+					} while (b == 255);
+				}
+				matchLength += MIN_MATCH;
+				int ref = op - distance;
+				if (distance == 0 || ref < 0 || op + matchLength > dst.length)
+					throw corrupted();
+				if (distance >= matchLength) {
+					System.arraycopy(dst, ref, dst, op, matchLength);
+					op += matchLength;
+				} else {
+					// Overlapping match, repeats the last 'distance' bytes.
+					for (int i = 0; i < matchLength; i++) {
+						dst[op++] = dst[ref++];
+					}
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw corrupted();
+		}
+		if (op != dst.length)
+			throw corrupted();
+	}
+
+	private static IOException corrupted() {
+		return new IOException("Corrupted compressed chunk"); //$NON-NLS-1$
+	}
+
+	private static int readInt(byte[] buf, int i) {
+		return (buf[i] & 0xFF) | (buf[i + 1] & 0xFF) << 8 | (buf[i + 2] & 0xFF) << 16 | (buf[i + 3] & 0xFF) << 24;
+	}
+
+	private static int hash(int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
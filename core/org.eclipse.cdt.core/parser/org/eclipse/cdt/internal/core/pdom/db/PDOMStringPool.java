@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A pool of reference counted strings stored in the database. Each string is stored only once,
+ * such that two records refer to equal strings if and only if they use the same string record.
+ * <p>
+ * The pool is a hash table with chained entries. The buckets are spread over pages, which are
+ * referenced from a directory; the number of pages is doubled when the table gets too full.
+ * Looking up a string neither reads nor creates java strings for strings fitting into a chunk.
+ * <p>
+ * Adding and releasing strings requires the exclusive lock on the database, lookups can be done
+ * concurrently.
+ */
+public class PDOMStringPool {
+	// Fields of the root record.
+	private static final int DIRECTORY = 0;
+	private static final int PAGE_COUNT = 4;
+	private static final int SIZE = 8;
+	private static final int ROOT_SIZE = 12;
+
+	// Fields of an entry.
+	private static final int NEXT = 0;
+	private static final int HASH = 4;
+	private static final int REFERENCES = 8;
+	private static final int STRING = 12;
+	private static final int ENTRY_SIZE = 16;
+
+	private static final int BUCKETS_PER_PAGE_BITS = 9;
+	private static final int BUCKETS_PER_PAGE = 1 << BUCKETS_PER_PAGE_BITS;
+	private static final int MAX_PAGES = 512;
+	private static final int LOAD_FACTOR_PERCENT = 75;
+
+	private final Database db;
+	private final long rootPointer;
+
+	/**
+	 * @param db the database containing the pool
+	 * @param rootPointer offset into database of the pointer to the root record of the pool
+	 */
+	public PDOMStringPool(Database db, long rootPointer) {
+		this.db = db;
+		this.rootPointer = rootPointer;
+	}
+
+	/**
+	 * Computes the hash of the characters, compatible with {@link String#hashCode()}.
+	 */
+	private static int hash(char[] chars) {
+		int h = 0;
+		for (char c : chars) {
+			h = 31 * h + c;
+		}
+		return h;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Returns the offset of the bucket for the hash.
+	 */
+	private long getBucket(long root, int hash) throws CoreException {
+		final int capacity = db.getInt(root + PAGE_COUNT) << BUCKETS_PER_PAGE_BITS;
+		return getBucketOfIndex(db.getRecPtr(root + DIRECTORY), spread(hash) & (capacity - 1));
+	}
+
+	/**
+	 * Returns the record of the string equal to the given characters, or 0 if the pool does not
+	 * contain such a string.
+	 */
+	public long find(char[] chars) throws CoreException {
+		final long root = db.getRecPtr(rootPointer);
+		if (root == 0)
+			return 0;
+
+		final long entry = findEntry(root, chars, hash(chars));
+		return entry != 0 ? db.getRecPtr(entry + STRING) : 0;
+	}
+
+	private long findEntry(long root, char[] chars, int hash) throws CoreException {
+		long entry = db.getRecPtr(getBucket(root, hash));
+		while (entry != 0) {
+			if (db.getInt(entry + HASH) == hash && db.compareString(db.getRecPtr(entry + STRING), chars, true) == 0)
+				return entry;
+			entry = db.getRecPtr(entry + NEXT);
+		}
+		return 0;
+	}
+
+	/**
+	 * Adds a reference to the string equal to the given characters and returns its record. The
+	 * string is stored in the database, if it is not yet part of the pool.
+	 */
+	public long intern(char[] chars) throws CoreException {
+		long root = db.getRecPtr(rootPointer);
+		if (root == 0) {
+			root = createRoot();
+		}
+		final int hash = hash(chars);
+		long entry = findEntry(root, chars, hash);
+		if (entry != 0) {
+			db.putInt(entry + REFERENCES, db.getInt(entry + REFERENCES) + 1);
+			return db.getRecPtr(entry + STRING);
+		}
+
+		final long string = db.newString(chars).getRecord();
+		entry = db.malloc(ENTRY_SIZE);
+		final long bucket = getBucket(root, hash);
+		db.putRecPtr(entry + NEXT, db.getRecPtr(bucket));
+		db.putInt(entry + HASH, hash);
+		db.putInt(entry + REFERENCES, 1);
+		db.putRecPtr(entry + STRING, string);
+		db.putRecPtr(bucket, entry);
+
+		final int size = db.getInt(root + SIZE) + 1;
+		db.putInt(root + SIZE, size);
+		final int pages = db.getInt(root + PAGE_COUNT);
+		if (pages < MAX_PAGES && size > ((long) pages * BUCKETS_PER_PAGE * LOAD_FACTOR_PERCENT) / 100) {
+			grow(root, pages);
+		}
+		return string;
+	}
+
+	/**
+	 * Removes a reference to the given string record, the string is deleted when the last reference
+	 * is released. Strings that are not part of the pool are deleted right away.
+	 */
+	public void release(long string) throws CoreException {
+		final long root = db.getRecPtr(rootPointer);
+		if (root != 0) {
+			final long bucket = getBucket(root, db.hashString(string));
+			long prev = 0;
+			long entry = db.getRecPtr(bucket);
+			while (entry != 0) {
+				final long next = db.getRecPtr(entry + NEXT);
+				if (db.getRecPtr(entry + STRING) == string) {
+					final int references = db.getInt(entry + REFERENCES) - 1;
+					if (references > 0) {
+						db.putInt(entry + REFERENCES, references);
+						return;
+					}
+					if (prev == 0) {
+						db.putRecPtr(bucket, next);
+					} else {
+						db.putRecPtr(prev + NEXT, next);
+					}
+					db.free(entry);
+					db.putInt(root + SIZE, db.getInt(root + SIZE) - 1);
+					break;
+				}
+				prev = entry;
+				entry = next;
+			}
+		}
+		db.free(string);
+	}
+
+	/**
+	 * Returns the number of distinct strings in the pool.
+	 */
+	public int size() throws CoreException {
+		final long root = db.getRecPtr(rootPointer);
+		return root != 0 ? db.getInt(root + SIZE) : 0;
+	}
+
+	private long createRoot() throws CoreException {
+		final long root = db.malloc(ROOT_SIZE);
+		final long directory = db.malloc(MAX_PAGES * Database.PTR_SIZE);
+		db.putRecPtr(directory, db.malloc(BUCKETS_PER_PAGE * Database.PTR_SIZE));
+		db.putRecPtr(root + DIRECTORY, directory);
+		db.putInt(root + PAGE_COUNT, 1);
+		db.putRecPtr(rootPointer, root);
+		return root;
+	}
+
+	/**
+	 * Doubles the number of buckets. The entries of bucket <code>i</code> are either kept or moved
+	 * to bucket <code>i + capacity</code> of the new pages.
+	 */
+	private void grow(long root, int pages) throws CoreException {
+		final long directory = db.getRecPtr(root + DIRECTORY);
+		for (int i = pages; i < 2 * pages; i++) {
+			db.putRecPtr(directory + i * Database.PTR_SIZE, db.malloc(BUCKETS_PER_PAGE * Database.PTR_SIZE));
+		}
+		final int capacity = pages << BUCKETS_PER_PAGE_BITS;
+		for (int index = 0; index < capacity; index++) {
+			final long bucket = getBucketOfIndex(directory, index);
+			long keep = 0;
+			long move = 0;
+			long entry = db.getRecPtr(bucket);
+			while (entry != 0) {
+				final long next = db.getRecPtr(entry + NEXT);
+				if ((spread(db.getInt(entry + HASH)) & capacity) == 0) {
+					db.putRecPtr(entry + NEXT, keep);
+					keep = entry;
+				} else {
+					db.putRecPtr(entry + NEXT, move);
+					move = entry;
+				}
+				entry = next;
+			}
+			db.putRecPtr(bucket, keep);
+			db.putRecPtr(getBucketOfIndex(directory, index + capacity), move);
+		}
+		db.putInt(root + PAGE_COUNT, 2 * pages);
+	}
+
+	private long getBucketOfIndex(long directory, int index) throws CoreException {
+		final long page = db.getRecPtr(directory + (index >>> BUCKETS_PER_PAGE_BITS) * Database.PTR_SIZE);
+		return page + (index & (BUCKETS_PER_PAGE - 1)) * Database.PTR_SIZE;
+	}
+}
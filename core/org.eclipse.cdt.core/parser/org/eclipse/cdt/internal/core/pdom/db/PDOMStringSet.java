@@ -164,15 +164,14 @@ public class PDOMStringSet {
 		if (lazyCache != null)
 			lazyCache.remove(str);
 
+		final char[] chars = str.toCharArray();
 		long prev = 0;
 		long curr = getHead();
 		while (curr != 0) {
 			long next = NodeType.Next.get(db, curr);
 			long item = NodeType.Item.get(db, curr);
 
-			IString string = db.getString(item);
-
-			if (string.compare(str, true) == 0) {
+			if (db.compareString(item, chars, true) == 0) {
 				if (head != curr)
 					NodeType.Next.put(db, prev, next);
 				else {
@@ -121,7 +121,7 @@ public class ShortString implements IString {
 				if (getLength() != chars.length)
 					return false;
 
-				return CharArrayUtils.equals(getChars(), chars);
+				return compare(chars, true) == 0;
 			} else if (obj instanceof String) {
 				String string = (String) obj;
 				if (getLength() != string.length())
@@ -168,7 +168,9 @@ public class ShortString implements IString {
 
 	@Override
 	public int compare(char[] other, boolean caseSensitive) throws CoreException {
-		return compare(getChars(), other, caseSensitive);
+		if (cachedChars != null)
+			return compare(cachedChars, other, caseSensitive);
+		return compare(db.getChunk(record), record, other, caseSensitive);
 	}
 
 	@Override
@@ -183,12 +185,18 @@ public class ShortString implements IString {
 
 	@Override
 	public int compareCompatibleWithIgnoreCase(IString string) throws CoreException {
+		if (string instanceof ShortString other && cachedChars == null && other.cachedChars == null) {
+			return compareCompatibleWithIgnoreCase(db.getChunk(record), record, other.db.getChunk(other.record),
+					other.record);
+		}
 		return compareCompatibleWithIgnoreCase(string.getChars());
 	}
 
 	@Override
 	public int compareCompatibleWithIgnoreCase(char[] other) throws CoreException {
-		return compareCompatibleWithIgnoreCase(getChars(), other);
+		if (cachedChars != null)
+			return compareCompatibleWithIgnoreCase(cachedChars, other);
+		return compareCompatibleWithIgnoreCase(db.getChunk(record), record, other);
 	}
 
 	public static int compareCompatibleWithIgnoreCase(final char[] chars, char[] other) {
@@ -221,7 +229,9 @@ public class ShortString implements IString {
 
 	@Override
 	public int comparePrefix(char[] other, boolean caseSensitive) throws CoreException {
-		return comparePrefix(getChars(), other, caseSensitive);
+		if (cachedChars != null)
+			return comparePrefix(cachedChars, other, caseSensitive);
+		return comparePrefix(db.getChunk(record), record, other, caseSensitive);
 	}
 
 	public static int comparePrefix(final char[] chars, char[] other, boolean caseSensitive) {
@@ -238,6 +248,126 @@ public class ShortString implements IString {
 		return 0;
 	}
 
+	/**
+	 * Returns the character at the given index of the string stored at the given record of the chunk.
+	 */
+	private static char charAt(Chunk chunk, long record, int l, int index) {
+		if (l < 0)
+			return (char) (chunk.getByte(record + CHARS + index) & 0xff);
+		return chunk.getChar(record + CHARS + 2L * index);
+	}
+
+	/**
+	 * Same as {@link #compare(char[], char[], boolean)}, reading the characters of the first string
+	 * directly from the chunk.
+	 */
+	static int compare(Chunk chunk, long record, char[] other, boolean caseSensitive) {
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(charAt(chunk, record, l, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		return length - other.length;
+	}
+
+	/**
+	 * Same as {@link #comparePrefix(char[], char[], boolean)}, reading the characters of the first
+	 * string directly from the chunk.
+	 */
+	static int comparePrefix(Chunk chunk, long record, char[] other, boolean caseSensitive) {
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(charAt(chunk, record, l, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		if (length < other.length)
+			return -1;
+
+		return 0;
+	}
+
+	/**
+	 * Same as {@link #compareCompatibleWithIgnoreCase(char[], char[])}, reading the characters of the
+	 * first string directly from the chunk.
+	 */
+	static int compareCompatibleWithIgnoreCase(Chunk chunk, long record, char[] other) {
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		int sensitiveCmp = 0;
+
+		for (int i = 0; i < n; i++) {
+			final char c1 = charAt(chunk, record, l, i);
+			final char c2 = other[i];
+			if (c1 != c2) {
+				int cmp = compareChars(c1, c2, false); // insensitive
+				if (cmp != 0)
+					return cmp;
+
+				if (sensitiveCmp == 0) {
+					sensitiveCmp = c1 < c2 ? -1 : 1;
+				}
+			}
+		}
+		int cmp = length - other.length;
+		if (cmp != 0)
+			return cmp;
+
+		return sensitiveCmp;
+	}
+
+	/**
+	 * Same as {@link #compareCompatibleWithIgnoreCase(char[], char[])} for two strings that are read
+	 * directly from the chunks.
+	 */
+	static int compareCompatibleWithIgnoreCase(Chunk chunk1, long record1, Chunk chunk2, long record2) {
+		final int l1 = chunk1.getInt(record1 + LENGTH);
+		final int l2 = chunk2.getInt(record2 + LENGTH);
+		final int length1 = Math.abs(l1);
+		final int length2 = Math.abs(l2);
+		final int n = Math.min(length1, length2);
+		int sensitiveCmp = 0;
+
+		for (int i = 0; i < n; i++) {
+			final char c1 = charAt(chunk1, record1, l1, i);
+			final char c2 = charAt(chunk2, record2, l2, i);
+			if (c1 != c2) {
+				int cmp = compareChars(c1, c2, false); // insensitive
+				if (cmp != 0)
+					return cmp;
+
+				if (sensitiveCmp == 0) {
+					sensitiveCmp = c1 < c2 ? -1 : 1;
+				}
+			}
+		}
+		int cmp = length1 - length2;
+		if (cmp != 0)
+			return cmp;
+
+		return sensitiveCmp;
+	}
+
+	/**
+	 * Computes the hash code of the string stored at the given record of the chunk, compatible with
+	 * {@link String#hashCode()}.
+	 */
+	static int hashCode(Chunk chunk, long record) {
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		int h = 0;
+		for (int i = 0; i < length; i++) {
+			h = 31 * h + charAt(chunk, record, l, i);
+		}
+		return h;
+	}
+
 	public final int getLength() throws CoreException {
 		return Math.abs(db.getInt(record + LENGTH));
 	}
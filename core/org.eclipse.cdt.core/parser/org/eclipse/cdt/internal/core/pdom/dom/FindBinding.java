@@ -21,7 +21,6 @@ import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
-import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.OperationCanceledException;
 
@@ -40,9 +39,9 @@ public class FindBinding {
 
 		@Override
 		public int compare(long record1, long record2) throws CoreException {
-			IString nm1 = PDOMNamedNode.getDBName(database, record1);
-			IString nm2 = PDOMNamedNode.getDBName(database, record2);
-			int cmp = nm1.compareCompatibleWithIgnoreCase(nm2);
+			long nm1 = PDOMNamedNode.getNameRecord(database, record1);
+			long nm2 = PDOMNamedNode.getNameRecord(database, record2);
+			int cmp = database.compareStringsCompatibleWithIgnoreCase(nm1, nm2);
 			if (cmp == 0) {
 				long t1 = PDOMBinding.getLocalToFileRec(database, record1);
 				long t2 = PDOMBinding.getLocalToFileRec(database, record2);
@@ -66,6 +65,7 @@ public class FindBinding {
 		private final char[] fName;
 		private final int[] fConstants;
 		private final long fLocalToFile;
+		private long fNameRecord = -1;
 		protected PDOMBinding fResult;
 
 		protected DefaultFindBindingVisitor(PDOMLinkage linkage, char[] name, int[] constants, long localToFile) {
@@ -75,12 +75,27 @@ public class FindBinding {
 			fLocalToFile = localToFile;
 		}
 
+		/**
+		 * Returns whether there is a binding with the name in the index at all, such that the
+		 * search can be skipped for names that are not known to the index.
+		 */
+		public boolean canMatch() throws CoreException {
+			return getNameRecord() != 0;
+		}
+
+		private long getNameRecord() throws CoreException {
+			if (fNameRecord == -1) {
+				fNameRecord = fLinkage.getPDOM().getStringPool().find(fName);
+			}
+			return fNameRecord;
+		}
+
 		// IBTreeVisitor
 		@Override
 		public int compare(long record) throws CoreException {
 			final Database db = fLinkage.getDB();
-			IString nm1 = PDOMNamedNode.getDBName(db, record);
-			int cmp = nm1.compareCompatibleWithIgnoreCase(fName);
+			final long nm1 = PDOMNamedNode.getNameRecord(db, record);
+			int cmp = nm1 == getNameRecord() ? 0 : db.compareStringCompatibleWithIgnoreCase(nm1, fName);
 			if (cmp == 0) {
 				long t1 = PDOMBinding.getLocalToFileRec(db, record);
 				long t2 = fLocalToFile;
@@ -164,11 +179,8 @@ public class FindBinding {
 
 		@Override
 		public int compare(long record1, long record2) throws CoreException {
-			return compare(PDOMNamedNode.getDBName(db, record1), PDOMNamedNode.getDBName(db, record2)); // compare names
-		}
-
-		private int compare(IString nameInDB, IString nameInDB2) throws CoreException {
-			return nameInDB.compareCompatibleWithIgnoreCase(nameInDB2);
+			return db.compareStringsCompatibleWithIgnoreCase(PDOMNamedNode.getNameRecord(db, record1),
+					PDOMNamedNode.getNameRecord(db, record2)); // compare names
 		}
 	}
 
@@ -176,7 +188,9 @@ public class FindBinding {
 			final int[] constants, final long localToFileRec) throws CoreException {
 		final DefaultFindBindingVisitor visitor = new DefaultFindBindingVisitor(linkage, name, constants,
 				localToFileRec);
-		btree.accept(visitor);
+		if (visitor.canMatch()) {
+			btree.accept(visitor);
+		}
 		return visitor.getResult();
 	}
 
@@ -184,9 +198,11 @@ public class FindBinding {
 			final int[] constants, long localToFileRec) throws CoreException {
 		final DefaultFindBindingVisitor visitor = new DefaultFindBindingVisitor(linkage, name, constants,
 				localToFileRec);
-		try {
-			node.accept(visitor);
-		} catch (OperationCanceledException e) {
+		if (visitor.canMatch()) {
+			try {
+				node.accept(visitor);
+			} catch (OperationCanceledException e) {
+			}
 		}
 		return visitor.getResult();
 	}
@@ -21,8 +21,8 @@ import org.eclipse.cdt.core.dom.IPDOMNode;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
-import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -39,6 +39,7 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 	private final boolean caseSensitive;
 	private IProgressMonitor monitor;
 	private int monitorCheckCounter;
+	private long nameRecord = -1;
 
 	private List<PDOMNamedNode> nodes = new ArrayList<>();
 
@@ -89,26 +90,42 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 		monitor = pm;
 	}
 
+	/**
+	 * Returns whether there can be nodes matching the lookup. For exact, case-sensitive lookups
+	 * this is not the case when the name is unknown to the index, the visit can then be skipped.
+	 */
+	public boolean canMatch() throws CoreException {
+		return prefixLookup || !caseSensitive || getNameRecord() != 0;
+	}
+
+	private long getNameRecord() throws CoreException {
+		if (nameRecord == -1) {
+			nameRecord = linkage.getPDOM().getStringPool().find(matchChars);
+		}
+		return nameRecord;
+	}
+
 	@Override
 	final public int compare(long record) throws CoreException {
 		if (monitor != null)
 			checkCancelled();
-		IString rhsName = PDOMNamedNode.getDBName(linkage.getDB(), record);
-		return compare(rhsName);
+		return compareName(record);
 	}
 
-	private int compare(IString rhsName) throws CoreException {
+	private int compareName(long record) throws CoreException {
+		final Database db = linkage.getDB();
+		final long rhsName = PDOMNamedNode.getNameRecord(db, record);
 		int cmp;
 		if (prefixLookup) {
-			cmp = rhsName.comparePrefix(matchChars, false);
+			cmp = db.compareStringPrefix(rhsName, matchChars, false);
 			if (caseSensitive) {
-				cmp = cmp == 0 ? rhsName.comparePrefix(matchChars, true) : cmp;
+				cmp = cmp == 0 ? db.compareStringPrefix(rhsName, matchChars, true) : cmp;
 			}
 		} else {
 			if (caseSensitive) {
-				cmp = rhsName.compareCompatibleWithIgnoreCase(matchChars);
+				cmp = rhsName == getNameRecord() ? 0 : db.compareStringCompatibleWithIgnoreCase(rhsName, matchChars);
 			} else {
-				cmp = rhsName.compare(matchChars, false);
+				cmp = db.compareString(rhsName, matchChars, false);
 			}
 		}
 		return cmp;
@@ -155,7 +172,7 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 
 		if (node instanceof PDOMNamedNode) {
 			PDOMNamedNode pb = (PDOMNamedNode) node;
-			if (compare(pb.getDBName()) == 0) {
+			if (compareName(pb.getRecord()) == 0) {
 				addNode(pb);
 			}
 		}
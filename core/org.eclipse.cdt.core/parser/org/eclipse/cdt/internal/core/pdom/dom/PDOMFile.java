@@ -85,7 +85,8 @@ public class PDOMFile implements IIndexFragmentFile {
 	private static final int FIRST_MACRO_REFERENCE = LAST_USING_DIRECTIVE + Database.PTR_SIZE;
 	private static final int SIGNIFICANT_MACROS = FIRST_MACRO_REFERENCE + Database.PTR_SIZE;
 	private static final int REPLACEMENT_HEADER = SIGNIFICANT_MACROS + Database.PTR_SIZE;
-	private static final int RECORD_SIZE = REPLACEMENT_HEADER + Database.PTR_SIZE; // 9*PTR_SIZE + 3+1+8+8+8+4 = 68
+	private static final int FIRST_INSTANTIATION = REPLACEMENT_HEADER + Database.PTR_SIZE;
+	private static final int RECORD_SIZE = FIRST_INSTANTIATION + Database.PTR_SIZE; // 10*PTR_SIZE + 3+1+8+8+8+4 = 72
 
 	private static final int FLAG_PRAGMA_ONCE_SEMANTICS = 0x01;
 
@@ -213,6 +214,10 @@ public class PDOMFile implements IIndexFragmentFile {
 			name.setFile(this);
 		}
 
+		// Link in the results of instantiations depending on the file
+		setFirstInstantiation(sourceFile.getFirstInstantiation());
+		sourceFile.setFirstInstantiation(0);
+
 		setTimestamp(sourceFile.getTimestamp());
 		setSourceReadTime(sourceFile.getSourceReadTime());
 		setSizeAndEncodingHashcode(sourceFile.getSizeAndEncodingHashcode());
@@ -387,6 +392,14 @@ public class PDOMFile implements IIndexFragmentFile {
 		db.putByte(record + FLAGS, flags);
 	}
 
+	long getFirstInstantiation() throws CoreException {
+		return fLinkage.getDB().getRecPtr(record + FIRST_INSTANTIATION);
+	}
+
+	void setFirstInstantiation(long rec) throws CoreException {
+		fLinkage.getDB().putRecPtr(record + FIRST_INSTANTIATION, rec);
+	}
+
 	private PDOMName getFirstName() throws CoreException {
 		long namerec = fLinkage.getDB().getRecPtr(record + FIRST_NAME);
 		return namerec != 0 ? new PDOMName(fLinkage, namerec) : null;
@@ -447,6 +460,7 @@ public class PDOMFile implements IIndexFragmentFile {
 
 		PDOMMacro lastMacro = null;
 		final PDOMLinkage linkage = getLinkage();
+		linkage.addMacroContainers(getMacroNames(macros));
 		for (IASTPreprocessorStatement stmt : macros) {
 			PDOMMacro pdomMacro = null;
 			if (stmt instanceof IASTPreprocessorMacroDefinition) {
@@ -469,6 +483,18 @@ public class PDOMFile implements IIndexFragmentFile {
 		}
 	}
 
+	private static char[][] getMacroNames(IASTPreprocessorStatement[] macros) {
+		List<char[]> names = new ArrayList<>(macros.length);
+		for (IASTPreprocessorStatement stmt : macros) {
+			if (stmt instanceof IASTPreprocessorMacroDefinition) {
+				names.add(((IASTPreprocessorMacroDefinition) stmt).getName().getSimpleID());
+			} else if (stmt instanceof IASTPreprocessorUndefStatement) {
+				names.add(((IASTPreprocessorUndefStatement) stmt).getMacroName().getSimpleID());
+			}
+		}
+		return names.toArray(new char[names.size()][]);
+	}
+
 	final PDOMLinkage getLinkage() {
 		return fLinkage;
 	}
@@ -618,6 +644,11 @@ public class PDOMFile implements IIndexFragmentFile {
 			m.delete();
 		}
 		setFirstMacroReference(null);
+
+		// Delete the results of instantiations depending on this file
+		linkage.getInstantiationCache().delete(getFirstInstantiation());
+		setFirstInstantiation(0);
+
 		setSourceReadTime(0);
 		setTimestamp(-1);
 	}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.ISemanticProblem;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Stores the results of template instantiations of a linkage, keyed by the signatures of the
+ * instantiations. The results computed for a translation unit form a group, which depends on the
+ * files of the translation unit and on the files defining the templates. The group is chained to
+ * each of these files by a link, all results of the group are deleted when one of the files is
+ * cleared. The group itself is freed with its last link.
+ */
+public class PDOMInstantiationCache {
+	// Record offsets of an entry.
+	private static final int KEY = 0;
+	private static final int NEXT_IN_GROUP = 4;
+	private static final int TYPE = 8;
+	private static final int RECORD_SIZE = TYPE + Database.TYPE_SIZE;
+
+	// Record offsets of a group.
+	private static final int FIRST_ENTRY = 0;
+	private static final int LINK_COUNT = 4;
+	private static final int GROUP_RECORD_SIZE = 8;
+
+	// Record offsets of a link from a file to a group.
+	private static final int GROUP = 0;
+	private static final int NEXT_IN_FILE = 4;
+	private static final int LINK_RECORD_SIZE = 8;
+
+	private final PDOMLinkage fLinkage;
+	private final Database fDatabase;
+	private final BTree fIndex;
+
+	PDOMInstantiationCache(PDOMLinkage linkage, long btreeRecord) {
+		fLinkage = linkage;
+		fDatabase = linkage.getDB();
+		fIndex = new BTree(fDatabase, btreeRecord, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return fDatabase.getString(fDatabase.getRecPtr(record1 + KEY))
+						.compare(fDatabase.getString(fDatabase.getRecPtr(record2 + KEY)), true);
+			}
+		});
+	}
+
+	private long findRecord(final char[] signature) throws CoreException {
+		final long[] result = { 0 };
+		fIndex.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return fDatabase.compareString(fDatabase.getRecPtr(record + KEY), signature, true);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the result stored for the instantiation with the given signature, or {@code null}.
+	 */
+	public IType find(char[] signature) throws CoreException {
+		long record = findRecord(signature);
+		if (record == 0)
+			return null;
+		IType type = fLinkage.loadType(record + TYPE);
+		if (type instanceof ISemanticProblem)
+			return null;
+		return type;
+	}
+
+	/**
+	 * Stores the results of instantiations as a group depending on the given files of this linkage.
+	 * Results for signatures that are already stored are skipped.
+	 * @return the number of results stored.
+	 */
+	public int add(Collection<PDOMFile> files, List<char[]> signatures, List<IType> results)
+			throws CoreException {
+		if (files.isEmpty())
+			return 0;
+		long group = 0;
+		int count = 0;
+		for (int i = 0; i < signatures.size(); i++) {
+			char[] signature = signatures.get(i);
+			if (findRecord(signature) != 0)
+				continue;
+			if (group == 0) {
+				group = fDatabase.malloc(GROUP_RECORD_SIZE);
+			}
+			long record = fDatabase.malloc(RECORD_SIZE);
+			fDatabase.putRecPtr(record + KEY, fDatabase.newString(signature).getRecord());
+			fDatabase.putRecPtr(record + NEXT_IN_GROUP, fDatabase.getRecPtr(group + FIRST_ENTRY));
+			fLinkage.storeType(record + TYPE, results.get(i));
+			fDatabase.putRecPtr(group + FIRST_ENTRY, record);
+			fIndex.insert(record);
+			count++;
+		}
+		if (group != 0) {
+			fDatabase.putInt(group + LINK_COUNT, files.size());
+			for (PDOMFile file : files) {
+				long link = fDatabase.malloc(LINK_RECORD_SIZE);
+				fDatabase.putRecPtr(link + GROUP, group);
+				fDatabase.putRecPtr(link + NEXT_IN_FILE, file.getFirstInstantiation());
+				file.setFirstInstantiation(link);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Deletes the chain of links of a file starting with the given record, together with the
+	 * results of the groups they link to.
+	 */
+	void delete(long link) throws CoreException {
+		while (link != 0) {
+			long next = fDatabase.getRecPtr(link + NEXT_IN_FILE);
+			long group = fDatabase.getRecPtr(link + GROUP);
+			deleteEntries(fDatabase.getRecPtr(group + FIRST_ENTRY));
+			fDatabase.putRecPtr(group + FIRST_ENTRY, 0);
+			int linkCount = fDatabase.getInt(group + LINK_COUNT) - 1;
+			if (linkCount == 0) {
+				fDatabase.free(group);
+			} else {
+				fDatabase.putInt(group + LINK_COUNT, linkCount);
+			}
+			fDatabase.free(link);
+			link = next;
+		}
+	}
+
+	private void deleteEntries(long record) throws CoreException {
+		while (record != 0) {
+			long next = fDatabase.getRecPtr(record + NEXT_IN_GROUP);
+			fIndex.delete(record);
+			fLinkage.storeType(record + TYPE, null);
+			fDatabase.getString(fDatabase.getRecPtr(record + KEY)).delete();
+			fDatabase.free(record);
+			record = next;
+		}
+	}
+}
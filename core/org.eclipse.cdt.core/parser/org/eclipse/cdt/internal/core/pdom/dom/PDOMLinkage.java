@@ -74,12 +74,14 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	private static final int INDEX_OFFSET = PDOMNamedNode.RECORD_SIZE + 8;
 	private static final int NESTED_BINDINGS_INDEX = PDOMNamedNode.RECORD_SIZE + 12;
 	private static final int MACRO_BTREE = PDOMNamedNode.RECORD_SIZE + 16;
+	private static final int INSTANTIATION_BTREE = PDOMNamedNode.RECORD_SIZE + 20;
 
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = PDOMNamedNode.RECORD_SIZE + 20;
+	protected static final int RECORD_SIZE = PDOMNamedNode.RECORD_SIZE + 24;
 	protected static final long[] FILE_LOCAL_REC_DUMMY = new long[] { 0 };
 
 	private BTree fMacroIndex = null; // No need for volatile, all fields of BTree are final.
+	private PDOMInstantiationCache fInstantiationCache = null; // All fields are final.
 	private final PDOM fPDOM;
 	private final Database fDatabase;
 
@@ -365,6 +367,13 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		return fMacroIndex;
 	}
 
+	public PDOMInstantiationCache getInstantiationCache() {
+		if (fInstantiationCache == null) {
+			fInstantiationCache = new PDOMInstantiationCache(this, record + INSTANTIATION_BTREE);
+		}
+		return fInstantiationCache;
+	}
+
 	public PDOMMacroContainer findMacroContainer(final char[] name) throws CoreException {
 		return findMacroContainer(name, fPDOM.createKeyForCache(record, name));
 	}
@@ -396,6 +405,30 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		return result;
 	}
 
+	/**
+	 * Creates the missing macro containers for the given names. The new containers are added to
+	 * the macro index in a single batch and are cached, such that subsequent calls to
+	 * {@link #getMacroContainer(char[])} for the names do not need to search the index.
+	 */
+	public void addMacroContainers(char[][] names) throws CoreException {
+		CharArrayMap<PDOMMacroContainer> missing = new CharArrayMap<>(names.length);
+		for (char[] name : names) {
+			if (!missing.containsKey(name) && findMacroContainer(name) == null) {
+				missing.put(name, new PDOMMacroContainer(this, name));
+			}
+		}
+		if (missing.isEmpty())
+			return;
+
+		long[] records = new long[missing.size()];
+		int i = 0;
+		for (PDOMMacroContainer container : missing.values()) {
+			records[i++] = container.getRecord();
+			fPDOM.putCachedResult(fPDOM.createKeyForCache(record, container.getNameCharArray()), container);
+		}
+		getMacroIndex().insertAll(records);
+	}
+
 	public void removeMacroContainer(PDOMMacroContainer container) throws CoreException {
 		String key = fPDOM.createKeyForCache(record, container.getNameCharArray());
 		fPDOM.putCachedResult(key, null);
@@ -424,7 +457,9 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 
 		BindingCollector visitor = new BindingCollector(this, name, null, false, false, true);
 		visitor.setMonitor(monitor);
-		getIndex().accept(visitor);
+		if (visitor.canMatch()) {
+			getIndex().accept(visitor);
+		}
 		PDOMBinding[] result = visitor.getBindings();
 		synchronized (map) {
 			map.put(name, result);
@@ -51,7 +51,7 @@ public abstract class PDOMNamedNode extends PDOMNode {
 
 		fName = name;
 		final Database db = linkage.getDB();
-		db.putRecPtr(record + NAME, name != null ? db.newString(name).getRecord() : 0);
+		db.putRecPtr(record + NAME, name != null ? linkage.getPDOM().getStringPool().intern(name) : 0);
 	}
 
 	/**
@@ -75,6 +75,15 @@ public abstract class PDOMNamedNode extends PDOMNode {
 		return db.getString(namerec);
 	}
 
+	/**
+	 * Returns the record of the name of the node. Names of bindings are pooled, two bindings
+	 * have equal names if and only if the records of their names are the same.
+	 * @see org.eclipse.cdt.internal.core.pdom.PDOM#getStringPool()
+	 */
+	public static long getNameRecord(Database db, long record) throws CoreException {
+		return db.getRecPtr(record + NAME);
+	}
+
 	public char[] getNameCharArray() throws CoreException {
 		if (fName != null)
 			return fName;
@@ -86,7 +95,8 @@ public abstract class PDOMNamedNode extends PDOMNode {
 		if (fName != null)
 			return Arrays.equals(fName, name);
 
-		return getDBName().equals(name);
+		final Database db = getDB();
+		return db.compareString(db.getRecPtr(record + NAME), name, true) == 0;
 	}
 
 	/**
@@ -99,20 +109,25 @@ public abstract class PDOMNamedNode extends PDOMNode {
 
 		IString name = getDBName();
 		if (!name.equals(nameCharArray)) {
-			name.delete();
-			final Database db = getDB();
-			db.putRecPtr(record + NAME, db.newString(nameCharArray).getRecord());
+			deleteName();
+			getDB().putRecPtr(record + NAME, getPDOM().getStringPool().intern(nameCharArray));
 		}
 		fName = nameCharArray;
 	}
 
-	@Override
-	public void delete(PDOMLinkage linkage) throws CoreException {
-		final Database db = getDB();
-		final long namerec = db.getRecPtr(record + NAME);
+	/**
+	 * Releases the name of this node from the string pool.
+	 */
+	protected final void deleteName() throws CoreException {
+		final long namerec = getDB().getRecPtr(record + NAME);
 		if (namerec != 0) {
-			db.free(namerec);
+			getPDOM().getStringPool().release(namerec);
 		}
+	}
+
+	@Override
+	public void delete(PDOMLinkage linkage) throws CoreException {
+		deleteName();
 		super.delete(linkage);
 	}
 
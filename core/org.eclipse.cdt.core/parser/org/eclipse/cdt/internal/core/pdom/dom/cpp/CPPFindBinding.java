@@ -104,16 +104,20 @@ public class CPPFindBinding extends FindBinding {
 	public static PDOMBinding findBinding(BTree btree, final PDOMLinkage linkage, final char[] name, final int c2,
 			final int ty2, long localToFileRec) throws CoreException {
 		CPPFindBindingVisitor visitor = new CPPFindBindingVisitor(linkage, name, c2, ty2, localToFileRec);
-		btree.accept(visitor);
+		if (visitor.canMatch()) {
+			btree.accept(visitor);
+		}
 		return visitor.getResult();
 	}
 
 	public static PDOMBinding findBinding(PDOMNode node, PDOMLinkage linkage, char[] name, int constant, int sigHash,
 			long localToFileRec) throws CoreException {
 		CPPFindBindingVisitor visitor = new CPPFindBindingVisitor(linkage, name, constant, sigHash, localToFileRec);
-		try {
-			node.accept(visitor);
-		} catch (OperationCanceledException e) {
+		if (visitor.canMatch()) {
+			try {
+				node.accept(visitor);
+			} catch (OperationCanceledException e) {
+			}
 		}
 		return visitor.getResult();
 	}
@@ -239,7 +239,9 @@ class PDOMCPPNamespace extends PDOMCPPBinding implements ICPPNamespace, ICPPName
 		}
 		BindingCollector visitor = new BindingCollector(getLinkage(), name,
 				IndexFilter.CPP_DECLARED_OR_IMPLICIT_NO_INSTANCE, false, false, true);
-		getIndex().accept(visitor);
+		if (visitor.canMatch()) {
+			getIndex().accept(visitor);
+		}
 		result = visitor.getBindings();
 		pdom.putCachedResult(key, result);
 		return result;
@@ -73,6 +73,8 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
+		setParserThreads(
+				getIntProperty(IndexerPreferences.KEY_PARSER_THREADS, IndexerPreferences.DEFAULT_PARSER_THREADS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
 			setSkipReferences(SKIP_ALL_REFERENCES);
 		} else {
@@ -269,6 +271,7 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			String kind = getIndexer().getClass().getName();
 			kind = kind.substring(kind.lastIndexOf('.') + 1);
 			final long dbSize = index.getDatabaseSizeBytes();
+			final IStatus dbStatus = index.getDatabaseStorageStatus();
 
 			System.out.println("C/C++ Indexer: Project '" + getCProject().getElementName() //$NON-NLS-1$
 					+ "' (" + info.fCompletedSources + " sources, " //$NON-NLS-1$//$NON-NLS-2$
@@ -286,7 +289,7 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ ", skipTypeReferences=" + skipTypeRefs //$NON-NLS-1$
 					+ ", skipMacroReferences=" + skipMacroRefs //$NON-NLS-1$
 					+ "."); //$NON-NLS-1$
-			System.out.println(indent + " Database: " + dbSize + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$
+			System.out.println(indent + " Database: " + dbStatus.getMessage()); //$NON-NLS-1$
 			System.out.println(indent + " Timings: " //$NON-NLS-1$
 					+ totalTime + " total, " //$NON-NLS-1$
 					+ fStatistics.fParsingTime + " parser, " //$NON-NLS-1$
@@ -304,10 +307,39 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			NumberFormat nfPercent = NumberFormat.getPercentInstance();
 			nfPercent.setMaximumFractionDigits(2);
 			nfPercent.setMinimumFractionDigits(2);
+			if (fStatistics.fContentsHashCheckCount > 0) {
+				final double skipPct = (double) fStatistics.fUnchangedContentsCount
+						/ fStatistics.fContentsHashCheckCount;
+				System.out.println(indent + " Unchanged: " //$NON-NLS-1$
+						+ fStatistics.fUnchangedContentsCount + " of " //$NON-NLS-1$
+						+ fStatistics.fContentsHashCheckCount + " modified files skipped (" //$NON-NLS-1$
+						+ nfPercent.format(skipPct) + ")."); //$NON-NLS-1$
+			}
 			System.out.println(indent + " Names: " //$NON-NLS-1$
 					+ fStatistics.fDeclarationCount + " declarations, " //$NON-NLS-1$
 					+ fStatistics.fReferenceCount + " references, " //$NON-NLS-1$
 					+ fStatistics.fProblemBindingCount + "(" + nfPercent.format(problemPct) + ") unresolved."); //$NON-NLS-1$ //$NON-NLS-2$
+			if (fStatistics.fConstexprEvaluationCount > 0) {
+				final int calls = fStatistics.fConstexprCacheHits + fStatistics.fConstexprCacheMisses;
+				final double hitPct = calls == 0 ? 0.0 : (double) fStatistics.fConstexprCacheHits / calls;
+				System.out.println(indent + " Constexpr: " //$NON-NLS-1$
+						+ fStatistics.fConstexprEvaluationCount + " evaluations, " //$NON-NLS-1$
+						+ fStatistics.fConstexprStepCount + " steps, " //$NON-NLS-1$
+						+ fStatistics.fConstexprExhaustedCount + " over budget, " //$NON-NLS-1$
+						+ fStatistics.fConstexprCacheHits + " of " + calls + " calls cached (" //$NON-NLS-1$ //$NON-NLS-2$
+						+ nfPercent.format(hitPct) + ")."); //$NON-NLS-1$
+			}
+			final int instantiations = fStatistics.fInstantiationCacheHits + fStatistics.fInstantiationIndexHits
+					+ fStatistics.fInstantiationCacheMisses;
+			if (instantiations > 0) {
+				final int reused = fStatistics.fInstantiationCacheHits + fStatistics.fInstantiationIndexHits;
+				final double hitPct = (double) reused / instantiations;
+				System.out.println(indent + " Template instantiations: " //$NON-NLS-1$
+						+ reused + " of " + instantiations + " cached (" //$NON-NLS-1$ //$NON-NLS-2$
+						+ nfPercent.format(hitPct) + "), " //$NON-NLS-1$
+						+ fStatistics.fInstantiationIndexHits + " from the index, " //$NON-NLS-1$
+						+ fStatistics.fStoredInstantiations + " stored."); //$NON-NLS-1$
+			}
 
 			long misses = index.getCacheMisses();
 			long hits = index.getCacheHits();
@@ -102,8 +102,11 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 		// First clear the pdom
 		index.acquireWriteLock(fProgressMonitor);
 		try {
-			index.clear();
 			IWritableIndexFragment wf = index.getWritableFragment();
+			if (wf instanceof WritablePDOM) {
+				PDOMManager.updateStorageFormat((WritablePDOM) wf, project.getProject());
+			}
+			index.clear();
 			if (wf instanceof WritablePDOM) {
 				PDOMManager.writeProjectPDOMProperties((WritablePDOM) wf, project.getProject());
 			}
@@ -134,6 +134,124 @@ public class CCorePreferenceConstants {
 	 */
 	public static final String DEFAULT_MAX_INDEX_DB_CACHE_SIZE_MB = "256"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether the index-db files are accessed through memory-mapped
+	 * segments instead of through the index-db cache. Takes effect for indexes that are opened after
+	 * the preference is changed.
+	 * @since 8.0
+	 */
+	public static final String INDEX_DB_MEMORY_MAPPED = CCorePlugin.PLUGIN_ID + ".indexDBMemoryMapped"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #INDEX_DB_MEMORY_MAPPED}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_INDEX_DB_MEMORY_MAPPED = "false"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether changes to the index-db files are written to a journal
+	 * before they are written back to the files. An index with a journal can be recovered after a crash
+	 * instead of being rebuilt. The journal is not used for memory-mapped index-db files. Takes effect
+	 * for indexes that are opened after the preference is changed.
+	 * @since 8.0
+	 */
+	public static final String INDEX_DB_JOURNAL = CCorePlugin.PLUGIN_ID + ".indexDBJournal"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #INDEX_DB_JOURNAL}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_INDEX_DB_JOURNAL = "false"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the preprocessor tokens of included files are recorded
+	 * and replayed for further inclusions of files with the same contents, instead of being computed
+	 * again. The recordings are kept on disk. The indexer uses the recordings when the preference is
+	 * enabled, the parsers for the editor only when {@link #PARSER_TOKEN_CACHE_IN_EDITOR} is enabled
+	 * as well.
+	 * @since 8.0
+	 */
+	public static final String PARSER_TOKEN_CACHE = CCorePlugin.PLUGIN_ID + ".parserTokenCache"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #PARSER_TOKEN_CACHE}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_PARSER_TOKEN_CACHE = "true"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the translation units parsed outside of the indexer,
+	 * e.g. for the editor, use the token cache, see {@link #PARSER_TOKEN_CACHE}. Disabled by default.
+	 * @since 8.0
+	 */
+	public static final String PARSER_TOKEN_CACHE_IN_EDITOR = CCorePlugin.PLUGIN_ID + ".parserTokenCacheInEditor"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #PARSER_TOKEN_CACHE_IN_EDITOR}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_PARSER_TOKEN_CACHE_IN_EDITOR = "false"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether source files with one byte per character are read
+	 * directly from memory-mapped buffers, rather than being decoded into character arrays.
+	 * Only read-only files outside of the workspace, typically system headers, are mapped.
+	 * Files are never mapped on Windows.
+	 * @since 8.0
+	 */
+	public static final String PARSER_MEMORY_MAPPED_FILES = CCorePlugin.PLUGIN_ID + ".parserMemoryMappedFiles"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #PARSER_MEMORY_MAPPED_FILES}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_PARSER_MEMORY_MAPPED_FILES = "true"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the result of preprocessing an included file is stored
+	 * as a snapshot, which is replayed for further inclusions of the file in the context of compatible
+	 * macro definitions, instead of preprocessing the file again. The snapshots are shared by the
+	 * indexer and the editor and are kept on disk.
+	 * <p>
+	 * Only files that do not include other files are stored as snapshots. A replayed snapshot takes
+	 * the place of the token cache (see {@link #PARSER_TOKEN_CACHE}) for the inclusion, the token cache
+	 * is used for the inclusions no snapshot is applicable to. Disabled by default.
+	 * @since 8.0
+	 */
+	public static final String PARSER_HEADER_SNAPSHOTS = CCorePlugin.PLUGIN_ID + ".parserHeaderSnapshots"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #PARSER_HEADER_SNAPSHOTS}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_PARSER_HEADER_SNAPSHOTS = "false"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the maximum number of steps a single constexpr evaluation may take,
+	 * e.g. for computing the value of a constexpr variable or of a template argument.
+	 * @since 8.0
+	 */
+	public static final String PARSER_CONSTEXPR_MAX_STEPS = CCorePlugin.PLUGIN_ID + ".parserConstexprMaxSteps"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #PARSER_CONSTEXPR_MAX_STEPS}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_PARSER_CONSTEXPR_MAX_STEPS = "1024"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the maximum time in milliseconds a single constexpr evaluation may take,
+	 * 0 for no limit.
+	 * @since 8.0
+	 */
+	public static final String PARSER_CONSTEXPR_TIME_LIMIT = CCorePlugin.PLUGIN_ID + ".parserConstexprTimeLimit"; //$NON-NLS-1$
+
+	/**
+	 * Default for {@link #PARSER_CONSTEXPR_TIME_LIMIT}.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_PARSER_CONSTEXPR_TIME_LIMIT = "0"; //$NON-NLS-1$
+
 	/**
 	 * Boolean preference controlling whether paths of non-workspace files are stored in index in canonical
 	 * form or not. Canonicalization is performed by calling {@link java.io.File#getCanonicalPath()}.
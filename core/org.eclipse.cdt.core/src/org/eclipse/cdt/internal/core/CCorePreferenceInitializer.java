@@ -49,6 +49,22 @@ public class CCorePreferenceInitializer extends AbstractPreferenceInitializer {
 				CCorePreferenceConstants.DEFAULT_INDEX_DB_CACHE_SIZE_PCT);
 		defaultOptionsMap.put(CCorePreferenceConstants.MAX_INDEX_DB_CACHE_SIZE_MB,
 				CCorePreferenceConstants.DEFAULT_MAX_INDEX_DB_CACHE_SIZE_MB);
+		defaultOptionsMap.put(CCorePreferenceConstants.INDEX_DB_MEMORY_MAPPED,
+				CCorePreferenceConstants.DEFAULT_INDEX_DB_MEMORY_MAPPED);
+		defaultOptionsMap.put(CCorePreferenceConstants.INDEX_DB_JOURNAL,
+				CCorePreferenceConstants.DEFAULT_INDEX_DB_JOURNAL);
+		defaultOptionsMap.put(CCorePreferenceConstants.PARSER_TOKEN_CACHE,
+				CCorePreferenceConstants.DEFAULT_PARSER_TOKEN_CACHE);
+		defaultOptionsMap.put(CCorePreferenceConstants.PARSER_TOKEN_CACHE_IN_EDITOR,
+				CCorePreferenceConstants.DEFAULT_PARSER_TOKEN_CACHE_IN_EDITOR);
+		defaultOptionsMap.put(CCorePreferenceConstants.PARSER_MEMORY_MAPPED_FILES,
+				CCorePreferenceConstants.DEFAULT_PARSER_MEMORY_MAPPED_FILES);
+		defaultOptionsMap.put(CCorePreferenceConstants.PARSER_HEADER_SNAPSHOTS,
+				CCorePreferenceConstants.DEFAULT_PARSER_HEADER_SNAPSHOTS);
+		defaultOptionsMap.put(CCorePreferenceConstants.PARSER_CONSTEXPR_MAX_STEPS,
+				CCorePreferenceConstants.DEFAULT_PARSER_CONSTEXPR_MAX_STEPS);
+		defaultOptionsMap.put(CCorePreferenceConstants.PARSER_CONSTEXPR_TIME_LIMIT,
+				CCorePreferenceConstants.DEFAULT_PARSER_CONSTEXPR_TIME_LIMIT);
 		defaultOptionsMap.put(CCorePreferenceConstants.WORKSPACE_LANGUAGE_MAPPINGS,
 				CCorePreferenceConstants.DEFAULT_WORKSPACE_LANGUAGE_MAPPINGS);
 		defaultOptionsMap.put(CodeReaderCache.CODE_READER_BUFFER, CodeReaderCache.DEFAULT_CACHE_SIZE_IN_MB_STRING);
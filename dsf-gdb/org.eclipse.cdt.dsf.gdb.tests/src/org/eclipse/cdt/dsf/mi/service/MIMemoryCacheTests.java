@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the paging, the eviction and the read-ahead of the memory cache of
+ * {@link MIMemory}, with a memory service that reads from a simulated target.
+ */
+public class MIMemoryCacheTests {
+	private DefaultDsfExecutor fExecutor;
+	private DsfSession fSession;
+	private TestMemory fMemory;
+
+	/**
+	 * Memory service whose reads complete only when the test asks for it. The
+	 * value of a byte is the low byte of its address, and the memory from
+	 * {@link #fUnreadableFrom} on cannot be read.
+	 */
+	private static class TestMemory extends MIMemory {
+		final List<String> fReads = new ArrayList<>();
+		final List<Runnable> fPendingReads = new ArrayList<>();
+		long fUnreadableFrom = Long.MAX_VALUE;
+
+		TestMemory(DsfSession session) {
+			super(session);
+		}
+
+		@Override
+		protected void readMemoryBlock(IDMContext dmc, IAddress address, long offset, int wordSize, int wordCount,
+				DataRequestMonitor<MemoryByte[]> drm) {
+			long start = address.getValue().longValue() + offset;
+			fReads.add(start + "+" + wordCount); //$NON-NLS-1$
+			fPendingReads.add(() -> {
+				boolean readable = start + wordCount <= fUnreadableFrom;
+				MemoryByte[] block = new MemoryByte[wordCount * wordSize];
+				for (int i = 0; i < block.length; i++) {
+					block[i] = readable ? new MemoryByte((byte) (start * wordSize + i), MemoryByte.READABLE)
+							: new MemoryByte((byte) 0, (byte) 0);
+				}
+				drm.setData(block);
+				drm.done();
+			});
+		}
+	}
+
+	private static class Request extends DataRequestMonitor<MemoryByte[]> {
+		boolean fCompleted;
+
+		Request() {
+			super(ImmediateExecutor.getInstance(), null);
+		}
+
+		@Override
+		protected void handleCompleted() {
+			fCompleted = true;
+		}
+	}
+
+	@Before
+	public void startMemory() throws ExecutionException, InterruptedException {
+		fExecutor = new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID);
+		fMemory = call(() -> {
+			fSession = DsfSession.startSession(fExecutor, GdbPlugin.PLUGIN_ID);
+			return new TestMemory(fSession);
+		});
+	}
+
+	@After
+	public void shutdownMemory() throws ExecutionException, InterruptedException {
+		call(() -> {
+			DsfSession.endSession(fSession);
+			return null;
+		});
+		fExecutor.shutdown();
+	}
+
+	private <T> T call(Callable<T> callable) throws ExecutionException, InterruptedException {
+		return fExecutor.submit(callable).get();
+	}
+
+	private MIMemory.MIMemoryCache createCache(int pageSize, int maxPages, int prefetchPages)
+			throws ExecutionException, InterruptedException {
+		return call(() -> fMemory.new MIMemoryCache(pageSize, maxPages, prefetchPages));
+	}
+
+	private Request getMemory(MIMemory.MIMemoryCache cache, long address, int wordSize, int wordCount)
+			throws ExecutionException, InterruptedException {
+		return call(() -> {
+			Request rm = new Request();
+			cache.getMemory(null, new Addr64(BigInteger.valueOf(address)), wordSize, wordCount, rm);
+			return rm;
+		});
+	}
+
+	/**
+	 * Completes the pending reads, including the ones issued while completing
+	 * them, and waits for the request monitors to be processed.
+	 */
+	private void completeReads() throws ExecutionException, InterruptedException {
+		for (int i = 0; i < 10; i++) {
+			call(() -> {
+				List<Runnable> reads = new ArrayList<>(fMemory.fPendingReads);
+				fMemory.fPendingReads.clear();
+				for (Runnable read : reads) {
+					read.run();
+				}
+				return null;
+			});
+		}
+	}
+
+	private List<String> takeReads() throws ExecutionException, InterruptedException {
+		return call(() -> {
+			List<String> reads = new ArrayList<>(fMemory.fReads);
+			fMemory.fReads.clear();
+			return reads;
+		});
+	}
+
+	private static void assertMemory(long address, int wordSize, Request rm) {
+		assertTrue(rm.fCompleted);
+		assertTrue(rm.getStatus().toString(), rm.isSuccess());
+		MemoryByte[] block = rm.getData();
+		for (int i = 0; i < block.length; i++) {
+			assertNotNull(block[i]);
+			assertEquals((byte) (address * wordSize + i), block[i].getValue());
+		}
+	}
+
+	@Test
+	public void holeFillingTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 8, 0);
+		Request rm = getMemory(cache, 4, 1, 8);
+		completeReads();
+		assertMemory(4, 1, rm);
+		assertEquals(Arrays.asList("4+8"), takeReads()); //$NON-NLS-1$
+
+		// Only the memory around the cached block is read, across the page boundary
+		rm = getMemory(cache, 0, 1, 20);
+		completeReads();
+		assertMemory(0, 1, rm);
+		assertEquals(Arrays.asList("0+4", "12+8"), takeReads()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, (int) call(() -> cache.getSize()));
+
+		// Everything is cached now
+		rm = getMemory(cache, 2, 1, 18);
+		completeReads();
+		assertMemory(2, 1, rm);
+		assertTrue(takeReads().isEmpty());
+	}
+
+	@Test
+	public void evictionTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 2, 0);
+		for (int page = 0; page < 3; page++) {
+			getMemory(cache, page * 16, 1, 16);
+			completeReads();
+		}
+		assertEquals(2, (int) call(() -> cache.getSize()));
+		takeReads();
+
+		// The least recently used page was discarded
+		Request rm = getMemory(cache, 0, 1, 16);
+		completeReads();
+		assertMemory(0, 1, rm);
+		assertEquals(Arrays.asList("0+16"), takeReads()); //$NON-NLS-1$
+
+		// The most recently used one is still cached
+		rm = getMemory(cache, 32, 1, 16);
+		completeReads();
+		assertMemory(32, 1, rm);
+		assertTrue(takeReads().isEmpty());
+		assertEquals(2, (int) call(() -> cache.getSize()));
+	}
+
+	/**
+	 * Reads 0-7, 8-15 and 16-23 one after the other, which reads 24-47 ahead,
+	 * and requests 24-31 while that read is still pending, which reads 48-63
+	 * ahead.
+	 */
+	private Request readSequentially(MIMemory.MIMemoryCache cache) throws ExecutionException, InterruptedException {
+		for (int address = 0; address < 16; address += 8) {
+			Request rm = getMemory(cache, address, 1, 8);
+			completeReads();
+			assertMemory(address, 1, rm);
+		}
+		getMemory(cache, 16, 1, 8);
+		Request rm = getMemory(cache, 24, 1, 8);
+		assertEquals(Arrays.asList("0+8", "8+8", "16+8", "24+24", "48+16"), takeReads()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		return rm;
+	}
+
+	@Test
+	public void prefetchTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 16, 2);
+		Request rm = readSequentially(cache);
+
+		// The request waits for the memory being read ahead instead of reading it
+		assertFalse(rm.fCompleted);
+		completeReads();
+		assertMemory(24, 1, rm);
+
+		// The memory read ahead is cached, reading on continues to read
+		// ahead from where the memory is not cached
+		rm = getMemory(cache, 32, 1, 24);
+		completeReads();
+		assertMemory(32, 1, rm);
+		assertEquals(Arrays.asList("64+16"), takeReads()); //$NON-NLS-1$
+
+		rm = getMemory(cache, 56, 1, 8);
+		completeReads();
+		assertMemory(56, 1, rm);
+		assertEquals(Arrays.asList("80+16"), takeReads()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void backwardPrefetchTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 16, 2);
+		for (int address = 200; address > 176; address -= 8) {
+			getMemory(cache, address, 1, 8);
+			completeReads();
+		}
+		assertEquals(Arrays.asList("200+8", "192+8", "184+8", "160+24"), takeReads()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+		Request rm = getMemory(cache, 168, 1, 16);
+		completeReads();
+		assertMemory(168, 1, rm);
+		assertEquals(Arrays.asList("144+16"), takeReads()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void resetDuringPrefetchTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 16, 2);
+		Request rm = readSequentially(cache);
+
+		// The waiting request reads the memory itself after the reset
+		call(() -> {
+			cache.reset();
+			return null;
+		});
+		completeReads();
+		assertMemory(24, 1, rm);
+		assertEquals(Arrays.asList("24+8"), takeReads()); //$NON-NLS-1$
+
+		// The memory read ahead before the reset was not cached
+		assertEquals(1, (int) call(() -> cache.getSize()));
+	}
+
+	@Test
+	public void failedPrefetchTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 16, 2);
+		fMemory.fUnreadableFrom = 40;
+		Request rm = readSequentially(cache);
+
+		// The memory read ahead is not cached since part of it is unreadable,
+		// the waiting request reads its own memory
+		completeReads();
+		assertMemory(24, 1, rm);
+		assertEquals(Arrays.asList("24+8"), takeReads()); //$NON-NLS-1$
+
+		// Reading on does not read ahead into the unreadable memory again
+		rm = getMemory(cache, 32, 1, 8);
+		completeReads();
+		assertMemory(32, 1, rm);
+		assertEquals(Arrays.asList("32+8"), takeReads()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void wordSizeTest() throws ExecutionException, InterruptedException {
+		MIMemory.MIMemoryCache cache = createCache(16, 16, 0);
+		Request rm = getMemory(cache, 0, 2, 8);
+		completeReads();
+		assertEquals(16, rm.getData().length);
+		assertMemory(0, 2, rm);
+		assertEquals(Arrays.asList("0+8"), takeReads()); //$NON-NLS-1$
+
+		rm = getMemory(cache, 4, 2, 4);
+		completeReads();
+		assertMemory(4, 2, rm);
+		assertTrue(takeReads().isEmpty());
+
+		// The pages are laid out for one word size, they are discarded when it changes
+		rm = getMemory(cache, 0, 1, 8);
+		completeReads();
+		assertMemory(0, 1, rm);
+		assertEquals(Arrays.asList("0+8"), takeReads()); //$NON-NLS-1$
+	}
+}
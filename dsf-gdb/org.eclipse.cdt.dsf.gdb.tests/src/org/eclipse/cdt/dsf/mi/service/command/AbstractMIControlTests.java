@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests the window of commands that {@link AbstractMIControl} keeps on the wire
+ * and its command statistics, with a simulated backend that answers the
+ * commands only when the test asks for it.
+ */
+public class AbstractMIControlTests {
+	private static final long TIMEOUT = 5000;
+
+	private DefaultDsfExecutor fExecutor;
+	private DsfSession fSession;
+	private TestControl fControl;
+
+	/** Lines received by the backend, in the order they were written */
+	private final BlockingQueue<String> fReceived = new LinkedBlockingQueue<>();
+	private OutputStream fToControl;
+	private Thread fBackend;
+
+	/**
+	 * The limits of the control, read by the constructor of the super class
+	 * before the fields of the control are initialized.
+	 */
+	private static int sMaxConcurrentCommands;
+	private static int sMaxBatchCommands;
+
+	private static class TestControl extends AbstractMIControl {
+		private final MIControlDMContext fContext;
+
+		TestControl(DsfSession session) {
+			// Leave out the -thread-select and -stack-select-frame commands
+			super(session, true, new CommandFactory());
+			fContext = new MIControlDMContext(session.getId(), "test"); //$NON-NLS-1$
+		}
+
+		@Override
+		protected boolean isConcurrentCommandsSupported() {
+			return true;
+		}
+
+		@Override
+		protected int getMaxConcurrentCommands() {
+			return sMaxConcurrentCommands;
+		}
+
+		@Override
+		protected int getMaxBatchCommands() {
+			return sMaxBatchCommands;
+		}
+
+		@Override
+		public MIControlDMContext getControlDMContext() {
+			return fContext;
+		}
+
+		@Override
+		public String getId() {
+			return fContext.getCommandControlId();
+		}
+
+		@Override
+		public ICommandControlDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return null;
+		}
+
+		void start(PipedInputStream fromBackend, OutputStream toBackend) {
+			startCommandProcessing(fromBackend, toBackend);
+		}
+
+		void stop() {
+			stopCommandProcessing();
+		}
+	}
+
+	/**
+	 * The limits are read once by the constructor, so the control is created
+	 * by each test.
+	 */
+	private void startControl(int maxConcurrentCommands, int maxBatchCommands) throws Exception {
+		sMaxConcurrentCommands = maxConcurrentCommands;
+		sMaxBatchCommands = maxBatchCommands;
+		PipedInputStream fromControl = new PipedInputStream();
+		PipedOutputStream toBackend = new PipedOutputStream(fromControl);
+		PipedInputStream fromBackend = new PipedInputStream();
+		fToControl = new PipedOutputStream(fromBackend);
+
+		fBackend = new Thread("Test MI backend") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(fromControl))) {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						fReceived.add(line);
+					}
+				} catch (IOException e) {
+					// The control closed the stream
+				}
+			}
+		};
+		fBackend.start();
+
+		fControl = call(() -> {
+			TestControl control = new TestControl(fSession);
+			control.start(fromBackend, toBackend);
+			return control;
+		});
+	}
+
+	@Before
+	public void startSession() throws ExecutionException, InterruptedException {
+		fExecutor = new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID);
+		fSession = call(() -> DsfSession.startSession(fExecutor, GdbPlugin.PLUGIN_ID));
+	}
+
+	@After
+	public void shutdownSession() throws Exception {
+		call(() -> {
+			if (fControl != null) {
+				fControl.stop();
+			}
+			DsfSession.endSession(fSession);
+			return null;
+		});
+		if (fToControl != null) {
+			fToControl.close();
+		}
+		if (fBackend != null) {
+			fBackend.join(TIMEOUT);
+		}
+		fExecutor.shutdown();
+	}
+
+	private <T> T call(Callable<T> callable) throws ExecutionException, InterruptedException {
+		return fExecutor.submit(callable).get();
+	}
+
+	private static class Request<V> extends DataRequestMonitor<V> {
+		volatile boolean fCompleted;
+
+		Request() {
+			super(ImmediateExecutor.getInstance(), null);
+		}
+
+		@Override
+		protected void handleCompleted() {
+			fCompleted = true;
+		}
+	}
+
+	private static class OtherCommand extends MICommand<MIInfo> {
+		OtherCommand(IDMContext ctx) {
+			super(ctx, "-other"); //$NON-NLS-1$
+		}
+	}
+
+	private MICommand<MIInfo> createCommand(int i) {
+		return new MICommand<>(fControl.getContext(), "-test", new String[] { Integer.toString(i) }); //$NON-NLS-1$
+	}
+
+	private Request<MIInfo> queueCommand(MICommand<MIInfo> command) throws ExecutionException, InterruptedException {
+		return call(() -> {
+			Request<MIInfo> rm = new Request<>();
+			fControl.queueCommand(command, rm);
+			return rm;
+		});
+	}
+
+	/**
+	 * Waits for the given number of commands to reach the backend, checks that
+	 * no other one follows and returns their tokens.
+	 */
+	private List<String> receive(int count) throws InterruptedException {
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String line = fReceived.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+			assertNotNull("Command " + i + " was not sent", line); //$NON-NLS-1$ //$NON-NLS-2$
+			tokens.add(line.substring(0, line.indexOf('-')));
+		}
+		assertNull(fReceived.poll(200, TimeUnit.MILLISECONDS));
+		return tokens;
+	}
+
+	private void reply(String line) throws IOException {
+		fToControl.write((line + "\n").getBytes()); //$NON-NLS-1$
+		fToControl.flush();
+	}
+
+	private void waitFor(Request<?> rm) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!rm.fCompleted && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertTrue(rm.fCompleted);
+	}
+
+	@Test
+	public void windowTest() throws Exception {
+		startControl(2, 4);
+		List<Request<MIInfo>> requests = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			requests.add(queueCommand(createCommand(i)));
+		}
+
+		// Only the window is sent, the next command is sent when a result is received
+		List<String> tokens = receive(2);
+		reply(tokens.get(0) + "^done"); //$NON-NLS-1$
+		waitFor(requests.get(0));
+		tokens.addAll(receive(1));
+		assertFalse(requests.get(1).fCompleted);
+
+		reply(tokens.get(1) + "^done"); //$NON-NLS-1$
+		reply(tokens.get(2) + "^done"); //$NON-NLS-1$
+		tokens.addAll(receive(2));
+		reply(tokens.get(3) + "^done"); //$NON-NLS-1$
+		reply(tokens.get(4) + "^done"); //$NON-NLS-1$
+		for (Request<MIInfo> rm : requests) {
+			waitFor(rm);
+			assertTrue(rm.isSuccess());
+		}
+	}
+
+	@Test
+	public void batchTest() throws Exception {
+		startControl(1, 3);
+		List<MICommand<MIInfo>> commands = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			commands.add(createCommand(i));
+		}
+		Request<List<MIInfo>> batchRm = call(() -> {
+			Request<List<MIInfo>> rm = new Request<>();
+			fControl.queueCommands(commands, rm);
+			return rm;
+		});
+		Request<MIInfo> rm = queueCommand(createCommand(6));
+
+		// The batch fills its own limit, not more
+		List<String> tokens = receive(3);
+		reply(tokens.get(0) + "^done"); //$NON-NLS-1$
+		tokens.addAll(receive(1));
+		for (int i = 1; i < 4; i++) {
+			reply(tokens.get(i) + "^done"); //$NON-NLS-1$
+		}
+		tokens.addAll(receive(2));
+		reply(tokens.get(4) + "^done"); //$NON-NLS-1$
+		reply(tokens.get(5) + "^done"); //$NON-NLS-1$
+		waitFor(batchRm);
+		assertTrue(batchRm.isSuccess());
+		assertEquals(6, batchRm.getData().size());
+
+		// The command queued after the batch only gets the window again
+		tokens.addAll(receive(1));
+		assertFalse(rm.fCompleted);
+		reply(tokens.get(6) + "^done"); //$NON-NLS-1$
+		waitFor(rm);
+		assertTrue(rm.isSuccess());
+	}
+
+	@Test
+	public void statisticsTest() throws Exception {
+		startControl(4, 4);
+		Request<MIInfo> rm1 = queueCommand(createCommand(0));
+		Request<MIInfo> rm2 = queueCommand(new OtherCommand(fControl.getContext()));
+		Request<MIInfo> rm3 = queueCommand(new OtherCommand(fControl.getContext()));
+		List<String> tokens = receive(3);
+		reply(tokens.get(0) + "^done"); //$NON-NLS-1$
+		reply(tokens.get(1) + "^done"); //$NON-NLS-1$
+		reply(tokens.get(2) + "^error,msg=\"failed\""); //$NON-NLS-1$
+		waitFor(rm1);
+		waitFor(rm2);
+		waitFor(rm3);
+		assertFalse(rm3.isSuccess());
+
+		Map<Class<?>, MICommandStatistics> statistics = fControl.getCommandStatistics();
+		assertEquals(2, statistics.size());
+		assertEquals(1, statistics.get(MICommand.class).getCount());
+		assertEquals(0, statistics.get(MICommand.class).getErrorCount());
+		assertEquals(2, statistics.get(OtherCommand.class).getCount());
+		assertEquals(1, statistics.get(OtherCommand.class).getErrorCount());
+		assertTrue(statistics.get(OtherCommand.class).getMaxLatency() > 0);
+
+		// The errors free their place in the window like the results
+		List<Request<MIInfo>> requests = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			requests.add(queueCommand(createCommand(i)));
+		}
+		tokens = receive(4);
+
+		fControl.resetCommandStatistics();
+		assertTrue(fControl.getCommandStatistics().isEmpty());
+		for (String token : tokens) {
+			reply(token + "^done"); //$NON-NLS-1$
+		}
+		for (Request<MIInfo> rm : requests) {
+			waitFor(rm);
+		}
+		assertEquals(4, fControl.getCommandStatistics().get(MICommand.class).getCount());
+	}
+}
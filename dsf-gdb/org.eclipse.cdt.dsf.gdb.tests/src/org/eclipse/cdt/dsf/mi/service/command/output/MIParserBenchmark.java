@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Compares the time {@link MIParser} and {@link LegacyMIParser} take to parse
+ * the responses of GDB for a program with thousands of threads. The responses
+ * are built from lines in the format GDB 12 uses for {@code -thread-info},
+ * {@code -stack-list-frames} and the records of a typical stop.
+ * <p>
+ * The timings are printed to the console, the test fails only if the parsers
+ * don't produce the same records. It is slow and therefore not part of
+ * {@code AutomatedIntegrationSuite}.
+ */
+public class MIParserBenchmark {
+	private static final int THREADS = 5000;
+	private static final int FRAMES = 2000;
+	private static final int ROUNDS = 20;
+
+	@Test
+	public void testLargeResponses() {
+		List<String> transcript = createTranscript();
+		MIParser parser = new MIParser();
+		LegacyMIParser legacy = new LegacyMIParser();
+		for (String line : transcript) {
+			assertEquals(MIParserTests.dump(parseLegacy(legacy, parser, line)), MIParserTests.dump(parse(parser, line)));
+		}
+
+		long chars = 0;
+		for (String line : transcript) {
+			chars += line.length();
+		}
+		// Warm up both parsers before measuring
+		for (int i = 0; i < ROUNDS / 2; i++) {
+			run(parser, legacy, transcript, false);
+			run(parser, legacy, transcript, true);
+		}
+		long legacyTime = 0;
+		long time = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			legacyTime += run(parser, legacy, transcript, true);
+			time += run(parser, legacy, transcript, false);
+		}
+		System.out.printf("MIParserBenchmark: %d lines, %d KB: legacy parser %d ms, parser %d ms per round%n",
+				transcript.size(), chars / 1024, legacyTime / ROUNDS / 1000000, time / ROUNDS / 1000000);
+	}
+
+	private static long run(MIParser parser, LegacyMIParser legacy, List<String> transcript, boolean useLegacy) {
+		long start = System.nanoTime();
+		int count = 0;
+		for (String line : transcript) {
+			Object record = useLegacy ? parseLegacy(legacy, parser, line) : parse(parser, line);
+			if (record != null) {
+				count++;
+			}
+		}
+		assertEquals(transcript.size(), count);
+		return System.nanoTime() - start;
+	}
+
+	private static Object parse(MIParser parser, String line) {
+		if (parser.getRecordType(line) == MIParser.RecordType.ResultRecord)
+			return parser.parseMIResultRecord(line);
+		return parser.parseMIOOBRecord(line);
+	}
+
+	private static Object parseLegacy(LegacyMIParser legacy, MIParser parser, String line) {
+		if (parser.getRecordType(line) == MIParser.RecordType.ResultRecord)
+			return legacy.parseMIResultRecord(line);
+		return legacy.parseMIOOBRecord(line);
+	}
+
+	private static List<String> createTranscript() {
+		List<String> lines = new ArrayList<>();
+		lines.add("=thread-group-started,id=\"i1\",pid=\"31337\"");
+		for (int i = 1; i <= 50; i++) {
+			lines.add("=thread-created,id=\"" + i + "\",group-id=\"i1\"");
+		}
+		lines.add("*stopped,reason=\"breakpoint-hit\",disp=\"keep\",bkptno=\"1\",frame={addr=\"0x0000555555555189\","
+				+ "func=\"worker\",args=[{name=\"arg\",value=\"0x0\"}],file=\"worker.c\","
+				+ "fullname=\"/home/user/src/worker.c\",line=\"12\",arch=\"i386:x86-64\"},thread-id=\"1\","
+				+ "stopped-threads=\"all\",core=\"3\"");
+		lines.add("~\"\\nThread 1 \\\"worker\\\" hit Breakpoint 1, worker (arg=0x0) at worker.c:12\\n\"");
+		lines.add("~\"12\\t    pthread_mutex_lock(&lock);\\n\"");
+
+		StringBuilder threads = new StringBuilder("10^done,threads=[");
+		for (int i = 1; i <= THREADS; i++) {
+			if (i > 1) {
+				threads.append(',');
+			}
+			threads.append("{id=\"").append(i).append("\",target-id=\"Thread 0x7ffff7d8a740 (LWP ")
+					.append(31337 + i).append(")\",name=\"worker-").append(i)
+					.append("\",frame={level=\"0\",addr=\"0x00007ffff7e5a8e5\",func=\"__GI___poll\",args=["
+							+ "{name=\"fds\",value=\"0x7fffffffd0f0\"},{name=\"nfds\",value=\"1\"},"
+							+ "{name=\"timeout\",value=\"-1\"}],file=\"../sysdeps/unix/sysv/linux/poll.c\","
+							+ "fullname=\"/build/glibc/sysdeps/unix/sysv/linux/poll.c\",line=\"29\","
+							+ "arch=\"i386:x86-64\"},state=\"stopped\",core=\"")
+					.append(i % 16).append("\"}");
+		}
+		threads.append("],current-thread-id=\"1\"");
+		lines.add(threads.toString());
+
+		StringBuilder frames = new StringBuilder("11^done,stack=[");
+		for (int i = 0; i < FRAMES; i++) {
+			if (i > 0) {
+				frames.append(',');
+			}
+			frames.append("frame={level=\"").append(i).append("\",addr=\"0x0000555555555")
+					.append(Integer.toHexString(0x100 + i % 0xf00))
+					.append("\",func=\"recurse\",file=\"recurse.c\",fullname=\"/home/user/src/recurse.c\","
+							+ "line=\"")
+					.append(7 + i % 3).append("\",arch=\"i386:x86-64\"}");
+		}
+		frames.append(']');
+		lines.add(frames.toString());
+
+		StringBuilder variables = new StringBuilder("12^done,variables=[");
+		for (int i = 0; i < 500; i++) {
+			if (i > 0) {
+				variables.append(',');
+			}
+			variables.append("{name=\"s").append(i).append("\",value=\"\\\"line ").append(i)
+					.append("\\\\n\\\", '\\\\000' <repeats 15 times>\"}");
+		}
+		variables.append(']');
+		lines.add(variables.toString());
+		return lines;
+	}
+}
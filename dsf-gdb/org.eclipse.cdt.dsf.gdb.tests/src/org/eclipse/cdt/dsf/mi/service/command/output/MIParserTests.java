@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MIParserTests {
+	private final MIParser parser = new MIParser();
+
+	/**
+	 * Lines that exercise the corner cases of the MI grammar, the parser must
+	 * produce the same records as {@link LegacyMIParser} for them.
+	 */
+	static final String[] LINES = { //
+			"^done", //
+			"123^done,thread-ids={thread-id=\"1\",thread-id=\"2\"},current-thread-id=\"1\",number-of-threads=\"2\"",
+			"^done,stack=[frame={level=\"0\",addr=\"0x1\",func=\"main\"},frame={level=\"1\",addr=\"0x2\"}]",
+			"^done,groups=[],values=[\"a\",\"b\"],empty={},nested=[[\"x\"],{a=\"1\"}]",
+			"^error,msg=\"No symbol \\\"foo\\\" in current context.\"",
+			"^done,value=\"\\\"a\\\\\\\\b\\\" \\\\n \\\\t\"", //
+			"^running", //
+			"^connected,addr=\"0xfe00\"", //
+			"^exit", //
+			"7^done,value=\"unterminated", //
+			"^done,name=value", //
+			"^done,\"value only\"", //
+			"^done,a=\"1\",trailing garbage", //
+			"*stopped,reason=\"breakpoint-hit\",bkptno=\"1\",thread-id=\"1\",stopped-threads=\"all\"",
+			"*running,thread-id=\"all\"", //
+			"*running", //
+			"=thread-group-added,id=\"i1\"", //
+			"=library-loaded,ranges=[{from=\"0x1\",to=\"0x2\"}]", //
+			"+download,{section=\".text\",section-size=\"6668\"}", //
+			"~\"GNU gdb (GDB) 12.1\\n\"", //
+			"~\"print \\\"x\\\" \\\\ done\\n\"", //
+			"@\"target output\"", //
+			"&\"warning: \\\"something\\\"\\n\"", //
+			"~unquoted", //
+			"garbage", //
+	};
+
+	@Test
+	public void testSameRecordsAsLegacyParser() {
+		LegacyMIParser legacy = new LegacyMIParser();
+		for (String line : LINES) {
+			if (parser.getRecordType(line) == MIParser.RecordType.ResultRecord) {
+				assertEquals(line, dump(legacy.parseMIResultRecord(line)), dump(parser.parseMIResultRecord(line)));
+			} else {
+				assertEquals(line, dump(legacy.parseMIOOBRecord(line)), dump(parser.parseMIOOBRecord(line)));
+			}
+		}
+	}
+
+	@Test
+	public void testResultRecord() {
+		MIResultRecord rr = parser.parseMIResultRecord(
+				"42^done,thread-ids={thread-id=\"1\",thread-id=\"2\"},current-thread-id=\"1\"");
+		assertEquals(42, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+		MIResult[] results = rr.getMIResults();
+		assertEquals(2, results.length);
+		assertEquals("thread-ids", results[0].getVariable());
+		MITuple ids = (MITuple) results[0].getMIValue();
+		assertEquals(2, ids.getMIResults().length);
+		assertEquals("2", ((MIConst) ids.getMIResults()[1].getMIValue()).getCString());
+		assertEquals("1", ((MIConst) results[1].getMIValue()).getCString());
+	}
+
+	@Test
+	public void testEscapedCString() {
+		MIResultRecord rr = parser.parseMIResultRecord("^error,msg=\"No symbol \\\"foo\\\" at C:\\\\dir\"");
+		MIConst msg = (MIConst) rr.getMIResults()[0].getMIValue();
+		assertEquals("No symbol \"foo\" at C:\\dir", msg.getCString());
+		// Setting the value replaces the value that was not translated yet
+		msg.setCString("other");
+		assertEquals("other", msg.getCString());
+	}
+
+	@Test
+	public void testDisplayString() {
+		MIResultRecord rr = parser.parseMIResultRecord("^error,msg=\"No symbol \\\"foo\\\" in current context.\"");
+		MIConst msg = (MIConst) rr.getMIResults()[0].getMIValue();
+		// The display string is translated from the C string that was not translated yet
+		assertEquals("No symbol \"foo\" in current context.", msg.getString());
+		assertEquals(msg.getString(), MIConst.getString(msg.getCString()));
+
+		MIAsyncRecord async = (MIAsyncRecord) parser
+				.parseMIOOBRecord("*stopped,reason=\"signal-received\",signal-name=\"SIGSEGV\"");
+		assertEquals("SIGSEGV", ((MIConst) async.getMIResults()[1].getMIValue()).getString());
+	}
+
+	@Test
+	public void testStreamRecord() {
+		MIOOBRecord oob = parser.parseMIOOBRecord("~\"a \\\"b\\\" \\\\ c\\n\"");
+		assertTrue(oob instanceof MIConsoleStreamOutput);
+		// Backslashes of stream records are not parsed
+		assertEquals("a \"b\" \\\\ c\\n", ((MIStreamRecord) oob).getCString());
+	}
+
+	@Test
+	public void testAsyncRecord() {
+		MIOOBRecord oob = parser.parseMIOOBRecord("5*stopped,reason=\"end-stepping-range\",frame={func=\"main\"}");
+		assertTrue(oob instanceof MIExecAsyncOutput);
+		MIAsyncRecord async = (MIAsyncRecord) oob;
+		assertEquals(5, async.getToken());
+		assertEquals("stopped", async.getAsyncClass());
+		assertEquals(2, async.getMIResults().length);
+		MITuple frame = (MITuple) async.getMIResults()[1].getMIValue();
+		assertEquals("main", ((MIConst) frame.getField("func")).getCString());
+	}
+
+	/**
+	 * Returns a description of the structure and the values of an MI record.
+	 */
+	static String dump(Object record) {
+		StringBuilder buf = new StringBuilder();
+		dump(buf, record);
+		return buf.toString();
+	}
+
+	private static void dump(StringBuilder buf, Object object) {
+		if (object == null) {
+			buf.append("null");
+		} else if (object instanceof MIResultRecord) {
+			MIResultRecord rr = (MIResultRecord) object;
+			buf.append(rr.getToken()).append('^').append(rr.getResultClass());
+			dump(buf, rr.getMIResults());
+		} else if (object instanceof MIAsyncRecord) {
+			MIAsyncRecord async = (MIAsyncRecord) object;
+			buf.append(async.getClass().getSimpleName()).append(async.getToken()).append(':')
+					.append(async.getAsyncClass());
+			dump(buf, async.getMIResults());
+		} else if (object instanceof MIStreamRecord) {
+			buf.append(object.getClass().getSimpleName()).append('<').append(((MIStreamRecord) object).getCString())
+					.append('>');
+		} else if (object instanceof MIResult) {
+			buf.append(((MIResult) object).getVariable()).append('=');
+			dump(buf, ((MIResult) object).getMIValue());
+		} else if (object instanceof MIConst) {
+			buf.append('<').append(((MIConst) object).getCString()).append('>');
+		} else if (object instanceof MITuple) {
+			buf.append('{');
+			dump(buf, ((MITuple) object).getMIResults());
+			dump(buf, ((MITuple) object).getMIValues());
+			buf.append('}');
+		} else if (object instanceof MIList) {
+			buf.append('[');
+			dump(buf, ((MIList) object).getMIResults());
+			dump(buf, ((MIList) object).getMIValues());
+			buf.append(']');
+		} else if (object instanceof Object[]) {
+			buf.append('(');
+			for (Object element : (Object[]) object) {
+				dump(buf, element);
+				buf.append(';');
+			}
+			buf.append(')');
+		} else {
+			buf.append(object);
+		}
+	}
+}
@@ -67,6 +67,77 @@ public interface IGdbDebugPreferenceConstants {
 	 */
 	public static final int MAX_MI_OUTPUT_LINES_DEFAULT = 5;
 
+	/**
+	 * The maximum number of MI commands that are sent to GDB before their
+	 * results have been received, if GDB supports this.  Default is
+	 * {@value #MAX_CONCURRENT_MI_COMMANDS_DEFAULT}.
+	 * @since 7.0
+	 */
+	public static final String PREF_MAX_CONCURRENT_MI_COMMANDS = "maxConcurrentMiCommands"; //$NON-NLS-1$
+
+	/**
+	 * The default maximum number of MI commands that are sent to GDB before
+	 * their results have been received.
+	 * @since 7.0
+	 */
+	public static final int MAX_CONCURRENT_MI_COMMANDS_DEFAULT = 3;
+
+	/**
+	 * The maximum number of MI commands that are sent to GDB before their
+	 * results have been received, while sending a batch of independent
+	 * commands, if GDB supports concurrent commands.  Default is
+	 * {@value #MAX_MI_BATCH_COMMANDS_DEFAULT}.
+	 * @since 7.0
+	 */
+	public static final String PREF_MAX_MI_BATCH_COMMANDS = "maxMiBatchCommands"; //$NON-NLS-1$
+
+	/**
+	 * The default maximum number of MI commands that are sent to GDB before
+	 * their results have been received, while sending a batch of commands.
+	 * @since 7.0
+	 */
+	public static final int MAX_MI_BATCH_COMMANDS_DEFAULT = 8;
+
+	/**
+	 * The number of addressable units in a page of the memory cache. Memory is
+	 * cached and read ahead by pages.  Default is {@value #MEMORY_CACHE_PAGE_SIZE_DEFAULT}.
+	 * @since 7.0
+	 */
+	public static final String PREF_MEMORY_CACHE_PAGE_SIZE = "memoryCachePageSize"; //$NON-NLS-1$
+
+	/**
+	 * The default number of addressable units in a page of the memory cache.
+	 * @since 7.0
+	 */
+	public static final int MEMORY_CACHE_PAGE_SIZE_DEFAULT = 1024;
+
+	/**
+	 * The maximum number of pages the memory cache keeps for a memory context.
+	 * Default is {@value #MEMORY_CACHE_MAX_PAGES_DEFAULT}.
+	 * @since 7.0
+	 */
+	public static final String PREF_MEMORY_CACHE_MAX_PAGES = "memoryCacheMaxPages"; //$NON-NLS-1$
+
+	/**
+	 * The default maximum number of pages the memory cache keeps for a memory context.
+	 * @since 7.0
+	 */
+	public static final int MEMORY_CACHE_MAX_PAGES_DEFAULT = 1024;
+
+	/**
+	 * The number of pages of memory read ahead when the memory is read
+	 * sequentially, 0 to disable reading ahead.  Default is
+	 * {@value #MEMORY_PREFETCH_PAGES_DEFAULT}.
+	 * @since 7.0
+	 */
+	public static final String PREF_MEMORY_PREFETCH_PAGES = "memoryPrefetchPages"; //$NON-NLS-1$
+
+	/**
+	 * The default number of pages of memory read ahead when the memory is read sequentially.
+	 * @since 7.0
+	 */
+	public static final int MEMORY_PREFETCH_PAGES_DEFAULT = 2;
+
 	/**
 	 * Boolean preference whether to automatically terminate GDB when the inferior exists. Default is <code>true</code>.
 	 */
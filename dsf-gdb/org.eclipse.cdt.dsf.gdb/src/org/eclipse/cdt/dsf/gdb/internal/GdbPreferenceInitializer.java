@@ -39,6 +39,16 @@ public class GdbPreferenceInitializer extends AbstractPreferenceInitializer {
 				IGdbDebugPreferenceConstants.MAX_MI_OUTPUT_LINES_ENABLE_DEFAULT);
 		node.putInt(IGdbDebugPreferenceConstants.PREF_MAX_MI_OUTPUT_LINES,
 				IGdbDebugPreferenceConstants.MAX_MI_OUTPUT_LINES_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MAX_CONCURRENT_MI_COMMANDS,
+				IGdbDebugPreferenceConstants.MAX_CONCURRENT_MI_COMMANDS_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MAX_MI_BATCH_COMMANDS,
+				IGdbDebugPreferenceConstants.MAX_MI_BATCH_COMMANDS_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_PAGE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_PAGE_SIZE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_MAX_PAGES,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_MAX_PAGES_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_PREFETCH_PAGES,
+				IGdbDebugPreferenceConstants.MEMORY_PREFETCH_PAGES_DEFAULT);
 		node.putBoolean(IGdbDebugPreferenceConstants.PREF_AUTO_TERMINATE_GDB, true);
 		node.putBoolean(IGdbDebugPreferenceConstants.PREF_USE_INSPECTOR_HOVER, true);
 		node.putBoolean(IGdbDebugPreferenceConstants.PREF_ENABLE_PRETTY_PRINTING, true);
@@ -16,10 +16,12 @@ package org.eclipse.cdt.dsf.gdb.service;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.cdt.debug.internal.core.sourcelookup.CSourceLookupDirector;
@@ -32,6 +34,7 @@ import org.eclipse.cdt.dsf.datamodel.AbstractDMEvent;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.debug.service.ICachingService;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.launching.GdbSourceLookupDirector;
@@ -60,6 +63,7 @@ public class GDBSourceLookup extends CSourceLookup implements IGDBSourceLookup,
 	}
 
 	private ICommandControlService fCommand;
+	private IMICommandControl fMICommand;
 	private CommandFactory fCommandFactory;
 	private Map<ISourceLookupDMContext, CSourceLookupDirector> fDirectors = new HashMap<>();
 	/**
@@ -85,7 +89,8 @@ public class GDBSourceLookup extends CSourceLookup implements IGDBSourceLookup,
 
 	private void doInitialize(RequestMonitor rm) {
 		fCommand = getServicesTracker().getService(ICommandControlService.class);
-		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
+		fMICommand = getServicesTracker().getService(IMICommandControl.class);
+		fCommandFactory = fMICommand.getCommandFactory();
 
 		fDebugSourceFilesCache = new CommandCache(getSession(), fCommand);
 		fDebugSourceFilesCache.setContextAvailable(fCommand.getContext(), true);
@@ -161,7 +166,12 @@ public class GDBSourceLookup extends CSourceLookup implements IGDBSourceLookup,
 	protected void setSubstitutePaths(ISourceLookupDMContext sourceLookupCtx, Map<String, String> entries,
 			RequestMonitor rm) {
 		fCachedEntries = entries;
-		CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm) {
+		List<ICommand<MIInfo>> commands = new ArrayList<>(entries.size());
+		for (Map.Entry<String, String> entry : entries.entrySet()) {
+			commands.add(fCommandFactory.createMISetSubstitutePath(sourceLookupCtx, entry.getKey(), entry.getValue()));
+		}
+		// The substitutions are independent of each other, send them as one batch
+		fMICommand.queueCommands(commands, new DataRequestMonitor<List<MIInfo>>(getExecutor(), rm) {
 			@Override
 			protected void handleCompleted() {
 				// Reset the list of source files when source path substitutions change
@@ -178,14 +188,7 @@ public class GDBSourceLookup extends CSourceLookup implements IGDBSourceLookup,
 				}
 				rm.done();
 			}
-		};
-		countingRm.setDoneCount(entries.size());
-		for (Map.Entry<String, String> entry : entries.entrySet()) {
-			fCommand.queueCommand(
-					fCommandFactory.createMISetSubstitutePath(sourceLookupCtx, entry.getKey(), entry.getValue()),
-					new DataRequestMonitor<MIInfo>(getExecutor(), countingRm));
-		}
-
+		});
 	}
 
 	private static final class DebugSourceFileInfo implements IDebugSourceFileInfo {
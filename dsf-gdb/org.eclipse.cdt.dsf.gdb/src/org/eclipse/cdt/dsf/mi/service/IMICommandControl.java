@@ -13,7 +13,15 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 
 /**
@@ -27,4 +35,45 @@ public interface IMICommandControl extends ICommandControlService {
 	 * to specialize certain commands.
 	 */
 	public CommandFactory getCommandFactory();
+
+	/**
+	 * Queues a group of commands that don't depend on the results of each
+	 * other as one unit. The commands are sent to the backend in the given
+	 * order, without other commands in between, and implementations may send
+	 * them without waiting for the results of the previous ones.
+	 * <p>
+	 * The default implementation queues the commands one by one.
+	 *
+	 * @param commands The commands to send.
+	 * @param rm Completed once all commands are done. Its data contains the
+	 * results in the order of the commands, with <code>null</code> for the
+	 * commands that failed, and its status contains the errors of the failed
+	 * commands.
+	 * @since 7.0
+	 */
+	public default <V extends ICommandResult> void queueCommands(List<? extends ICommand<V>> commands,
+			DataRequestMonitor<List<V>> rm) {
+		final List<V> results = new ArrayList<>(Collections.nCopies(commands.size(), null));
+		CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				if (!isSuccess()) {
+					rm.setStatus(getStatus());
+				}
+				rm.setData(results);
+				rm.done();
+			}
+		};
+		for (int i = 0; i < commands.size(); i++) {
+			final int index = i;
+			queueCommand(commands.get(i), new DataRequestMonitor<V>(getExecutor(), crm) {
+				@Override
+				protected void handleSuccess() {
+					results.set(index, getData());
+					super.handleSuccess();
+				}
+			});
+		}
+		crm.setDoneCount(commands.size());
+	}
 }
@@ -21,12 +21,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 import org.eclipse.cdt.core.IAddress;
@@ -51,6 +53,7 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
 import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionChangedEvent;
@@ -64,7 +67,9 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.debug.core.model.MemoryByte;
 import org.osgi.framework.BundleContext;
 
@@ -98,6 +103,11 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	// Map of memory caches
 	private Map<IMemoryDMContext, MIMemoryCache> fMemoryCaches;
 
+	// Layout of the memory caches, see the preferences
+	private int fMemoryCachePageSize = IGdbDebugPreferenceConstants.MEMORY_CACHE_PAGE_SIZE_DEFAULT;
+	private int fMemoryCacheMaxPages = IGdbDebugPreferenceConstants.MEMORY_CACHE_MAX_PAGES_DEFAULT;
+	private int fMemoryPrefetchPages = IGdbDebugPreferenceConstants.MEMORY_PREFETCH_PAGES_DEFAULT;
+
 	/** @since 4.2 */
 	protected MIMemoryCache getMemoryCache(IMemoryDMContext memoryDMC) {
 		MIMemoryCache cache = fMemoryCaches.get(memoryDMC);
@@ -159,6 +169,17 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 
 		fMemoryCaches = new HashMap<>();
 
+		IPreferencesService preferences = Platform.getPreferencesService();
+		fMemoryCachePageSize = preferences.getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_PAGE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_PAGE_SIZE_DEFAULT, null);
+		fMemoryCacheMaxPages = preferences.getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_MAX_PAGES,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_MAX_PAGES_DEFAULT, null);
+		fMemoryPrefetchPages = preferences.getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_PREFETCH_PAGES,
+				IGdbDebugPreferenceConstants.MEMORY_PREFETCH_PAGES_DEFAULT, null);
+
 		getSession().addServiceEventListener(this, null);
 
 		requestMonitor.done();
@@ -532,7 +553,7 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	}
 
 	///////////////////////////////////////////////////////////////////////////
-	// SortedLinkedlist
+	// MemoryBlock
 	///////////////////////////////////////////////////////////////////////////
 
 	// This class is really the equivalent of a C struct (old habits die hard...)
@@ -554,286 +575,349 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		}
 	}
 
-	// Address-ordered data structure to cache the memory blocks.
-	// Contiguous blocks are merged if possible.
-	@SuppressWarnings("serial")
-	private static class SortedMemoryBlockList extends LinkedList<MemoryBlock> {
+	// A page of the memory cache, i.e. the memory of an aligned range of addresses.
+	// The bytes of the page that have not been read yet are null.
+	private static class MemoryPage {
+		public final MemoryByte[] fBytes;
+		// The number of addressable units of the page that are cached
+		public int fCachedUnits;
 
-		public SortedMemoryBlockList() {
-			super();
+		public MemoryPage(int lengthInOctets) {
+			fBytes = new MemoryByte[lengthInOctets];
 		}
+	}
 
-		// Insert the block in the sorted linked list and merge contiguous
-		// blocks if necessary
-		@Override
-		public boolean add(MemoryBlock block) {
+	///////////////////////////////////////////////////////////////////////////
+	// MIMemoryCache
+	///////////////////////////////////////////////////////////////////////////
 
-			// If the list is empty, just store the block
-			if (isEmpty()) {
-				addFirst(block);
-				return true;
-			}
+	/**
+	 * The memory cache of a memory context. The memory is cached in pages of a
+	 * fixed number of addressable units, which are found by their page number
+	 * instead of walking a list of blocks. The least recently used pages are
+	 * discarded when the cache holds more than its maximum number of pages.
+	 *
+	 * When the reads continue one after the other, as when scrolling through
+	 * a memory view, the pages following the last read (or preceding it, when
+	 * scrolling up) are read ahead of time. A read of memory that is being
+	 * read ahead waits for it instead of sending its own command.
+	 *
+	 * @since 4.2
+	 */
+	protected class MIMemoryCache {
+		// The number of reads continuing the previous one after which we read ahead
+		private static final int SEQUENTIAL_READS_THRESHOLD = 2;
 
-			// Insert the block at the correct location and then
-			// merge the blocks if possible
-			ListIterator<MemoryBlock> it = listIterator();
-			while (it.hasNext()) {
-				int index = it.nextIndex();
-				MemoryBlock item = it.next();
-				if (block.fAddress.compareTo(item.fAddress) < 0) {
-					add(index, block);
-					compact(index);
-					return true;
-				}
-			}
+		// The cached pages by page number, from the least to the most recently used
+		private final Map<BigInteger, MemoryPage> fPages = new LinkedHashMap<>(16, 0.75f, true);
 
-			// Put at the end of the list and merge if necessary
-			addLast(block);
-			compact(size() - 1);
-			return true;
-		}
+		// The requests waiting for the pages being read ahead, by page number
+		private final Map<BigInteger, List<RequestMonitor>> fPrefetchWaiters = new HashMap<>();
 
-		// Merge this block with its contiguous neighbors (if any)
-		// Note: Merge is not performed if resulting block size would exceed MAXINT
-		private void compact(int index) {
-
-			MemoryBlock newBlock = get(index);
-
-			// Case where the block is to be merged with the previous block
-			if (index > 0) {
-				MemoryBlock prevBlock = get(index - 1);
-				IAddress endOfPreviousBlock = prevBlock.fAddress.add(prevBlock.fLengthInAddressableUnits);
-				if (endOfPreviousBlock.distanceTo(newBlock.fAddress).longValue() == 0) {
-					long newLengthInOctets = prevBlock.fLengthInOctets + newBlock.fLengthInOctets;
-					long newLengthInAddressableUnits = prevBlock.fLengthInAddressableUnits
-							+ newBlock.fLengthInAddressableUnits;
-					if (newLengthInOctets <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLengthInOctets];
-						System.arraycopy(prevBlock.fBlock, 0, block, 0, (int) prevBlock.fLengthInOctets);
-						System.arraycopy(newBlock.fBlock, 0, block, (int) prevBlock.fLengthInOctets,
-								(int) newBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(prevBlock.fAddress, newLengthInOctets, newLengthInAddressableUnits,
-								block);
-						remove(index);
-						index -= 1;
-						set(index, newBlock);
-					}
-				}
-			}
+		private final int fPageSize;
+		private final BigInteger fBigPageSize;
+		private final int fMaxPages;
+		private final int fPrefetchPages;
 
-			// Case where the block is to be merged with the following block
-			int lastIndex = size() - 1;
-			if (index < lastIndex) {
-				MemoryBlock nextBlock = get(index + 1);
-				IAddress endOfNewBlock = newBlock.fAddress.add(newBlock.fLengthInAddressableUnits);
-				if (endOfNewBlock.distanceTo(nextBlock.fAddress).longValue() == 0) {
-					long newLength = newBlock.fLengthInOctets + nextBlock.fLengthInOctets;
-					long newAddressesLength = newBlock.fLengthInAddressableUnits + nextBlock.fLengthInAddressableUnits;
-					if (newLength <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLength];
-						System.arraycopy(newBlock.fBlock, 0, block, 0, (int) newBlock.fLengthInOctets);
-						System.arraycopy(nextBlock.fBlock, 0, block, (int) newBlock.fLengthInOctets,
-								(int) nextBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(newBlock.fAddress, newLength, newAddressesLength, block);
-						set(index, newBlock);
-						remove(index + 1);
-					}
-				}
-			}
-		}
-	}
+		// The number of octets per addressable unit of the cached pages
+		private int fWordSize;
 
-	///////////////////////////////////////////////////////////////////////////
-	// MIMemoryCache
-	///////////////////////////////////////////////////////////////////////////
+		// Incremented on reset, so that memory read before is not cached
+		private int fGeneration;
 
-	/** @since 4.2 */
-	protected class MIMemoryCache {
-		// The memory cache data structure
-		private SortedMemoryBlockList fMemoryBlockList;
+		// The last read and the number of reads that continued the one before
+		private BigInteger fLastReadStart;
+		private BigInteger fLastReadEnd;
+		private int fSequentialReads;
+		private boolean fReadingBackwards;
+
+		// The memory could not be read ahead from these addresses on, respectively up to
+		// these addresses, so reading ahead stops there
+		private BigInteger fPrefetchFailedAbove;
+		private BigInteger fPrefetchFailedBelow;
 
 		public MIMemoryCache() {
-			// Create the memory block cache
-			fMemoryBlockList = new SortedMemoryBlockList();
+			this(fMemoryCachePageSize, fMemoryCacheMaxPages, fMemoryPrefetchPages);
+		}
+
+		/**
+		 * @param pageSize the number of addressable units of a page
+		 * @param maxPages the maximum number of pages kept in the cache
+		 * @param prefetchPages the number of pages read ahead of sequential reads, 0 to never read ahead
+		 * @since 7.0
+		 */
+		public MIMemoryCache(int pageSize, int maxPages, int prefetchPages) {
+			fPageSize = Math.max(1, pageSize);
+			fBigPageSize = BigInteger.valueOf(fPageSize);
+			fMaxPages = Math.max(1, maxPages);
+			fPrefetchPages = Math.max(0, prefetchPages);
 		}
 
 		public void reset() {
 			// Clear the memory cache
-			fMemoryBlockList.clear();
+			fPages.clear();
+			fGeneration++;
+			fLastReadStart = null;
+			fLastReadEnd = null;
+			fSequentialReads = 0;
+			fPrefetchFailedAbove = null;
+			fPrefetchFailedBelow = null;
+
+			// The memory being read ahead is not cached anymore,
+			// the requests waiting for it have to read it themselves
+			List<RequestMonitor> waiters = new ArrayList<>();
+			for (List<RequestMonitor> pageWaiters : fPrefetchWaiters.values()) {
+				waiters.addAll(pageWaiters);
+			}
+			fPrefetchWaiters.clear();
+			for (RequestMonitor waiter : waiters) {
+				waiter.done();
+			}
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list to identify
-		 *  the 'missing' blocks (i.e. the holes) that need to be fetched on the target.
-		 *
-		 *  The idea is fairly simple but an illustration could perhaps help.
-		 *  Assume the cache holds a number of cached memory blocks with gaps i.e.
-		 *  there is un-cached memory areas between blocks A, B and C:
-		 *
-		 *        +---------+      +---------+      +---------+
-		 *        +    A    +      +    B    +      +    C    +
-		 *        +---------+      +---------+      +---------+
-		 *        :         :      :         :      :         :
-		 *   [a]  :         :  [b] :         :  [c] :         :  [d]
-		 *        :         :      :         :      :         :
-		 *   [e---+--]      :  [f--+---------+--]   :         :
-		 *   [g---+---------+------+---------+------+---------+----]
-		 *        :         :      :         :      :         :
-		 *        :   [h]   :      :   [i----+--]   :         :
-		 *
-		 *
-		 *  We have the following cases to consider.The requested block [a-i] either:
-		 *
-		 *  [1] Fits entirely before A, in one of the gaps, or after C
-		 *      with no overlap and no contiguousness (e.g. [a], [b], [c] and [d])
-		 *      -> Add the requested block to the list of blocks to fetch
-		 *
-		 *  [2] Starts before an existing block but overlaps part of it, possibly
-		 *      spilling in the gap following the cached block (e.g. [e], [f] and [g])
-		 *      -> Determine the length of the missing part (< count)
-		 *      -> Add a request to fill the gap before the existing block
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by cached block length (possibly becoming negative, e.g. [e])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  [3] Starts at or into an existing block and overlaps part of it ([h] and [i])
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by length to end of cached block (possibly becoming negative, e.g. [h])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  We iterate over the cached blocks list until there is no entry left or until
-		 *  the remaining requested block count is <= 0, meaning the result list contains
-		 *  only the sub-blocks needed to fill the gap(s), if any.
-		 *
-		 *  (As is often the case, it takes much more typing to explain it than to just do it :-)
+		 * @return The number of pages in the cache
+		 * @since 7.0
+		 */
+		public int getSize() {
+			return fPages.size();
+		}
+
+		private void setWordSize(int wordSize) {
+			// The pages are laid out for one addressable size
+			if (wordSize != fWordSize) {
+				reset();
+				fWordSize = wordSize;
+			}
+		}
+
+		/**
+		 *  Fills the part [from, to[ of a memory block with the cached memory and
+		 *  reads the memory that is not cached from the target, in as few commands
+		 *  as possible. The parts that are in pages being read ahead are filled
+		 *  when that read completes, if waitForPrefetch is set.
 		 *
-		 *  What is missing is a parameter that indicates the minimal block size that is worth fetching.
-		 *  This is target-specific and straight in the realm of the coalescing function...
+		 * @param start The address of the block
+		 * @param block The block to fill
+		 * @param from The index of the first addressable unit to fill
+		 * @param to The index following the last addressable unit to fill
+		 * @param rm Completed when the memory has been filled
+		 */
+		private void fetchMemory(final IMemoryDMContext memoryDMC, final IAddress start, final MemoryByte[] block,
+				final int wordSize, int from, int to, boolean waitForPrefetch, RequestMonitor rm) {
+			final CountingRequestMonitor countingRM = new CountingRequestMonitor(getExecutor(), rm);
+			int numberOfRequests = 0;
+
+			BigInteger[] position = start.getValue().add(BigInteger.valueOf(from)).divideAndRemainder(fBigPageSize);
+			BigInteger pageNumber = position[0];
+			int unit = position[1].intValue();
+			int missingStart = -1;
+			int done = from;
+			while (done < to) {
+				int length = Math.min(fPageSize - unit, to - done);
+				List<RequestMonitor> waiters = waitForPrefetch ? fPrefetchWaiters.get(pageNumber) : null;
+				if (waiters != null) {
+					if (missingStart >= 0) {
+						readMissingMemory(memoryDMC, start, block, wordSize, missingStart, done, countingRM);
+						numberOfRequests++;
+						missingStart = -1;
+					}
+					final int pageFrom = done;
+					final int pageTo = done + length;
+					waiters.add(new RequestMonitor(getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+							fetchMemory(memoryDMC, start, block, wordSize, pageFrom, pageTo, false, countingRM);
+						}
+					});
+					numberOfRequests++;
+				} else {
+					MemoryPage page = fPages.get(pageNumber);
+					if (page != null && page.fCachedUnits == fPageSize) {
+						// The whole page is cached
+						if (missingStart >= 0) {
+							readMissingMemory(memoryDMC, start, block, wordSize, missingStart, done, countingRM);
+							numberOfRequests++;
+							missingStart = -1;
+						}
+						System.arraycopy(page.fBytes, unit * wordSize, block, done * wordSize, length * wordSize);
+					} else {
+						for (int i = 0; i < length; i++) {
+							int pos = (done + i) * wordSize;
+							if (block[pos] == null && page != null && page.fBytes[(unit + i) * wordSize] != null) {
+								System.arraycopy(page.fBytes, (unit + i) * wordSize, block, pos, wordSize);
+							}
+							if (block[pos] == null) {
+								if (missingStart < 0) {
+									missingStart = done + i;
+								}
+							} else if (missingStart >= 0) {
+								readMissingMemory(memoryDMC, start, block, wordSize, missingStart, done + i,
+										countingRM);
+								numberOfRequests++;
+								missingStart = -1;
+							}
+						}
+					}
+				}
+				done += length;
+				unit = 0;
+				pageNumber = pageNumber.add(BigInteger.ONE);
+			}
+
+			if (missingStart >= 0) {
+				readMissingMemory(memoryDMC, start, block, wordSize, missingStart, to, countingRM);
+				numberOfRequests++;
+			}
+			countingRM.setDoneCount(numberOfRequests);
+		}
+
+		/**
+		 *  Reads the part [from, to[ of a memory block from the target
+		 *  and stores it in the block and in the cache.
+		 */
+		private void readMissingMemory(IMemoryDMContext memoryDMC, IAddress start, final MemoryByte[] block,
+				final int wordSize, final int from, int to, final RequestMonitor rm) {
+			final IAddress blockStart = start.add(from);
+			final int length = to - from;
+			final int generation = fGeneration;
+			readMemoryBlock(memoryDMC, blockStart, 0, wordSize, length,
+					new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							MemoryByte[] readBlock = getData();
+							System.arraycopy(readBlock, 0, block, from * wordSize,
+									Math.min(readBlock.length, length * wordSize));
+							if (generation == fGeneration) {
+								storeMemoryBlock(blockStart, length, readBlock, wordSize, true);
+							}
+							rm.done();
+						}
+					});
+		}
+
+		/**
+		 *  Returns the sub-blocks of the given block that are neither cached
+		 *  nor being read ahead.
 		 *
 		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return A list of the sub-blocks to fetch in order to fill enough gaps in the memory cache
-		 * to service the request
+		 * @param wordCount Its length in addressable units
+		 * @return The sub-blocks to fetch in order to cache the requested block
 		 */
 		private List<MemoryBlock> getListOfMissingBlocks(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int octetCount = wordCount * wordSize;
-
-			LinkedList<MemoryBlock> list = new LinkedList<>();
-			ListIterator<MemoryBlock> it = fMemoryBlockList.listIterator();
-
-			// Look for holes in the list of memory blocks
-			while (it.hasNext() && octetCount > 0) {
-				MemoryBlock cachedBlock = it.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where we miss a block before the cached block
-				if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0) {
-					int lengthInOctets = (int) Math
-							.min(reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize, octetCount);
-					// If both blocks start at the same location, no need to create a new cached block
-					if (lengthInOctets > 0) {
-						int lengthInAddressableUnits = lengthInOctets / wordSize;
-						MemoryBlock newBlock = new MemoryBlock(reqBlockStart, lengthInOctets, lengthInAddressableUnits,
-								new MemoryByte[0]);
-						list.add(newBlock);
+			List<MemoryBlock> list = new ArrayList<>();
+
+			BigInteger[] position = reqBlockStart.getValue().divideAndRemainder(fBigPageSize);
+			BigInteger pageNumber = position[0];
+			int unit = position[1].intValue();
+			int missingStart = -1;
+			int done = 0;
+			while (done < wordCount) {
+				int length = Math.min(fPageSize - unit, wordCount - done);
+				MemoryPage page = fPages.get(pageNumber);
+				boolean present = fPrefetchWaiters.containsKey(pageNumber)
+						|| (page != null && page.fCachedUnits == fPageSize);
+				for (int i = 0; i < length; i++) {
+					boolean missing = !present && (page == null || page.fBytes[(unit + i) * wordSize] == null);
+					if (missing && missingStart < 0) {
+						missingStart = done + i;
+					} else if (!missing && missingStart >= 0) {
+						list.add(createMissingBlock(reqBlockStart, missingStart, done + i, wordSize));
+						missingStart = -1;
 					}
-					// Adjust request block start and length for the next iteration
-					reqBlockStart = cachedBlockEnd;
-					octetCount -= lengthInOctets + cachedBlock.fLengthInOctets;
-				}
-
-				// Case where the requested block starts somewhere in the cached block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() > 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					// Start of the requested block already in cache
-					// Adjust request block start and length for the next iteration
-					octetCount -= reqBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					reqBlockStart = cachedBlockEnd;
 				}
+				done += length;
+				unit = 0;
+				pageNumber = pageNumber.add(BigInteger.ONE);
 			}
 
-			// Case where we miss a block at the end of the cache
-			if (octetCount > 0) {
-				int addressesLength = octetCount / wordSize;
-				MemoryBlock newBlock = new MemoryBlock(reqBlockStart, octetCount, addressesLength, new MemoryByte[0]);
-				list.add(newBlock);
+			if (missingStart >= 0) {
+				list.add(createMissingBlock(reqBlockStart, missingStart, wordCount, wordSize));
 			}
-
 			return list;
 		}
 
+		private MemoryBlock createMissingBlock(IAddress reqBlockStart, int from, int to, int wordSize) {
+			int lengthInAddressableUnits = to - from;
+			return new MemoryBlock(reqBlockStart.add(from), lengthInAddressableUnits * wordSize,
+					lengthInAddressableUnits, new MemoryByte[0]);
+		}
+
 		/**
-		 *  This function walks the address-sorted memory block list to get the
-		 *  cached memory bytes (possibly from multiple contiguous blocks).
-		 *  This function is called *after* the missing blocks have been read from
-		 *  the back end i.e. the requested memory is all cached.
-		 *
-		 *  Again, this is fairly simple. As we loop over the address-ordered list,
-		 *  There are really only 2 cases:
-		 *
-		 *  [1] The requested block fits entirely in the cached block ([a] or [b])
-		 *  [2] The requested block starts in a cached block and ends in the
-		 *      following (contiguous) one ([c]) in which case it is treated
-		 *      as 2 contiguous requests ([c'] and [c"])
-		 *
-		 *       +--------------+--------------+
-		 *       +       A      +      B       +
-		 *       +--------------+--------------+
-		 *       :  [a----]     :   [b-----]   :
-		 *       :              :              :
-		 *       :       [c-----+------]       :
-		 *       :       [c'---]+[c"---]       :
+		 *  Returns the cached memory of the requested block. The bytes
+		 *  that are not cached are null.
 		 *
 		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
+		 * @param wordCount Its length in addressable units
 		 * @return The cached memory content
 		 */
 		private MemoryByte[] getMemoryBlockFromCache(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int count = wordCount * wordSize;
-
-			IAddress reqBlockEnd = reqBlockStart.add(wordCount);
-			MemoryByte[] resultBlock = new MemoryByte[count];
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where the cached block overlaps completely the requested memory block
-				if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, count);
+			MemoryByte[] resultBlock = new MemoryByte[wordCount * wordSize];
+
+			BigInteger[] position = reqBlockStart.getValue().divideAndRemainder(fBigPageSize);
+			BigInteger pageNumber = position[0];
+			int unit = position[1].intValue();
+			int done = 0;
+			while (done < wordCount) {
+				int length = Math.min(fPageSize - unit, wordCount - done);
+				MemoryPage page = fPages.get(pageNumber);
+				if (page != null) {
+					System.arraycopy(page.fBytes, unit * wordSize, resultBlock, done * wordSize, length * wordSize);
 				}
+				done += length;
+				unit = 0;
+				pageNumber = pageNumber.add(BigInteger.ONE);
+			}
+			return resultBlock;
+		}
 
-				// Case where the beginning of the cached block is within the requested memory block
-				else if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockStart.distanceTo(reqBlockEnd).longValue() > 0) {
-					int pos = (int) reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets, count - pos);
-					System.arraycopy(cachedBlock.fBlock, 0, resultBlock, pos, length);
+		/**
+		 *  Stores a memory block in the cache and discards the least recently
+		 *  used pages if the cache has grown too large.
+		 *
+		 * @param blockStart The address of the block
+		 * @param wordCount - Number of addressable units
+		 * @param block The memory content
+		 * @param wordSize - Number of octets per addressable unit
+		 * @param addPages Whether to cache the memory of the pages not in the cache yet
+		 */
+		private void storeMemoryBlock(IAddress blockStart, int wordCount, MemoryByte[] block, int wordSize,
+				boolean addPages) {
+			wordCount = Math.min(wordCount, block.length / wordSize);
+
+			BigInteger[] position = blockStart.getValue().divideAndRemainder(fBigPageSize);
+			BigInteger pageNumber = position[0];
+			int unit = position[1].intValue();
+			int done = 0;
+			while (done < wordCount) {
+				int length = Math.min(fPageSize - unit, wordCount - done);
+				MemoryPage page = fPages.get(pageNumber);
+				if (page == null && addPages) {
+					page = new MemoryPage(fPageSize * wordSize);
+					fPages.put(pageNumber, page);
 				}
-
-				// Case where the end of the cached block is within the requested memory block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets - pos, count);
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, length);
+				if (page != null) {
+					for (int i = unit; i < unit + length; i++) {
+						if (page.fBytes[i * wordSize] == null) {
+							page.fCachedUnits++;
+						}
+					}
+					System.arraycopy(block, done * wordSize, page.fBytes, unit * wordSize, length * wordSize);
 				}
+				done += length;
+				unit = 0;
+				pageNumber = pageNumber.add(BigInteger.ONE);
+			}
+
+			Iterator<MemoryPage> it = fPages.values().iterator();
+			while (fPages.size() > fMaxPages) {
+				it.next();
+				it.remove();
 			}
-			return resultBlock;
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list and updates
-		 *  the content with the actual memory just read from the target.
+		 *  Updates the cached memory with the actual memory just read from the target.
 		 *
 		 * @param modBlockStart
 		 * @param wordCount - Number of addressable units
@@ -841,52 +925,127 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 * @param wordSize - Number of octets per addressable unit
 		 */
 		private void updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock, int wordSize) {
-			IAddress modBlockEnd = modBlockStart.add(wordCount);
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-			int count = wordCount * wordSize;
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// For now, we only bother to update bytes already cached.
-				// Note: In a better implementation (v1.1), we would augment
-				// the cache with the missing memory blocks since we went
-				// through the pains of reading them in the first place.
-				// (this is left as an exercise to the reader :-)
-
-				// Case where the modified block is completely included in the cached block
-				if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, count);
-				}
+			// Only the pages in the cache are updated, the others are
+			// not necessarily of interest to the clients
+			storeMemoryBlock(modBlockStart, wordCount, modBlock, wordSize, false);
+		}
+
+		/**
+		 *  Detects the reads that continue the previous one, forwards or
+		 *  backwards, and reads the following pages ahead once enough reads
+		 *  were sequential.
+		 */
+		private void prefetch(IMemoryDMContext memoryDMC, IAddress address, final int wordSize, int wordCount) {
+			BigInteger start = address.getValue();
+			BigInteger end = start.add(BigInteger.valueOf(wordCount));
+			if (fLastReadStart != null && start.equals(fLastReadStart) && end.equals(fLastReadEnd)) {
+				// Reading the same memory again does not tell where the client is heading
+			} else if (fLastReadStart != null && start.compareTo(fLastReadStart) > 0
+					&& start.compareTo(fLastReadEnd) <= 0) {
+				fSequentialReads = fReadingBackwards ? 1 : fSequentialReads + 1;
+				fReadingBackwards = false;
+			} else if (fLastReadStart != null && start.compareTo(fLastReadStart) < 0
+					&& end.compareTo(fLastReadStart) >= 0) {
+				fSequentialReads = fReadingBackwards ? fSequentialReads + 1 : 1;
+				fReadingBackwards = true;
+			} else {
+				fSequentialReads = 0;
+			}
+			fLastReadStart = start;
+			fLastReadEnd = end;
+
+			if (fPrefetchPages == 0 || wordCount == 0 || fSequentialReads < SEQUENTIAL_READS_THRESHOLD) {
+				return;
+			}
 
-				// Case where the cached block is completely included in the modified block
-				else if (modBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockEnd.distanceTo(modBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, (int) cachedBlock.fLengthInOctets);
+			BigInteger prefetchStart;
+			BigInteger prefetchEnd;
+			if (fReadingBackwards) {
+				if (start.signum() == 0) {
+					return;
+				}
+				BigInteger firstPage = start.subtract(BigInteger.ONE).divide(fBigPageSize)
+						.subtract(BigInteger.valueOf(fPrefetchPages - 1));
+				prefetchStart = firstPage.max(BigInteger.ZERO).multiply(fBigPageSize);
+				if (fPrefetchFailedBelow != null) {
+					prefetchStart = prefetchStart.max(fPrefetchFailedBelow);
+				}
+				prefetchEnd = start;
+			} else {
+				prefetchStart = end;
+				prefetchEnd = end.divide(fBigPageSize).add(BigInteger.valueOf(fPrefetchPages)).multiply(fBigPageSize)
+						.min(address.getMaxOffset().add(BigInteger.ONE));
+				if (fPrefetchFailedAbove != null) {
+					prefetchEnd = prefetchEnd.min(fPrefetchFailedAbove);
 				}
+			}
+			if (prefetchStart.compareTo(prefetchEnd) >= 0) {
+				return;
+			}
+
+			final int generation = fGeneration;
+			final boolean backwards = fReadingBackwards;
+			IAddress prefetchAddress = address.add(prefetchStart.subtract(start));
+			int prefetchCount = prefetchEnd.subtract(prefetchStart).intValue();
+			for (MemoryBlock block : getListOfMissingBlocks(prefetchAddress, prefetchCount, wordSize)) {
+				final IAddress blockStart = block.fAddress;
+				final int length = (int) block.fLengthInAddressableUnits;
 
-				// Case where the beginning of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					int length = (int) modBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, length);
+				// Mark the pages as being read ahead
+				final List<BigInteger> pageNumbers = new ArrayList<>();
+				BigInteger pageNumber = blockStart.getValue().divide(fBigPageSize);
+				BigInteger lastPageNumber = blockStart.getValue().add(BigInteger.valueOf(length - 1))
+						.divide(fBigPageSize);
+				while (pageNumber.compareTo(lastPageNumber) <= 0) {
+					fPrefetchWaiters.putIfAbsent(pageNumber, new ArrayList<RequestMonitor>());
+					pageNumbers.add(pageNumber);
+					pageNumber = pageNumber.add(BigInteger.ONE);
 				}
 
-				// Case where the end of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockEnd).longValue() > 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) cachedBlockStart.distanceTo(modBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, length);
+				readMemoryBlock(memoryDMC, blockStart, 0, wordSize, length,
+						new DataRequestMonitor<MemoryByte[]>(getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								if (generation != fGeneration) {
+									// The cache was reset and the waiting requests released
+									return;
+								}
+								// Memory that could not be read is not cached, as the failure may be caused
+								// by a part of the block only; the requests will read what they need
+								if (isSuccess() && isReadable(getData(), length * wordSize)) {
+									storeMemoryBlock(blockStart, length, getData(), wordSize, true);
+								} else if (backwards) {
+									// Do not read ahead into this memory again, which would fail the same way
+									BigInteger blockEnd = blockStart.getValue().add(BigInteger.valueOf(length));
+									fPrefetchFailedBelow = fPrefetchFailedBelow == null ? blockEnd
+											: fPrefetchFailedBelow.max(blockEnd);
+								} else {
+									fPrefetchFailedAbove = fPrefetchFailedAbove == null ? blockStart.getValue()
+											: fPrefetchFailedAbove.min(blockStart.getValue());
+								}
+								for (BigInteger page : pageNumbers) {
+									List<RequestMonitor> waiters = fPrefetchWaiters.remove(page);
+									if (waiters != null) {
+										for (RequestMonitor waiter : waiters) {
+											waiter.done();
+										}
+									}
+								}
+							}
+						});
+			}
+		}
+
+		private boolean isReadable(MemoryByte[] block, int lengthInOctets) {
+			if (block == null || block.length < lengthInOctets) {
+				return false;
+			}
+			for (MemoryByte memoryByte : block) {
+				if (memoryByte == null || !memoryByte.isReadable()) {
+					return false;
 				}
 			}
-			return;
+			return true;
 		}
 
 		/**
@@ -898,40 +1057,20 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 */
 		public void getMemory(IMemoryDMContext memoryDMC, final IAddress address, final int wordSize,
 				final int wordCount, final DataRequestMonitor<MemoryByte[]> drm) {
-			// Determine the number of read requests to issue
-			List<MemoryBlock> missingBlocks = getListOfMissingBlocks(address, wordCount, wordSize);
-			int numberOfRequests = missingBlocks.size();
+			setWordSize(wordSize);
 
-			// A read request will be issued for each block needed
-			// so we need to keep track of the count
-			final CountingRequestMonitor countingRM = new CountingRequestMonitor(getExecutor(), drm) {
-				@Override
-				protected void handleSuccess() {
-					// We received everything so read the result from the memory cache
-					drm.setData(getMemoryBlockFromCache(address, wordCount, wordSize));
-					drm.done();
-				}
-			};
-			countingRM.setDoneCount(numberOfRequests);
+			// Fill the block with the cached memory and read the rest
+			final MemoryByte[] block = new MemoryByte[wordCount * wordSize];
+			fetchMemory(memoryDMC, address, block, wordSize, 0, wordCount, true,
+					new RequestMonitor(getExecutor(), drm) {
+						@Override
+						protected void handleSuccess() {
+							drm.setData(block);
+							drm.done();
+						}
+					});
 
-			// Issue the read requests
-			for (int i = 0; i < numberOfRequests; i++) {
-				MemoryBlock block = missingBlocks.get(i);
-				final IAddress startAddress = block.fAddress;
-				final int length = (int) block.fLengthInAddressableUnits;
-				readMemoryBlock(memoryDMC, startAddress, 0, wordSize, length,
-						new DataRequestMonitor<MemoryByte[]>(getSession().getExecutor(), drm) {
-							@Override
-							protected void handleSuccess() {
-								MemoryByte[] block = getData();
-								int lenghtInaddressableUnits = block.length / wordSize;
-								MemoryBlock memoryBlock = new MemoryBlock(startAddress, block.length,
-										lenghtInaddressableUnits, block);
-								fMemoryBlockList.add(memoryBlock);
-								countingRM.done();
-							}
-						});
-			}
+			prefetch(memoryDMC, address, wordSize, wordCount);
 		}
 
 		/**
@@ -945,6 +1084,7 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 */
 		public void setMemory(final IMemoryDMContext memoryDMC, final IAddress address, final long offset,
 				final int wordSize, final int wordCount, final byte[] buffer, final RequestMonitor rm) {
+			setWordSize(wordSize);
 			writeMemoryBlock(memoryDMC, address, offset, wordSize, wordCount, buffer,
 					new RequestMonitor(getSession().getExecutor(), rm) {
 						@Override
@@ -984,16 +1124,20 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		*/
 		public void refreshMemory(final IMemoryDMContext memoryDMC, final IAddress address, final long offset,
 				final int wordSize, final int wordCount, final boolean sendMemoryEvent, final RequestMonitor rm) {
+			setWordSize(wordSize);
+
 			// Check if we already cache part of this memory area (which means it
 			// is used by a memory service client that will have to be updated)
-			List<MemoryBlock> list = getListOfMissingBlocks(address, wordCount, wordSize);
-			int sizeToRead = 0;
-			for (MemoryBlock block : list) {
-				sizeToRead += block.fLengthInAddressableUnits;
+			boolean cached = false;
+			for (MemoryByte memoryByte : getMemoryBlockFromCache(address, wordCount, wordSize)) {
+				if (memoryByte != null) {
+					cached = true;
+					break;
+				}
 			}
 
 			// If none of the requested memory is in cache, just get out
-			if (sizeToRead == wordCount) {
+			if (!cached) {
 				rm.done();
 				return;
 			}
@@ -1007,8 +1151,9 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 							MemoryByte[] oldBlock = getMemoryBlockFromCache(address, wordCount, wordSize);
 							MemoryByte[] newBlock = getData();
 							boolean blocksDiffer = false;
-							for (int i = 0; i < oldBlock.length; i++) {
-								if (oldBlock[i].getValue() != newBlock[i].getValue()) {
+							for (int i = 0; i < oldBlock.length && i < newBlock.length; i++) {
+								// Only the cached memory can have changed for the clients
+								if (oldBlock[i] != null && oldBlock[i].getValue() != newBlock[i].getValue()) {
 									blocksDiffer = true;
 									break;
 								}
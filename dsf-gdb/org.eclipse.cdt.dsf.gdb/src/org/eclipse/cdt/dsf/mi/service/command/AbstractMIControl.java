@@ -39,8 +39,10 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
@@ -97,7 +99,6 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
-	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
 
 	/*
@@ -108,6 +109,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private RxThread fRxThread;
 	private ErrorThread fErrorThread;
 	private final int fNumberOfConcurrentCommands;
+	// The number of commands allowed on the wire while the commands of a batch are sent
+	private final int fNumberOfBatchCommands;
 
 	// MI did not always support the --thread/--frame options
 	// This boolean is used to know if we should use -thread-select and -stack-select-frame instead
@@ -125,6 +128,25 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private final Map<Integer, CommandHandle> fRxCommands = Collections
 			.synchronizedMap(new HashMap<Integer, CommandHandle>());
 
+	/**
+	 * Number of commands that were handed to the transmitter thread and for
+	 * which no result has been received yet.  Unlike the size of fRxCommands
+	 * it includes the commands that are still in fTxCommands.
+	 */
+	private final AtomicInteger fCommandsInFlight = new AtomicInteger();
+
+	/**
+	 * The batch of the last command handed to the transmitter thread, the
+	 * remaining commands of that batch are sent right after it.
+	 */
+	private Object fLastSentBatch;
+
+	/**
+	 * Latency and throughput counters per command class.
+	 */
+	private final Map<Class<?>, CommandCounters> fCommandCounters = new HashMap<>();
+	private long fCommandCountersStartTime = System.nanoTime();
+
 	/**
 	 * Handle that's inserted into the TX commands queue to signal
 	 * that the TX thread should shut down.
@@ -199,12 +221,40 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		fCommandFactory = factory;
 
 		if (isConcurrentCommandsSupported()) {
-			fNumberOfConcurrentCommands = NUMBER_CONCURRENT_COMMANDS;
+			fNumberOfConcurrentCommands = Math.max(1, getMaxConcurrentCommands());
+			fNumberOfBatchCommands = Math.max(fNumberOfConcurrentCommands, getMaxBatchCommands());
 		} else {
 			fNumberOfConcurrentCommands = 1;
+			fNumberOfBatchCommands = 1;
 		}
 	}
 
+	/**
+	 * Returns the number of commands that may be sent to the backend before their
+	 * results have been received, if the backend supports concurrent commands.
+	 *
+	 * @since 7.0
+	 */
+	protected int getMaxConcurrentCommands() {
+		return Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MAX_CONCURRENT_MI_COMMANDS,
+				IGdbDebugPreferenceConstants.MAX_CONCURRENT_MI_COMMANDS_DEFAULT, null);
+	}
+
+	/**
+	 * Returns the number of commands that may be sent to the backend before their
+	 * results have been received while sending the commands queued with
+	 * {@link #queueCommands(List, DataRequestMonitor)}, if the backend supports
+	 * concurrent commands.  It is never less than {@link #getMaxConcurrentCommands()}.
+	 *
+	 * @since 7.0
+	 */
+	protected int getMaxBatchCommands() {
+		return Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MAX_MI_BATCH_COMMANDS,
+				IGdbDebugPreferenceConstants.MAX_MI_BATCH_COMMANDS_DEFAULT, null);
+	}
+
 	/**
 	 * Set the tracing stream for the MI communication.  If this method is never
 	 * called, tracing will be off, by default.
@@ -386,7 +436,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			rm.done();
 		} else {
 			/*
-			 *  We only allow three outstanding commands to be on the wire to the backend
+			 *  We only allow a few outstanding commands to be on the wire to the backend
 			 *  at any one time. This allows for coalescing as well as canceling
 			 *  existing commands on a state change. So we add it to the waiting list and let
 			 *  the user know they can now work with this item if need be.
@@ -396,21 +446,83 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 			// In a separate dispatch cycle.  This allows command listeners
 			// to respond to the command queued event.
-			getExecutor().execute(new DsfRunnable() {
+			scheduleProcessNextQueuedCommand();
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Queues the commands one after the other in the waiting list.  When the backend
+	 * supports concurrent commands, once the first command of the group is sent, the
+	 * others follow it without waiting for the results of the previous ones, up to
+	 * {@link #getMaxBatchCommands()} commands on the wire instead of
+	 * {@link #getMaxConcurrentCommands()}.
+	 *
+	 * @since 7.0
+	 */
+	@Override
+	public <V extends ICommandResult> void queueCommands(List<? extends ICommand<V>> commands,
+			DataRequestMonitor<List<V>> rm) {
+		if (fStoppedCommandProcessing) {
+			rm.setStatus(genStatus("Connection is shut down")); //$NON-NLS-1$
+			rm.done();
+			return;
+		}
+
+		final List<V> results = new ArrayList<>(Collections.nCopies(commands.size(), null));
+		CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				if (!isSuccess()) {
+					rm.setStatus(getStatus());
+				}
+				rm.setData(results);
+				rm.done();
+			}
+		};
+		Object batch = new Object();
+		for (int i = 0; i < commands.size(); i++) {
+			final int index = i;
+			@SuppressWarnings("unchecked")
+			MICommand<MIInfo> miCommand = (MICommand<MIInfo>) commands.get(i);
+			DataRequestMonitor<MIInfo> miDone = new DataRequestMonitor<>(getExecutor(), crm) {
+				@SuppressWarnings("unchecked")
 				@Override
-				public void run() {
-					processNextQueuedCommand();
+				protected void handleSuccess() {
+					results.set(index, (V) getData());
+					super.handleSuccess();
 				}
-			});
+			};
+			final CommandHandle handle = new CommandHandle(miCommand, miDone);
+			handle.fBatch = batch;
+			fCommandQueue.add(handle);
+			processCommandQueued(handle);
 		}
+		crm.setDoneCount(commands.size());
+		scheduleProcessNextQueuedCommand();
+	}
 
-		return handle;
+	private void scheduleProcessNextQueuedCommand() {
+		getExecutor().execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				processNextQueuedCommand();
+			}
+		});
 	}
 
 	private void processNextQueuedCommand() {
-		if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
+		while (!fCommandQueue.isEmpty()) {
+			CommandHandle next = fCommandQueue.get(0);
+			boolean sameBatch = next.fBatch != null && next.fBatch == fLastSentBatch;
+			if (fCommandsInFlight.get() >= (sameBatch ? fNumberOfBatchCommands : fNumberOfConcurrentCommands)) {
+				break;
+			}
+
 			final CommandHandle handle = fCommandQueue.remove(0);
 			if (handle != null) {
+				fLastSentBatch = handle.fBatch;
 				processCommandSent(handle);
 
 				// Older debuggers didn't support the --thread/--frame options
@@ -438,7 +550,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIThreadSelect(targetContext, targetThread), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							sendCommand(cmdHandle);
 						}
 
 						// Before the command is sent, Check the Stack level and send it to
@@ -448,7 +560,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIStackSelectFrame(targetContext, targetFrame), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							sendCommand(cmdHandle);
 						}
 					}
 				}
@@ -459,9 +571,83 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 					// need a token id.  In fact, GDB will fail if we send one in this case.
 					handle.generateTokenId();
 				}
-				fTxCommands.add(handle);
+				sendCommand(handle);
+			}
+		}
+	}
+
+	/**
+	 * Hands the command to the transmitter thread.
+	 */
+	private void sendCommand(CommandHandle handle) {
+		if (!(handle.getCommand() instanceof RawCommand)) {
+			// RawCommands don't get an answer, so they don't take up room on the wire.
+			fCommandsInFlight.incrementAndGet();
+		}
+		handle.fSentTime = System.nanoTime();
+		fTxCommands.add(handle);
+	}
+
+	/**
+	 * Accounts for a command whose result was received or which was failed
+	 * by {@link #commandFailed(ICommandToken, int, String)}.
+	 */
+	private void commandCompleted(CommandHandle handle, boolean error) {
+		fCommandsInFlight.decrementAndGet();
+		long latency = System.nanoTime() - handle.fSentTime;
+		synchronized (fCommandCounters) {
+			CommandCounters counters = fCommandCounters.computeIfAbsent(handle.getCommand().getClass(),
+					c -> new CommandCounters());
+			counters.fCount++;
+			if (error) {
+				counters.fErrorCount++;
+			}
+			counters.fTotalLatency += latency;
+			counters.fMaxLatency = Math.max(counters.fMaxLatency, latency);
+		}
+	}
+
+	/**
+	 * Returns the latency and throughput of the commands sent to the backend
+	 * since the command control was created or {@link #resetCommandStatistics()}
+	 * was last called, per class of command.  This method can be called on any
+	 * thread.
+	 *
+	 * @since 7.0
+	 */
+	public Map<Class<?>, MICommandStatistics> getCommandStatistics() {
+		Map<Class<?>, MICommandStatistics> statistics = new HashMap<>();
+		synchronized (fCommandCounters) {
+			long elapsedTime = System.nanoTime() - fCommandCountersStartTime;
+			for (Map.Entry<Class<?>, CommandCounters> entry : fCommandCounters.entrySet()) {
+				CommandCounters counters = entry.getValue();
+				statistics.put(entry.getKey(), new MICommandStatistics(counters.fCount, counters.fErrorCount,
+						counters.fTotalLatency, counters.fMaxLatency, elapsedTime));
 			}
 		}
+		return statistics;
+	}
+
+	/**
+	 * Resets the statistics returned by {@link #getCommandStatistics()}.
+	 *
+	 * @since 7.0
+	 */
+	public void resetCommandStatistics() {
+		synchronized (fCommandCounters) {
+			fCommandCounters.clear();
+			fCommandCountersStartTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Counters of the commands of one class, guarded by fCommandCounters.
+	 */
+	private static class CommandCounters {
+		long fCount;
+		long fErrorCount;
+		long fTotalLatency;
+		long fMaxLatency;
 	}
 
 	/*
@@ -656,6 +842,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		private MICommand<MIInfo> fCommand;
 		private DataRequestMonitor<MIInfo> fRequestMonitor;
 		private int fTokenId;
+		// The group the command was queued with, or null
+		private Object fBatch;
+		// When the command was handed to the TX thread
+		private long fSentTime;
 
 		CommandHandle(MICommand<MIInfo> c, DataRequestMonitor<MIInfo> d) {
 			fCommand = c;
@@ -998,6 +1188,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				final CommandHandle commandHandle = fRxCommands.remove(id);
 
 				if (commandHandle != null) {
+					commandCompleted(commandHandle, MIResultRecord.ERROR.equals(rr.getResultClass()));
+
 					final MIOutput response = new MIOutput(rr,
 							fAccumulatedOOBRecords.toArray(new MIOOBRecord[fAccumulatedOOBRecords.size()]));
 					fAccumulatedOOBRecords.clear();
@@ -1232,6 +1424,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		if (h == null)
 			// Command has already been processed by RxThread.
 			return;
+		commandCompleted(h, true);
 
 		MIConst value = new MIConst();
 		value.setCString(errorMessage);
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import org.eclipse.cdt.dsf.concurrent.Immutable;
+
+/**
+ * Snapshot of the latency and throughput of the MI commands of one class,
+ * as measured by {@link AbstractMIControl}. The latency of a command is the
+ * time between handing it to the transmitter thread and receiving its result
+ * record from GDB.
+ *
+ * @see AbstractMIControl#getCommandStatistics()
+ * @since 7.0
+ */
+@Immutable
+public final class MICommandStatistics {
+	private final long fCount;
+	private final long fErrorCount;
+	private final long fTotalLatency;
+	private final long fMaxLatency;
+	private final long fElapsedTime;
+
+	MICommandStatistics(long count, long errorCount, long totalLatency, long maxLatency, long elapsedTime) {
+		fCount = count;
+		fErrorCount = errorCount;
+		fTotalLatency = totalLatency;
+		fMaxLatency = maxLatency;
+		fElapsedTime = elapsedTime;
+	}
+
+	/**
+	 * Returns the number of commands for which GDB sent a result.
+	 */
+	public long getCount() {
+		return fCount;
+	}
+
+	/**
+	 * Returns the number of commands that failed, including the ones that
+	 * timed out.
+	 */
+	public long getErrorCount() {
+		return fErrorCount;
+	}
+
+	/**
+	 * Returns the average latency in nanoseconds.
+	 */
+	public long getAverageLatency() {
+		return fCount > 0 ? fTotalLatency / fCount : 0;
+	}
+
+	/**
+	 * Returns the largest latency in nanoseconds.
+	 */
+	public long getMaxLatency() {
+		return fMaxLatency;
+	}
+
+	/**
+	 * Returns the number of commands completed per second since the
+	 * statistics were started or last reset.
+	 */
+	public double getThroughput() {
+		return fElapsedTime > 0 ? fCount * 1e9 / fElapsedTime : 0;
+	}
+
+	@SuppressWarnings("nls")
+	@Override
+	public String toString() {
+		return "count=" + fCount + ", errors=" + fErrorCount + ", avgLatency=" + getAverageLatency() / 1000
+				+ "us, maxLatency=" + fMaxLatency / 1000 + "us, throughput=" + String.format("%.1f", getThroughput())
+				+ "/s";
+	}
+}
@@ -18,6 +18,8 @@
 package org.eclipse.cdt.dsf.mi.service.command.commands;
 
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListArgumentsInfo;
@@ -37,23 +39,90 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListArgumentsInfo;
  *
  */
 public class MIStackListArguments extends MICommand<MIStackListArgumentsInfo> {
+	private final boolean fShowValues;
+	private final int fLow;
+	private final int fHigh;
+
 	public MIStackListArguments(IMIExecutionDMContext execDmc, boolean showValues) {
 		super(execDmc, "-stack-list-arguments", new String[] { showValues ? "1" : "0" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		fShowValues = showValues;
+		fLow = 0;
+		fHigh = -1;
 	}
 
 	public MIStackListArguments(IFrameDMContext frameDmc, boolean showValues) {
 		super(frameDmc, "-stack-list-arguments", new String[] { showValues ? "1" : "0" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		fShowValues = showValues;
+		fLow = 0;
+		fHigh = -1;
 	}
 
 	/** @since 5.5 */
 	public MIStackListArguments(IFrameDMContext frameDmc, boolean showValues, int low, int high) {
 		super(frameDmc, "-stack-list-arguments", //$NON-NLS-1$
 				new String[] { showValues ? "1" : "0", Integer.toString(low), Integer.toString(high) }); //$NON-NLS-1$ //$NON-NLS-2$
+		fShowValues = showValues;
+		fLow = low;
+		fHigh = high;
 	}
 
 	public MIStackListArguments(IMIExecutionDMContext execDmc, boolean showValues, int low, int high) {
 		super(execDmc, "-stack-list-arguments", //$NON-NLS-1$
 				new String[] { showValues ? "1" : "0", Integer.toString(low), Integer.toString(high) }); //$NON-NLS-1$ //$NON-NLS-2$
+		fShowValues = showValues;
+		fLow = low;
+		fHigh = high;
+	}
+
+	/**
+	 * Returns the level of the first frame to list the arguments of.
+	 * @since 7.0
+	 */
+	public int getLow() {
+		return fLow;
+	}
+
+	/**
+	 * Returns the level of the last frame to list the arguments of, or -1 to
+	 * list the arguments of the whole stack.
+	 * @since 7.0
+	 */
+	public int getHigh() {
+		return fHigh;
+	}
+
+	/*
+	 * Coalesces with a command for an overlapping or adjacent range of frames
+	 * of the same context, so that one result can serve both commands.
+	 */
+	@Override
+	public MIStackListArguments coalesceWith(ICommand<? extends ICommandResult> command) {
+		if (command == null || command.getClass() != getClass() || !getContext().equals(command.getContext()))
+			return null;
+
+		MIStackListArguments other = (MIStackListArguments) command;
+		if (fShowValues != other.fShowValues)
+			return null;
+		if (fHigh < 0)
+			return this;
+		if (other.fHigh < 0)
+			return other;
+		if (other.fLow > fHigh + 1 || fLow > other.fHigh + 1)
+			return null;
+
+		int low = Math.min(fLow, other.fLow);
+		int high = Math.max(fHigh, other.fHigh);
+		if (low == fLow && high == fHigh)
+			return this;
+		if (low == other.fLow && high == other.fHigh)
+			return other;
+		if (getClass() != MIStackListArguments.class)
+			return null;
+		if (getContext() instanceof IFrameDMContext)
+			return new MIStackListArguments((IFrameDMContext) getContext(), fShowValues, low, high);
+		if (getContext() instanceof IMIExecutionDMContext)
+			return new MIStackListArguments((IMIExecutionDMContext) getContext(), fShowValues, low, high);
+		return null;
 	}
 
 	@Override
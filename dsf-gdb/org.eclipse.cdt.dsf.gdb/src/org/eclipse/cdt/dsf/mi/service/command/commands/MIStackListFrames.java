@@ -16,6 +16,8 @@
 
 package org.eclipse.cdt.dsf.mi.service.command.commands;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
@@ -54,12 +56,63 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
  *
  */
 public class MIStackListFrames extends MICommand<MIStackListFramesInfo> {
+	private final int fLow;
+	private final int fHigh;
+
 	public MIStackListFrames(IMIExecutionDMContext execDmc) {
 		super(execDmc, "-stack-list-frames"); //$NON-NLS-1$
+		fLow = 0;
+		fHigh = -1;
 	}
 
 	public MIStackListFrames(IMIExecutionDMContext execDmc, int low, int high) {
 		super(execDmc, "-stack-list-frames", new String[] { Integer.toString(low), Integer.toString(high) }); //$NON-NLS-1$
+		fLow = low;
+		fHigh = high;
+	}
+
+	/**
+	 * Returns the level of the first frame to list.
+	 * @since 7.0
+	 */
+	public int getLow() {
+		return fLow;
+	}
+
+	/**
+	 * Returns the level of the last frame to list, or -1 to list the whole stack.
+	 * @since 7.0
+	 */
+	public int getHigh() {
+		return fHigh;
+	}
+
+	/*
+	 * Coalesces with a command for an overlapping or adjacent range of frames
+	 * of the same thread, so that one result can serve both commands.
+	 */
+	@Override
+	public MIStackListFrames coalesceWith(ICommand<? extends ICommandResult> command) {
+		if (command == null || command.getClass() != getClass() || !getContext().equals(command.getContext()))
+			return null;
+
+		MIStackListFrames other = (MIStackListFrames) command;
+		if (fHigh < 0)
+			return this;
+		if (other.fHigh < 0)
+			return other;
+		if (other.fLow > fHigh + 1 || fLow > other.fHigh + 1)
+			return null;
+
+		int low = Math.min(fLow, other.fLow);
+		int high = Math.max(fHigh, other.fHigh);
+		if (low == fLow && high == fHigh)
+			return this;
+		if (low == other.fLow && high == other.fHigh)
+			return other;
+		if (getClass() != MIStackListFrames.class)
+			return null;
+		return new MIStackListFrames((IMIExecutionDMContext) getContext(), low, high);
 	}
 
 	@Override
@@ -25,12 +25,38 @@ public class MIConst extends MIValue {
 
 	private String cstring = ""; //$NON-NLS-1$
 
+	/**
+	 * The escaped C string as it appears in the MI output, or {@code null} once
+	 * it has been translated. The C string is translated when it is used for the
+	 * first time, since many values of large MI responses are never looked at.
+	 */
+	private volatile String escaped;
+
 	public String getCString() {
+		String str = escaped;
+		if (str != null) {
+			cstring = MIParser.translateCString(str, 0, str.length(), true, true);
+			escaped = null;
+		}
 		return cstring;
 	}
 
 	public void setCString(String str) {
 		cstring = str;
+		escaped = null;
+	}
+
+	/**
+	 * Sets the C string to the escaped characters in the given range of a line
+	 * of MI output. The characters are copied, such that the value does not keep
+	 * the whole line alive.
+	 */
+	void setCString(String line, int start, int end, boolean backslash) {
+		if (backslash) {
+			escaped = line.substring(start, end);
+		} else {
+			setCString(line.substring(start, end));
+		}
 	}
 
 	/**
@@ -38,7 +64,7 @@ public class MIConst extends MIValue {
 	 * @return The translated string.
 	 */
 	public String getString() {
-		return MIStringHandler.translateCString(cstring, true);
+		return MIStringHandler.translateCString(getCString(), true);
 	}
 
 	public static String getString(String str) {
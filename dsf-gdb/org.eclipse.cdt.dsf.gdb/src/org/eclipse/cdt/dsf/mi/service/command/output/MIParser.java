@@ -103,6 +103,9 @@ public class MIParser {
 	public String cliPrompt = primaryPrompt;
 	public String secondaryPrompt = ">"; //$NON-NLS-1$
 
+	private static final String[] RESULT_CLASSES = { MIResultRecord.DONE, MIResultRecord.ERROR, MIResultRecord.EXIT,
+			MIResultRecord.RUNNING, MIResultRecord.CONNECTED };
+
 	public RecordType getRecordType(String line) {
 		int i = 0;
 		if (Character.isDigit(line.charAt(0))) {
@@ -126,37 +129,25 @@ public class MIParser {
 	 *
 	 */
 	public MIResultRecord parseMIResultRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
+		Input in = new Input(line);
 		// Fetch the Token/Id
-		int id = parseToken(buffer);
+		int id = parseToken(in);
 		// Consume the '^'
-		buffer.deleteCharAt(0);
+		in.skip();
 
 		MIResultRecord rr = new MIResultRecord();
 		rr.setToken(id);
-		if (buffer.toString().startsWith(MIResultRecord.DONE)) {
-			rr.setResultClass(MIResultRecord.DONE);
-			buffer.delete(0, MIResultRecord.DONE.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.ERROR)) {
-			rr.setResultClass(MIResultRecord.ERROR);
-			buffer.delete(0, MIResultRecord.ERROR.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.EXIT)) {
-			rr.setResultClass(MIResultRecord.EXIT);
-			buffer.delete(0, MIResultRecord.EXIT.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.RUNNING)) {
-			rr.setResultClass(MIResultRecord.RUNNING);
-			buffer.delete(0, MIResultRecord.RUNNING.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.CONNECTED)) {
-			rr.setResultClass(MIResultRecord.CONNECTED);
-			buffer.delete(0, MIResultRecord.CONNECTED.length());
-		} else {
-			// Error throw an exception?
+		for (String resultClass : RESULT_CLASSES) {
+			if (line.startsWith(resultClass, in.pos)) {
+				rr.setResultClass(resultClass);
+				in.pos += resultClass.length();
+				break;
+			}
 		}
 
 		// Results are separated by commas.
-		if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			MIResult[] res = processMIResults(new FSB(buffer));
+		if (in.skip(',')) {
+			MIResult[] res = processMIResults(in);
 			rr.setMIResults(res);
 		}
 		return rr;
@@ -166,13 +157,13 @@ public class MIParser {
 	 * Find OutOfBand Records depending on the starting token.
 	 */
 	public MIOOBRecord parseMIOOBRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		int id = parseToken(buffer);
+		Input in = new Input(line);
+		int id = parseToken(in);
 		MIOOBRecord oob = null;
-		char c = buffer.length() != 0 ? buffer.charAt(0) : 0;
+		char c = in.peek();
 		if (c == '*' || c == '+' || c == '=') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			in.skip();
 			MIAsyncRecord async = null;
 			switch (c) {
 			case '*':
@@ -192,22 +183,21 @@ public class MIParser {
 			}
 			async.setToken(id);
 			// Extract the Async-Class
-			int i = buffer.toString().indexOf(',');
+			int i = line.indexOf(',', in.pos);
 			if (i != -1) {
-				String asyncClass = buffer.substring(0, i);
-				async.setAsyncClass(asyncClass);
+				async.setAsyncClass(line.substring(in.pos, i));
 				// Consume the async-class and the comma
-				buffer.delete(0, i + 1);
+				in.pos = i + 1;
 			} else {
-				async.setAsyncClass(buffer.toString().trim());
-				buffer.setLength(0);
+				async.setAsyncClass(line.substring(in.pos).trim());
+				in.pos = line.length();
 			}
-			MIResult[] res = processMIResults(new FSB(buffer));
+			MIResult[] res = processMIResults(in);
 			async.setMIResults(res);
 			oob = async;
 		} else if (c == '~' || c == '@' || c == '&') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			in.skip();
 			MIStreamRecord stream = null;
 			switch (c) {
 			case '~':
@@ -225,13 +215,13 @@ public class MIParser {
 				assert false;
 				stream = new MIConsoleStreamOutput();
 			}
-			// translateCString() assumes that the leading " is deleted
-			if (buffer.length() > 0 && buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
-			}
+			// The C string starts after the leading "
+			in.skip('"');
+			int start = in.pos;
+			int end = skipCString(in);
 			// Don't parse any backslashes - backslashes within stream records
 			// aren't escaped.
-			stream.setCString(translateCString(new FSB(buffer), false));
+			stream.setCString(translateCString(line, start, end, in.backslash, false));
 			oob = stream;
 		} else {
 			// Badly format MI line, just pass it to the user as target stream
@@ -242,21 +232,18 @@ public class MIParser {
 		return oob;
 	}
 
-	private int parseToken(StringBuffer buffer) {
+	private int parseToken(Input in) {
 		int id = -1;
 		// Fetch the Token/Id
-		if (Character.isDigit(buffer.charAt(0))) {
-			int i = 1;
-			while (i < buffer.length() && Character.isDigit(buffer.charAt(i))) {
-				i++;
-			}
-			String numbers = buffer.substring(0, i);
+		int start = in.pos;
+		while (in.pos < in.length && Character.isDigit(in.line.charAt(in.pos))) {
+			in.pos++;
+		}
+		if (in.pos > start) {
 			try {
-				id = Integer.parseInt(numbers);
+				id = Integer.parseInt(in.line, start, in.pos, 10);
 			} catch (NumberFormatException e) {
 			}
-			// Consume the token.
-			buffer.delete(0, i);
 		}
 		return id;
 	}
@@ -265,45 +252,45 @@ public class MIParser {
 	 * Assuming that the usual leading comma was consumed.
 	 * Extract the MI Result comma seperated responses.
 	 */
-	private MIResult[] processMIResults(FSB buffer) {
-		List<MIResult> aList = new ArrayList<>();
-		MIResult result = processMIResult(buffer);
+	private MIResult[] processMIResults(Input in) {
+		int base = in.results.size();
+		MIResult result = processMIResult(in);
 		if (result != null) {
-			aList.add(result);
+			in.results.add(result);
 		}
-		while (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			result = processMIResult(buffer);
+		while (in.skip(',')) {
+			result = processMIResult(in);
 			if (result != null) {
-				aList.add(result);
+				in.results.add(result);
 			}
 		}
-		return aList.toArray(new MIResult[aList.size()]);
+		return in.popResults(base);
 	}
 
 	/**
-	 * Construct the DsfMIResult.  Characters will be consume/delete
+	 * Construct the DsfMIResult.  Characters will be consumed
 	 * moving forward constructing the AST.
 	 */
-	private MIResult processMIResult(FSB buffer) {
+	private MIResult processMIResult(Input in) {
 		MIResult result = new MIResult();
 		int equal;
-		if (buffer.length() > 0 && Character.isLetter(buffer.charAt(0)) && (equal = buffer.indexOf('=')) != -1) {
+		if (in.pos < in.length && Character.isLetter(in.line.charAt(in.pos))
+				&& (equal = in.line.indexOf('=', in.pos)) != -1) {
 			// Result is a variable and value
-			String variable = buffer.substring(0, equal);
+			String variable = in.line.substring(in.pos, equal);
 			result.setVariable(variable);
-			buffer.delete(0, equal + 1);
-			MIValue value = processMIValue(buffer);
+			in.pos = equal + 1;
+			MIValue value = processMIValue(in);
 			result.setMIValue(value);
 		} else {
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(in);
 			if (value != null) {
 				// Result is a value only (bug 527419)
 				result.setMIValue(value);
 			} else {
-				result.setVariable(buffer.toString());
+				result.setVariable(in.line.substring(in.pos));
 				result.setMIValue(new MIConst()); // Empty string:???
-				buffer.setLength(0);
+				in.pos = in.length;
 			}
 		}
 		return result;
@@ -312,118 +299,142 @@ public class MIParser {
 	/**
 	 * Find a DsfMIValue implementation or return null.
 	 */
-	private MIValue processMIValue(FSB buffer) {
+	private MIValue processMIValue(Input in) {
 		MIValue value = null;
-		if (buffer.length() > 0) {
-			if (buffer.charAt(0) == '{') {
-				buffer.deleteCharAt(0);
-				value = processMITuple(buffer);
-			} else if (buffer.charAt(0) == '[') {
-				buffer.deleteCharAt(0);
-				value = processMIList(buffer);
-			} else if (buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
-				MIConst cnst = new MIConst();
-				// Parse backslashes - backslashes within result
-				// and out of band records are escaped.
-				cnst.setCString(translateCString(buffer, true));
-				value = cnst;
-			}
+		switch (in.peek()) {
+		case '{':
+			in.skip();
+			value = processMITuple(in);
+			break;
+		case '[':
+			in.skip();
+			value = processMIList(in);
+			break;
+		case '"':
+			in.skip();
+			MIConst cnst = new MIConst();
+			int start = in.pos;
+			int end = skipCString(in);
+			// Parse backslashes - backslashes within result
+			// and out of band records are escaped.
+			// The C string is only translated when it is used.
+			cnst.setCString(in.line, start, end, in.backslash);
+			value = cnst;
+			break;
 		}
 		return value;
 	}
 
 	/**
-	 * Assuming the starting '{' was deleted form the StringBuffer,
-	 * go to the closing '}' consuming/deleting all the characters.
+	 * Assuming the starting '{' was consumed, go to the closing '}'
+	 * consuming all the characters.
 	 * This is usually call by processMIvalue();
 	 */
-	private MIValue processMITuple(FSB buffer) {
+	private MIValue processMITuple(Input in) {
 		MITuple tuple = new MITuple();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
-		// Catch closing '}'
-		while (buffer.length() > 0 && buffer.charAt(0) != '}') {
-			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
-			if (value != null) {
-				valueList.add(value);
-			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
-				}
-			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
-			}
+		int valueBase = in.values.size();
+		int resultBase = in.results.size();
+		processMIValuesAndResults(in, '}');
+		if (in.values.size() > valueBase) {
+			tuple.setMIValues(in.popValues(valueBase));
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == '}') {
-			buffer.deleteCharAt(0);
+		if (in.results.size() > resultBase) {
+			tuple.setMIResults(in.popResults(resultBase));
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		tuple.setMIValues(values);
-		tuple.setMIResults(res);
 		return tuple;
 	}
 
 	/**
-	 * Assuming the leading '[' was deleted, find the closing
-	 * ']' consuming/delete chars from the StringBuffer.
+	 * Assuming the leading '[' was consumed, find the closing
+	 * ']' consuming all the characters.
 	 */
-	private MIValue processMIList(FSB buffer) {
+	private MIValue processMIList(Input in) {
 		MIList list = new MIList();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
-		// catch closing ']'
-		while (buffer.length() > 0 && buffer.charAt(0) != ']') {
+		int valueBase = in.values.size();
+		int resultBase = in.results.size();
+		processMIValuesAndResults(in, ']');
+		if (in.values.size() > valueBase) {
+			list.setMIValues(in.popValues(valueBase));
+		}
+		if (in.results.size() > resultBase) {
+			list.setMIResults(in.popResults(resultBase));
+		}
+		return list;
+	}
+
+	/**
+	 * Collects the comma separated values and results of a tuple or list
+	 * up to and including the given closing character, on the stacks of
+	 * the input.
+	 */
+	private void processMIValuesAndResults(Input in, char closing) {
+		// Catch closing character
+		while (in.pos < in.length && in.line.charAt(in.pos) != closing) {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(in);
 			if (value != null) {
-				valueList.add(value);
+				in.values.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
+				MIResult result = processMIResult(in);
 				if (result != null) {
-					resultList.add(result);
+					in.results.add(result);
 				}
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
-			}
-		}
-		if (buffer.length() > 0 && buffer.charAt(0) == ']') {
-			buffer.deleteCharAt(0);
+			in.skip(',');
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		list.setMIValues(values);
-		list.setMIResults(res);
-		return list;
+		in.skip(closing);
 	}
 
 	/**
 	 * MI C-String rather MIConst values are enclosed in double quotes
 	 * and any double quotes or backslashes in the string are escaped.
-	 * Assuming the starting double quote was removed. This method will
-	 * stop at the closing double quote, remove the extra backslash escaping
-	 * and return the string __without__ the enclosing double quotes. The
-	 * original string buffer will move forward.
-	 * @param buffer The string buffer to read from.
+	 * Assuming the starting double quote was consumed, this method
+	 * moves the input past the closing double quote.
+	 * @param in The input to read from.
+	 * @return The end of the C string __without__ the closing double quote.
+	 * {@link Input#backslash} tells whether the C string contains backslashes.
+	 */
+	private static int skipCString(Input in) {
+		boolean escape = false;
+		boolean backslash = false;
+		int index = in.pos;
+		for (; index < in.length; index++) {
+			char c = in.line.charAt(index);
+			if (c == '\\') {
+				backslash = true;
+				escape = !escape;
+			} else if (c == '"' && !escape) {
+				// Bail out.
+				break;
+			} else {
+				escape = false;
+			}
+		}
+		in.backslash = backslash;
+		in.pos = index < in.length ? index + 1 : index;
+		return index;
+	}
+
+	/**
+	 * Removes the extra backslash escaping from a C string found by
+	 * {@link #skipCString(Input)}.
+	 * @param line The line containing the C string.
+	 * @param start The start of the C string, after the opening double quote.
+	 * @param end The end of the C string, before the closing double quote.
+	 * @param backslash Whether the C string contains any backslashes.
 	 * @param parseBackslashes Defines whether backslashes should be parsed.
 	 * This parameter is necessary to differentiate between records which
 	 * contain escaped backslashes and records which do not.
 	 * @return The translated C string.
 	 */
-	private String translateCString(FSB buffer, boolean parseBackslashes) {
+	static String translateCString(String line, int start, int end, boolean backslash, boolean parseBackslashes) {
+		if (!backslash) {
+			return line.substring(start, end);
+		}
 		boolean escape = false;
-		boolean closingQuotes = false;
-
-		StringBuffer sb = new StringBuffer();
-
-		int index = 0;
-		for (; index < buffer.length() && !closingQuotes; index++) {
-			char c = buffer.charAt(index);
+		StringBuilder sb = new StringBuilder(end - start);
+		for (int index = start; index < end; index++) {
+			char c = line.charAt(index);
 			if (c == '\\') {
 				if (escape) {
 					sb.append(c);
@@ -435,13 +446,9 @@ public class MIParser {
 					escape = true;
 				}
 			} else if (c == '"') {
-				if (escape) {
-					sb.append(c);
-					escape = false;
-				} else {
-					// Bail out.
-					closingQuotes = true;
-				}
+				// Only escaped double quotes are within the C string.
+				sb.append(c);
+				escape = false;
 			} else {
 				if (escape) {
 					sb.append('\\');
@@ -450,7 +457,6 @@ public class MIParser {
 				escape = false;
 			}
 		}
-		buffer.delete(0, index);
 		return sb.toString();
 	}
 
@@ -477,6 +483,65 @@ public class MIParser {
 		return true;
 	}
 
+	/**
+	 * A line of MI output and the current position within it. The line is
+	 * parsed in a single pass, no characters are copied or deleted.
+	 */
+	private static final class Input {
+		final String line;
+		final int length;
+		int pos;
+		/** Whether the C string found last contains backslashes. */
+		boolean backslash;
+		/**
+		 * The values and results of the tuples and lists being parsed. Nested
+		 * tuples and lists are completed before their parents, so they take
+		 * their elements off the top of the stacks.
+		 */
+		final List<MIValue> values = new ArrayList<>();
+		final List<MIResult> results = new ArrayList<>();
+
+		Input(String line) {
+			this.line = line;
+			this.length = line.length();
+		}
+
+		/**
+		 * Returns the current character, or 0 at the end of the line.
+		 */
+		char peek() {
+			return pos < length ? line.charAt(pos) : 0;
+		}
+
+		void skip() {
+			if (pos < length) {
+				pos++;
+			}
+		}
+
+		boolean skip(char c) {
+			if (pos < length && line.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		MIValue[] popValues(int base) {
+			List<MIValue> top = values.subList(base, values.size());
+			MIValue[] array = top.toArray(new MIValue[top.size()]);
+			top.clear();
+			return array;
+		}
+
+		MIResult[] popResults(int base) {
+			List<MIResult> top = results.subList(base, results.size());
+			MIResult[] array = top.toArray(new MIResult[top.size()]);
+			top.clear();
+			return array;
+		}
+	}
+
 	/**
 	 * Fast String Buffer class. MIParser does a lot
 	 * of deleting off the front of a string, that's clearly
@@ -485,7 +550,10 @@ public class MIParser {
 	 * with this for large arrays. Use of FSB rather than String
 	 * Buffer makes MIParser N rather than N^2 because FSB can
 	 * delete from the front in constant time.
+	 *
+	 * @deprecated The parser works on indexes into the line and no longer uses this class.
 	 */
+	@Deprecated
 	public class FSB {
 		StringBuffer buf;
 		int pos;
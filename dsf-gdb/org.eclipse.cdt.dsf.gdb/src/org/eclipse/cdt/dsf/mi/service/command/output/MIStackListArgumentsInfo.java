@@ -18,6 +18,10 @@ package org.eclipse.cdt.dsf.mi.service.command.output;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIStackListArguments;
+
 /**
  * GDB/MI stack list arguments parsing.
  */
@@ -49,10 +53,43 @@ public class MIStackListArgumentsInfo extends MIInfo {
 		frames = aList.toArray(new MIFrame[aList.size()]);
 	}
 
+	private MIStackListArgumentsInfo(MIOutput out, MIFrame[] frames) {
+		super(out);
+		this.frames = frames;
+	}
+
 	public MIFrame[] getMIFrames() {
 		return frames;
 	}
 
+	/**
+	 * Returns the frames of the range of levels the given command asks for,
+	 * when this result is for a range of frames that contains it.
+	 */
+	@Override
+	public <V extends ICommandResult> V getSubsetResult(ICommand<V> cmd) {
+		if (!(cmd instanceof MIStackListArguments)) {
+			return super.getSubsetResult(cmd);
+		}
+		MIStackListArguments command = (MIStackListArguments) cmd;
+		int low = command.getLow();
+		int high = command.getHigh();
+		List<MIFrame> aList = new ArrayList<>();
+		for (MIFrame frame : frames) {
+			if (frame.getLevel() >= low && (high < 0 || frame.getLevel() <= high)) {
+				aList.add(frame);
+			}
+		}
+		if (aList.isEmpty()) {
+			// GDB reports an error for a range beyond the end of the stack
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		V vSubset = (V) new MIStackListArgumentsInfo(getMIOutput(), aList.toArray(new MIFrame[aList.size()]));
+		return vSubset;
+	}
+
 	private void parseStack(MIList miList, List<MIFrame> aList) {
 		MIResult[] results = miList.getMIResults();
 		for (int i = 0; i < results.length; i++) {
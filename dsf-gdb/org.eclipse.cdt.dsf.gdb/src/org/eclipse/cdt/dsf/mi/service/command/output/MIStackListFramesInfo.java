@@ -17,6 +17,10 @@ package org.eclipse.cdt.dsf.mi.service.command.output;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIStackListFrames;
+
 /**
  * GDB/MI stack list frames info.
  */
@@ -48,10 +52,43 @@ public class MIStackListFramesInfo extends MIInfo {
 		frames = aList.toArray(new MIFrame[aList.size()]);
 	}
 
+	private MIStackListFramesInfo(MIOutput out, MIFrame[] frames) {
+		super(out);
+		this.frames = frames;
+	}
+
 	public MIFrame[] getMIFrames() {
 		return frames;
 	}
 
+	/**
+	 * Returns the frames of the range of levels the given command asks for,
+	 * when this result is for a range of frames that contains it.
+	 */
+	@Override
+	public <V extends ICommandResult> V getSubsetResult(ICommand<V> cmd) {
+		if (!(cmd instanceof MIStackListFrames)) {
+			return super.getSubsetResult(cmd);
+		}
+		MIStackListFrames command = (MIStackListFrames) cmd;
+		int low = command.getLow();
+		int high = command.getHigh();
+		List<MIFrame> aList = new ArrayList<>();
+		for (MIFrame frame : frames) {
+			if (frame.getLevel() >= low && (high < 0 || frame.getLevel() <= high)) {
+				aList.add(frame);
+			}
+		}
+		if (aList.isEmpty()) {
+			// GDB reports an error for a range beyond the end of the stack
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		V vSubset = (V) new MIStackListFramesInfo(getMIOutput(), aList.toArray(new MIFrame[aList.size()]));
+		return vSubset;
+	}
+
 	void parseStack(MIList miList, List<MIFrame> aList) {
 		MIResult[] results = miList.getMIResults();
 		for (int i = 0; i < results.length; i++) {
@@ -20,11 +20,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RunnableScheduledFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
 import org.eclipse.cdt.dsf.internal.LoggingUtils;
@@ -107,6 +111,106 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		return fName;
 	}
 
+	/**
+	 * Returns a snapshot of the load of this executor, which can be used to
+	 * find out whether the services of a session delay each other.
+	 *
+	 * @since 2.12
+	 */
+	public DsfExecutorStatistics getStatistics() {
+		int queueDepth = getQueue().size();
+		synchronized (fStatisticsLock) {
+			return fStatistics.snapshot(queueDepth);
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the load of this executor for each class of
+	 * runnables and callables, keyed by the class name. It can be used to find
+	 * out which service delays the others. The queue depth of an entry is the
+	 * number of runnables and callables of its class in the queue.
+	 *
+	 * @since 2.12
+	 */
+	public Map<String, DsfExecutorStatistics> getStatisticsByClass() {
+		Map<Class<?>, Integer> queueDepths = new HashMap<>();
+		for (Runnable r : getQueue()) {
+			if (r instanceof StatisticsTask) {
+				queueDepths.merge(((StatisticsTask<?>) r).fExecutableClass, 1, Integer::sum);
+			}
+		}
+		Map<String, DsfExecutorStatistics> result = new HashMap<>();
+		synchronized (fStatisticsLock) {
+			for (Map.Entry<Class<?>, StatisticsCollector> entry : fClassStatistics.entrySet()) {
+				Integer queueDepth = queueDepths.remove(entry.getKey());
+				result.put(entry.getKey().getName(), entry.getValue().snapshot(queueDepth != null ? queueDepth : 0));
+			}
+		}
+		// Classes of which nothing has been executed yet
+		for (Map.Entry<Class<?>, Integer> entry : queueDepths.entrySet()) {
+			result.put(entry.getKey().getName(), new StatisticsCollector().snapshot(entry.getValue()));
+		}
+		return result;
+	}
+
+	/**
+	 * Resets the statistics returned by {@link #getStatistics()}.
+	 *
+	 * @since 2.12
+	 */
+	public void resetStatistics() {
+		synchronized (fStatisticsLock) {
+			fStatistics = new StatisticsCollector();
+			fClassStatistics.clear();
+		}
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+		return new StatisticsTask<>(task, getExecutableClass(runnable));
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+		return new StatisticsTask<>(task, getExecutableClass(callable));
+	}
+
+	private static Class<?> getExecutableClass(Object executable) {
+		if (executable instanceof TracingWrapper) {
+			executable = ((TracingWrapper) executable).getExecutable();
+		}
+		return executable.getClass();
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r) {
+		super.beforeExecute(t, r);
+		// The tasks of a scheduled executor know when they became due.
+		fCurrentWaitTime = r instanceof Delayed ? Math.max(0, -((Delayed) r).getDelay(TimeUnit.NANOSECONDS)) : 0;
+		fCurrentQueueDepth = getQueue().size();
+		fStartTime = System.nanoTime();
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		long executionTime = System.nanoTime() - fStartTime;
+		Class<?> executableClass = r instanceof StatisticsTask ? ((StatisticsTask<?>) r).fExecutableClass : r.getClass();
+		synchronized (fStatisticsLock) {
+			fStatistics.add(fCurrentQueueDepth, fCurrentWaitTime, executionTime);
+			fClassStatistics.computeIfAbsent(executableClass, c -> new StatisticsCollector()).add(fCurrentQueueDepth,
+					fCurrentWaitTime, executionTime);
+		}
+		if (DEBUG_EXECUTOR_SLOW_THRESHOLD >= 0 && executionTime >= DEBUG_EXECUTOR_SLOW_THRESHOLD
+				&& ("".equals(DEBUG_EXECUTOR_NAME) || fName.equals(DEBUG_EXECUTOR_NAME))) { //$NON-NLS-1$
+			DsfPlugin.debug(DsfPlugin.getDebugTime() + " Executor (" //$NON-NLS-1$
+					+ ((DsfThreadFactory) getThreadFactory()).fThreadName + ") ran for " //$NON-NLS-1$
+					+ TimeUnit.NANOSECONDS.toMillis(executionTime) + "ms after waiting " //$NON-NLS-1$
+					+ TimeUnit.NANOSECONDS.toMillis(fCurrentWaitTime) + "ms behind " + fCurrentQueueDepth //$NON-NLS-1$
+					+ " queued tasks: " + executableClass.getName()); //$NON-NLS-1$
+		}
+		super.afterExecute(r, t);
+	}
+
 	static void logException(Throwable t) {
 		DsfPlugin plugin = DsfPlugin.getDefault();
 		if (plugin == null)
@@ -135,10 +239,27 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	protected static boolean DEBUG_EXECUTOR = false;
 	protected static String DEBUG_EXECUTOR_NAME = ""; //$NON-NLS-1$
 	protected static boolean ASSERTIONS_ENABLED = false;
+	/**
+	 * Execution time in nanoseconds from which runnables are traced as slow,
+	 * or -1 if slow runnables are not traced.
+	 */
+	private static long DEBUG_EXECUTOR_SLOW_THRESHOLD = -1;
 	static {
 		DEBUG_EXECUTOR = DsfPlugin.DEBUG
 				&& Boolean.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executor")); //$NON-NLS-1$
 		DEBUG_EXECUTOR_NAME = DsfPlugin.DEBUG ? Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executorName") : ""; //$NON-NLS-1$ //$NON-NLS-2$
+		if (DEBUG_EXECUTOR_NAME == null) {
+			DEBUG_EXECUTOR_NAME = ""; //$NON-NLS-1$
+		}
+		String slowThreshold = DsfPlugin.DEBUG ? Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executorSlow") //$NON-NLS-1$
+				: null;
+		if (slowThreshold != null && !slowThreshold.isBlank()) {
+			try {
+				DEBUG_EXECUTOR_SLOW_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(slowThreshold.trim()));
+			} catch (NumberFormatException e) {
+				// Leave the tracing of slow runnables disabled
+			}
+		}
 		assert (ASSERTIONS_ENABLED = true) == true;
 	}
 
@@ -149,6 +270,114 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	 */
 	static Map<Thread, DefaultDsfExecutor> fThreadToExecutorMap = new HashMap<>();
 
+	/**
+	 * Guards the statistics, which are updated by the executor thread and read
+	 * by any thread.
+	 */
+	private final Object fStatisticsLock = new Object();
+	private StatisticsCollector fStatistics = new StatisticsCollector();
+	private final Map<Class<?>, StatisticsCollector> fClassStatistics = new HashMap<>();
+
+	/**
+	 * Start time, wait time and queue depth of the currently executing task.
+	 * Only accessed by the executor thread.
+	 */
+	private long fStartTime;
+	private long fCurrentWaitTime;
+	private int fCurrentQueueDepth;
+
+	/**
+	 * Statistics of the runnables and callables executed since the statistics
+	 * were reset.
+	 */
+	private static final class StatisticsCollector {
+		private long fExecutedCount;
+		private int fMaxQueueDepth;
+		private long fTotalWaitTime;
+		private long fMaxWaitTime;
+		private long fTotalExecutionTime;
+		private long fMaxExecutionTime;
+
+		void add(int queueDepth, long waitTime, long executionTime) {
+			fExecutedCount++;
+			fMaxQueueDepth = Math.max(fMaxQueueDepth, queueDepth);
+			fTotalWaitTime += waitTime;
+			fMaxWaitTime = Math.max(fMaxWaitTime, waitTime);
+			fTotalExecutionTime += executionTime;
+			fMaxExecutionTime = Math.max(fMaxExecutionTime, executionTime);
+		}
+
+		DsfExecutorStatistics snapshot(int queueDepth) {
+			return new DsfExecutorStatistics(fExecutedCount, queueDepth, fMaxQueueDepth, fTotalWaitTime, fMaxWaitTime,
+					fTotalExecutionTime, fMaxExecutionTime);
+		}
+	}
+
+	/**
+	 * Task of the executor that remembers the class of the runnable or callable
+	 * it runs, for the statistics of each class.
+	 */
+	private static final class StatisticsTask<V> implements RunnableScheduledFuture<V> {
+		final RunnableScheduledFuture<V> fTask;
+		final Class<?> fExecutableClass;
+
+		StatisticsTask(RunnableScheduledFuture<V> task, Class<?> executableClass) {
+			fTask = task;
+			fExecutableClass = executableClass;
+		}
+
+		@Override
+		public void run() {
+			fTask.run();
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return fTask.isPeriodic();
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return fTask.getDelay(unit);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			// Compare the tasks themselves to keep the submission order of the tasks that are due at the same time.
+			return fTask.compareTo(other instanceof StatisticsTask ? ((StatisticsTask<?>) other).fTask : other);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return fTask.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return fTask.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return fTask.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			return fTask.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return fTask.get(timeout, unit);
+		}
+
+		@Override
+		public String toString() {
+			return fTask.toString();
+		}
+	}
+
 	/**
 	 * Currently executing runnable/callable.
 	 * <br>Note: Only used when tracing.
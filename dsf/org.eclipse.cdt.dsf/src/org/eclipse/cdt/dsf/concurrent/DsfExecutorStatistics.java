@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+/**
+ * Snapshot of the load of a {@link DefaultDsfExecutor}: how many runnables it
+ * has executed, how long they waited in the queue after they became due, and
+ * how long they took to run. All services of a DSF session share the executor,
+ * so a long wait time means that a service is holding up the others.
+ *
+ * @see DefaultDsfExecutor#getStatistics()
+ * @since 2.12
+ */
+@Immutable
+public final class DsfExecutorStatistics {
+	private final long fExecutedCount;
+	private final int fQueueDepth;
+	private final int fMaxQueueDepth;
+	private final long fTotalWaitTime;
+	private final long fMaxWaitTime;
+	private final long fTotalExecutionTime;
+	private final long fMaxExecutionTime;
+
+	DsfExecutorStatistics(long executedCount, int queueDepth, int maxQueueDepth, long totalWaitTime,
+			long maxWaitTime, long totalExecutionTime, long maxExecutionTime) {
+		fExecutedCount = executedCount;
+		fQueueDepth = queueDepth;
+		fMaxQueueDepth = maxQueueDepth;
+		fTotalWaitTime = totalWaitTime;
+		fMaxWaitTime = maxWaitTime;
+		fTotalExecutionTime = totalExecutionTime;
+		fMaxExecutionTime = maxExecutionTime;
+	}
+
+	/**
+	 * Returns the number of runnables and callables executed.
+	 */
+	public long getExecutedCount() {
+		return fExecutedCount;
+	}
+
+	/**
+	 * Returns the number of runnables and callables in the queue when the
+	 * snapshot was taken, including the ones that are not due yet.
+	 */
+	public int getQueueDepth() {
+		return fQueueDepth;
+	}
+
+	/**
+	 * Returns the largest number of runnables and callables that were in the
+	 * queue when one of them was started.
+	 */
+	public int getMaxQueueDepth() {
+		return fMaxQueueDepth;
+	}
+
+	/**
+	 * Returns the average time in nanoseconds the runnables and callables
+	 * waited to be started, after they became due.
+	 */
+	public long getAverageWaitTime() {
+		return fExecutedCount > 0 ? fTotalWaitTime / fExecutedCount : 0;
+	}
+
+	/**
+	 * Returns the longest time in nanoseconds a runnable or callable waited to
+	 * be started, after it became due.
+	 */
+	public long getMaxWaitTime() {
+		return fMaxWaitTime;
+	}
+
+	/**
+	 * Returns the average time in nanoseconds the runnables and callables took
+	 * to run.
+	 */
+	public long getAverageExecutionTime() {
+		return fExecutedCount > 0 ? fTotalExecutionTime / fExecutedCount : 0;
+	}
+
+	/**
+	 * Returns the longest time in nanoseconds a runnable or callable took to
+	 * run.
+	 */
+	public long getMaxExecutionTime() {
+		return fMaxExecutionTime;
+	}
+
+	@SuppressWarnings("nls")
+	@Override
+	public String toString() {
+		return "executed=" + fExecutedCount + ", queue=" + fQueueDepth + ", maxQueue=" + fMaxQueueDepth
+				+ ", avgWait=" + getAverageWaitTime() / 1000 + "us, maxWait=" + fMaxWaitTime / 1000
+				+ "us, avgRun=" + getAverageExecutionTime() / 1000 + "us, maxRun=" + fMaxExecutionTime / 1000 + "us";
+	}
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,12 @@ import org.eclipse.core.runtime.Status;
  * did before the event. A reset can be done on the entire cache or on a per
  * context basis.
  *
+ * The number of cached results is bounded, the least recently used results are
+ * discarded first (see {@link #setMaxSize(int)}). A command can also be served
+ * with a part of the result of a command that covers it, i.e. of a command
+ * which it can be coalesced with without changing that command, such as a
+ * larger range of stack frames.
+ *
  * @since 1.0
  */
 
@@ -196,6 +203,29 @@ public class CommandCache implements ICommandListener {
 
 	private ArrayList<CommandInfo> fPendingQWaitingForCoalescedCompletion = new ArrayList<>();
 
+	private static final int DEFAULT_MAX_SIZE = 5000;
+
+	private int fMaxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * All cached results in the order of their use, mapped to the context
+	 * they are cached for.  Used to find the least recently used result.
+	 */
+	private final LinkedHashMap<CommandInfo, IDMContext> fCacheUsage = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Counters for the statistics, per command class.
+	 */
+	private final Map<Class<?>, CacheCounters> fCounters = new HashMap<>();
+
+	private static class CacheCounters {
+		long fHits;
+		long fSubsetHits;
+		long fCoalesced;
+		long fMisses;
+		long fEvictions;
+	}
+
 	private static boolean DEBUG = false;
 	private static final String CACHE_TRACE_IDENTIFIER = " [CHE]"; //$NON-NLS-1$
 	private static String BLANK_CACHE_TRACE_IDENTIFIER = ""; //$NON-NLS-1$
@@ -341,17 +371,26 @@ public class CommandCache implements ICommandListener {
 		/*
 		 * If command is already cached, just return the cached data.
 		 */
-		if (fCachedContexts.get(context) != null && fCachedContexts.get(context).containsKey(cachedCmd)) {
-			CommandResultInfo result = fCachedContexts.get(context).get(cachedCmd);
+		CommandResultInfo cachedResult = getCachedResult(context, cachedCmd);
+		if (cachedResult != null) {
+			getCounters(genericCommand).fHits++;
 			debug(command.toString().trim());
-			if (result.getStatus().getSeverity() <= IStatus.INFO) {
+		} else {
+			cachedResult = getCoveringResult(context, cachedCmd);
+			if (cachedResult != null) {
+				getCounters(genericCommand).fSubsetHits++;
+				debug(command.toString().trim(), "[RNG]"); //$NON-NLS-1$
+			}
+		}
+		if (cachedResult != null) {
+			if (cachedResult.getStatus().getSeverity() <= IStatus.INFO) {
 				@SuppressWarnings("unchecked")
-				V v = (V) result.getData();
+				V v = (V) cachedResult.getData();
 				rm.setData(v);
 				debug(v.toString());
 			} else {
-				rm.setStatus(result.getStatus());
-				debug(result.getStatus().toString());
+				rm.setStatus(cachedResult.getStatus());
+				debug(cachedResult.getStatus().toString());
 			}
 			rm.done();
 			return;
@@ -376,6 +415,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo sentCommand : fPendingQCommandsSent) {
 			if (sentCommand.equals(cachedCmd)) {
 				sentCommand.getRequestMonitorList().add(genericDone);
+				getCounters(genericCommand).fCoalesced++;
 				debug(command.toString().trim(), "[SNT]"); //$NON-NLS-1$
 				return;
 			}
@@ -383,11 +423,26 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo notYetSentCommand : fPendingQCommandsNotYetSent) {
 			if (notYetSentCommand.equals(cachedCmd)) {
 				notYetSentCommand.getRequestMonitorList().add(genericDone);
+				getCounters(genericCommand).fCoalesced++;
 				debug(command.toString().trim(), "[SND]"); //$NON-NLS-1$
 				return;
 			}
 		}
 
+		/*
+		 *  If a command that covers this one was already sent, wait for it and use
+		 *  the part of its result that this command asks for.
+		 */
+		for (CommandInfo sentCommand : fPendingQCommandsSent) {
+			if (covers(sentCommand.getCommand(), genericCommand)) {
+				fPendingQWaitingForCoalescedCompletion.add(cachedCmd);
+				cachedCmd.setCoalescedCmd(sentCommand);
+				getCounters(genericCommand).fCoalesced++;
+				debug(command.toString().trim(), "[SNT]"); //$NON-NLS-1$
+				return;
+			}
+		}
+
 		/*
 		 *  We see if this command can be combined into a coalesced one. The
 		 *  coalesce routine will take care of the already enqueued one which
@@ -404,6 +459,9 @@ public class CommandCache implements ICommandListener {
 			fPendingQWaitingForCoalescedCompletion.add(cachedCmd);
 			cachedCmd.setCoalescedCmd(coalescedCmd);
 			cachedCmd = coalescedCmd;
+			getCounters(genericCommand).fCoalesced++;
+		} else {
+			getCounters(genericCommand).fMisses++;
 		}
 
 		/*
@@ -460,77 +518,11 @@ public class CommandCache implements ICommandListener {
 						ICommandResult result = getData();
 						IStatus status = getStatus();
 
-						if (finalCachedCmd.getCommandstyle() == CommandStyle.COALESCED) {
-							/*
-							 *  We matched a command which is itself  already a COALESCED command.  So
-							 *  we need to go through the list of unsent commands which were not sent
-							 *  because  the coalesced command represented it.  For each match we find
-							 *  we create a new result from the coalesced command for it.
-							 */
-
-							for (CommandInfo waitingEntry : new ArrayList<>(fPendingQWaitingForCoalescedCompletion)) {
-
-								if (waitingEntry.getCoalescedCmd() == finalCachedCmd) {
-
-									/*
-									 *  Remove this entry from the list since we can complete it.
-									 */
-									fPendingQWaitingForCoalescedCompletion.remove(waitingEntry);
-
-									// Cast the calculated result back to the requested type.
-									@SuppressWarnings("unchecked")
-									V subResult = (V) result.getSubsetResult(waitingEntry.getCommand());
-									CommandResultInfo subResultInfo = new CommandResultInfo(subResult, status);
-
-									if (fCachedContexts.get(context) != null) {
-										fCachedContexts.get(context).put(waitingEntry, subResultInfo);
-									} else {
-										HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-										map.put(waitingEntry, subResultInfo);
-										fCachedContexts.put(context, map);
-									}
-
-									if (!isSuccess()) {
-
-										/*
-										 *  We had some form of error with the original command. So notify the
-										 *  original requesters of the issues.
-										 */
-										for (DataRequestMonitor<?> pendingRM : waitingEntry.getRequestMonitorList()) {
-											pendingRM.setStatus(status);
-											pendingRM.done();
-										}
-									} else {
-										assert subResult != null;
-
-										/*
-										 *  Notify the original requesters of the positive results.
-										 */
-										for (DataRequestMonitor<? extends ICommandResult> pendingRM : waitingEntry
-												.getRequestMonitorList()) {
-											// Cast the pending return token to match the requested type.
-											@SuppressWarnings("unchecked")
-											DataRequestMonitor<V> vPendingRM = (DataRequestMonitor<V>) pendingRM;
-
-											vPendingRM.setData(subResult);
-											vPendingRM.done();
-										}
-									}
-								}
-							}
-						} else {
+						if (finalCachedCmd.getCommandstyle() == CommandStyle.NONCOALESCED) {
 							// Save the command result in cache, but only if the command's context
 							// is still available.  Otherwise an error may get cached incorrectly.
 							if (isTargetAvailable(context)) {
-								CommandResultInfo resultInfo = new CommandResultInfo(result, status);
-
-								if (fCachedContexts.get(context) != null) {
-									fCachedContexts.get(context).put(finalCachedCmd, resultInfo);
-								} else {
-									HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-									map.put(finalCachedCmd, resultInfo);
-									fCachedContexts.put(context, map);
-								}
+								putCachedResult(context, finalCachedCmd, new CommandResultInfo(result, status));
 							}
 							// This is an original request which completed. Indicate success or
 							// failure to the original requesters.
@@ -559,10 +551,177 @@ public class CommandCache implements ICommandListener {
 								}
 							}
 						}
+
+						/*
+						 *  Go through the list of commands which were not sent because this
+						 *  command was sent in their place, either as a COALESCED command or as
+						 *  a command covering them.  For each match we find we create a new
+						 *  result from this command for it.
+						 */
+						completeWaitingCommands(finalCachedCmd, context, result, status);
 					}
 				});
 	}
 
+	private void completeWaitingCommands(CommandInfo sentCmd, IDMContext context, ICommandResult result,
+			IStatus status) {
+		for (CommandInfo waitingEntry : new ArrayList<>(fPendingQWaitingForCoalescedCompletion)) {
+			if (waitingEntry.getCoalescedCmd() != sentCmd) {
+				continue;
+			}
+
+			/*
+			 *  Remove this entry from the list since we can complete it.
+			 */
+			fPendingQWaitingForCoalescedCompletion.remove(waitingEntry);
+
+			IStatus subStatus = status;
+			ICommandResult subResult = null;
+			if (status.getSeverity() <= IStatus.INFO) {
+				subResult = result.getSubsetResult(waitingEntry.getCommand());
+				if (subResult == null) {
+					// The result doesn't contain what this command asked for, e.g.
+					// because the stack has less frames than the requested range.
+					subStatus = new Status(IStatus.ERROR, DsfPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
+							"Result not available for " + waitingEntry.getCommand(), null); //$NON-NLS-1$
+				}
+			}
+			if (subResult != null || sentCmd.getCommandstyle() == CommandStyle.COALESCED) {
+				putCachedResult(context, waitingEntry, new CommandResultInfo(subResult, subStatus));
+			}
+
+			/*
+			 *  Notify the original requesters of the results, or of the issues if
+			 *  we had some form of error with the sent command.
+			 */
+			for (DataRequestMonitor<ICommandResult> pendingRM : waitingEntry.getRequestMonitorList()) {
+				if (subResult != null) {
+					pendingRM.setData(subResult);
+				} else {
+					pendingRM.setStatus(subStatus);
+				}
+				pendingRM.done();
+			}
+		}
+	}
+
+	private CommandResultInfo getCachedResult(IDMContext context, CommandInfo cmd) {
+		Map<CommandInfo, CommandResultInfo> results = fCachedContexts.get(context);
+		CommandResultInfo result = results != null ? results.get(cmd) : null;
+		if (result != null) {
+			// Mark the result as recently used
+			fCacheUsage.get(cmd);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the part of a cached result of a command that covers the given
+	 * command, or null if there is none.
+	 */
+	private CommandResultInfo getCoveringResult(IDMContext context, CommandInfo cmd) {
+		Map<CommandInfo, CommandResultInfo> results = fCachedContexts.get(context);
+		if (results == null) {
+			return null;
+		}
+		for (Map.Entry<CommandInfo, CommandResultInfo> entry : results.entrySet()) {
+			CommandResultInfo result = entry.getValue();
+			if (result.getStatus().getSeverity() > IStatus.INFO || result.getData() == null
+					|| !covers(entry.getKey().getCommand(), cmd.getCommand())) {
+				continue;
+			}
+			ICommandResult subResult = result.getData().getSubsetResult(cmd.getCommand());
+			if (subResult != null) {
+				fCacheUsage.get(entry.getKey());
+				CommandResultInfo subResultInfo = new CommandResultInfo(subResult, result.getStatus());
+				putCachedResult(context, cmd, subResultInfo);
+				return subResultInfo;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the result of the given command contains the result of
+	 * the other command, i.e. if coalescing the commands yields the first one.
+	 */
+	private static boolean covers(ICommand<?> command, ICommand<?> other) {
+		return command.getClass() == other.getClass() && command.equals(command.coalesceWith(other));
+	}
+
+	private void putCachedResult(IDMContext context, CommandInfo cmd, CommandResultInfo result) {
+		HashMap<CommandInfo, CommandResultInfo> results = fCachedContexts.get(context);
+		if (results == null) {
+			results = new HashMap<>();
+			fCachedContexts.put(context, results);
+		}
+		results.put(cmd, result);
+		fCacheUsage.put(cmd, context);
+
+		// Discard the least recently used results
+		for (Iterator<Map.Entry<CommandInfo, IDMContext>> itr = fCacheUsage.entrySet().iterator(); fCacheUsage
+				.size() > fMaxSize && itr.hasNext();) {
+			Map.Entry<CommandInfo, IDMContext> eldest = itr.next();
+			itr.remove();
+			Map<CommandInfo, CommandResultInfo> eldestResults = fCachedContexts.get(eldest.getValue());
+			if (eldestResults != null) {
+				eldestResults.remove(eldest.getKey());
+				if (eldestResults.isEmpty()) {
+					fCachedContexts.remove(eldest.getValue());
+				}
+			}
+			getCounters(eldest.getKey().getCommand()).fEvictions++;
+		}
+	}
+
+	private CacheCounters getCounters(ICommand<?> command) {
+		return fCounters.computeIfAbsent(command.getClass(), c -> new CacheCounters());
+	}
+
+	/**
+	 * Sets the maximum number of results kept in the cache.  When the cache is
+	 * full, the least recently used results are discarded.
+	 *
+	 * @since 2.12
+	 */
+	public void setMaxSize(int maxSize) {
+		fMaxSize = Math.max(0, maxSize);
+	}
+
+	/**
+	 * Returns the maximum number of results kept in the cache.
+	 *
+	 * @since 2.12
+	 */
+	public int getMaxSize() {
+		return fMaxSize;
+	}
+
+	/**
+	 * Returns how the requests were served since the cache was created or
+	 * {@link #resetStatistics()} was last called, per class of command.
+	 *
+	 * @since 2.12
+	 */
+	public Map<Class<?>, CommandCacheStatistics> getStatistics() {
+		Map<Class<?>, CommandCacheStatistics> statistics = new HashMap<>();
+		for (Map.Entry<Class<?>, CacheCounters> entry : fCounters.entrySet()) {
+			CacheCounters counters = entry.getValue();
+			statistics.put(entry.getKey(), new CommandCacheStatistics(counters.fHits, counters.fSubsetHits,
+					counters.fCoalesced, counters.fMisses, counters.fEvictions));
+		}
+		return statistics;
+	}
+
+	/**
+	 * Resets the statistics returned by {@link #getStatistics()}.
+	 *
+	 * @since 2.12
+	 */
+	public void resetStatistics() {
+		fCounters.clear();
+	}
+
 	/**
 	 * TODO
 	 */
@@ -597,6 +756,7 @@ public class CommandCache implements ICommandListener {
 	 */
 	public void reset() {
 		fCachedContexts.clear();
+		fCacheUsage.clear();
 	}
 
 	@Override
@@ -662,12 +822,15 @@ public class CommandCache implements ICommandListener {
 	 */
 	public void reset(IDMContext dmc) {
 		if (dmc == null) {
-			fCachedContexts.clear();
+			reset();
 			return;
 		}
-		for (Iterator<IDMContext> itr = fCachedContexts.keySet().iterator(); itr.hasNext();) {
-			IDMContext keyDmc = itr.next();
+		for (Iterator<Map.Entry<IDMContext, HashMap<CommandInfo, CommandResultInfo>>> itr = fCachedContexts.entrySet()
+				.iterator(); itr.hasNext();) {
+			Map.Entry<IDMContext, HashMap<CommandInfo, CommandResultInfo>> entry = itr.next();
+			IDMContext keyDmc = entry.getKey();
 			if (keyDmc != null && (dmc.equals(keyDmc) || DMContexts.isAncestorOf(keyDmc, dmc))) {
+				fCacheUsage.keySet().removeAll(entry.getValue().keySet());
 				itr.remove();
 			}
 		}
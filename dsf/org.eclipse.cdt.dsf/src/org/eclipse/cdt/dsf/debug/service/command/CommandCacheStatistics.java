@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import org.eclipse.cdt.dsf.concurrent.Immutable;
+
+/**
+ * Snapshot of how the requests for the commands of one class were served by
+ * a {@link CommandCache}.
+ *
+ * @see CommandCache#getStatistics()
+ * @since 2.12
+ */
+@Immutable
+public final class CommandCacheStatistics {
+	private final long fHits;
+	private final long fSubsetHits;
+	private final long fCoalesced;
+	private final long fMisses;
+	private final long fEvictions;
+
+	CommandCacheStatistics(long hits, long subsetHits, long coalesced, long misses, long evictions) {
+		fHits = hits;
+		fSubsetHits = subsetHits;
+		fCoalesced = coalesced;
+		fMisses = misses;
+		fEvictions = evictions;
+	}
+
+	/**
+	 * Returns the number of requests served with the cached result of an
+	 * identical command.
+	 */
+	public long getHits() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of requests served with a part of the cached result
+	 * of a command that covers the requested one, e.g. a larger range of
+	 * stack frames.
+	 */
+	public long getSubsetHits() {
+		return fSubsetHits;
+	}
+
+	/**
+	 * Returns the number of requests that were not sent to the backend on
+	 * their own, because an identical or covering command was pending or
+	 * because they were coalesced with a command that was not sent yet.
+	 */
+	public long getCoalesced() {
+		return fCoalesced;
+	}
+
+	/**
+	 * Returns the number of requests for which a command was sent to the
+	 * backend.
+	 */
+	public long getMisses() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the number of cached results that were discarded because the
+	 * cache was full.
+	 */
+	public long getEvictions() {
+		return fEvictions;
+	}
+
+	@SuppressWarnings("nls")
+	@Override
+	public String toString() {
+		return "hits=" + fHits + ", subsetHits=" + fSubsetHits + ", coalesced=" + fCoalesced + ", misses=" + fMisses
+				+ ", evictions=" + fEvictions;
+	}
+}
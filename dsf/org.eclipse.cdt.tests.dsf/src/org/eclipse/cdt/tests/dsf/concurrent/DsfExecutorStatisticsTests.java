@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DsfExecutorStatistics;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the statistics collected by the DSF executor.
+ */
+public class DsfExecutorStatisticsTests {
+	TestDsfExecutor fExecutor;
+
+	@Before
+	public void startExecutor() {
+		fExecutor = new TestDsfExecutor();
+	}
+
+	@After
+	public void shutdownExecutor() throws ExecutionException, InterruptedException {
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+				fExecutor.shutdown();
+			}
+		}).get();
+		if (fExecutor.exceptionsCaught()) {
+			Throwable[] exceptions = fExecutor.getExceptions();
+			throw new ExecutionException(exceptions[0]);
+		}
+		fExecutor = null;
+	}
+
+	private static class QueuedRunnable implements Runnable {
+		@Override
+		public void run() {
+		}
+	}
+
+	/**
+	 * Waits until the executor has completed the tasks submitted before,
+	 * including the bookkeeping done after running them.
+	 */
+	private void waitForExecutor() throws ExecutionException, InterruptedException {
+		fExecutor.submit(() -> {
+		}).get();
+		fExecutor.submit(() -> {
+		}).get();
+	}
+
+	@Test
+	public void executionTimeTest() throws ExecutionException, InterruptedException {
+		fExecutor.resetStatistics();
+		fExecutor.submit(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+			}
+		}).get();
+		waitForExecutor();
+
+		DsfExecutorStatistics statistics = fExecutor.getStatistics();
+		assertTrue(statistics.getExecutedCount() >= 2);
+		assertTrue(statistics.getMaxExecutionTime() >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(statistics.getAverageExecutionTime() <= statistics.getMaxExecutionTime());
+	}
+
+	@Test
+	public void waitTimeTest() throws ExecutionException, InterruptedException {
+		fExecutor.resetStatistics();
+		CountDownLatch blocked = new CountDownLatch(1);
+		fExecutor.execute(() -> {
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+			}
+		});
+		// Queue up tasks behind the blocked one
+		for (int i = 0; i < 10; i++) {
+			fExecutor.execute(() -> {
+			});
+		}
+		assertTrue(fExecutor.getStatistics().getQueueDepth() >= 10);
+		Thread.sleep(50);
+		blocked.countDown();
+		waitForExecutor();
+
+		DsfExecutorStatistics statistics = fExecutor.getStatistics();
+		assertEquals(0, statistics.getQueueDepth());
+		assertTrue(statistics.getMaxQueueDepth() >= 9);
+		assertTrue(statistics.getMaxWaitTime() >= TimeUnit.MILLISECONDS.toNanos(50));
+
+		fExecutor.resetStatistics();
+		assertEquals(0, fExecutor.getStatistics().getExecutedCount());
+		assertEquals(0, fExecutor.getStatistics().getAverageWaitTime());
+	}
+
+	@Test
+	public void statisticsByClassTest() throws ExecutionException, InterruptedException {
+		fExecutor.resetStatistics();
+		CountDownLatch blocked = new CountDownLatch(1);
+		fExecutor.execute(() -> {
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+			}
+		});
+		for (int i = 0; i < 3; i++) {
+			fExecutor.execute(new QueuedRunnable());
+		}
+		String className = QueuedRunnable.class.getName();
+		DsfExecutorStatistics statistics = fExecutor.getStatisticsByClass().get(className);
+		assertEquals(3, statistics.getQueueDepth());
+		assertEquals(0, statistics.getExecutedCount());
+		blocked.countDown();
+		waitForExecutor();
+
+		Map<String, DsfExecutorStatistics> statisticsByClass = fExecutor.getStatisticsByClass();
+		statistics = statisticsByClass.get(className);
+		assertEquals(0, statistics.getQueueDepth());
+		assertEquals(3, statistics.getExecutedCount());
+		assertTrue(statistics.getMaxQueueDepth() >= 2);
+		assertTrue(statisticsByClass.size() >= 2);
+	}
+}
@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.debug.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCacheStatistics;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the coalescing of ranges, the eviction and the statistics of the
+ * command cache.
+ */
+public class CommandCacheTests {
+	TestDsfExecutor fExecutor;
+	DsfSession fSession;
+	TestCommandControl fControl;
+	CommandCache fCache;
+	IDMContext fContext;
+
+	/**
+	 * Command for the elements in a range of indexes.
+	 */
+	class RangeCommand implements ICommand<RangeResult> {
+		final int fLow;
+		final int fHigh;
+
+		RangeCommand(int low, int high) {
+			fLow = low;
+			fHigh = high;
+		}
+
+		@Override
+		public ICommand<? extends ICommandResult> coalesceWith(ICommand<? extends ICommandResult> command) {
+			if (!(command instanceof RangeCommand))
+				return null;
+			RangeCommand other = (RangeCommand) command;
+			if (other.fLow > fHigh + 1 || fLow > other.fHigh + 1)
+				return null;
+			int low = Math.min(fLow, other.fLow);
+			int high = Math.max(fHigh, other.fHigh);
+			if (low == fLow && high == fHigh)
+				return this;
+			return new RangeCommand(low, high);
+		}
+
+		@Override
+		public IDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof RangeCommand && ((RangeCommand) obj).fLow == fLow && ((RangeCommand) obj).fHigh == fHigh;
+		}
+
+		@Override
+		public int hashCode() {
+			return fLow * 31 + fHigh;
+		}
+
+		@Override
+		public String toString() {
+			return "range " + fLow + " " + fHigh; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	static class RangeResult implements ICommandResult {
+		final List<Integer> fElements = new ArrayList<>();
+
+		RangeResult(int low, int high) {
+			for (int i = low; i <= high; i++) {
+				fElements.add(i);
+			}
+		}
+
+		@Override
+		public <V extends ICommandResult> V getSubsetResult(ICommand<V> command) {
+			RangeCommand range = (RangeCommand) command;
+			if (range.fLow < fElements.get(0) || range.fHigh > fElements.get(fElements.size() - 1))
+				return null;
+			@SuppressWarnings("unchecked")
+			V subset = (V) new RangeResult(range.fLow, range.fHigh);
+			return subset;
+		}
+	}
+
+	/**
+	 * Command control that sends and completes the commands only when asked to.
+	 */
+	static class TestCommandControl implements ICommandControl {
+		final List<ICommandListener> fListeners = new ArrayList<>();
+		final List<Token> fQueued = new ArrayList<>();
+
+		class Token implements ICommandToken {
+			final ICommand<? extends ICommandResult> fCommand;
+			final DataRequestMonitor<ICommandResult> fRm;
+
+			Token(ICommand<? extends ICommandResult> command, DataRequestMonitor<ICommandResult> rm) {
+				fCommand = command;
+				fRm = rm;
+			}
+
+			@Override
+			public ICommand<? extends ICommandResult> getCommand() {
+				return fCommand;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(ICommand<V> command, DataRequestMonitor<V> rm) {
+			Token token = new Token(command, (DataRequestMonitor<ICommandResult>) rm);
+			fQueued.add(token);
+			return token;
+		}
+
+		void send(Token token) {
+			for (ICommandListener listener : fListeners) {
+				listener.commandSent(token);
+			}
+		}
+
+		void complete(Token token) {
+			RangeCommand command = (RangeCommand) token.fCommand;
+			fQueued.remove(token);
+			token.fRm.setData(new RangeResult(command.fLow, command.fHigh));
+			token.fRm.done();
+		}
+
+		void sendAndComplete() {
+			for (Token token : new ArrayList<>(fQueued)) {
+				send(token);
+				complete(token);
+			}
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+			fQueued.remove(token);
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+			fListeners.add(listener);
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+			fListeners.remove(listener);
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+		}
+	}
+
+	static class Request extends DataRequestMonitor<RangeResult> {
+		boolean fCompleted;
+
+		Request() {
+			super(ImmediateExecutor.getInstance(), null);
+		}
+
+		@Override
+		protected void handleCompleted() {
+			fCompleted = true;
+		}
+
+		List<Integer> getElements() {
+			assertTrue(fCompleted);
+			assertTrue(getStatus().toString(), isSuccess());
+			return getData().fElements;
+		}
+	}
+
+	@Before
+	public void startCache() throws ExecutionException, InterruptedException {
+		fExecutor = new TestDsfExecutor();
+		call(() -> {
+			fSession = DsfSession.startSession(fExecutor, "org.eclipse.cdt.tests.dsf"); //$NON-NLS-1$
+			fContext = new AbstractDMContext(fSession.getId(), new IDMContext[0]) {
+				@Override
+				public boolean equals(Object obj) {
+					return baseEquals(obj);
+				}
+
+				@Override
+				public int hashCode() {
+					return baseHashCode();
+				}
+			};
+			fControl = new TestCommandControl();
+			fCache = new CommandCache(fSession, fControl);
+			fCache.setContextAvailable(fContext, true);
+			return null;
+		});
+	}
+
+	@After
+	public void shutdownCache() throws ExecutionException, InterruptedException {
+		call(() -> {
+			DsfSession.endSession(fSession);
+			fExecutor.shutdown();
+			return null;
+		});
+		if (fExecutor.exceptionsCaught()) {
+			Throwable[] exceptions = fExecutor.getExceptions();
+			throw new ExecutionException(exceptions[0]);
+		}
+	}
+
+	private <T> T call(Callable<T> callable) throws ExecutionException, InterruptedException {
+		return fExecutor.submit(callable).get();
+	}
+
+	private Request execute(int low, int high) throws ExecutionException, InterruptedException {
+		return call(() -> {
+			Request rm = new Request();
+			fCache.execute(new RangeCommand(low, high), rm);
+			return rm;
+		});
+	}
+
+	private CommandCacheStatistics getStatistics() throws ExecutionException, InterruptedException {
+		return call(() -> fCache.getStatistics().get(RangeCommand.class));
+	}
+
+	@Test
+	public void subsetOfCachedResultTest() throws ExecutionException, InterruptedException {
+		execute(0, 9);
+		call(() -> {
+			fControl.sendAndComplete();
+			return null;
+		});
+
+		Request rm = execute(2, 4);
+		assertEquals(Arrays.asList(2, 3, 4), rm.getElements());
+		assertTrue(fControl.fQueued.isEmpty());
+
+		// Served from the cache again, now as an exact hit
+		assertEquals(Arrays.asList(2, 3, 4), execute(2, 4).getElements());
+
+		CommandCacheStatistics statistics = getStatistics();
+		assertEquals(1, statistics.getMisses());
+		assertEquals(1, statistics.getSubsetHits());
+		assertEquals(1, statistics.getHits());
+	}
+
+	@Test
+	public void coveredBySentCommandTest() throws ExecutionException, InterruptedException {
+		Request all = execute(0, 9);
+		call(() -> {
+			fControl.send(fControl.fQueued.get(0));
+			return null;
+		});
+		Request part = execute(3, 5);
+		assertEquals(1, fControl.fQueued.size());
+		assertFalse(part.fCompleted);
+
+		call(() -> {
+			fControl.complete(fControl.fQueued.get(0));
+			return null;
+		});
+		assertEquals(10, all.getElements().size());
+		assertEquals(Arrays.asList(3, 4, 5), part.getElements());
+		assertEquals(1, getStatistics().getCoalesced());
+	}
+
+	@Test
+	public void coalesceUnsentCommandsTest() throws ExecutionException, InterruptedException {
+		Request first = execute(0, 4);
+		Request second = execute(5, 9);
+		assertEquals(1, fControl.fQueued.size());
+		assertEquals(new RangeCommand(0, 9), fControl.fQueued.get(0).fCommand);
+
+		call(() -> {
+			fControl.sendAndComplete();
+			return null;
+		});
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), first.getElements());
+		assertEquals(Arrays.asList(5, 6, 7, 8, 9), second.getElements());
+	}
+
+	@Test
+	public void evictionTest() throws ExecutionException, InterruptedException {
+		call(() -> {
+			fCache.setMaxSize(2);
+			return null;
+		});
+		for (int i = 0; i < 3; i++) {
+			execute(i * 10, i * 10);
+			call(() -> {
+				fControl.sendAndComplete();
+				return null;
+			});
+		}
+		// The least recently used result was discarded
+		Request rm = execute(0, 0);
+		assertFalse(rm.fCompleted);
+		assertEquals(1, fControl.fQueued.size());
+		call(() -> {
+			fControl.sendAndComplete();
+			return null;
+		});
+		assertEquals(Arrays.asList(0), rm.getElements());
+
+		// The most recently used ones are still cached
+		assertTrue(execute(20, 20).fCompleted);
+		assertTrue(fControl.fQueued.isEmpty());
+
+		CommandCacheStatistics statistics = getStatistics();
+		assertNotNull(statistics);
+		assertEquals(4, statistics.getMisses());
+		assertEquals(2, statistics.getEvictions());
+
+		call(() -> {
+			fCache.resetStatistics();
+			return null;
+		});
+		assertNull(getStatistics());
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Tests for {@link CommandEntryReader}.
+ */
+public class CommandEntryReaderTest {
+
+	private static CommandEntryReader createReader(String json) {
+		return new CommandEntryReader(new StringReader(json));
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		try (CommandEntryReader reader = createReader("")) {
+			assertFalse(reader.begin());
+		}
+		try (CommandEntryReader reader = createReader("null")) {
+			assertFalse(reader.begin());
+		}
+	}
+
+	@Test
+	public void testEmptyArray() throws IOException {
+		try (CommandEntryReader reader = createReader(" [ ] ")) {
+			assertTrue(reader.begin());
+			assertNull(reader.next());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testEntries() throws IOException {
+		String json = "[\n" //
+				+ "{ \"directory\": \"/build\", \"command\": \"gcc -c a.c\", \"file\": \"/src/a.c\" },\n"
+				+ "{ \"directory\": \"/build\", \"arguments\": [\"gcc\", \"-c\", \"b.c\"], \"file\": \"/src/b.c\" }\n"
+				+ "]";
+		try (CommandEntryReader reader = createReader(json)) {
+			assertTrue(reader.begin());
+			CommandEntry entry = reader.next();
+			assertEquals("/build", entry.getDirectory());
+			assertEquals("gcc -c a.c", entry.getCommand());
+			assertNull(entry.getArguments());
+			assertEquals("/src/a.c", entry.getFile());
+
+			entry = reader.next();
+			assertNull(entry.getCommand());
+			assertArrayEquals(new String[] { "gcc", "-c", "b.c" }, entry.getArguments());
+			assertEquals("/src/b.c", entry.getFile());
+
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testNotAnArray() throws IOException {
+		try (CommandEntryReader reader = createReader("{ \"file\": \"/src/a.c\" }")) {
+			reader.begin();
+			fail();
+		} catch (JsonSyntaxException expected) {
+		}
+	}
+
+	/**
+	 * The entries before a syntax error are returned, so that they can be
+	 * processed while the file is being read.
+	 */
+	@Test
+	public void testSyntaxError() throws IOException {
+		try (CommandEntryReader reader = createReader("[ { \"file\": \"/src/a.c\" }, { \"file\": ")) {
+			assertTrue(reader.begin());
+			assertEquals("/src/a.c", reader.next().getFile());
+			reader.next();
+			fail();
+		} catch (JsonSyntaxException | IOException expected) {
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser;
+import org.eclipse.cdt.jsoncdb.core.participant.builtins.IBuiltinsDetectionBehavior;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CommandLineWorkers}.
+ */
+public class CommandLineWorkersTest {
+	private static final IPath CWD = new Path("/build");
+
+	/**
+	 * Records how many threads process command-lines at the same time. Waits for
+	 * the given barrier, if any, before returning a result.
+	 */
+	private static class TestParser implements IToolCommandlineParser {
+		private final boolean concurrent;
+		private final CyclicBarrier barrier;
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger maxActive = new AtomicInteger();
+
+		TestParser(boolean concurrent, CyclicBarrier barrier) {
+			this.concurrent = concurrent;
+			this.barrier = barrier;
+		}
+
+		@Override
+		public IResult processArgs(IPath cwd, String args) {
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try {
+				if (barrier != null) {
+					barrier.await(10, TimeUnit.SECONDS);
+				} else {
+					Thread.sleep(2);
+				}
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			} finally {
+				active.decrementAndGet();
+			}
+			ParseContext result = new ParseContext();
+			result.addDefine(args, "");
+			return result;
+		}
+
+		@Override
+		public boolean supportsConcurrentProcessing() {
+			return concurrent;
+		}
+
+		@Override
+		public Optional<IBuiltinsDetectionBehavior> getIBuiltinsDetectionBehavior() {
+			return Optional.empty();
+		}
+	}
+
+	private static Set<String> parse(CommandLineWorkers workers, IToolCommandlineParser parser, int count) {
+		Set<String> results = ConcurrentHashMap.newKeySet();
+		for (int i = 0; i < count; i++) {
+			workers.parse(parser, CWD, "arg" + i, result -> results.addAll(result.getDefines().keySet()));
+		}
+		return results;
+	}
+
+	@Test
+	public void testResults() {
+		CommandLineWorkers workers = new CommandLineWorkers(4);
+		Set<String> results = parse(workers, new TestParser(true, null), 100);
+		workers.finish();
+		assertEquals(100, results.size());
+		for (int i = 0; i < 100; i++) {
+			assertTrue(results.contains("arg" + i));
+		}
+	}
+
+	@Test
+	public void testConcurrent() {
+		CommandLineWorkers workers = new CommandLineWorkers(4);
+		// the barrier is passed only if all command-lines are processed at once
+		TestParser parser = new TestParser(true, new CyclicBarrier(4));
+		Set<String> results = parse(workers, parser, 4);
+		workers.finish();
+		assertEquals(4, results.size());
+		assertEquals(4, parser.maxActive.get());
+	}
+
+	@Test
+	public void testSerialized() {
+		CommandLineWorkers workers = new CommandLineWorkers(4);
+		TestParser parser = new TestParser(false, null);
+		Set<String> results = parse(workers, parser, 50);
+		workers.finish();
+		assertEquals(50, results.size());
+		assertEquals(1, parser.maxActive.get());
+	}
+
+	@Test
+	public void testSerializedPerParser() {
+		CommandLineWorkers workers = new CommandLineWorkers(4);
+		// parsers that do not support concurrent processing do not block each other
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		TestParser parser1 = new TestParser(false, barrier);
+		TestParser parser2 = new TestParser(false, barrier);
+		parse(workers, parser1, 1);
+		parse(workers, parser2, 1);
+		workers.finish();
+		assertEquals(1, parser1.maxActive.get());
+		assertEquals(1, parser2.maxActive.get());
+	}
+
+	@Test
+	public void testFailure() {
+		CommandLineWorkers workers = new CommandLineWorkers(2);
+		IllegalArgumentException failure = new IllegalArgumentException();
+		parse(workers, new TestParser(true, null), 10);
+		workers.parse(new TestParser(true, null), CWD, "", result -> {
+			throw failure;
+		});
+		try {
+			workers.finish();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertSame(failure, e);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.jsoncdb.core;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads the entries of a compile_commands.json file one at a time, so that the
+ * file never has to be held in memory as a whole.
+ */
+class CommandEntryReader implements Closeable {
+	private final Gson gson = new Gson();
+	private final JsonReader in;
+	private boolean atEnd;
+
+	/**
+	 * @param reader the reader positioned at the start of the JSON document
+	 */
+	CommandEntryReader(Reader reader) {
+		in = new JsonReader(reader);
+	}
+
+	/**
+	 * Reads the start of the JSON document.
+	 *
+	 * @return {@code false} if the document is empty or {@code null}, otherwise
+	 *         {@code true}
+	 * @throws IOException         if the document could not be read
+	 * @throws JsonSyntaxException if the document is not an array
+	 */
+	boolean begin() throws IOException {
+		try {
+			if (in.peek() == JsonToken.NULL)
+				return false;
+		} catch (EOFException e) {
+			return false;
+		}
+		if (in.peek() != JsonToken.BEGIN_ARRAY)
+			throw new JsonSyntaxException("Expected a JSON array but was " + in.peek()); //$NON-NLS-1$
+		in.beginArray();
+		return true;
+	}
+
+	/**
+	 * Reads the next entry. Must be called after {@link #begin()} returned
+	 * {@code true}.
+	 *
+	 * @return the next entry or {@code null} if all entries have been read
+	 * @throws IOException         if the document could not be read
+	 * @throws JsonSyntaxException if the entry is malformed
+	 */
+	CommandEntry next() throws IOException {
+		if (atEnd)
+			return null;
+		if (!in.hasNext()) {
+			in.endArray();
+			atEnd = true;
+			return null;
+		}
+		return gson.fromJson(in, CommandEntry.class);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -11,8 +11,11 @@ package org.eclipse.cdt.jsoncdb.core;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -21,11 +24,13 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
+import org.eclipse.cdt.jsoncdb.core.internal.CommandLineWorkers;
 import org.eclipse.cdt.jsoncdb.core.internal.ParserDetection;
 import org.eclipse.cdt.jsoncdb.core.internal.ParserDetection.DetectorWithMethod;
 import org.eclipse.cdt.jsoncdb.core.internal.ParserDetection.ParserDetectionResult;
@@ -34,7 +39,6 @@ import org.eclipse.cdt.jsoncdb.core.internal.builtins.CompilerBuiltinsDetector;
 import org.eclipse.cdt.jsoncdb.core.participant.DefaultToolDetectionParticipant;
 import org.eclipse.cdt.jsoncdb.core.participant.IRawSourceFileInfo;
 import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser;
-import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser.IResult;
 import org.eclipse.cdt.jsoncdb.core.participant.IToolDetectionParticipant;
 import org.eclipse.cdt.jsoncdb.core.participant.builtins.IBuiltinsDetectionBehavior;
 import org.eclipse.core.resources.IContainer;
@@ -45,15 +49,16 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.osgi.framework.FrameworkUtil;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.MalformedJsonException;
 
 /**
  * Parses the file 'compile_commands.json' produced by cmake when option
@@ -74,6 +79,12 @@ public class CompileCommandsJsonParser {
 	 */
 	private static final QualifiedName TIMESTAMP_COMPILE_COMMANDS_PROPERTY = new QualifiedName(null,
 			"timestamp:compile_commands.json"); //$NON-NLS-1$
+	/**
+	 * property to store the hash of the content of the "compile_commands.json"
+	 * file
+	 */
+	private static final QualifiedName HASH_COMPILE_COMMANDS_PROPERTY = new QualifiedName(null,
+			"hash:compile_commands.json"); //$NON-NLS-1$
 
 	private static final String WORKBENCH_WILL_NOT_KNOW_ALL_MSG = Messages.CompileCommandsJsonParser_MSG_WORKBENCH_WILL_NOT_KNOW;
 
@@ -96,10 +107,11 @@ public class CompileCommandsJsonParser {
 	private Set<String> knownUnsupportedTools = new HashSet<>();
 
 	/**
-	 * the raw scanner info results for each source file (source file name ->
-	 * IResult)
+	 * the raw scanner info results and built-ins detectors for each source file
+	 * (source file name -> FileResult). Filled concurrently by the command-line
+	 * parser workers.
 	 */
-	private Map<String, IRawSourceFileInfo> fileResults;
+	private Map<String, FileResult> fileResults;
 
 	/**
 	 * minimized set of CompilerBuiltinsDetector to run. (detector key ->
@@ -108,12 +120,6 @@ public class CompileCommandsJsonParser {
 	 */
 	private Map<String, CompilerBuiltinsDetector> builtinDetectorsToRun;
 
-	/**
-	 * the built-ins detectors for each source file (source file name -> detector
-	 * key)
-	 */
-	private Map<String, String> fileToBuiltinDetectorLinks;
-
 	/**
 	 * Creates a new object that will try to parse the {@code compile_commands.json}
 	 * file in the build directory specified in the {@code ParseRequest#getBuildConfiguration()}.
@@ -161,23 +167,33 @@ public class CompileCommandsJsonParser {
 		IContainer buildRootFolder = jsonFile.getParent();
 		Long sessionLastModified = (Long) buildRootFolder.getSessionProperty(TIMESTAMP_COMPILE_COMMANDS_PROPERTY);
 		if (sessionLastModified == null || sessionLastModified.longValue() < tsJsonModified) {
+			// build tools tend to re-generate the file with the same content, check that first
+			byte[] hash;
+			try {
+				hash = computeHash(jsonDiskFile);
+			} catch (IOException ex) {
+				final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_read_error, jsonDiskFile,
+						WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
+				createMarker(jsonFile, msg);
+				return false;
+			}
+			if (Arrays.equals(hash, (byte[]) buildRootFolder.getSessionProperty(HASH_COMPILE_COMMANDS_PROPERTY))) {
+				buildRootFolder.setSessionProperty(TIMESTAMP_COMPILE_COMMANDS_PROPERTY, tsJsonModified);
+				return false;
+			}
+
 			// must parse json file...
 			monitor.setTaskName(Messages.CompileCommandsJsonParser_msg_processing);
 
-			try (Reader in = new FileReader(jsonDiskFile.toFile())) {
+			try (CommandEntryReader in = new CommandEntryReader(new FileReader(jsonDiskFile.toFile()))) {
 				// parse file...
-				Gson gson = new Gson();
-				CommandEntry[] sourceFileInfos = gson.fromJson(in, CommandEntry[].class);
-				if (sourceFileInfos == null) {
+				if (!processCommandEntries(in, jsonFile, monitor)) {
 					final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_empty_json, jsonDiskFile,
 							WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
 					createMarker(jsonFile, msg);
 					return false;
 				}
-				for (CommandEntry sourceFileInfo : sourceFileInfos) {
-					processCommandEntry(sourceFileInfo, jsonFile);
-				}
-			} catch (JsonSyntaxException | JsonIOException ex) {
+			} catch (JsonSyntaxException | JsonIOException | MalformedJsonException ex) {
 				// file format error
 				final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_not_json, jsonDiskFile,
 						WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
@@ -191,23 +207,83 @@ public class CompileCommandsJsonParser {
 			}
 
 			detectBuiltins(monitor);
-			// store time-stamp
+			// store time-stamp and hash
 			buildRootFolder.setSessionProperty(TIMESTAMP_COMPILE_COMMANDS_PROPERTY, tsJsonModified);
+			buildRootFolder.setSessionProperty(HASH_COMPILE_COMMANDS_PROPERTY, hash);
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Computes a hash of the content of the specified file.
+	 */
+	private static byte[] computeHash(java.nio.file.Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+		try (InputStream in = Files.newInputStream(file)) {
+			byte[] buffer = new byte[64 * 1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Reads the entries of a {@code compile_commands.json} file one at a time and
+	 * processes them. The command-lines of the entries are parsed concurrently
+	 * while the file is being read, so that the file never has to be held in
+	 * memory as a whole.
+	 *
+	 * @param in       the reader of the entries
+	 * @param jsonFile the JSON file being parsed (for marker creation only)
+	 * @param monitor  the job's progress monitor
+	 *
+	 * @return {@code false} if the file is empty, otherwise {@code true}
+	 * @throws IOException   if the file could not be read
+	 * @throws CoreException if marker creation failed
+	 */
+	private boolean processCommandEntries(CommandEntryReader in, IFile jsonFile, IProgressMonitor monitor)
+			throws IOException, CoreException {
+		if (!in.begin())
+			return false;
+
+		CommandLineWorkers workers = new CommandLineWorkers();
+		try {
+			CommandEntry sourceFileInfo;
+			for (int index = 0; (sourceFileInfo = in.next()) != null; index++) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				processCommandEntry(sourceFileInfo, index, jsonFile, workers);
+			}
+		} finally {
+			workers.finish();
+		}
+		return true;
+	}
+
 	/**
 	 * Processes an entry from a {@code compile_commands.json} file and remembers a
-	 * {@link IRawSourceFileInfo} for the given sourceFileInfo.
+	 * {@link IRawSourceFileInfo} for the given sourceFileInfo. The command-line of
+	 * the entry is parsed asynchronously by the given workers.
 	 *
 	 * @param sourceFileInfo parsed command entry of a compile_commands.json file
+	 * @param index          the index of the entry in the compile_commands.json
+	 *                       file
 	 * @param jsonFile       the JSON file being parsed (for marker creation only)
+	 * @param workers        the workers to parse the command-line
 	 *
 	 * @throws CoreException if marker creation failed
 	 */
-	private void processCommandEntry(CommandEntry sourceFileInfo, IFile jsonFile) throws CoreException {
+	private void processCommandEntry(CommandEntry sourceFileInfo, int index, IFile jsonFile,
+			CommandLineWorkers workers) throws CoreException {
 		// NOTE that this is the absolute file system path of the source file in
 		// CMake-notation (directory separator are forward slashes, even on windows)
 		final String file = sourceFileInfo.getFile();
@@ -224,16 +300,20 @@ public class CompileCommandsJsonParser {
 				// cwdStr is the absolute working directory of the compiler in
 				// CMake-notation (fileSep are forward slashes)
 				final String cwdStr = sourceFileInfo.getDirectory();
-				IPath cwd = cwdStr != null ? Path.fromOSString(cwdStr) : new Path(""); //$NON-NLS-1$
-				IResult result = parser.processArgs(cwd, pdr.getReducedCommandLine().stripLeading());
-				// remember result together with file name
-				rememberFileResult(file, result);
-
-				final Optional<IBuiltinsDetectionBehavior> builtinDetection = parser.getIBuiltinsDetectionBehavior();
-				if (builtinDetection.isPresent()) {
-					rememberBuiltinsDetection(file, builtinDetection.get(), pdr.getCommandLine().getCommand(),
-							result.getBuiltinDetectionArgs());
-				}
+				final IPath cwd = cwdStr != null ? Path.fromOSString(cwdStr) : new Path(""); //$NON-NLS-1$
+				final String args = pdr.getReducedCommandLine().stripLeading();
+				final String compilerCommand = pdr.getCommandLine().getCommand();
+				workers.parse(parser, cwd, args, result -> {
+					String builtinsDetectorKey = null;
+					final Optional<IBuiltinsDetectionBehavior> builtinDetection = parser
+							.getIBuiltinsDetectionBehavior();
+					if (builtinDetection.isPresent()) {
+						builtinsDetectorKey = rememberBuiltinsDetection(file, builtinDetection.get(), compilerCommand,
+								result.getBuiltinDetectionArgs());
+					}
+					// remember result together with file name
+					rememberFileResult(index, file, result, builtinsDetectorKey);
+				});
 			} else {
 				// no matching parser found
 
@@ -269,9 +349,9 @@ public class CompileCommandsJsonParser {
 		if (builtinDetectorsToRun.isEmpty()) {
 			// compiler does not support built-in detection:
 			// just feed the paths and defines with the file name to the indexer..
-			for (Entry<String, IRawSourceFileInfo> fileResultPair : fileResults.entrySet()) {
+			for (Entry<String, FileResult> fileResultPair : fileResults.entrySet()) {
 				String sourceFileName = fileResultPair.getKey();
-				IRawSourceFileInfo fileResult = fileResultPair.getValue();
+				IRawSourceFileInfo fileResult = fileResultPair.getValue().result;
 				parseRequest.getSourceFileInfoConsumer().acceptSourceFileInfo(sourceFileName,
 						fileResult.getSystemIncludePaths(), fileResult.getDefines(), fileResult.getIncludePaths(),
 						fileResult.getMacroFiles(), fileResult.getIncludeFiles());
@@ -305,10 +385,14 @@ public class CompileCommandsJsonParser {
 			};
 
 			// merge built-in results with source file results
-			for (Entry<String, String> link : fileToBuiltinDetectorLinks.entrySet()) {
+			for (Entry<String, FileResult> link : fileResults.entrySet()) {
+				String builtinsDetectorKey = link.getValue().builtinsDetectorKey;
+				if (builtinsDetectorKey == null) {
+					continue;
+				}
 				String sourceFileName = link.getKey();
-				IRawSourceFileInfo fileResult = fileResults.get(sourceFileName);
-				IRawSourceFileInfo builtinDetectorsResult = builtinDetectorsResults.get(link.getValue());
+				IRawSourceFileInfo fileResult = link.getValue().result;
+				IRawSourceFileInfo builtinDetectorsResult = builtinDetectorsResults.get(builtinsDetectorKey);
 				mergeResultsForFile(stringPooler, sourceFileName, fileResult, builtinDetectorsResult);
 			}
 		}
@@ -442,9 +526,8 @@ public class CompileCommandsJsonParser {
 	 */
 	public boolean parse(IProgressMonitor monitor) throws CoreException {
 		long start = 0;
-		fileResults = new HashMap<>();
-		builtinDetectorsToRun = new HashMap<>();
-		fileToBuiltinDetectorLinks = new HashMap<>();
+		fileResults = new ConcurrentHashMap<>();
+		builtinDetectorsToRun = new ConcurrentHashMap<>();
 
 		try {
 			if (DEBUG_TIME) {
@@ -463,7 +546,6 @@ public class CompileCommandsJsonParser {
 			// clean up
 			builtinDetectorsToRun = null;
 			fileResults = null;
-			fileToBuiltinDetectorLinks = null;
 		}
 	}
 
@@ -503,11 +585,19 @@ public class CompileCommandsJsonParser {
 	}
 
 	/**
-	 * @param file
-	 * @param result
+	 * @param index               the index of the entry in the
+	 *                            compile_commands.json file. If a source file
+	 *                            appears more than once, the last entry wins.
+	 * @param sourceFileName      the name of the source file
+	 * @param result              the result of parsing the command-line
+	 * @param builtinsDetectorKey the key of the built-ins detector for the source
+	 *                            file or {@code null} if the compiler does not
+	 *                            support built-in detection
 	 */
-	private void rememberFileResult(String sourceFileName, IRawSourceFileInfo result) {
-		fileResults.put(sourceFileName, result);
+	private void rememberFileResult(int index, String sourceFileName, IRawSourceFileInfo result,
+			String builtinsDetectorKey) {
+		fileResults.merge(sourceFileName, new FileResult(index, result, builtinsDetectorKey),
+				(old, current) -> old.index > current.index ? old : current);
 	}
 
 	/**
@@ -518,18 +608,32 @@ public class CompileCommandsJsonParser {
 	 *                             these are options like {@code --sysroot} and
 	 *                             options that specify the language's standard
 	 *                             ({@code -std=c++17}.
+	 * @return the key of the built-ins detector for the source file
 	 */
-	private void rememberBuiltinsDetection(String sourceFileName, IBuiltinsDetectionBehavior builtinsDetectionBehavior,
-			String compilerCommand, List<String> builtinDetectionArgs) {
+	private String rememberBuiltinsDetection(String sourceFileName,
+			IBuiltinsDetectionBehavior builtinsDetectionBehavior, String compilerCommand,
+			List<String> builtinDetectionArgs) {
 		String extension = FilenameUtils.getExtension(sourceFileName);
 		String key = makeBuiltinsDetectorKey(compilerCommand, builtinDetectionArgs, extension);
-		if (!builtinDetectorsToRun.containsKey(key)) {
-			CompilerBuiltinsDetector detector = new CompilerBuiltinsDetector(builtinsDetectionBehavior, compilerCommand,
-					builtinDetectionArgs, extension);
-			builtinDetectorsToRun.put(key, detector);
+		builtinDetectorsToRun.computeIfAbsent(key, k -> new CompilerBuiltinsDetector(builtinsDetectionBehavior,
+				compilerCommand, builtinDetectionArgs, extension));
+		return key;
+	}
+
+	/**
+	 * The raw scanner info result for a source file and the built-ins detector to
+	 * run for it.
+	 */
+	private static class FileResult {
+		final int index;
+		final IRawSourceFileInfo result;
+		final String builtinsDetectorKey;
+
+		FileResult(int index, IRawSourceFileInfo result, String builtinsDetectorKey) {
+			this.index = index;
+			this.result = result;
+			this.builtinsDetectorKey = builtinsDetectorKey;
 		}
-		// remember the built-ins detector for the source file
-		fileToBuiltinDetectorLinks.put(sourceFileName, key);
 	}
 
 }
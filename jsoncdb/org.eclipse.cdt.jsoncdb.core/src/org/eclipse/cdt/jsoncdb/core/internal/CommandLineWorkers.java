@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser;
+import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser.IResult;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs the parsing of command-lines on a pool of threads. Limits the number of
+ * pending command-lines, so that reading the JSON file does not get too far
+ * ahead of parsing.<br>
+ * Parsers that do not support concurrent processing are invoked by one thread
+ * at a time.
+ *
+ * @see IToolCommandlineParser#supportsConcurrentProcessing()
+ */
+public class CommandLineWorkers {
+	private final ExecutorService executor;
+	private final Semaphore pending;
+	private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+	/**
+	 * Creates a pool with one thread per processor.
+	 */
+	public CommandLineWorkers() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param threads the number of threads of the pool
+	 */
+	public CommandLineWorkers(int threads) {
+		executor = Executors.newFixedThreadPool(threads);
+		pending = new Semaphore(threads * 64);
+	}
+
+	/**
+	 * Parses a command-line asynchronously. Blocks if too many command-lines are
+	 * pending.
+	 *
+	 * @param parser        the parser for the command-line
+	 * @param cwd           the current working directory of the compiler at the
+	 *                      time of its invocation
+	 * @param args          the command line arguments to process
+	 * @param resultHandler receives the result of parsing the command-line, may be
+	 *                      invoked concurrently
+	 *
+	 * @throws RuntimeException if parsing an earlier command-line failed
+	 */
+	public void parse(IToolCommandlineParser parser, IPath cwd, String args, Consumer<IResult> resultHandler) {
+		execute(() -> {
+			IResult result;
+			if (parser.supportsConcurrentProcessing()) {
+				result = parser.processArgs(cwd, args);
+			} else {
+				synchronized (parser) {
+					result = parser.processArgs(cwd, args);
+				}
+			}
+			resultHandler.accept(result);
+		});
+	}
+
+	private void execute(Runnable task) {
+		rethrowFailure();
+		try {
+			pending.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		executor.execute(() -> {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				failure.compareAndSet(null, e);
+			} finally {
+				pending.release();
+			}
+		});
+	}
+
+	/**
+	 * Waits until all command-lines have been parsed.
+	 *
+	 * @throws RuntimeException the first exception thrown while parsing a
+	 *                          command-line
+	 */
+	public void finish() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		rethrowFailure();
+	}
+
+	private void rethrowFailure() {
+		RuntimeException e = failure.get();
+		if (e != null) {
+			throw e;
+		}
+	}
+}
@@ -68,6 +68,20 @@ public class DefaultToolCommandlineParser implements IToolCommandlineParser {
 		return ph.parseArguments(responseFileArglet, args);
 	}
 
+	/**
+	 * {@inheritDoc}<br>
+	 * Returns {@code true}, since each invocation of
+	 * {@link #processArgs(IPath, String)} uses a parser state of its own. Subclasses
+	 * that override {@code processArgs} and are not thread-safe must override this
+	 * method to return {@code false}.
+	 *
+	 * @since 1.5
+	 */
+	@Override
+	public boolean supportsConcurrentProcessing() {
+		return true;
+	}
+
 	@Override
 	public Optional<IBuiltinsDetectionBehavior> getIBuiltinsDetectionBehavior() {
 		return Optional.ofNullable(builtinsDetection);
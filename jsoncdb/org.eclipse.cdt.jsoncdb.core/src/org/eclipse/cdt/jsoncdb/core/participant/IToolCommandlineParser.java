@@ -22,7 +22,10 @@ import org.eclipse.core.runtime.IPath;
  */
 public interface IToolCommandlineParser {
 	/**
-	 * Parses all arguments given to the tool.
+	 * Parses all arguments given to the tool.<br>
+	 * This method is invoked concurrently for the entries of a
+	 * {@code compile_commands.json} file if and only if
+	 * {@link #supportsConcurrentProcessing()} returns {@code true}.
 	 *
 	 * @param cwd  the current working directory of the compiler at the time of its
 	 *             invocation
@@ -32,6 +35,21 @@ public interface IToolCommandlineParser {
 	 */
 	public IResult processArgs(IPath cwd, String args);
 
+	/**
+	 * Gets whether {@link #processArgs(IPath, String)} may be invoked
+	 * concurrently. Implementations that return {@code true} must be
+	 * thread-safe.<br>
+	 * The default implementation returns {@code false}, so that this parser is
+	 * invoked by one thread at a time.
+	 *
+	 * @return {@code true} if this parser may process command-lines concurrently,
+	 *         otherwise {@code false}
+	 * @since 1.5
+	 */
+	public default boolean supportsConcurrentProcessing() {
+		return false;
+	}
+
 	/**
 	 * Gets the {@code IBuiltinsDetectionBehavior} which specifies how built-in
 	 * compiler macros and include path detection is handled for a specific